@@ -0,0 +1,60 @@
+package io.github.loadup.gateway.benchmarks;
+
+/*-
+ * #%L
+ * LoadUp Gateway Benchmarks
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}: the standard JMH command line with the GC profiler always
+ * enabled, so every run reports allocation rate ({@code gc.alloc.rate}) and bytes per operation
+ * ({@code gc.alloc.rate.norm}) next to throughput or average time. Help and listing options are
+ * handed to {@link Main} unchanged.
+ *
+ * <pre>
+ * mvn -pl loadup-gateway-benchmarks -am package -DskipTests
+ * java -jar loadup-gateway-benchmarks/target/benchmarks.jar                 # everything
+ * java -jar loadup-gateway-benchmarks/target/benchmarks.jar RouteResolver -p routeCount=100000
+ * java -jar loadup-gateway-benchmarks/target/benchmarks.jar -rf json -rff result.json
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions options = new CommandLineOptions(args);
+    if (options.shouldHelp()
+        || options.shouldList()
+        || options.shouldListWithParams()
+        || options.shouldListProfilers()
+        || options.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+    new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+  }
+}
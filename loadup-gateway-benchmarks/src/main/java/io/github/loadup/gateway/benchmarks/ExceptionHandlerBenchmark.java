@@ -0,0 +1,70 @@
+package io.github.loadup.gateway.benchmarks;
+
+/*-
+ * #%L
+ * LoadUp Gateway Benchmarks
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.exception.ExceptionHandler;
+import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
+import io.github.loadup.gateway.facade.exception.ProxyException;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ExceptionHandler#handleException(String, Throwable)} for the common error paths: an
+ * expected, typed gateway error (route not found, deadline exceeded) and an unexpected exception
+ * that has to be wrapped first.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+  @Benchmark
+  public GatewayResponse routeNotFound() {
+    return ExceptionHandler.handleException(
+        "bench-request-1", GatewayExceptionFactory.routeNotFound("/api/unknown"));
+  }
+
+  @Benchmark
+  public GatewayResponse deadlineExceeded() {
+    return ExceptionHandler.handleException(
+        "bench-request-1", ProxyException.deadlineExceeded("http://upstream.internal:8080/orders"));
+  }
+
+  @Benchmark
+  public GatewayResponse unexpected() {
+    return ExceptionHandler.handleException(
+        "bench-request-1", new IllegalStateException("connection pool shut down"));
+  }
+}
@@ -0,0 +1,139 @@
+package io.github.loadup.gateway.benchmarks;
+
+/*-
+ * #%L
+ * LoadUp Gateway Benchmarks
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.loadup.gateway.core.action.ResponseWrapperAction;
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ResponseWrapperAction} wrapping upstream JSON bodies of 1 KB, 100 KB and 5 MB, and a
+ * payload object as produced by bean routes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseWrapperBenchmark {
+
+  @Param({"1024", "102400", "5242880"})
+  public int bodySize;
+
+  private final ResponseWrapperAction action =
+      new ResponseWrapperAction(new GatewayProperties(), new ObjectMapper());
+
+  private final RouteConfig route =
+      RouteConfig.builder()
+          .path("/api/orders")
+          .method("GET")
+          .target("http://upstream.internal:8080/orders")
+          .enabled(true)
+          .properties(Map.of(GatewayConstants.PropertyKeys.WRAP_RESPONSE, true))
+          .build();
+
+  private final GatewayRequest request =
+      GatewayRequest.builder().requestId("bench-request-1").path("/api/orders").build();
+
+  private byte[] body;
+
+  private Map<String, Object> payload;
+
+  @Setup
+  public void setup() {
+    StringBuilder json = new StringBuilder(bodySize + 64).append("{\"items\":[");
+    List<Map<String, Object>> items = new ArrayList<>();
+    int index = 0;
+    while (json.length() < bodySize - 64) {
+      if (index > 0) {
+        json.append(',');
+      }
+      json.append("{\"id\":").append(index).append(",\"name\":\"item-").append(index);
+      json.append("\",\"price\":").append(index % 100).append(".99}");
+      items.add(Map.of("id", index, "name", "item-" + index, "price", index % 100 + 0.99));
+      index++;
+    }
+    json.append("],\"total\":").append(index).append('}');
+    body = json.toString().getBytes(StandardCharsets.UTF_8);
+    payload = new HashMap<>();
+    payload.put("items", items);
+    payload.put("total", index);
+  }
+
+  @Benchmark
+  public byte[] wrapBody() {
+    GatewayContext context = GatewayContext.builder().request(request).route(route).build();
+    action.execute(
+        context,
+        c ->
+            c.setResponse(
+                GatewayResponse.builder()
+                    .requestId("bench-request-1")
+                    .statusCode(GatewayConstants.Status.SUCCESS)
+                    .headers(new HashMap<>())
+                    .bodyBytes(body)
+                    .contentType(GatewayConstants.ContentType.JSON)
+                    .build()));
+    return context.getResponse().getBodyBytes();
+  }
+
+  @Benchmark
+  public byte[] wrapPayload() {
+    GatewayContext context = GatewayContext.builder().request(request).route(route).build();
+    action.execute(
+        context,
+        c ->
+            c.setResponse(
+                GatewayResponse.builder()
+                    .requestId("bench-request-1")
+                    .statusCode(GatewayConstants.Status.SUCCESS)
+                    .headers(new HashMap<>())
+                    .payload(payload)
+                    .contentType(GatewayConstants.ContentType.JSON)
+                    .build()));
+    return context.getResponse().getBodyBytes();
+  }
+}
@@ -0,0 +1,83 @@
+package io.github.loadup.gateway.benchmarks;
+
+/*-
+ * #%L
+ * LoadUp Gateway Benchmarks
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link RouteConfig} construction (target and property parsing, id and name generation), paid
+ * once per route on every route table refresh.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteConfigBenchmark {
+
+  private final Map<String, Object> properties =
+      Map.of(
+          GatewayConstants.PropertyKeys.TIMEOUT, "3000",
+          GatewayConstants.PropertyKeys.RETRY_COUNT, 2,
+          GatewayConstants.PropertyKeys.WRAP_RESPONSE, "true",
+          GatewayConstants.PropertyKeys.PRIORITY, "high");
+
+  @Benchmark
+  public RouteConfig httpRoute() {
+    return RouteConfig.builder()
+        .path("/api/v1/orders/search")
+        .method("POST")
+        .target("http://order-service.internal:8080/orders/search")
+        .enabled(true)
+        .properties(properties)
+        .build();
+  }
+
+  @Benchmark
+  public RouteConfig beanRoute() {
+    return RouteConfig.builder()
+        .path("/api/v1/users/{id}")
+        .method("GET")
+        .target("bean://userService:getUser")
+        .enabled(true)
+        .build();
+  }
+
+  @Benchmark
+  public RouteConfig rebuildFrom() {
+    return RouteConfig.builderFrom(httpRoute()).requestTemplate("mapping:[]").build();
+  }
+}
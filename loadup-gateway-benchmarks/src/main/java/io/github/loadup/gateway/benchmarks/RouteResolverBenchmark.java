@@ -0,0 +1,203 @@
+package io.github.loadup.gateway.benchmarks;
+
+/*-
+ * #%L
+ * LoadUp Gateway Benchmarks
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.core.router.RouteResolver;
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.dto.RouteStructure;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.RepositoryPlugin;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link RouteResolver#resolve(String, String)} against route tables of increasing size: exact
+ * hits, hits on one of the templated routes (one route in a hundred has a {@code {id}} segment),
+ * and misses that fall through to the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteResolverBenchmark {
+
+  @Param({"100", "10000", "100000"})
+  public int routeCount;
+
+  private RouteResolver resolver;
+
+  private String[] exactPaths;
+
+  private String[] templatedPaths;
+
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    List<BenchmarkRoute> routes = new ArrayList<>(routeCount);
+    List<String> exact = new ArrayList<>();
+    List<String> templated = new ArrayList<>();
+    for (int i = 0; i < routeCount; i++) {
+      String path;
+      if (i % 100 == 0) {
+        path = "/api/v1/tenant" + i + "/orders/{orderId}";
+        templated.add("/api/v1/tenant" + i + "/orders/" + (1000 + i));
+      } else {
+        path = "/api/v1/service" + (i % 50) + "/resource" + i;
+        exact.add(path);
+      }
+      routes.add(
+          new BenchmarkRoute(path, "GET", "http://upstream-" + (i % 10) + ".internal:8080" + path));
+    }
+    exactPaths = exact.toArray(String[]::new);
+    templatedPaths = templated.toArray(String[]::new);
+
+    resolver = new RouteResolver(new StaticRepository(routes), new GatewayProperties());
+    resolver.refreshRoutes();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    resolver.shutdown();
+  }
+
+  @Benchmark
+  public Optional<RouteConfig> exactHit() {
+    return resolver.resolve(exactPaths[next++ % exactPaths.length], "GET");
+  }
+
+  @Benchmark
+  public Optional<RouteConfig> templatedHit() {
+    return resolver.resolve(templatedPaths[next++ % templatedPaths.length], "GET");
+  }
+
+  @Benchmark
+  public Optional<RouteConfig> miss() {
+    return resolver.resolve("/api/v1/unknown/resource", "GET");
+  }
+
+  /** Stored form of a generated route */
+  private static final class BenchmarkRoute extends RouteStructure {
+
+    private final String path;
+    private final String method;
+    private final String target;
+
+    BenchmarkRoute(String path, String method, String target) {
+      this.path = path;
+      this.method = method;
+      this.target = target;
+    }
+  }
+
+  /** In-memory route table; lookups outside the table miss */
+  private static final class StaticRepository implements RepositoryPlugin {
+
+    private final List<RouteConfig> routes;
+
+    StaticRepository(List<BenchmarkRoute> stored) {
+      this.routes = stored.stream().map(this::convertToRouteConfig).toList();
+    }
+
+    @Override
+    public Optional<RouteConfig> getRoute(String routeId) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<RouteConfig> getRouteByPath(String path, String method) {
+      return Optional.empty();
+    }
+
+    @Override
+    public List<RouteConfig> getAllRoutes() {
+      return routes;
+    }
+
+    @Override
+    public Optional<String> getTemplate(String templateId, String templateType) {
+      return Optional.empty();
+    }
+
+    @Override
+    public String getSupportedStorageType() {
+      return "MEMORY";
+    }
+
+    @Override
+    public RouteConfig convertToRouteConfig(RouteStructure structure) {
+      if (!(structure instanceof BenchmarkRoute route)) {
+        throw new IllegalArgumentException("Invalid RouteStructure type");
+      }
+      return RouteConfig.builder()
+          .path(route.path)
+          .method(route.method)
+          .target(route.target)
+          .enabled(true)
+          .build();
+    }
+
+    @Override
+    public String getName() {
+      return "StaticRepository";
+    }
+
+    @Override
+    public String getType() {
+      return "REPOSITORY";
+    }
+
+    @Override
+    public String getVersion() {
+      return "1.0.0";
+    }
+
+    @Override
+    public int getPriority() {
+      return 0;
+    }
+
+    @Override
+    public void initialize() {}
+
+    @Override
+    public void destroy() {}
+  }
+}
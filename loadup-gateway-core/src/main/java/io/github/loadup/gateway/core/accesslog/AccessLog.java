@@ -0,0 +1,262 @@
+package io.github.loadup.gateway.core.accesslog;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
+import io.github.loadup.gateway.facade.context.StageTimings;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.GatewayRequestListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Structured access log: one JSON line per request, written off the request path.
+ *
+ * <p>The request thread only copies a handful of fields into an {@link Entry} and offers it to an
+ * {@link MpscRingBuffer}; when the ring is full the entry is dropped and counted, requests never
+ * wait on the log. A single writer thread drains the ring in batches, formats the lines into a
+ * reused buffer and appends them to a {@link RollingFileWriter}, flushing whenever the ring runs
+ * empty.
+ */
+@Slf4j
+public class AccessLog implements GatewayRequestListener, AutoCloseable {
+
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final MpscRingBuffer<Entry> ring;
+
+  private final RollingFileWriter writer;
+
+  private final int batchSize;
+
+  private final LongAdder dropped = new LongAdder();
+
+  private final Thread worker;
+
+  private volatile boolean running = true;
+
+  // Writer thread state
+  private final StringBuilder line = new StringBuilder(512);
+
+  private final CharsetEncoder encoder =
+      StandardCharsets.UTF_8
+          .newEncoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+  private ByteBuffer bytes = ByteBuffer.allocate(4 * 1024);
+
+  public AccessLog(GatewayProperties.AccessLogProperties properties) {
+    this.ring = new MpscRingBuffer<>(properties.getBufferSize());
+    this.batchSize = Math.max(1, properties.getBatchSize());
+    try {
+      this.writer =
+          new RollingFileWriter(
+              Path.of(properties.getDirectory()),
+              properties.getFileName(),
+              properties.getMaxFileSizeMb() * 1024L * 1024L,
+              properties.getMaxHistory());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open access log in " + properties.getDirectory(), e);
+    }
+    this.worker = new Thread(this::run, "gateway-access-log");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  @Override
+  public void onRequestCompleted(GatewayContext context, long totalNanos) {
+    if (!running) {
+      dropped.increment();
+      return;
+    }
+    GatewayRequest request = context.getRequest();
+    GatewayResponse response = context.getResponse();
+    RouteConfig route = context.getRoute();
+    StageTimings timings = context.getTimings();
+    long proxyNanos =
+        timings != null && timings.isRecorded(GatewayStage.PROXY)
+            ? timings.getNanos(GatewayStage.PROXY)
+            : -1L;
+    Entry entry =
+        new Entry(
+            System.currentTimeMillis(),
+            request.getRequestId(),
+            request.getMethod(),
+            request.getPath(),
+            route != null ? route.getRouteId() : null,
+            route != null ? route.getProtocol() : null,
+            response != null ? response.getStatusCode() : 0,
+            totalNanos,
+            proxyNanos,
+            request.getClientIp(),
+            request.getUserAgent());
+    if (!ring.offer(entry)) {
+      dropped.increment();
+    }
+  }
+
+  /** Records dropped because the ring was full */
+  public long getDroppedRecords() {
+    return dropped.sum();
+  }
+
+  private void run() {
+    boolean pending = false;
+    while (running) {
+      int drained = ring.drain(this::append, batchSize);
+      if (drained > 0) {
+        pending = true;
+        continue;
+      }
+      if (pending) {
+        flush();
+        pending = false;
+      }
+      LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+    }
+    while (ring.drain(this::append, batchSize) > 0) {
+      // drain what was offered before closing
+    }
+    flush();
+    try {
+      writer.close();
+    } catch (IOException e) {
+      log.warn("Failed to close access log: {}", e.getMessage());
+    }
+  }
+
+  private void append(Entry entry) {
+    line.setLength(0);
+    format(entry, line);
+    line.append('\n');
+    try {
+      ByteBuffer encoded = encode(line);
+      writer.write(encoded.array(), encoded.limit());
+    } catch (IOException e) {
+      log.warn("Failed to write access log: {}", e.getMessage());
+    }
+  }
+
+  private ByteBuffer encode(CharSequence text) throws IOException {
+    int maxBytes = (int) (text.length() * encoder.maxBytesPerChar());
+    if (bytes.capacity() < maxBytes) {
+      bytes = ByteBuffer.allocate(maxBytes);
+    }
+    bytes.clear();
+    encoder.reset();
+    encoder.encode(CharBuffer.wrap(text), bytes, true);
+    encoder.flush(bytes);
+    bytes.flip();
+    return bytes;
+  }
+
+  private void flush() {
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      log.warn("Failed to flush access log: {}", e.getMessage());
+    }
+  }
+
+  private static void format(Entry entry, StringBuilder out) {
+    out.append("{\"time\":\"").append(Instant.ofEpochMilli(entry.epochMillis())).append('"');
+    field(out, "requestId", entry.requestId());
+    field(out, "method", entry.method());
+    field(out, "path", entry.path());
+    field(out, "routeId", entry.routeId());
+    field(out, "protocol", entry.protocol());
+    out.append(",\"status\":").append(entry.status());
+    out.append(",\"durationMs\":");
+    millis(out, entry.totalNanos());
+    if (entry.proxyNanos() >= 0) {
+      out.append(",\"proxyMs\":");
+      millis(out, entry.proxyNanos());
+    }
+    field(out, "clientIp", entry.clientIp());
+    field(out, "userAgent", entry.userAgent());
+    out.append('}');
+  }
+
+  private static void field(StringBuilder out, String name, String value) {
+    if (value == null) {
+      return;
+    }
+    out.append(",\"").append(name).append("\":\"");
+    JsonStringEncoder.getInstance().quoteAsString(value, out);
+    out.append('"');
+  }
+
+  /** Milliseconds with microsecond precision */
+  private static void millis(StringBuilder out, long nanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    long fraction = micros % 1000;
+    out.append(micros / 1000).append('.');
+    if (fraction < 100) {
+      out.append(fraction < 10 ? "00" : "0");
+    }
+    out.append(fraction);
+  }
+
+  /** Stop accepting records, write the buffered ones and close the file */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(worker);
+    try {
+      worker.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Fields of one request, copied on the request thread */
+  private record Entry(
+      long epochMillis,
+      String requestId,
+      String method,
+      String path,
+      String routeId,
+      String protocol,
+      int status,
+      long totalNanos,
+      long proxyNanos,
+      String clientIp,
+      String userAgent) {}
+}
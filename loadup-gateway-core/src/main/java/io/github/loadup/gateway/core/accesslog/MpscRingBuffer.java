@@ -0,0 +1,108 @@
+package io.github.loadup.gateway.core.accesslog;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer single-consumer ring buffer (sequenced slots, after Dmitry
+ * Vyukov's bounded queue). Producers claim a slot with one CAS and publish it by advancing the
+ * slot's sequence; {@link #offer} never blocks and fails when the ring is full. {@link #drain} must
+ * only be called from one consumer thread.
+ */
+public final class MpscRingBuffer<E> {
+
+  private final int mask;
+
+  private final AtomicReferenceArray<E> slots;
+
+  /** Per slot: position it accepts a producer at, or position + 1 once published */
+  private final AtomicLongArray sequences;
+
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Consumer position, only touched by the consumer */
+  private long head;
+
+  /** Capacity rounded up to a power of two */
+  public MpscRingBuffer(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    this.mask = size - 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /** Add an element, false if the ring is full */
+  public boolean offer(E element) {
+    while (true) {
+      long position = tail.get();
+      int index = (int) (position & mask);
+      long diff = sequences.get(index) - position;
+      if (diff == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.lazySet(index, element);
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (diff < 0) {
+        // the consumer has not released the slot of the previous lap
+        return false;
+      }
+      // else another producer claimed the position, retry with the new tail
+    }
+  }
+
+  /** Hand up to {@code limit} published elements to the consumer, in order; returns the count */
+  public int drain(Consumer<? super E> consumer, int limit) {
+    int count = 0;
+    while (count < limit) {
+      int index = (int) (head & mask);
+      if (sequences.get(index) != head + 1) {
+        // empty, or the producer of the next position has not published yet
+        break;
+      }
+      E element = slots.get(index);
+      slots.lazySet(index, null);
+      sequences.lazySet(index, head + mask + 1);
+      head++;
+      consumer.accept(element);
+      count++;
+    }
+    return count;
+  }
+
+  /** Whether no published element is waiting, from the consumer's view */
+  public boolean isEmpty() {
+    return sequences.get((int) (head & mask)) != head + 1;
+  }
+}
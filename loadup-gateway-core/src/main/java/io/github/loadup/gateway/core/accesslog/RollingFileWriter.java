@@ -0,0 +1,183 @@
+package io.github.loadup.gateway.core.accesslog;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log file rolled at a size limit and at the UTC day boundary. A rolled file is renamed
+ * to {@code <name>.<yyyy-MM-dd>.<n><ext>} and gzip-compressed on a separate virtual thread, so the
+ * writer only pays for a rename; the oldest compressed files beyond {@code maxHistory} are deleted.
+ * Not thread-safe: used by the single access log writer thread.
+ */
+@Slf4j
+final class RollingFileWriter implements Closeable {
+
+  private static final int BUFFER_BYTES = 64 * 1024;
+
+  private static final String GZIP_EXTENSION = ".gz";
+
+  private final Path directory;
+
+  private final Path file;
+
+  private final String baseName;
+
+  private final String extension;
+
+  private final long maxFileBytes;
+
+  private final int maxHistory;
+
+  private OutputStream out;
+
+  private long size;
+
+  private long day;
+
+  RollingFileWriter(Path directory, String fileName, long maxFileBytes, int maxHistory)
+      throws IOException {
+    this.directory = directory;
+    this.file = directory.resolve(fileName);
+    int dot = fileName.lastIndexOf('.');
+    this.baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+    this.extension = dot > 0 ? fileName.substring(dot) : "";
+    this.maxFileBytes = maxFileBytes;
+    this.maxHistory = maxHistory;
+    Files.createDirectories(directory);
+    open();
+  }
+
+  void write(byte[] bytes, int length) throws IOException {
+    long today = currentDay();
+    if (size > 0 && (today != day || (maxFileBytes > 0 && size + length > maxFileBytes))) {
+      roll();
+    }
+    out.write(bytes, 0, length);
+    size += length;
+  }
+
+  void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private void open() throws IOException {
+    out =
+        new BufferedOutputStream(
+            Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+            BUFFER_BYTES);
+    size = Files.size(file);
+    day =
+        size > 0
+            ? TimeUnit.MILLISECONDS.toDays(Files.getLastModifiedTime(file).toMillis())
+            : currentDay();
+  }
+
+  private void roll() throws IOException {
+    out.close();
+    String date = LocalDate.ofEpochDay(day).toString();
+    Path rolled;
+    int index = 1;
+    do {
+      String name = baseName + "." + date + "." + index++ + extension;
+      rolled = directory.resolve(name);
+    } while (Files.exists(rolled) || Files.exists(gzipPath(rolled)));
+    Files.move(file, rolled, StandardCopyOption.ATOMIC_MOVE);
+    open();
+
+    Path toCompress = rolled;
+    Thread.ofVirtual().name("access-log-gzip").start(() -> compress(toCompress));
+  }
+
+  private void compress(Path rolled) {
+    Path target = gzipPath(rolled);
+    Path partial = rolled.resolveSibling(target.getFileName() + ".tmp");
+    try {
+      try (InputStream in = Files.newInputStream(rolled);
+          OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(partial), BUFFER_BYTES)) {
+        in.transferTo(gzip);
+      }
+      Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+      Files.delete(rolled);
+      prune();
+    } catch (IOException e) {
+      log.warn("Failed to compress access log {}: {}", rolled, e.getMessage());
+    }
+  }
+
+  /** Delete the oldest compressed files beyond the history limit */
+  private synchronized void prune() throws IOException {
+    if (maxHistory <= 0) {
+      return;
+    }
+    List<Path> archives = new ArrayList<>();
+    try (DirectoryStream<Path> stream =
+        Files.newDirectoryStream(directory, baseName + ".*" + extension + GZIP_EXTENSION)) {
+      stream.forEach(archives::add);
+    }
+    if (archives.size() <= maxHistory) {
+      return;
+    }
+    archives.sort(Comparator.comparingLong(RollingFileWriter::lastModified));
+    for (Path archive : archives.subList(0, archives.size() - maxHistory)) {
+      Files.deleteIfExists(archive);
+    }
+  }
+
+  private static long lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException e) {
+      return 0L;
+    }
+  }
+
+  private static Path gzipPath(Path rolled) {
+    return rolled.resolveSibling(rolled.getFileName() + GZIP_EXTENSION);
+  }
+
+  private static long currentDay() {
+    return TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis());
+  }
+}
@@ -0,0 +1,106 @@
+package io.github.loadup.gateway.core.action;
+
+import io.github.loadup.gateway.core.shedding.LoadMonitor;
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.exception.ErrorCode;
+import io.github.loadup.gateway.facade.exception.ErrorType;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+
+/**
+ * Action to reject lower-priority routes while the node is saturated. Runs right after route
+ * resolution, before any template or proxy work, and answers 503 with Retry-After without throwing.
+ */
+@Slf4j
+public class LoadSheddingAction implements GatewayAction {
+
+  private static final String MODULE = "LOAD_SHEDDING";
+
+  /** Rejection body, built once: rejections must stay cheap when the node is already overloaded */
+  private static final String REJECTION_BODY =
+      "{\"error\": {\"code\":\""
+          + ErrorCode.SERVICE_OVERLOADED.getCode()
+          + "\",\"type\":\""
+          + ErrorType.RATE_LIMIT.name()
+          + "\",\"module\":\""
+          + MODULE
+          + "\",\"message\":\""
+          + ErrorCode.SERVICE_OVERLOADED.getMessage()
+          + "\"}}";
+
+  private final LoadMonitor loadMonitor;
+
+  private final GatewayProperties gatewayProperties;
+
+  public LoadSheddingAction(LoadMonitor loadMonitor, GatewayProperties gatewayProperties) {
+    this.loadMonitor = loadMonitor;
+    this.gatewayProperties = gatewayProperties;
+  }
+
+  @Override
+  public void execute(GatewayContext context, GatewayActionChain chain) {
+    GatewayProperties.LoadShedding config = gatewayProperties.getLoadShedding();
+    if (config == null || !config.isEnabled()) {
+      chain.proceed(context);
+      return;
+    }
+
+    RouteConfig route = context.getRoute();
+    int priority = route != null ? route.getPriority() : GatewayConstants.Priority.NORMAL;
+    if (loadMonitor.shouldShed(priority, context.getRequest())) {
+      log.debug(
+          "Request shed: route={}, priority={}, inFlight={}",
+          route != null ? route.getRouteId() : null,
+          priority,
+          loadMonitor.getInFlight());
+      context.setResponse(
+          overloaded(context.getRequest().getRequestId(), config.getRetryAfterSeconds()));
+      return;
+    }
+
+    loadMonitor.enter();
+    boolean async = false;
+    try {
+      chain.proceed(context);
+      // an asynchronous proxy call stays in flight until its completion
+      CompletableFuture<Void> completion = context.getCompletion();
+      if (completion != null && !completion.isDone()) {
+        completion.whenComplete((ignored, error) -> loadMonitor.exit());
+        async = true;
+      }
+    } finally {
+      if (!async) {
+        loadMonitor.exit();
+      }
+    }
+  }
+
+  /** 503 answer of a request the node is too busy to process */
+  static GatewayResponse overloaded(String requestId, int retryAfterSeconds) {
+    return GatewayResponse.builder()
+        .requestId(requestId)
+        .statusCode(GatewayConstants.Status.SERVICE_UNAVAILABLE)
+        .headers(retryAfterHeaders(retryAfterSeconds))
+        .body(REJECTION_BODY)
+        .contentType(GatewayConstants.ContentType.JSON)
+        .errorMessage(ErrorCode.SERVICE_OVERLOADED.getMessage())
+        .build();
+  }
+
+  private static Map<String, String> retryAfterHeaders(int seconds) {
+    Map<String, String> headers = new HashMap<>(4);
+    headers.put(GatewayConstants.Header.RETRY_AFTER, String.valueOf(seconds));
+    return headers;
+  }
+
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE + 1500;
+  }
+}
@@ -1,38 +1,212 @@
 package io.github.loadup.gateway.core.action;
 
+import io.github.loadup.gateway.core.jfr.ProxyCallEvent;
 import io.github.loadup.gateway.core.plugin.PluginManager;
 import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
+import io.github.loadup.gateway.facade.exception.GatewayException;
+import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
 
-/** Action to execute the proxy request. */
+/**
+ * Action to execute the proxy request.
+ *
+ * <p>When the plugin answers with a pending future the rest of the chain (response templates,
+ * wrapping) runs on the gateway's async threads once it completes, never on the plugin's I/O or
+ * callback threads, and {@link GatewayContext#getCompletion()} is set so the adapter can release
+ * the servlet thread. When those threads are saturated the request is answered 503 right away.
+ * Cancelling that completion cancels the proxy call.
+ * Each call is reported as a {@link ProxyCallEvent} while a Flight Recorder recording enables it.
+ */
 @Slf4j
 public class ProxyAction implements GatewayAction {
 
+  /** Continuations queued per async thread before further requests are rejected */
+  private static final int QUEUE_PER_THREAD = 1024;
+
+  /** Retry-After of a request rejected because the async threads are saturated */
+  private static final int RETRY_AFTER_SECONDS = 1;
+
   private final PluginManager pluginManager;
 
+  /** Runs the actions after an asynchronous proxy call */
+  private final ExecutorService asyncExecutor;
+
   public ProxyAction(PluginManager pluginManager) {
+    this(pluginManager, 0);
+  }
+
+  /**
+   * @param asyncThreads threads running the actions after an asynchronous proxy call, 0 for one per
+   *     CPU
+   */
+  public ProxyAction(PluginManager pluginManager, int asyncThreads) {
     this.pluginManager = pluginManager;
+    int threads = asyncThreads > 0 ? asyncThreads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger counter = new AtomicInteger();
+    this.asyncExecutor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(threads * QUEUE_PER_THREAD),
+            r -> {
+              Thread thread = new Thread(r, "gateway-async-" + counter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    asyncExecutor.shutdown();
   }
 
   @Override
   public void execute(GatewayContext context, GatewayActionChain chain) {
+    CompletableFuture<GatewayResponse> future;
+    long start = System.nanoTime();
+    ProxyCallEvent event = new ProxyCallEvent();
+    event.begin();
     try {
       // Execute proxy through plugin manager
-      GatewayResponse response =
-          pluginManager.executeProxy(context.getRequest(), context.getRoute());
+      future = pluginManager.executeProxyAsync(context.getRequest(), context.getRoute());
+    } catch (GatewayException e) {
+      // Already typed (and stackless when expected), re-throw to be handled by adapter
+      context.getTimings().recordSince(GatewayStage.PROXY, start);
+      commit(event, context, null);
+      throw e;
+    } catch (Exception e) {
+      context.getTimings().recordSince(GatewayStage.PROXY, start);
+      commit(event, context, null);
+      throw wrap(e);
+    }
 
-      // Set response in context
+    // Synchronous plugins and fast answers: finish inline
+    if (future.isDone() && !future.isCompletedExceptionally()) {
+      context.getTimings().recordSince(GatewayStage.PROXY, start);
+      GatewayResponse response = future.join();
+      commit(event, context, response);
       context.setResponse(response);
+      chain.proceed(context);
+      return;
+    }
+
+    CompletableFuture<Void> completion = new CompletableFuture<>();
+    future.whenComplete(
+        (response, error) -> {
+          // The proxy stage ends when the upstream answered
+          context.getTimings().recordSince(GatewayStage.PROXY, start);
+          commit(event, context, error == null ? response : null);
+          if (completion.isDone()) {
+            return;
+          }
+          try {
+            asyncExecutor.execute(() -> proceed(context, chain, response, error, completion));
+          } catch (RejectedExecutionException e) {
+            // saturated: answer now instead of running the chain on the plugin's I/O thread
+            log.debug(
+                "Async threads saturated, rejecting request {}",
+                context.getRequest().getRequestId());
+            context.setResponse(
+                LoadSheddingAction.overloaded(
+                    context.getRequest().getRequestId(), RETRY_AFTER_SECONDS));
+            completion.complete(null);
+          }
+        });
+    completion.whenComplete(
+        (ignored, error) -> {
+          if (error instanceof CancellationException) {
+            future.cancel(true);
+          }
+        });
+    context.setCompletion(completion);
+  }
 
-      // Proceed (though typically this is the end)
+  /** Run the remaining actions once the proxy call completed, on an async thread */
+  private static void proceed(
+      GatewayContext context,
+      GatewayActionChain chain,
+      GatewayResponse response,
+      Throwable error,
+      CompletableFuture<Void> completion) {
+    try {
+      if (error != null) {
+        throw wrap(unwrap(error));
+      }
+      // Set response in context and run the remaining actions
+      context.setResponse(response);
       chain.proceed(context);
-    } catch (Exception e) {
-      // Re-throw to be handled by adapter (or wrap if needed, but adapter handles generic
-      // Exception)
-      throw new RuntimeException("Proxy execution failed", e);
+      completion.complete(null);
+    } catch (Throwable e) {
+      completion.completeExceptionally(e);
+    }
+  }
+
+  /** Report the call, {@code response} is null when the call failed or was cancelled */
+  private static void commit(
+      ProxyCallEvent event, GatewayContext context, GatewayResponse response) {
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    if (context.getRoute() != null) {
+      event.routeId = context.getRoute().getRouteId();
+      event.protocol = context.getRoute().getProtocol();
+      event.target = context.getRoute().getTarget();
+    }
+    event.bytesIn = bodySize(context.getRequest());
+    if (response != null) {
+      event.bytesOut = bodySize(response);
+      event.statusCode = response.getStatusCode();
+    } else {
+      event.failed = true;
+    }
+    event.commit();
+  }
+
+  private static long bodySize(GatewayRequest request) {
+    byte[] body = request.getBodyBytes();
+    return body != null ? body.length : 0L;
+  }
+
+  /** Size of a buffered body, -1 for object payloads and streams */
+  private static long bodySize(GatewayResponse response) {
+    if (response.hasPayload() || response.isStreaming()) {
+      return -1L;
+    }
+    byte[] body = response.getBodyBytes();
+    return body != null ? body.length : 0L;
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  private static RuntimeException wrap(Throwable e) {
+    if (e instanceof GatewayException) {
+      return (GatewayException) e;
+    }
+    if (e instanceof CancellationException) {
+      return (CancellationException) e;
     }
+    return GatewayExceptionFactory.wrap(e, "PROXY", "Proxy execution failed: " + e.getMessage());
   }
 
   public int getOrder() {
@@ -2,6 +2,8 @@ package io.github.loadup.gateway.core.action;
 
 import io.github.loadup.gateway.core.template.TemplateEngine;
 import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
+import io.github.loadup.gateway.facade.exception.GatewayException;
 import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
 import io.github.loadup.gateway.facade.model.GatewayRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -20,15 +22,24 @@ public class RequestTemplateAction implements GatewayAction {
   @Override
   public void execute(GatewayContext context, GatewayActionChain chain) {
     if (context.getRoute().getRequestTemplate() != null) {
+      long start = System.nanoTime();
       try {
         GatewayRequest processedRequest =
             templateEngine.processRequestTemplate(
-                context.getRequest(), context.getRoute().getRequestTemplate());
+                context.getRequest(),
+                context.getRoute().getRequestTemplate(),
+                context.getRoute().getTemplateCpuBudget(),
+                context.getTimings());
         context.setRequest(processedRequest);
+      } catch (GatewayException e) {
+        // Budget violations and rejected templates are already typed
+        throw e;
       } catch (Exception e) {
         log.warn("Request template processing failed", e);
         throw GatewayExceptionFactory.templateExecutionError(
             context.getRoute().getRequestTemplate(), e);
+      } finally {
+        context.getTimings().recordSince(GatewayStage.REQUEST_TEMPLATE, start);
       }
     }
     chain.proceed(context);
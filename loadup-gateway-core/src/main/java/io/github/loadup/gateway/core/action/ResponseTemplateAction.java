@@ -2,6 +2,8 @@ package io.github.loadup.gateway.core.action;
 
 import io.github.loadup.gateway.core.template.TemplateEngine;
 import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
+import io.github.loadup.gateway.facade.exception.GatewayException;
 import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -24,15 +26,24 @@ public class ResponseTemplateAction implements GatewayAction {
 
     // Post-process response
     if (context.getResponse() != null && context.getRoute().getResponseTemplate() != null) {
+      long start = System.nanoTime();
       try {
         GatewayResponse processedResponse =
             templateEngine.processResponseTemplate(
-                context.getResponse(), context.getRoute().getResponseTemplate());
+                context.getResponse(),
+                context.getRoute().getResponseTemplate(),
+                context.getRoute().getTemplateCpuBudget(),
+                context.getTimings());
         context.setResponse(processedResponse);
+      } catch (GatewayException e) {
+        // Budget violations and rejected templates are already typed
+        throw e;
       } catch (Exception e) {
         log.warn("Response template processing failed", e);
         throw GatewayExceptionFactory.templateExecutionError(
             context.getRoute().getResponseTemplate(), e);
+      } finally {
+        context.getTimings().recordSince(GatewayStage.RESPONSE_TEMPLATE, start);
       }
     }
   }
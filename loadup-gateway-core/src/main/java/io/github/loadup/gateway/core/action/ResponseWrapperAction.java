@@ -1,21 +1,46 @@
 package io.github.loadup.gateway.core.action;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
 import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
 import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.utils.CachedClock;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import lombok.extern.slf4j.Slf4j; // ...existing code...
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
 
-/** Action to wrap response in standard format */
+/**
+ * Action to wrap response in standard format
+ *
+ * <p>The wrapper is streamed rather than rebuilt: a cached {@code {"result":{..},"data":} prefix,
+ * the upstream bytes spliced in as-is when they are a single valid JSON value (otherwise emitted as
+ * a JSON string), then the {@code ,"meta":{..}}} suffix. The upstream payload is never turned into
+ * an object tree, and Content-Length is the length of the assembled array. A payload object is
+ * serialized straight to bytes once and spliced in without validation.
+ */
 @Slf4j
 public class ResponseWrapperAction implements GatewayAction {
 
+  private static final byte[] DATA_ONLY_PREFIX = bytes("{\"data\":");
+  private static final byte[] NULL = bytes("null");
+  private static final byte[] QUOTE = bytes("\"");
+  private static final byte[] META_REQUEST_ID = bytes(",\"meta\":{\"requestId\":\"");
+  private static final byte[] META_TIMESTAMP = bytes("\",\"timestamp\":\"");
+  private static final byte[] META_EMPTY = bytes(",\"meta\":{}}");
+  private static final byte[] META_END = bytes("\"}}");
+  private static final byte[] END = bytes("}");
+
+  /** Result prefixes per HTTP status code, built on first use */
+  private static final byte[][] RESULT_PREFIXES = new byte[600][];
+
   private final GatewayProperties gatewayProperties;
   private final ObjectMapper objectMapper;
 
@@ -32,7 +57,8 @@ public class ResponseWrapperAction implements GatewayAction {
     RouteConfig route = context.getRoute();
 
     boolean shouldWrap = false;
-    if (response != null && route != null) {
+    // streamed responses are written element by element and never wrapped
+    if (response != null && route != null && !response.isStreaming()) {
       if (route.getWrapResponse() != null) {
         shouldWrap = route.getWrapResponse();
       } else if (gatewayProperties.getResponse() != null) {
@@ -41,69 +67,158 @@ public class ResponseWrapperAction implements GatewayAction {
     }
 
     if (shouldWrap) {
+      long start = System.nanoTime();
       try {
-        // Assume response body is JSON, wrap it in Result
-        Object data = null;
-        if (response.getBody() != null) {
-          try {
-            data = objectMapper.readValue(response.getBody(), Object.class);
-          } catch (Exception e) {
-            data = response.getBody();
-          }
-        }
-
-        Map<String, Object> wrapper = new LinkedHashMap<>();
+        GatewayProperties.ResponseProperties config = gatewayProperties.getResponse();
 
         // 1. Result block
-        if (gatewayProperties.getResponse().isResult()) {
-          Map<String, Object> result = new LinkedHashMap<>();
-          // Use response status code or default to 200/success logic
-          int statusCode = response.getStatusCode();
-          result.put("code", statusCode == 0 ? 200 : statusCode);
-          result.put("status", (statusCode >= 200 && statusCode < 300) ? "success" : "error");
-          result.put(
-              "message",
-              (statusCode >= 200 && statusCode < 300)
-                  ? "Request processed successfully"
-                  : "Request processed with error");
-          wrapper.put("result", result);
-        }
+        byte[] prefix =
+            config.isResult() ? resultPrefix(response.getStatusCode()) : DATA_ONLY_PREFIX;
 
-        // 2. Data block
-        wrapper.put("data", data);
+        // 2. Data block: the serialized payload or raw upstream JSON as-is, otherwise the body
+        // quoted as a JSON string
+        boolean serialized = response.hasPayload() && !(response.getPayload() instanceof String);
+        byte[] body = utf8Body(response, serialized);
+        boolean raw = body == null || serialized || isSingleJsonValue(body);
+        byte[] data = body == null ? NULL : raw ? body : quote(body);
 
         // 3. Meta block
-        if (gatewayProperties.getResponse().isMeta()) {
-          Map<String, Object> meta = new LinkedHashMap<>();
-          if (context.getRequest() != null) {
-            meta.put("requestId", context.getRequest().getRequestId());
-            if (context.getRequest().getRequestTime() != null) {
-              meta.put("timestamp", context.getRequest().getRequestTime().toString());
-            } else {
-              meta.put("timestamp", java.time.LocalDateTime.now().toString());
-            }
-          }
-          wrapper.put("meta", meta);
+        byte[] requestId = null;
+        byte[] timestamp = null;
+        GatewayRequest request = context.getRequest();
+        if (config.isMeta() && request != null) {
+          requestId =
+              JsonStringEncoder.getInstance().quoteAsUTF8(nullToEmpty(request.getRequestId()));
+          timestamp =
+              request.getRequestTime() != null
+                  ? bytes(request.getRequestTime().toString())
+                  : CachedClock.nowBytes();
         }
 
-        String newBody = objectMapper.writeValueAsString(wrapper);
+        int length = prefix.length + data.length;
+        if (!raw) {
+          length += 2 * QUOTE.length;
+        }
+        if (requestId != null) {
+          length +=
+              META_REQUEST_ID.length
+                  + requestId.length
+                  + META_TIMESTAMP.length
+                  + timestamp.length
+                  + META_END.length;
+        } else {
+          length += config.isMeta() ? META_EMPTY.length : END.length;
+        }
 
-        response.setBody(newBody);
+        byte[] out = new byte[length];
+        int pos = append(out, 0, prefix);
+        if (!raw) {
+          pos = append(out, pos, QUOTE);
+        }
+        pos = append(out, pos, data);
+        if (!raw) {
+          pos = append(out, pos, QUOTE);
+        }
+        if (requestId != null) {
+          pos = append(out, pos, META_REQUEST_ID);
+          pos = append(out, pos, requestId);
+          pos = append(out, pos, META_TIMESTAMP);
+          pos = append(out, pos, timestamp);
+          append(out, pos, META_END);
+        } else {
+          append(out, pos, config.isMeta() ? META_EMPTY : END);
+        }
+
+        response.setBodyBytes(out);
+        response.setBodyCharset(StandardCharsets.UTF_8);
+        response.setContentType(GatewayConstants.ContentType.JSON);
         if (response.getHeaders() == null) {
           response.setHeaders(new HashMap<>());
         }
-        response.getHeaders().put("Content-Type", "application/json");
-        response
-            .getHeaders()
-            .put("Content-Length", String.valueOf(newBody.getBytes(StandardCharsets.UTF_8).length));
+        response.getHeaders().put("Content-Type", GatewayConstants.ContentType.JSON);
+        response.getHeaders().put("Content-Length", String.valueOf(out.length));
 
       } catch (Exception e) {
         log.error("Failed to wrap response", e);
         // On error, we might leave the response as is or set error response
+      } finally {
+        context.getTimings().recordSince(GatewayStage.WRAP, start);
+      }
+    }
+  }
+
+  /**
+   * Cheap validity check: walks the tokens without building values and accepts exactly one JSON
+   * value with nothing but whitespace after it, so the bytes can be spliced in as-is.
+   */
+  private boolean isSingleJsonValue(byte[] body) {
+    try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+      JsonToken token = parser.nextToken();
+      if (token == null) {
+        return false;
       }
+      if (token.isStructStart()) {
+        parser.skipChildren();
+      }
+      return parser.nextToken() == null;
+    } catch (Exception e) {
+      return false;
     }
   }
 
+  /** Body as UTF-8, transcoded when the upstream declared another charset */
+  private static byte[] utf8Body(GatewayResponse response, boolean serialized) {
+    if (serialized || StandardCharsets.UTF_8.equals(response.getBodyCharset())) {
+      return response.getBodyBytes();
+    }
+    String body = response.getBody();
+    return body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+  }
+
+  private static byte[] quote(byte[] body) {
+    return JsonStringEncoder.getInstance()
+        .quoteAsUTF8(new String(body, StandardCharsets.UTF_8));
+  }
+
+  private static byte[] resultPrefix(int statusCode) {
+    int code = statusCode == 0 ? 200 : statusCode;
+    if (code < 0 || code >= RESULT_PREFIXES.length) {
+      return buildResultPrefix(code);
+    }
+    byte[] prefix = RESULT_PREFIXES[code];
+    if (prefix == null) {
+      // benign race: concurrent builders produce identical arrays
+      prefix = buildResultPrefix(code);
+      RESULT_PREFIXES[code] = prefix;
+    }
+    return prefix;
+  }
+
+  private static byte[] buildResultPrefix(int code) {
+    boolean success = code >= 200 && code < 300;
+    return bytes(
+        "{\"result\":{\"code\":"
+            + code
+            + ",\"status\":\""
+            + (success ? "success" : "error")
+            + "\",\"message\":\""
+            + (success ? "Request processed successfully" : "Request processed with error")
+            + "\"},\"data\":");
+  }
+
+  private static int append(byte[] out, int pos, byte[] part) {
+    System.arraycopy(part, 0, out, pos, part.length);
+    return pos + part.length;
+  }
+
+  private static String nullToEmpty(String value) {
+    return value != null ? value : "";
+  }
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
   public int getOrder() {
     return Ordered.LOWEST_PRECEDENCE - 3000;
   }
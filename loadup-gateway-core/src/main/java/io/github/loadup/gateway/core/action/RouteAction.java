@@ -2,6 +2,7 @@ package io.github.loadup.gateway.core.action;
 
 import io.github.loadup.gateway.core.router.RouteResolver;
 import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
 import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
 import io.github.loadup.gateway.facade.model.RouteConfig;
 import java.util.Optional;
@@ -21,7 +22,9 @@ public class RouteAction implements GatewayAction {
   @Override
   public void execute(GatewayContext context, GatewayActionChain chain) {
     // Resolve route
+    long start = System.nanoTime();
     Optional<RouteConfig> routeOpt = routeResolver.resolve(context.getRequest());
+    context.getTimings().recordSince(GatewayStage.ROUTE, start);
 
     if (!routeOpt.isPresent()) {
       // Throw exception to be handled by the adapter
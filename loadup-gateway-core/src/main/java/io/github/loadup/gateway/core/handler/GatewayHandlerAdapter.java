@@ -1,28 +1,69 @@
 package io.github.loadup.gateway.core.handler;
 
 import io.github.loadup.gateway.core.action.ActionDispatcher;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
 import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
 import io.github.loadup.gateway.facade.exception.ExceptionHandler;
 import io.github.loadup.gateway.facade.exception.GatewayException;
 import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
+import io.github.loadup.gateway.facade.exception.ProxyException;
 import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.GatewayRequestListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.servlet.HandlerAdapter;
 import org.springframework.web.servlet.ModelAndView;
 
+@Slf4j
 public class GatewayHandlerAdapter implements HandlerAdapter, Ordered {
 
+  /** Request attribute holding the context of a request continued asynchronously */
+  static final String CONTEXT_ATTRIBUTE = GatewayHandlerAdapter.class.getName() + ".context";
+
+  /** Context attribute set once the request listeners were notified */
+  private static final String NOTIFIED_ATTRIBUTE =
+      GatewayHandlerAdapter.class.getName() + ".notified";
+
+  /** Async result of a streamed response, which is written by then */
+  private static final Object STREAMED = new Object();
+
+  private static final long ASYNC_TIMEOUT_GRACE_MILLIS = 1000L;
+
   private final ActionDispatcher actionDispatcher;
 
+  private final List<GatewayRequestListener> requestListeners;
+
+  private final GatewayRequestFactory requestFactory = new GatewayRequestFactory();
+
+  private final ResponseWriter responseWriter = new ResponseWriter();
+
   public GatewayHandlerAdapter(ActionDispatcher actionDispatcher) {
+    this(actionDispatcher, List.of());
+  }
+
+  public GatewayHandlerAdapter(
+      ActionDispatcher actionDispatcher, List<GatewayRequestListener> requestListeners) {
     this.actionDispatcher = actionDispatcher;
+    this.requestListeners = requestListeners;
   }
 
   @Override
@@ -33,145 +74,314 @@ public class GatewayHandlerAdapter implements HandlerAdapter, Ordered {
   @Override
   public ModelAndView handle(
       HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-    GatewayHandler gatewayHandler = (GatewayHandler) handler;
+    WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+    if (asyncManager.hasConcurrentResult()) {
+      // async dispatch of a request continued below
+      resume(request, response, asyncManager);
+      return null;
+    }
+    long receivedNanos = System.nanoTime();
 
     // 1. Build GatewayContext
-    GatewayContext context = buildGatewayContext(request, response, gatewayHandler);
+    GatewayContext context = buildGatewayContext(request, response, receivedNanos);
+    notifyStarted(context);
 
     try {
       // 2. Call core dispatcher
       actionDispatcher.dispatch(context);
     } catch (Exception e) {
       // Log and handle global exception if not handled in chain
-      GatewayException wrapped = GatewayExceptionFactory.wrap(e, "HANDLER_ADAPTER");
-      GatewayResponse errorResponse =
-          ExceptionHandler.handleException(context.getRequest().getRequestId(), wrapped, 0);
-      context.setResponse(errorResponse);
-      context.setException(e);
+      handleError(context, e);
     }
 
-    // 3. Write response
-    if (context.getResponse() != null) {
-      writeResponse(response, context.getResponse());
-    } else {
-      // Fallback for null response
-      response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "No response generated");
+    // 3. Asynchronous proxy call still pending or streamed result: release the servlet thread
+    CompletableFuture<Void> completion = context.getCompletion();
+    boolean pending = completion != null && !completion.isDone();
+    if (completion != null && !pending) {
+      try {
+        completion.join();
+      } catch (CompletionException | CancellationException e) {
+        handleError(context, unwrap(e));
+      }
+    }
+    if (pending || isStreaming(context)) {
+      continueAsync(
+          request,
+          response,
+          asyncManager,
+          context,
+          pending ? completion : CompletableFuture.<Void>completedFuture(null));
+      return null;
+    }
+
+    // 4. Write response
+    try {
+      writeResponse(response, context);
+    } finally {
+      notifyCompleted(context);
     }
 
     // Return null to indicate request handled
     return null;
   }
 
-  @Override
-  public long getLastModified(HttpServletRequest request, Object handler) {
-    return -1;
+  /**
+   * Continue the request through Spring MVC's async support, so its timeout and error handling,
+   * interceptors and filters apply. Once the proxy call and the actions after it are done, the
+   * response is written on the container's async dispatch ({@link #resume}); a streamed result is
+   * written as it arrives and the dispatch only ends the request. A servlet async timeout or error
+   * (client gone) cancels the completion, which cancels the proxy call, or the stream once it
+   * started; the route timeout also bounds streamed responses.
+   */
+  private void continueAsync(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      WebAsyncManager asyncManager,
+      GatewayContext context,
+      CompletableFuture<Void> completion)
+      throws Exception {
+    DeferredResult<Object> deferred =
+        new DeferredResult<>(asyncTimeoutMillis(context.getRoute()));
+    // set once the outcome (response or stream) is decided
+    AtomicBoolean finished = new AtomicBoolean();
+    AtomicReference<StreamSubscriber> stream = new AtomicReference<>();
+
+    deferred.onTimeout(
+        () -> {
+          if (finished.compareAndSet(false, true)) {
+            completion.cancel(true);
+            RouteConfig route = context.getRoute();
+            handleError(
+                context, ProxyException.deadlineExceeded(route != null ? route.getTarget() : null));
+            deferred.setResult(context);
+          } else {
+            abortStream(stream);
+          }
+        });
+    deferred.onError(
+        error -> {
+          if (finished.compareAndSet(false, true)) {
+            log.debug(
+                "Client connection failed, cancelling request {}",
+                context.getRequest().getRequestId());
+            completion.cancel(true);
+            notifyCompleted(context);
+          } else {
+            abortStream(stream);
+          }
+        });
+
+    request.setAttribute(CONTEXT_ATTRIBUTE, context);
+    asyncManager.setAsyncWebRequest(WebAsyncUtils.createAsyncWebRequest(request, response));
+    asyncManager.startDeferredResultProcessing(deferred);
+
+    completion.whenComplete(
+        (ignored, error) -> {
+          if (!finished.compareAndSet(false, true)) {
+            return;
+          }
+          if (error != null) {
+            handleError(context, unwrap(error));
+          }
+          if (!isStreaming(context)) {
+            deferred.setResult(context);
+            return;
+          }
+          // the listeners see a streamed request once its last element was written
+          Runnable onDone =
+              () -> {
+                notifyCompleted(context);
+                deferred.setResult(STREAMED);
+              };
+          try {
+            startStream(
+                (HttpServletResponse) request.getAsyncContext().getResponse(),
+                context,
+                stream,
+                onDone);
+          } catch (Exception e) {
+            log.debug(
+                "Failed to start stream for request {}: {}",
+                context.getRequest().getRequestId(),
+                e.getMessage());
+            abortStream(stream);
+            onDone.run();
+          }
+        });
   }
 
-  private GatewayContext buildGatewayContext(
-      HttpServletRequest request, HttpServletResponse response, GatewayHandler handler)
+  /** Async dispatch: write the response of a request continued by {@link #continueAsync} */
+  private void resume(
+      HttpServletRequest request, HttpServletResponse response, WebAsyncManager asyncManager)
       throws IOException {
-    GatewayRequest gatewayRequest = buildGatewayRequest(request);
-    return GatewayContext.builder()
-        .request(gatewayRequest)
-        .originalRequest(request)
-        .originalResponse(response)
-        .build();
-  }
-
-  private GatewayRequest buildGatewayRequest(HttpServletRequest request) throws IOException {
-
-    // Get request headers
-    Map<String, String> headers = new HashMap<>();
-    Enumeration<String> headerNames = request.getHeaderNames();
-    while (headerNames.hasMoreElements()) {
-      String headerName = headerNames.nextElement();
-      headers.put(headerName, request.getHeader(headerName));
+    Object result = asyncManager.getConcurrentResult();
+    asyncManager.clearConcurrentResult();
+    GatewayContext context = (GatewayContext) request.getAttribute(CONTEXT_ATTRIBUTE);
+    request.removeAttribute(CONTEXT_ATTRIBUTE);
+    if (context == null || result == STREAMED) {
+      return;
     }
-
-    // Get query parameters
-    Map<String, List<String>> queryParams = new HashMap<>();
-    if (request.getQueryString() != null) {
-      Arrays.stream(request.getQueryString().split("&"))
-          .forEach(
-              param -> {
-                String[] kv = param.split("=", 2);
-                if (kv.length == 2) {
-                  queryParams.computeIfAbsent(kv[0], k -> new ArrayList<>()).add(kv[1]);
-                }
-              });
+    if (result instanceof Throwable error) {
+      // the async request failed before a response was decided, the client is gone
+      log.debug(
+          "Async request {} failed: {}", context.getRequest().getRequestId(), error.toString());
+      notifyCompleted(context);
+      return;
+    }
+    try {
+      writeResponse(response, context);
+    } finally {
+      notifyCompleted(context);
     }
+  }
 
-    // Read body
-    String body = request.getReader().lines().collect(Collectors.joining("\n"));
-
-    return GatewayRequest.builder()
-        .requestId(UUID.randomUUID().toString())
-        .path(request.getRequestURI())
-        .method(request.getMethod())
-        .headers(headers)
-        .queryParameters(queryParams)
-        .body(body)
-        .contentType(request.getContentType())
-        .clientIp("*")
-        .userAgent(request.getHeader("User-Agent"))
-        .requestTime(LocalDateTime.now())
-        .attributes(new HashMap<>())
-        .build();
-  }
-
-  /** Write the HTTP response */
-  private void writeResponse(HttpServletResponse response, GatewayResponse gatewayResponse)
+  /** Set the head of a streamed response and subscribe the non-blocking writer to the stream */
+  @SuppressWarnings("unchecked")
+  private void startStream(
+      HttpServletResponse response,
+      GatewayContext context,
+      AtomicReference<StreamSubscriber> stream,
+      Runnable onDone)
       throws IOException {
+    GatewayResponse gatewayResponse = context.getResponse();
+    stampProcessingTime(context, gatewayResponse);
+    long start = System.nanoTime();
+    responseWriter.writeHead(response, gatewayResponse);
+    context.getTimings().recordSince(GatewayStage.WRITE, start);
+    String contentType = gatewayResponse.getContentType();
+    boolean sse =
+        contentType != null && contentType.startsWith(GatewayConstants.ContentType.EVENT_STREAM);
+    StreamSubscriber subscriber =
+        new StreamSubscriber(
+            response.getOutputStream(), sse, context.getRequest().getRequestId(), onDone);
+    stream.set(subscriber);
+    subscriber.start();
+    ((Flow.Publisher<Object>) gatewayResponse.getStream()).subscribe(subscriber);
+  }
 
-    response.setStatus(gatewayResponse.getStatusCode());
-
-    // Set response headers
-    if (gatewayResponse.getHeaders() != null) {
-      gatewayResponse
-          .getHeaders()
-          .forEach(
-              (k, v) -> {
-                if (k == null || v == null) return;
-                String lower = k.toLowerCase(Locale.ROOT);
-                if ("content-length".equals(lower) || "transfer-encoding".equals(lower)) {
-                  // skip these; container will set proper values
-                  return;
-                }
-                response.setHeader(k, v);
-              });
+  private static void abortStream(AtomicReference<StreamSubscriber> stream) {
+    StreamSubscriber subscriber = stream.get();
+    if (subscriber != null) {
+      subscriber.abort();
     }
+  }
+
+  private static boolean isStreaming(GatewayContext context) {
+    return context.getResponse() != null && context.getResponse().isStreaming();
+  }
 
-    // Set content type and ensure charset where appropriate (default to UTF-8 for JSON/text)
-    if (gatewayResponse.getContentType() != null) {
-      response.setContentType(gatewayResponse.getContentType());
-      String currentEncoding = response.getCharacterEncoding();
-      if ((currentEncoding == null || currentEncoding.isEmpty())) {
-        String ct = gatewayResponse.getContentType().toLowerCase(Locale.ROOT);
-        if (ct.startsWith("application/json")
-            || ct.startsWith("text/")
-            || ct.contains("json")
-            || ct.contains("text")) {
-          response.setCharacterEncoding("UTF-8");
-        }
+  private void writeResponse(HttpServletResponse response, GatewayContext context)
+      throws IOException {
+    GatewayResponse gatewayResponse = context.getResponse();
+    if (gatewayResponse != null) {
+      stampProcessingTime(context, gatewayResponse);
+      long start = System.nanoTime();
+      try {
+        responseWriter.write(response, gatewayResponse);
+      } finally {
+        context.getTimings().recordSince(GatewayStage.WRITE, start);
       }
     } else {
-      // If no content type provided but body looks like JSON, default to
-      // application/json;charset=UTF-8
-      if (gatewayResponse.getBody() != null && gatewayResponse.getBody().trim().startsWith("{")) {
-        response.setContentType("application/json;charset=UTF-8");
+      // Fallback for null response
+      response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "No response generated");
+    }
+  }
+
+  /** Gateway processing time up to the write, on the response and in its headers */
+  private static void stampProcessingTime(GatewayContext context, GatewayResponse response) {
+    long nanos = elapsedNanos(context);
+    response.setProcessingTime(TimeUnit.NANOSECONDS.toMillis(nanos));
+    Map<String, String> headers = response.getHeaders();
+    if (headers == null) {
+      headers = new HashMap<>();
+      response.setHeaders(headers);
+    }
+    headers.put(GatewayConstants.Header.PROCESSING_TIME, formatMillis(nanos));
+  }
+
+  /** Milliseconds with microsecond precision, e.g. {@code 12.345} */
+  private static String formatMillis(long nanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    long fraction = micros % 1000;
+    return (micros / 1000) + (fraction < 10 ? ".00" : fraction < 100 ? ".0" : ".") + fraction;
+  }
+
+  private static long elapsedNanos(GatewayContext context) {
+    long receivedNanos = context.getRequest().getReceivedNanos();
+    return receivedNanos > 0 ? System.nanoTime() - receivedNanos : 0L;
+  }
+
+  private void notifyStarted(GatewayContext context) {
+    for (GatewayRequestListener listener : requestListeners) {
+      try {
+        listener.onRequestStarted(context);
+      } catch (RuntimeException e) {
+        log.warn("Request listener {} failed: {}", listener.getClass().getName(), e.toString());
       }
     }
+  }
 
-    // Write body
-    if (gatewayResponse.getBody() != null) {
-      response.getWriter().write(gatewayResponse.getBody());
-      response.getWriter().flush();
-    } else {
-      // ensure writer is flushed even if no body
-      response.getWriter().flush();
+  /**
+   * Hand the finished request to the listeners, once, before an async request is completed and its
+   * servlet objects recycled; a failing listener does not affect the others
+   */
+  private void notifyCompleted(GatewayContext context) {
+    if (requestListeners.isEmpty()
+        || context.getAttributes().putIfAbsent(NOTIFIED_ATTRIBUTE, Boolean.TRUE) != null) {
+      return;
+    }
+    long totalNanos = elapsedNanos(context);
+    for (GatewayRequestListener listener : requestListeners) {
+      try {
+        listener.onRequestCompleted(context, totalNanos);
+      } catch (RuntimeException e) {
+        log.warn("Request listener {} failed: {}", listener.getClass().getName(), e.toString());
+      }
     }
   }
 
+  private void handleError(GatewayContext context, Throwable e) {
+    GatewayException wrapped = GatewayExceptionFactory.wrap(e, "HANDLER_ADAPTER");
+    GatewayResponse errorResponse =
+        ExceptionHandler.handleException(
+            context.getRequest().getRequestId(),
+            wrapped,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos(context)));
+    context.setResponse(errorResponse);
+    context.setException(e);
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  /** Servlet async timeout: the route deadline plus a grace period for the proxy to time out */
+  private static long asyncTimeoutMillis(RouteConfig route) {
+    long timeout = route != null ? route.getTimeout() : 0L;
+    return timeout > 0 ? timeout + ASYNC_TIMEOUT_GRACE_MILLIS : 0L;
+  }
+
+  @Override
+  public long getLastModified(HttpServletRequest request, Object handler) {
+    return -1;
+  }
+
+  private GatewayContext buildGatewayContext(
+      HttpServletRequest request, HttpServletResponse response, long receivedNanos)
+      throws IOException {
+    GatewayRequest gatewayRequest = requestFactory.create(request, receivedNanos);
+    GatewayContext context =
+        GatewayContext.builder()
+            .request(gatewayRequest)
+            .originalRequest(request)
+            .originalResponse(response)
+            .build();
+    gatewayRequest.setTimings(context.getTimings());
+    return context;
+  }
+
   @Override
   public int getOrder() {
     return Ordered.HIGHEST_PRECEDENCE;
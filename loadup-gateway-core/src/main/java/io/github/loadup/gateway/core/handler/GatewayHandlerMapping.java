@@ -1,7 +1,9 @@
 package io.github.loadup.gateway.core.handler;
 
+import io.github.loadup.gateway.core.router.RouteResolver;
+import io.github.loadup.gateway.facade.context.GatewayContext;
 import io.github.loadup.gateway.facade.model.RouteConfig;
-import io.github.loadup.gateway.facade.spi.RepositoryPlugin;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Optional;
 import org.springframework.core.Ordered;
@@ -9,10 +11,10 @@ import org.springframework.web.servlet.handler.AbstractHandlerMapping;
 
 public class GatewayHandlerMapping extends AbstractHandlerMapping {
 
-  private final RepositoryPlugin routeRepository;
+  private final RouteResolver routeResolver;
 
-  public GatewayHandlerMapping(RepositoryPlugin routeRepository) {
-    this.routeRepository = routeRepository;
+  public GatewayHandlerMapping(RouteResolver routeResolver) {
+    this.routeResolver = routeResolver;
     setOrder(Ordered.HIGHEST_PRECEDENCE); // 优先级高于普通 Controller
     System.out.println("GatewayHandlerMapping initialized");
   }
@@ -20,10 +22,18 @@ public class GatewayHandlerMapping extends AbstractHandlerMapping {
 
   @Override
   protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
+    // Async dispatch of a request the gateway continued: finish it even if its route is gone
+    if (request.getDispatcherType() == DispatcherType.ASYNC
+        && request.getAttribute(GatewayHandlerAdapter.CONTEXT_ATTRIBUTE)
+            instanceof GatewayContext context) {
+      RouteConfig route = context.getRoute();
+      return new GatewayHandler(route != null ? route.getRouteId() : null);
+    }
+
     String path = request.getRequestURI();
 
-    // 从你的 repository-plugin 中查找是否存在该配置
-    Optional<RouteConfig> route = routeRepository.getRouteByPath(path, "POST");
+    // Route table lookup (exact and templated paths) for the actual request method
+    Optional<RouteConfig> route = routeResolver.resolve(path, request.getMethod());
     //    RouteConfig routeConfig = RouteConfig.builder().path(path).target("xxx").build();
     // 返回处理对象，Spring 会拿着它去找对应的 Adapter
     return route.map(routeConfig -> new GatewayHandler(routeConfig.getRouteId())).orElse(null);
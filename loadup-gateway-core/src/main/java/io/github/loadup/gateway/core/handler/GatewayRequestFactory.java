@@ -0,0 +1,63 @@
+package io.github.loadup.gateway.core.handler;
+
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.utils.CommonUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * Builds {@link GatewayRequest}s from servlet requests with as little copying as possible: headers
+ * and query parameters are lazy views over the servlet request, the body is kept as raw bytes and
+ * only decoded when asked for, and timestamps are taken as plain numbers.
+ */
+public class GatewayRequestFactory {
+
+  private static final byte[] EMPTY_BODY = new byte[0];
+
+  public GatewayRequest create(HttpServletRequest request, long receivedNanos)
+      throws IOException {
+    return GatewayRequest.builder()
+        .requestId(CommonUtils.generateRequestId())
+        .path(request.getRequestURI())
+        .method(request.getMethod())
+        .headers(new ServletHeaderMap(request))
+        .queryParameters(QueryStringParser.lazy(request.getQueryString()))
+        .bodyBytes(readBody(request))
+        .bodyCharset(charset(request))
+        .contentType(request.getContentType())
+        .clientIp("*")
+        .userAgent(request.getHeader("User-Agent"))
+        .requestTimeMillis(System.currentTimeMillis())
+        .receivedNanos(receivedNanos)
+        .attributes(new HashMap<>())
+        .build();
+  }
+
+  private static byte[] readBody(HttpServletRequest request) throws IOException {
+    long contentLength = request.getContentLengthLong();
+    if (contentLength == 0) {
+      return EMPTY_BODY;
+    }
+    InputStream in = request.getInputStream();
+    if (contentLength > 0 && contentLength <= Integer.MAX_VALUE) {
+      return in.readNBytes((int) contentLength);
+    }
+    return in.readAllBytes();
+  }
+
+  private static Charset charset(HttpServletRequest request) {
+    String encoding = request.getCharacterEncoding();
+    if (encoding == null || "UTF-8".equalsIgnoreCase(encoding)) {
+      return StandardCharsets.UTF_8;
+    }
+    try {
+      return Charset.forName(encoding);
+    } catch (RuntimeException e) {
+      return StandardCharsets.UTF_8;
+    }
+  }
+}
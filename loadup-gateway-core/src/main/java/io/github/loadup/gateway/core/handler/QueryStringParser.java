@@ -0,0 +1,178 @@
+package io.github.loadup.gateway.core.handler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hand-written {@code application/x-www-form-urlencoded} query string parser: percent-decoding
+ * (UTF-8) and '+' as space, without regex, streams or intermediate arrays. Segments that need no
+ * decoding are plain substrings; malformed escapes are kept literally.
+ */
+public final class QueryStringParser {
+
+  private QueryStringParser() {}
+
+  /** Parse into an insertion-ordered map of name to values; a name without '=' gets "" */
+  public static Map<String, List<String>> parse(String query) {
+    if (query == null || query.isEmpty()) {
+      return new LinkedHashMap<>(4);
+    }
+    Map<String, List<String>> params = new LinkedHashMap<>();
+    int length = query.length();
+    int start = 0;
+    while (start <= length) {
+      int end = query.indexOf('&', start);
+      if (end < 0) {
+        end = length;
+      }
+      if (end > start) {
+        int eq = query.indexOf('=', start);
+        String name;
+        String value;
+        if (eq < 0 || eq > end) {
+          name = decode(query, start, end);
+          value = "";
+        } else {
+          name = decode(query, start, eq);
+          value = decode(query, eq + 1, end);
+        }
+        if (!name.isEmpty()) {
+          params.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+        }
+      }
+      start = end + 1;
+    }
+    return params;
+  }
+
+  /** Decode {@code s[from, to)} */
+  public static String decode(String s, int from, int to) {
+    int i = from;
+    while (i < to) {
+      char c = s.charAt(i);
+      if (c == '%' || c == '+') {
+        break;
+      }
+      i++;
+    }
+    if (i == to) {
+      return s.substring(from, to);
+    }
+
+    // slow path: decode into UTF-8 bytes, at most three bytes per input char
+    byte[] bytes = new byte[(to - from) * 3];
+    int n = 0;
+    for (int j = from; j < to; j++) {
+      char c = s.charAt(j);
+      if (c == '+') {
+        bytes[n++] = ' ';
+      } else if (c == '%') {
+        int hi = j + 1 < to ? hexValue(s.charAt(j + 1)) : -1;
+        int lo = j + 2 < to ? hexValue(s.charAt(j + 2)) : -1;
+        if (hi >= 0 && lo >= 0) {
+          bytes[n++] = (byte) ((hi << 4) | lo);
+          j += 2;
+        } else {
+          bytes[n++] = '%';
+        }
+      } else if (c < 0x80) {
+        bytes[n++] = (byte) c;
+      } else {
+        // non-ASCII in a raw query (not strictly valid): keep it as UTF-8
+        int end = j + 1;
+        if (Character.isHighSurrogate(c) && end < to && Character.isLowSurrogate(s.charAt(end))) {
+          end++;
+        }
+        byte[] encoded = s.substring(j, end).getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(encoded, 0, bytes, n, encoded.length);
+        n += encoded.length;
+        j = end - 1;
+      }
+    }
+    return new String(bytes, 0, n, StandardCharsets.UTF_8);
+  }
+
+  private static int hexValue(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+    if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    return -1;
+  }
+
+  /** Map view that parses the query string on first access */
+  public static Map<String, List<String>> lazy(String query) {
+    return new LazyQueryMap(query);
+  }
+
+  private static final class LazyQueryMap extends AbstractMap<String, List<String>> {
+
+    private final String query;
+
+    private Map<String, List<String>> parsed;
+
+    LazyQueryMap(String query) {
+      this.query = query;
+    }
+
+    private Map<String, List<String>> parsed() {
+      if (parsed == null) {
+        parsed = parse(query);
+      }
+      return parsed;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      if (parsed == null && (query == null || query.isEmpty())) {
+        return true;
+      }
+      return parsed().isEmpty();
+    }
+
+    @Override
+    public int size() {
+      return parsed().size();
+    }
+
+    @Override
+    public List<String> get(Object key) {
+      return parsed().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return parsed().containsKey(key);
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+      return parsed().put(key, value);
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+      return parsed().remove(key);
+    }
+
+    @Override
+    public void clear() {
+      parsed().clear();
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+      return parsed().entrySet();
+    }
+  }
+}
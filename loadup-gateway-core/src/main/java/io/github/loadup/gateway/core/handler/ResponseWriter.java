@@ -0,0 +1,234 @@
+package io.github.loadup.gateway.core.handler;
+
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes a {@link GatewayResponse} to the servlet response: encoded bytes go straight to the output
+ * stream with an exact Content-Length, so the container never has to fall back to chunked encoding.
+ *
+ * <p>Content-type/charset decisions are cached per declared content type; an undeclared type is
+ * sniffed from each body. Text bodies are encoded into a per-thread buffer that is reused across
+ * requests.
+ */
+class ResponseWriter {
+
+  private static final String JSON_UTF8 = "application/json;charset=UTF-8";
+
+  /** Upper bound of cached content types, further values are resolved on the fly */
+  private static final int MAX_CACHED = 1024;
+
+  /** Bodies up to this size are encoded into the pooled buffer, larger ones get their own array */
+  private static final int MAX_POOLED_BYTES = 64 * 1024;
+
+  private static final ThreadLocal<PooledEncoder> ENCODERS =
+      ThreadLocal.withInitial(PooledEncoder::new);
+
+  private final Map<String, ResolvedContentType> byContentType = new ConcurrentHashMap<>();
+
+  void write(HttpServletResponse response, GatewayResponse gatewayResponse) throws IOException {
+    response.setStatus(gatewayResponse.getStatusCode());
+
+    // Set response headers; framing headers are replaced by the exact length below
+    copyHeaders(response, gatewayResponse);
+
+    ResolvedContentType contentType = resolve(gatewayResponse);
+    if (contentType != null) {
+      // bytes from the upstream are sent as they are, so their content type is too; only a body
+      // encoded here is labelled with the charset it is encoded in
+      boolean encodedHere = gatewayResponse.hasPayload() || !gatewayResponse.hasEncodedBody();
+      response.setContentType(encodedHere ? contentType.headerValue : contentType.declared);
+    }
+
+    if (gatewayResponse.hasEncodedBody()) {
+      // a payload object is serialized here, once
+      byte[] bytes = gatewayResponse.getBodyBytes();
+      if (bytes != null) {
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+      } else {
+        response.setContentLength(0);
+      }
+    } else if (gatewayResponse.getBody() != null) {
+      Charset charset =
+          contentType != null && contentType.charset != null
+              ? contentType.charset
+              : StandardCharsets.UTF_8;
+      writeText(response, gatewayResponse.getBody(), charset);
+    } else {
+      response.setContentLength(0);
+    }
+    response.getOutputStream().flush();
+  }
+
+  /**
+   * Status and headers of a streamed response; the {@link StreamSubscriber} writing the body
+   * commits them right away
+   */
+  void writeHead(HttpServletResponse response, GatewayResponse gatewayResponse) {
+    response.setStatus(gatewayResponse.getStatusCode());
+    copyHeaders(response, gatewayResponse);
+    response.setContentType(
+        gatewayResponse.getContentType() != null
+            ? gatewayResponse.getContentType()
+            : GatewayConstants.ContentType.NDJSON);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(GatewayConstants.Header.CACHE_CONTROL, "no-cache");
+  }
+
+  private static void copyHeaders(HttpServletResponse response, GatewayResponse gatewayResponse) {
+    if (gatewayResponse.getHeaders() == null) {
+      return;
+    }
+    gatewayResponse
+        .getHeaders()
+        .forEach(
+            (k, v) -> {
+              if (k == null || v == null) return;
+              if ("Content-Length".equalsIgnoreCase(k)
+                  || "Transfer-Encoding".equalsIgnoreCase(k)) {
+                return;
+              }
+              response.setHeader(k, v);
+            });
+  }
+
+  private void writeText(HttpServletResponse response, String body, Charset charset)
+      throws IOException {
+    if (charset == StandardCharsets.UTF_8 && body.length() * 3 <= MAX_POOLED_BYTES) {
+      PooledEncoder encoder = ENCODERS.get();
+      ByteBuffer buffer = encoder.encode(body);
+      if (buffer != null) {
+        response.setContentLength(buffer.remaining());
+        response.getOutputStream().write(buffer.array(), 0, buffer.remaining());
+        return;
+      }
+    }
+    byte[] bytes = body.getBytes(charset);
+    response.setContentLength(bytes.length);
+    response.getOutputStream().write(bytes);
+  }
+
+  /**
+   * The declared content type, or the one sniffed from this body: responses of one route may be of
+   * different types (JSON errors, HTML pages), so a sniffed type is never reused
+   */
+  private ResolvedContentType resolve(GatewayResponse gatewayResponse) {
+    String declared = gatewayResponse.getContentType();
+    return declared != null ? byContentType(declared) : sniff(gatewayResponse);
+  }
+
+  private ResolvedContentType byContentType(String declared) {
+    ResolvedContentType resolved = byContentType.get(declared);
+    if (resolved == null) {
+      resolved = ResolvedContentType.of(declared);
+      if (byContentType.size() < MAX_CACHED) {
+        byContentType.putIfAbsent(declared, resolved);
+      }
+    }
+    return resolved;
+  }
+
+  /** No content type provided: default to JSON when the body starts like a JSON object */
+  private ResolvedContentType sniff(GatewayResponse gatewayResponse) {
+    if (gatewayResponse.hasPayload() && !(gatewayResponse.getPayload() instanceof String)) {
+      return byContentType(JSON_UTF8);
+    }
+    int first = -1;
+    if (gatewayResponse.hasEncodedBody()) {
+      byte[] bytes = gatewayResponse.getBodyBytes();
+      for (byte b : bytes) {
+        if (!Character.isWhitespace(b)) {
+          first = b;
+          break;
+        }
+      }
+    } else if (gatewayResponse.getBody() != null) {
+      String body = gatewayResponse.getBody();
+      for (int i = 0; i < body.length(); i++) {
+        char c = body.charAt(i);
+        if (!Character.isWhitespace(c)) {
+          first = c;
+          break;
+        }
+      }
+    }
+    return first == '{' ? byContentType(JSON_UTF8) : null;
+  }
+
+  /**
+   * Content-Type header value to send with a body encoded by the gateway, the declared value sent
+   * with bytes passed through, and the charset text bodies are encoded with
+   */
+  private record ResolvedContentType(String headerValue, String declared, Charset charset) {
+
+    ResolvedContentType(String contentType, Charset charset) {
+      this(contentType, contentType, charset);
+    }
+
+    static ResolvedContentType of(String contentType) {
+      String lower = contentType.toLowerCase(Locale.ROOT);
+      int idx = lower.indexOf("charset=");
+      if (idx >= 0) {
+        String name = contentType.substring(idx + 8).trim();
+        int end = name.indexOf(';');
+        if (end >= 0) {
+          name = name.substring(0, end).trim();
+        }
+        name = name.replace("\"", "");
+        try {
+          return new ResolvedContentType(contentType, Charset.forName(name));
+        } catch (RuntimeException e) {
+          return new ResolvedContentType(contentType, StandardCharsets.UTF_8);
+        }
+      }
+      // default to UTF-8 for JSON/text
+      if (lower.contains("json") || lower.contains("text") || lower.contains("xml")) {
+        return new ResolvedContentType(
+            contentType + ";charset=UTF-8", contentType, StandardCharsets.UTF_8);
+      }
+      return new ResolvedContentType(contentType, null);
+    }
+  }
+
+  /** Per-thread UTF-8 encoder with a reusable output buffer */
+  private static final class PooledEncoder {
+    private final CharsetEncoder encoder =
+        StandardCharsets.UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocate(MAX_POOLED_BYTES);
+
+    /** Encoded bytes (position 0, limit = length), or null if the body does not fit */
+    ByteBuffer encode(String body) throws CharacterCodingException {
+      buffer.clear();
+      encoder.reset();
+      CoderResult result = encoder.encode(CharBuffer.wrap(body), buffer, true);
+      if (result.isOverflow()) {
+        return null;
+      }
+      if (result.isError()) {
+        result.throwException();
+      }
+      if (encoder.flush(buffer).isOverflow()) {
+        return null;
+      }
+      buffer.flip();
+      return buffer;
+    }
+  }
+}
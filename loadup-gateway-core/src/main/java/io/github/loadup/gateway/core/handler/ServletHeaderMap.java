@@ -0,0 +1,85 @@
+package io.github.loadup.gateway.core.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.AbstractMap;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+/**
+ * Request header map backed by the servlet request. Lookups go straight to {@link
+ * HttpServletRequest#getHeader(String)} (case-insensitive); the headers are only copied, into a
+ * case-insensitive map, when the map is iterated or modified.
+ */
+public final class ServletHeaderMap extends AbstractMap<String, String> {
+
+  private final HttpServletRequest request;
+
+  private Map<String, String> materialized;
+
+  public ServletHeaderMap(HttpServletRequest request) {
+    this.request = request;
+  }
+
+  @Override
+  public String get(Object key) {
+    if (materialized != null) {
+      return materialized.get(key);
+    }
+    return key instanceof String ? request.getHeader((String) key) : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public String put(String key, String value) {
+    return materialize().put(key, value);
+  }
+
+  @Override
+  public String remove(Object key) {
+    return materialize().remove(key);
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends String> m) {
+    materialize().putAll(m);
+  }
+
+  @Override
+  public void clear() {
+    materialize().clear();
+  }
+
+  @Override
+  public int size() {
+    return materialize().size();
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    return materialize().entrySet();
+  }
+
+  /** Whether the headers have been copied out of the servlet request */
+  public boolean isMaterialized() {
+    return materialized != null;
+  }
+
+  private Map<String, String> materialize() {
+    if (materialized == null) {
+      Map<String, String> headers = new LinkedCaseInsensitiveMap<>(16);
+      Enumeration<String> headerNames = request.getHeaderNames();
+      while (headerNames.hasMoreElements()) {
+        String headerName = headerNames.nextElement();
+        headers.put(headerName, request.getHeader(headerName));
+      }
+      materialized = headers;
+    }
+    return materialized;
+  }
+}
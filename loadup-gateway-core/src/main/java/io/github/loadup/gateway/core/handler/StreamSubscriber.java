@@ -0,0 +1,236 @@
+package io.github.loadup.gateway.core.handler;
+
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a streamed response element by element, as NDJSON lines or server-sent events, and
+ * reports the end of the stream so the async request can be completed. A failed stream ends with
+ * an error line or event.
+ *
+ * <p>Writes are non-blocking: the output stream's {@link WriteListener} drives the writes, and the
+ * next element is only requested once the previous one was written and the stream {@link
+ * ServletOutputStream#isReady() is ready} again, so a slow client slows the publisher down without
+ * blocking its thread or piling up buffers. {@link #abort()} cancels the subscription when the
+ * client is gone or the request timed out.
+ */
+@Slf4j
+final class StreamSubscriber implements Flow.Subscriber<Object> {
+
+  private static final byte[] NEWLINE = {'\n'};
+  private static final byte[] NULL = bytes("null");
+  private static final byte[] SSE_DATA = bytes("data: ");
+  private static final byte[] SSE_ERROR =
+      bytes("event: error\ndata: {\"message\":\"Stream failed\"}\n\n");
+  private static final byte[] NDJSON_ERROR = bytes("{\"error\":{\"message\":\"Stream failed\"}}\n");
+
+  private final ServletOutputStream out;
+  private final boolean sse;
+  private final String requestId;
+  private final Runnable onDone;
+  private final AtomicBoolean done = new AtomicBoolean();
+
+  private volatile Flow.Subscription subscription;
+
+  // guarded by this
+  /** Encoded element (or error event) waiting for the stream to be ready */
+  private byte[] pending;
+
+  /** An element was requested and not received yet */
+  private boolean awaiting;
+
+  /** Written data not flushed yet, at first the status and headers */
+  private boolean unflushed = true;
+
+  /** The publisher completed or failed */
+  private boolean terminated;
+
+  StreamSubscriber(ServletOutputStream out, boolean sse, String requestId, Runnable onDone) {
+    this.out = out;
+    this.sse = sse;
+    this.requestId = requestId;
+    this.onDone = onDone;
+  }
+
+  /** Switch the output stream to non-blocking writes, before subscribing */
+  void start() {
+    out.setWriteListener(
+        new WriteListener() {
+          @Override
+          public void onWritePossible() {
+            drain();
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            log.debug("Client gone while streaming request {}: {}", requestId, t.getMessage());
+            abort();
+          }
+        });
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (this.subscription != null || done.get()) {
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+    drain();
+  }
+
+  @Override
+  public void onNext(Object item) {
+    if (done.get()) {
+      return;
+    }
+    byte[] data = JsonUtils.toJsonBytes(item);
+    if (data == null) {
+      data = NULL;
+    }
+    byte[] frame = sse ? event(data) : line(data);
+    synchronized (this) {
+      awaiting = false;
+      pending = pending == null ? frame : concat(pending, frame);
+    }
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    log.warn("Stream of request {} failed: {}", requestId, throwable.getMessage());
+    synchronized (this) {
+      terminated = true;
+      // a last error element, so the client can tell a failed stream from a complete one
+      byte[] error = sse ? SSE_ERROR : NDJSON_ERROR;
+      pending = pending == null ? error : concat(pending, error);
+    }
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    synchronized (this) {
+      terminated = true;
+    }
+    drain();
+  }
+
+  /** Cancel the stream and end the request */
+  void abort() {
+    Flow.Subscription s = subscription;
+    if (s != null) {
+      s.cancel();
+    }
+    finish();
+  }
+
+  /**
+   * Write what is pending while the stream is ready, then request the next element or end the
+   * request; when the stream is not ready the container calls back once it is. The subscription is
+   * only called outside the lock, since publishers may signal synchronously from it.
+   */
+  private void drain() {
+    boolean request = false;
+    boolean end = false;
+    synchronized (this) {
+      if (done.get()) {
+        return;
+      }
+      try {
+        if (pending != null) {
+          if (!out.isReady()) {
+            return;
+          }
+          out.write(pending);
+          pending = null;
+          unflushed = true;
+        }
+        if (unflushed) {
+          if (!out.isReady()) {
+            return;
+          }
+          out.flush();
+          unflushed = false;
+        }
+        if (!out.isReady()) {
+          return;
+        }
+        if (terminated) {
+          end = true;
+        } else if (subscription != null && !awaiting) {
+          awaiting = true;
+          request = true;
+        }
+      } catch (IOException e) {
+        log.debug("Client gone while streaming request {}: {}", requestId, e.getMessage());
+        end = true;
+      }
+    }
+    if (request) {
+      subscription.request(1);
+    } else if (end) {
+      abortIfUnfinished();
+    }
+  }
+
+  /** End of the stream: cancel the subscription unless the publisher terminated */
+  private void abortIfUnfinished() {
+    boolean cancel;
+    synchronized (this) {
+      cancel = !terminated;
+    }
+    if (cancel) {
+      abort();
+    } else {
+      finish();
+    }
+  }
+
+  /** One NDJSON line */
+  private static byte[] line(byte[] data) {
+    byte[] frame = Arrays.copyOf(data, data.length + NEWLINE.length);
+    System.arraycopy(NEWLINE, 0, frame, data.length, NEWLINE.length);
+    return frame;
+  }
+
+  /** One event; multi-line data is split into several data fields as the SSE format requires */
+  private static byte[] event(byte[] data) {
+    ByteArrayOutputStream frame = new ByteArrayOutputStream(data.length + 16);
+    int start = 0;
+    for (int i = 0; i <= data.length; i++) {
+      if (i == data.length || data[i] == '\n') {
+        frame.writeBytes(SSE_DATA);
+        frame.write(data, start, i - start);
+        frame.writeBytes(NEWLINE);
+        start = i + 1;
+      }
+    }
+    frame.writeBytes(NEWLINE);
+    return frame.toByteArray();
+  }
+
+  private static byte[] concat(byte[] first, byte[] second) {
+    byte[] joined = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, joined, first.length, second.length);
+    return joined;
+  }
+
+  private void finish() {
+    if (done.compareAndSet(false, true)) {
+      onDone.run();
+    }
+  }
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+}
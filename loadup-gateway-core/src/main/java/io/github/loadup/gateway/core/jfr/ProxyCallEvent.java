@@ -0,0 +1,72 @@
+package io.github.loadup.gateway.core.jfr;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Call to the upstream of a route, from the plugin invocation until the upstream answered. Calls
+ * finishing asynchronously are committed on the thread completing them.
+ */
+@Name("io.github.loadup.gateway.ProxyCall")
+@Label("Proxy Call")
+@Category({"LoadUp Gateway", "Proxy"})
+@Description("Call to the upstream target of a route")
+@Enabled(false)
+@StackTrace(false)
+public class ProxyCallEvent extends Event {
+
+  @Label("Route ID")
+  public String routeId;
+
+  @Label("Protocol")
+  public String protocol;
+
+  @Label("Target")
+  public String target;
+
+  @Label("Bytes In")
+  @Description("Request body size sent to the upstream")
+  @DataAmount
+  public long bytesIn;
+
+  @Label("Bytes Out")
+  @Description("Response body size received from the upstream, -1 for object or streamed results")
+  @DataAmount
+  public long bytesOut;
+
+  @Label("Status Code")
+  public int statusCode;
+
+  @Label("Failed")
+  @Description("Whether the call failed or was cancelled instead of answering")
+  public boolean failed;
+}
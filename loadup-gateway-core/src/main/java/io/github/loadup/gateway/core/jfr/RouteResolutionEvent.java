@@ -0,0 +1,59 @@
+package io.github.loadup.gateway.core.jfr;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Route lookup of a request, committed for hits and misses */
+@Name("io.github.loadup.gateway.RouteResolution")
+@Label("Route Resolution")
+@Category({"LoadUp Gateway", "Routing"})
+@Description("Lookup of the route serving a request path and method")
+@Enabled(false)
+@StackTrace(false)
+public class RouteResolutionEvent extends Event {
+
+  @Label("Path")
+  public String path;
+
+  @Label("Method")
+  public String method;
+
+  @Label("Hit")
+  @Description("Whether a route was found")
+  public boolean hit;
+
+  @Label("Route ID")
+  public String routeId;
+
+  @Label("Route Table Version")
+  @Description("Number of route table refreshes when the lookup ran")
+  public long tableVersion;
+}
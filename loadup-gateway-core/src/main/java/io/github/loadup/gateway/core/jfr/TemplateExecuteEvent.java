@@ -0,0 +1,58 @@
+package io.github.loadup.gateway.core.jfr;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Run of a request or response template */
+@Name("io.github.loadup.gateway.TemplateExecute")
+@Label("Template Execute")
+@Category({"LoadUp Gateway", "Templates"})
+@Description("Run of a request or response template, including its compilation on first use")
+@Enabled(false)
+@StackTrace(false)
+public class TemplateExecuteEvent extends Event {
+
+  @Label("Phase")
+  @Description("request or response")
+  public String phase;
+
+  @Label("Template Type")
+  @Description("groovy or mapping")
+  public String templateType;
+
+  @Label("Template Digest")
+  @Description("Leading bytes of the SHA-256 of the template text, in hex")
+  public String templateDigest;
+
+  @Label("Failed")
+  @Description("Whether the template threw, the original request or response may have been used")
+  public boolean failed;
+}
@@ -0,0 +1,220 @@
+package io.github.loadup.gateway.core.metrics;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
+import io.github.loadup.gateway.facade.context.StageTimings;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.GatewayRequestListener;
+import io.github.loadup.gateway.facade.spi.RouteTableListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records every request into Micrometer timers: {@value #REQUESTS} for the whole request and
+ * {@value #STAGES} per {@link GatewayStage}, tagged with routeId, protocol and status class (plus
+ * stage). Percentiles are computed client-side by Micrometer's lock-free HdrHistogram recorders.
+ *
+ * <p>Tag cardinality is bounded: routeId comes from the route table (requests without a route
+ * share {@value #NO_ROUTE}, routes beyond {@code maxRoutes} share {@value #OTHER}), and the status
+ * is reduced to its class. Timers are resolved once per route, stage and status class and kept in
+ * an array, so recording does no registry lookup; timers of routes removed from the table are
+ * removed from the registry.
+ */
+@Slf4j
+public class GatewayMetrics implements GatewayRequestListener, RouteTableListener {
+
+  /** Timer of whole requests, from receipt to the end of the write */
+  public static final String REQUESTS = "gateway.requests";
+
+  /** Timer of the request stages */
+  public static final String STAGES = "gateway.stage";
+
+  static final String NO_ROUTE = "none";
+
+  static final String OTHER = "other";
+
+  private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx", OTHER};
+
+  private static final GatewayStage[] STAGE_VALUES = GatewayStage.all();
+
+  /** Timers per route: the request timer, then one per stage, each for every status class */
+  private static final int TIMERS_PER_ROUTE = (STAGE_VALUES.length + 1) * STATUS_CLASSES.length;
+
+  private final MeterRegistry registry;
+
+  private final double[] percentiles;
+
+  private final boolean percentileHistogram;
+
+  private final int maxRoutes;
+
+  private final Map<String, RouteMeters> byRoute = new ConcurrentHashMap<>();
+
+  public GatewayMetrics(MeterRegistry registry, GatewayProperties.MetricsProperties properties) {
+    this.registry = registry;
+    List<Double> configured = properties.getPercentiles();
+    this.percentiles =
+        configured != null
+            ? configured.stream()
+                .filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue)
+                .toArray()
+            : new double[0];
+    this.percentileHistogram = properties.isPercentileHistogram();
+    this.maxRoutes = properties.getMaxRoutes();
+  }
+
+  @Override
+  public void onRequestCompleted(GatewayContext context, long totalNanos) {
+    RouteMeters meters = meters(context.getRoute());
+    int statusClass = statusClass(context.getResponse());
+    meters.timer(-1, statusClass).record(totalNanos, TimeUnit.NANOSECONDS);
+
+    StageTimings timings = context.getTimings();
+    if (timings == null) {
+      return;
+    }
+    for (GatewayStage stage : STAGE_VALUES) {
+      if (timings.isRecorded(stage)) {
+        meters
+            .timer(stage.ordinal(), statusClass)
+            .record(timings.getNanos(stage), TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  /** Drop the timers of routes that left the table or now point to another protocol */
+  @Override
+  public void onRouteTableRefreshed(List<RouteConfig> routes) {
+    Map<String, String> protocols = new HashMap<>();
+    for (RouteConfig route : routes) {
+      protocols.put(route.getRouteId(), protocolTag(route));
+    }
+    Set<String> stale = new HashSet<>();
+    byRoute.forEach(
+        (routeId, meters) -> {
+          if (NO_ROUTE.equals(routeId) || OTHER.equals(routeId)) {
+            return;
+          }
+          if (!meters.protocol.equals(protocols.get(routeId))) {
+            stale.add(routeId);
+          }
+        });
+    for (String routeId : stale) {
+      RouteMeters removed = byRoute.remove(routeId);
+      if (removed != null) {
+        removed.removeFrom(registry);
+      }
+    }
+    if (!stale.isEmpty()) {
+      log.debug("Removed metrics of {} routes no longer in the route table", stale.size());
+    }
+  }
+
+  private RouteMeters meters(RouteConfig route) {
+    String routeId = route != null ? route.getRouteId() : NO_ROUTE;
+    RouteMeters meters = byRoute.get(routeId);
+    if (meters != null) {
+      return meters;
+    }
+    if (route != null && byRoute.size() >= maxRoutes) {
+      return byRoute.computeIfAbsent(OTHER, id -> new RouteMeters(id, OTHER));
+    }
+    String protocol = route != null ? protocolTag(route) : NO_ROUTE;
+    return byRoute.computeIfAbsent(routeId, id -> new RouteMeters(id, protocol));
+  }
+
+  private static String protocolTag(RouteConfig route) {
+    return route.getProtocol() != null ? route.getProtocol() : NO_ROUTE;
+  }
+
+  private static int statusClass(GatewayResponse response) {
+    int status = response != null ? response.getStatusCode() : 0;
+    return status >= 100 && status < 600 ? status / 100 - 1 : STATUS_CLASSES.length - 1;
+  }
+
+  /** Timers of one route, created on first use */
+  private final class RouteMeters {
+    private final String routeId;
+    private final String protocol;
+    private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(TIMERS_PER_ROUTE);
+
+    RouteMeters(String routeId, String protocol) {
+      this.routeId = routeId;
+      this.protocol = protocol;
+    }
+
+    /** Timer of a stage (by ordinal, -1 for the whole request) and status class */
+    Timer timer(int stage, int statusClass) {
+      int index = (stage + 1) * STATUS_CLASSES.length + statusClass;
+      Timer timer = timers.get(index);
+      if (timer == null) {
+        // the registry returns the existing timer to racing creators
+        timer = register(stage, statusClass);
+        timers.set(index, timer);
+      }
+      return timer;
+    }
+
+    private Timer register(int stage, int statusClass) {
+      Timer.Builder builder =
+          Timer.builder(stage < 0 ? REQUESTS : STAGES)
+              .tag("routeId", routeId)
+              .tag("protocol", protocol)
+              .tag("status", STATUS_CLASSES[statusClass])
+              .publishPercentiles(percentiles)
+              .publishPercentileHistogram(percentileHistogram);
+      if (stage < 0) {
+        builder.description("Gateway request latency, from receipt to the end of the write");
+      } else {
+        builder
+            .tag("stage", STAGE_VALUES[stage].tagValue())
+            .description("Time spent in one stage of a gateway request");
+      }
+      return builder.register(registry);
+    }
+
+    void removeFrom(MeterRegistry registry) {
+      for (int i = 0; i < timers.length(); i++) {
+        Timer timer = timers.get(i);
+        if (timer != null) {
+          registry.remove(timer);
+        }
+      }
+    }
+  }
+}
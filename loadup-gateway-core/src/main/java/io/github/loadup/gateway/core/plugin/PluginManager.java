@@ -25,11 +25,14 @@ package io.github.loadup.gateway.core.plugin;
 import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
 import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.AsyncProxyProcessor;
 import io.github.loadup.gateway.facade.spi.ProxyProcessor;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -58,6 +61,7 @@ public class PluginManager {
               processor.getClass().getName());
         }
         processorMap.put(protocol, processor);
+        processor.initialize();
       }
     }
     log.info(
@@ -66,8 +70,43 @@ public class PluginManager {
         processorMap.keySet());
   }
 
+  @PreDestroy
+  public void destroy() {
+    if (proxyProcessors != null) {
+      for (ProxyProcessor processor : proxyProcessors) {
+        try {
+          processor.destroy();
+        } catch (Exception e) {
+          log.warn("Failed to destroy proxy processor {}", processor.getName(), e);
+        }
+      }
+    }
+  }
+
   /** Execute proxy forwarding */
   public GatewayResponse executeProxy(GatewayRequest request, RouteConfig route) throws Exception {
+    ProxyProcessor plugin = resolvePlugin(route);
+    log.debug(
+        "Executing proxy with plugin: {} for route: {}", plugin.getName(), route.getRouteId());
+    return plugin.proxy(request, route);
+  }
+
+  /**
+   * Execute proxy forwarding without blocking when the plugin supports it; other plugins run
+   * synchronously and return an already completed future
+   */
+  public CompletableFuture<GatewayResponse> executeProxyAsync(
+      GatewayRequest request, RouteConfig route) throws Exception {
+    ProxyProcessor plugin = resolvePlugin(route);
+    log.debug(
+        "Executing proxy with plugin: {} for route: {}", plugin.getName(), route.getRouteId());
+    if (plugin instanceof AsyncProxyProcessor) {
+      return ((AsyncProxyProcessor) plugin).proxyAsync(request, route);
+    }
+    return CompletableFuture.completedFuture(plugin.proxy(request, route));
+  }
+
+  private ProxyProcessor resolvePlugin(RouteConfig route) {
     if (StringUtils.isBlank(route.getProtocol())) {
       throw new RuntimeException("No protocol found!");
     }
@@ -75,9 +114,6 @@ public class PluginManager {
     if (plugin == null) {
       throw new RuntimeException("No proxy plugin found for protocol: " + route.getProtocol());
     }
-
-    log.debug(
-        "Executing proxy with plugin: {} for route: {}", plugin.getName(), route.getRouteId());
-    return plugin.proxy(request, route);
+    return plugin;
   }
 }
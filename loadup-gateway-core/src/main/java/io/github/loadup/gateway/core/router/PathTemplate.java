@@ -0,0 +1,125 @@
+package io.github.loadup.gateway.core.router;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route path with variable segments, e.g. {@code /users/{id}/orders/{orderId}}. Matching walks the
+ * path segment by segment without regular expressions; a variable matches exactly one non-empty
+ * segment.
+ */
+public final class PathTemplate {
+
+  /** Literal segments, null where the segment is a variable */
+  private final String[] literals;
+
+  /** Variable names, null where the segment is a literal */
+  private final String[] names;
+
+  private final int literalCount;
+
+  private PathTemplate(String[] literals, String[] names, int literalCount) {
+    this.literals = literals;
+    this.names = names;
+    this.literalCount = literalCount;
+  }
+
+  /** Whether the path declares variable segments */
+  public static boolean isTemplate(String path) {
+    return path != null && path.indexOf('{') >= 0;
+  }
+
+  public static PathTemplate compile(String path) {
+    List<String> segments = split(path);
+    String[] literals = new String[segments.size()];
+    String[] names = new String[segments.size()];
+    int literalCount = 0;
+    for (int i = 0; i < segments.size(); i++) {
+      String segment = segments.get(i);
+      if (segment.length() > 2 && segment.startsWith("{") && segment.endsWith("}")) {
+        names[i] = segment.substring(1, segment.length() - 1).trim();
+      } else {
+        literals[i] = segment;
+        literalCount++;
+      }
+    }
+    return new PathTemplate(literals, names, literalCount);
+  }
+
+  /** Variables of a matching path, null if the path does not match */
+  public Map<String, String> match(String path) {
+    Map<String, String> variables = null;
+    int segment = 0;
+    int start = path.startsWith("/") ? 1 : 0;
+    int length = path.length();
+    if (length > start && path.charAt(length - 1) == '/') {
+      length--;
+    }
+    while (start <= length && segment < literals.length) {
+      int end = path.indexOf('/', start);
+      if (end < 0 || end > length) {
+        end = length;
+      }
+      if (literals[segment] != null) {
+        String literal = literals[segment];
+        if (end - start != literal.length() || !path.startsWith(literal, start)) {
+          return null;
+        }
+      } else {
+        if (end == start) {
+          return null;
+        }
+        if (variables == null) {
+          variables = new HashMap<>(4);
+        }
+        variables.put(names[segment], path.substring(start, end));
+      }
+      segment++;
+      start = end + 1;
+    }
+    // every segment consumed on both sides
+    if (segment != literals.length || start <= length) {
+      return null;
+    }
+    return variables != null ? variables : new HashMap<>(0);
+  }
+
+  /** Number of literal segments, routes with more literals are more specific */
+  public int getLiteralCount() {
+    return literalCount;
+  }
+
+  private static List<String> split(String path) {
+    List<String> segments = new ArrayList<>();
+    for (String segment : path.split("/")) {
+      if (!segment.isEmpty()) {
+        segments.add(segment);
+      }
+    }
+    return segments;
+  }
+}
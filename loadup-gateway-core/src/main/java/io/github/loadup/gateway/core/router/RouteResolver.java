@@ -22,57 +22,167 @@ package io.github.loadup.gateway.core.router;
  * #L%
  */
 
+import io.github.loadup.gateway.core.jfr.RouteResolutionEvent;
 import io.github.loadup.gateway.facade.config.GatewayProperties;
 import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.RouteConfig;
 import io.github.loadup.gateway.facade.spi.RepositoryPlugin;
+import io.github.loadup.gateway.facade.spi.RouteTableListener;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 
 /** Route resolver */
 @Slf4j
-public class RouteResolver {
+public class RouteResolver implements SmartInitializingSingleton {
 
   private final RepositoryPlugin repositoryPlugin;
   private final GatewayProperties gatewayProperties;
+  private final List<RouteTableListener> routeTableListeners;
 
   public RouteResolver(RepositoryPlugin repositoryPlugin, GatewayProperties gatewayProperties) {
+    this(repositoryPlugin, gatewayProperties, Collections.emptyList());
+  }
+
+  public RouteResolver(
+      RepositoryPlugin repositoryPlugin,
+      GatewayProperties gatewayProperties,
+      List<RouteTableListener> routeTableListeners) {
     this.repositoryPlugin = repositoryPlugin;
     this.gatewayProperties = gatewayProperties;
+    this.routeTableListeners =
+        routeTableListeners != null ? routeTableListeners : Collections.emptyList();
+    GatewayProperties.RouteSnapshotProperties snapshotProperties =
+        gatewayProperties.getRouteSnapshot();
+    this.snapshot =
+        snapshotProperties != null && snapshotProperties.isEnabled()
+            ? new RouteSnapshot(Paths.get(snapshotProperties.getFile()))
+            : null;
   }
 
-  private final ConcurrentHashMap<String, RouteConfig> routeCache = new ConcurrentHashMap<>();
-  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  /** Local copy of the route table, null if disabled */
+  private final RouteSnapshot snapshot;
+
+  /** Current route table, replaced as a whole so a lookup never sees a partially loaded one */
+  private volatile RouteTable routeTable = new RouteTable(new ConcurrentHashMap<>(), List.of());
+
+  /** Number of successful route table refreshes */
+  private final AtomicLong tableVersion = new AtomicLong();
+
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread thread = new Thread(r, "gateway-route-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
 
   @PostConstruct
   public void refresh() {
     repositoryPlugin.initialize();
-    //    this.refreshRoutes();
-    // Periodically refresh route cache (hot reload support)
-    //        scheduler.scheduleAtFixedRate(this::refreshRoutes, 30, 30, TimeUnit.SECONDS);
   }
 
-  /** Resolve the route configuration for the given request */
+  /**
+   * Load the route table once every singleton (including the proxy plugins listening for route
+   * changes) is ready, then refresh it every {@code route-refresh-interval} seconds if set (hot
+   * reload support). With a route snapshot the gateway starts serving its routes, and the
+   * repository is read in the background.
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (loadSnapshot()) {
+      scheduler.execute(this::refreshRoutes);
+    } else {
+      this.refreshRoutes();
+    }
+    int interval = gatewayProperties.getRouteRefreshInterval();
+    if (interval > 0) {
+      scheduler.scheduleWithFixedDelay(this::refreshRoutes, interval, interval, TimeUnit.SECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Resolve the route configuration for the given request; variables of a templated route path
+   * (e.g. {@code /users/{id}}) are stored as the request's path parameters
+   */
   public Optional<RouteConfig> resolve(GatewayRequest request) {
-    String routeKey = buildRouteKey(request.getPath(), request.getMethod());
+    Optional<RouteMatch> match = recordedLookup(request.getPath(), request.getMethod());
+    if (match.isEmpty()) {
+      return Optional.empty();
+    }
+    if (match.get().pathParameters() != null) {
+      request.setPathParameters(match.get().pathParameters());
+    }
+    return Optional.of(match.get().route());
+  }
+
+  /** Resolve the route configuration for a path and method */
+  public Optional<RouteConfig> resolve(String path, String method) {
+    return recordedLookup(path, method).map(RouteMatch::route);
+  }
+
+  /** Lookup reported as a Flight Recorder event while a recording enables it */
+  private Optional<RouteMatch> recordedLookup(String path, String method) {
+    RouteResolutionEvent event = new RouteResolutionEvent();
+    if (!event.isEnabled()) {
+      return lookup(path, method);
+    }
+    event.begin();
+    Optional<RouteMatch> match = lookup(path, method);
+    event.end();
+    if (event.shouldCommit()) {
+      event.path = path;
+      event.method = method;
+      event.hit = match.isPresent();
+      event.routeId = match.map(m -> m.route().getRouteId()).orElse(null);
+      event.tableVersion = tableVersion.get();
+      event.commit();
+    }
+    return match;
+  }
+
+  private Optional<RouteMatch> lookup(String path, String method) {
+    String routeKey = buildRouteKey(path, method);
+    RouteTable table = routeTable;
 
     // First check cache
-    RouteConfig cachedRoute = routeCache.get(routeKey);
+    RouteConfig cachedRoute = table.routes().get(routeKey);
     if (cachedRoute != null && cachedRoute.isEnabled()) {
-      return Optional.of(cachedRoute);
+      return Optional.of(new RouteMatch(cachedRoute, null));
+    }
+
+    // Then templated routes, most specific first
+    for (TemplateRoute templateRoute : table.templates()) {
+      if (templateRoute.route().getMethod().equals(method)) {
+        Map<String, String> variables = templateRoute.template().match(path);
+        if (variables != null) {
+          return Optional.of(new RouteMatch(templateRoute.route(), variables));
+        }
+      }
     }
 
     // Look up from storage
     try {
-      Optional<RouteConfig> routeOpt =
-          repositoryPlugin.getRouteByPath(request.getPath(), request.getMethod());
+      Optional<RouteConfig> routeOpt = repositoryPlugin.getRouteByPath(path, method);
       if (routeOpt.isPresent() && routeOpt.get().isEnabled()) {
         // Update cache
-        routeCache.put(routeKey, routeOpt.get());
-        return routeOpt;
+        table.routes().put(routeKey, routeOpt.get());
+        return Optional.of(new RouteMatch(routeOpt.get(), null));
       }
     } catch (Exception e) {
       log.error("Failed to resolve route from repository", e);
@@ -81,26 +191,149 @@ public class RouteResolver {
     return Optional.empty();
   }
 
-  /** Refresh route cache */
-  public void refreshRoutes() {
+  /**
+   * Reload the route table from the repository. Refreshes run one at a time, from loading to
+   * notifying the listeners and saving the snapshot, so listeners always end up with the table
+   * that is installed.
+   */
+  public synchronized void refreshRoutes() {
+    List<RouteConfig> enabledRoutes;
     try {
-      List<RouteConfig> allRoutes = repositoryPlugin.getAllRoutes();
+      enabledRoutes = install(repositoryPlugin.getAllRoutes());
+      log.debug("Route cache refreshed, loaded {} routes", enabledRoutes.size());
+    } catch (Exception e) {
+      log.error("Failed to refresh route cache", e);
+      return;
+    }
 
-      // Clear old cache
-      routeCache.clear();
+    notifyListeners(enabledRoutes);
+    saveSnapshot(enabledRoutes);
+  }
 
-      // Reload routes
-      for (RouteConfig route : allRoutes) {
-        if (route.isEnabled()) {
-          String routeKey = buildRouteKey(route.getPath(), route.getMethod());
-          routeCache.put(routeKey, route);
+  /** Serve the routes of the snapshot, if enabled and readable */
+  private synchronized boolean loadSnapshot() {
+    if (snapshot == null) {
+      return false;
+    }
+    long start = System.nanoTime();
+    Optional<List<RouteConfig>> routes = snapshot.read();
+    if (routes.isEmpty()) {
+      return false;
+    }
+    List<RouteConfig> enabledRoutes = install(routes.get());
+    log.info(
+        "Loaded {} routes from snapshot {} in {} ms",
+        enabledRoutes.size(),
+        snapshot.getFile(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    notifyListeners(enabledRoutes);
+    return true;
+  }
+
+  private void saveSnapshot(List<RouteConfig> routes) {
+    if (snapshot == null) {
+      return;
+    }
+    try {
+      if (snapshot.write(routes)) {
+        log.debug("Route snapshot {} written, {} routes", snapshot.getFile(), routes.size());
+      }
+    } catch (Exception e) {
+      log.warn("Failed to write route snapshot {}: {}", snapshot.getFile(), e.toString());
+    }
+  }
+
+  /**
+   * Replace the route table; the new table is built aside and swapped in at once, lookups keep
+   * using the previous one until then. A route whose definition did not change keeps its current
+   * instance, so its compiled artifacts survive the reload. Called with the lock held.
+   *
+   * @return the enabled routes
+   */
+  private List<RouteConfig> install(List<RouteConfig> allRoutes) {
+    RouteTable previous = routeTable;
+    List<RouteConfig> enabledRoutes = new ArrayList<>();
+    ConcurrentHashMap<String, RouteConfig> routes = new ConcurrentHashMap<>(allRoutes.size() * 2);
+    List<TemplateRoute> templates = new ArrayList<>();
+    for (RouteConfig loaded : allRoutes) {
+      if (loaded.isEnabled()) {
+        String routeKey = buildRouteKey(loaded.getPath(), loaded.getMethod());
+        RouteConfig current = previous.routes().get(routeKey);
+        RouteConfig route = loaded.hasSameDefinition(current) ? current : loaded;
+        routes.put(routeKey, route);
+        enabledRoutes.add(route);
+        if (PathTemplate.isTemplate(route.getPath())) {
+          templates.add(new TemplateRoute(route, PathTemplate.compile(route.getPath())));
         }
       }
+    }
+    templates.sort(
+        Comparator.comparingInt((TemplateRoute t) -> t.template().getLiteralCount()).reversed());
+    routeTable = new RouteTable(routes, List.copyOf(templates));
+    tableVersion.incrementAndGet();
+    return Collections.unmodifiableList(enabledRoutes);
+  }
 
-      log.info("Route cache refreshed, loaded {} routes", routeCache.size());
+  /**
+   * Drop a route from the cache, so it is loaded again from the repository with fresh compiled
+   * artifacts; templated routes are reloaded right away since no exact lookup would find them. The
+   * route table is copied without the route and swapped in, like a reload.
+   *
+   * @return the evicted route instances
+   */
+  public synchronized List<RouteConfig> evict(String routeId) {
+    RouteTable table = routeTable;
+    ConcurrentHashMap<String, RouteConfig> routes = new ConcurrentHashMap<>(table.routes());
+    List<RouteConfig> evicted = new ArrayList<>();
+    routes
+        .entrySet()
+        .removeIf(
+            entry -> {
+              if (routeId.equals(entry.getValue().getRouteId())) {
+                evicted.add(entry.getValue());
+                return true;
+              }
+              return false;
+            });
 
-    } catch (Exception e) {
-      log.error("Failed to refresh route cache", e);
+    List<TemplateRoute> templates = new ArrayList<>(table.templates().size());
+    boolean changed = false;
+    for (TemplateRoute templateRoute : table.templates()) {
+      RouteConfig route = templateRoute.route();
+      if (!routeId.equals(route.getRouteId())) {
+        templates.add(templateRoute);
+        continue;
+      }
+      changed = true;
+      if (!evicted.contains(route)) {
+        evicted.add(route);
+      }
+      try {
+        repositoryPlugin
+            .getRouteByPath(route.getPath(), route.getMethod())
+            .filter(RouteConfig::isEnabled)
+            .ifPresent(
+                fresh -> {
+                  routes.put(buildRouteKey(fresh.getPath(), fresh.getMethod()), fresh);
+                  templates.add(new TemplateRoute(fresh, templateRoute.template()));
+                });
+      } catch (Exception e) {
+        log.error("Failed to reload route {} from repository", routeId, e);
+      }
+    }
+    if (!evicted.isEmpty()) {
+      routeTable = new RouteTable(routes, changed ? List.copyOf(templates) : table.templates());
+    }
+    return evicted;
+  }
+
+  private void notifyListeners(List<RouteConfig> routes) {
+    for (RouteTableListener listener : routeTableListeners) {
+      try {
+        listener.onRouteTableRefreshed(routes);
+      } catch (Exception e) {
+        log.error("Route table listener {} failed", listener.getClass().getName(), e);
+      }
     }
   }
 
@@ -109,8 +342,30 @@ public class RouteResolver {
     return method + ":" + path;
   }
 
+  /**
+   * Exact routes by key, plus routes with variable path segments (most specific first) matched
+   * when no exact route exists. Only routes found in the repository on a lookup miss are added to
+   * a published table; any other change publishes a new one.
+   */
+  private record RouteTable(
+      ConcurrentHashMap<String, RouteConfig> routes, List<TemplateRoute> templates) {}
+
+  private record TemplateRoute(RouteConfig route, PathTemplate template) {}
+
+  private record RouteMatch(RouteConfig route, Map<String, String> pathParameters) {}
+
+  /** Number of successful route table refreshes, identifies the table a lookup ran against */
+  public long getTableVersion() {
+    return tableVersion.get();
+  }
+
   /** Get the number of cached routes */
   public int getCachedRouteCount() {
-    return routeCache.size();
+    return routeTable.routes().size();
+  }
+
+  /** Get the number of routes with variable path segments */
+  public int getTemplateRouteCount() {
+    return routeTable.templates().size();
   }
 }
@@ -0,0 +1,268 @@
+package io.github.loadup.gateway.core.router;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binary copy of the route table on local disk. It is written after each route table load and
+ * memory-mapped at startup, so routes can be served before the repository is read.
+ *
+ * <p>Layout: magic, format version, CRC32 and length of the body, then the body: route count and
+ * per route path, method, target, request and response template, enabled flag and typed
+ * properties. Strings are length-prefixed UTF-8, a length of -1 is null.
+ */
+@Slf4j
+final class RouteSnapshot {
+
+  /** "LGRS" */
+  private static final int MAGIC = 0x4C475253;
+
+  private static final int FORMAT_VERSION = 1;
+
+  /** Magic, format version, checksum and body length */
+  private static final int HEADER_BYTES = 20;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte BOOLEAN = 2;
+  private static final byte LONG = 3;
+  private static final byte INT = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte JSON = 6;
+
+  private final Path file;
+
+  /** Checksum of the body last read or written, an unchanged table is not written again */
+  private long lastChecksum = -1L;
+
+  RouteSnapshot(Path file) {
+    this.file = file;
+  }
+
+  Path getFile() {
+    return file;
+  }
+
+  /** Routes of the snapshot; empty if there is none, or it is corrupt or of another format */
+  synchronized Optional<List<RouteConfig>> read() {
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < HEADER_BYTES
+          || buffer.getInt() != MAGIC
+          || buffer.getInt() != FORMAT_VERSION) {
+        log.warn("Ignoring route snapshot {}: unknown format", file);
+        return Optional.empty();
+      }
+      long checksum = buffer.getLong();
+      int length = buffer.getInt();
+      if (length != buffer.remaining()) {
+        log.warn("Ignoring route snapshot {}: truncated", file);
+        return Optional.empty();
+      }
+      ByteBuffer body = buffer.slice();
+      CRC32 crc = new CRC32();
+      crc.update(body.duplicate());
+      if (crc.getValue() != checksum) {
+        log.warn("Ignoring route snapshot {}: checksum mismatch", file);
+        return Optional.empty();
+      }
+
+      int count = body.getInt();
+      List<RouteConfig> routes = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        routes.add(readRoute(body));
+      }
+      lastChecksum = checksum;
+      return Optional.of(routes);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Failed to read route snapshot {}: {}", file, e.toString());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Replace the snapshot with the given routes, through a temporary file so a reader never sees a
+   * partial one
+   *
+   * @return false if the snapshot already holds this table
+   */
+  synchronized boolean write(List<RouteConfig> routes) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(routes.size() * 256 + HEADER_BYTES);
+    DataOutputStream out = new DataOutputStream(bytes);
+    // header placeholder, filled in once the body is known
+    out.write(new byte[HEADER_BYTES]);
+    out.writeInt(routes.size());
+    for (RouteConfig route : routes) {
+      writeRoute(out, route);
+    }
+    out.flush();
+
+    ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), HEADER_BYTES, buffer.limit() - HEADER_BYTES);
+    long checksum = crc.getValue();
+    if (checksum == lastChecksum) {
+      return false;
+    }
+    buffer
+        .putInt(MAGIC)
+        .putInt(FORMAT_VERSION)
+        .putLong(checksum)
+        .putInt(buffer.limit() - HEADER_BYTES)
+        .rewind();
+
+    Path dir = file.toAbsolutePath().getParent();
+    Files.createDirectories(dir);
+    Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+    lastChecksum = checksum;
+    return true;
+  }
+
+  private static void writeRoute(DataOutputStream out, RouteConfig route) throws IOException {
+    writeString(out, route.getPath());
+    writeString(out, route.getMethod());
+    writeString(out, route.getTarget());
+    writeString(out, route.getRequestTemplate());
+    writeString(out, route.getResponseTemplate());
+    out.writeBoolean(route.isEnabled());
+    Map<String, Object> properties = route.getProperties();
+    out.writeInt(properties.size());
+    for (Map.Entry<String, Object> entry : properties.entrySet()) {
+      writeString(out, entry.getKey());
+      writeValue(out, entry.getValue());
+    }
+  }
+
+  private static RouteConfig readRoute(ByteBuffer in) {
+    RouteConfig.RouteConfigBuilder builder =
+        RouteConfig.builder()
+            .path(readString(in))
+            .method(readString(in))
+            .target(readString(in))
+            .requestTemplate(readString(in))
+            .responseTemplate(readString(in))
+            .enabled(in.get() != 0);
+    int size = in.getInt();
+    if (size > 0) {
+      Map<String, Object> properties = new HashMap<>(size * 2);
+      for (int i = 0; i < size; i++) {
+        properties.put(readString(in), readValue(in));
+      }
+      builder.properties(properties);
+    }
+    return builder.build();
+  }
+
+  /** Scalars keep their type, anything else (nested JSON properties) is stored as JSON */
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String s) {
+      out.writeByte(STRING);
+      writeString(out, s);
+    } else if (value instanceof Boolean b) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean(b);
+    } else if (value instanceof Long l) {
+      out.writeByte(LONG);
+      out.writeLong(l);
+    } else if (value instanceof Integer i) {
+      out.writeByte(INT);
+      out.writeInt(i);
+    } else if (value instanceof Double d) {
+      out.writeByte(DOUBLE);
+      out.writeDouble(d);
+    } else {
+      out.writeByte(JSON);
+      writeString(out, JsonUtils.toJson(value));
+    }
+  }
+
+  private static Object readValue(ByteBuffer in) {
+    byte type = in.get();
+    return switch (type) {
+      case NULL -> null;
+      case STRING -> readString(in);
+      case BOOLEAN -> in.get() != 0;
+      case LONG -> in.getLong();
+      case INT -> in.getInt();
+      case DOUBLE -> in.getDouble();
+      case JSON -> JsonUtils.fromJson(readString(in), Object.class);
+      default -> throw new IllegalStateException("Unknown property type " + type);
+    };
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
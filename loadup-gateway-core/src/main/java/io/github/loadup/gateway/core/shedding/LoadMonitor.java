@@ -0,0 +1,225 @@
+package io.github.loadup.gateway.core.shedding;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Tracks node saturation (in-flight requests, queue time, process CPU) and decides which priority
+ * tiers have to be shed.
+ *
+ * <p>Each signal is normalized against its configured limit; the highest ratio is the node
+ * pressure. Below 1.0 nothing is shed, then the tiers are dropped from the lowest priority up:
+ * LOW at 1.0, NORMAL at 1.25, HIGH at 1.5. CRITICAL routes are never shed.
+ */
+@Slf4j
+public class LoadMonitor {
+
+  private static final double SHED_NORMAL_PRESSURE = 1.25d;
+  private static final double SHED_HIGH_PRESSURE = 1.5d;
+
+  private final GatewayProperties gatewayProperties;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private final AtomicLongArray rejected =
+      new AtomicLongArray(GatewayConstants.Priority.LOW + 1);
+
+  private final com.sun.management.OperatingSystemMXBean osBean;
+
+  private final AtomicLong nextCpuSampleNanos = new AtomicLong();
+
+  private volatile double cpuLoad;
+
+  public LoadMonitor(GatewayProperties gatewayProperties) {
+    this.gatewayProperties = gatewayProperties;
+    this.osBean = resolveOsBean();
+  }
+
+  /** Mark a request as admitted */
+  public void enter() {
+    inFlight.incrementAndGet();
+  }
+
+  /** Mark an admitted request as finished */
+  public void exit() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Decide whether a request of the given priority has to be rejected, counting the rejection if
+   * so.
+   */
+  public boolean shouldShed(int priority, GatewayRequest request) {
+    if (priority <= GatewayConstants.Priority.CRITICAL) {
+      return false;
+    }
+    int level = sheddingLevel(queueTimeNanos(request));
+    // level 1 sheds LOW, level 2 sheds NORMAL and LOW, level 3 sheds everything but CRITICAL
+    if (level > 0 && priority > GatewayConstants.Priority.LOW - level) {
+      rejected.incrementAndGet(Math.min(priority, GatewayConstants.Priority.LOW));
+      return true;
+    }
+    return false;
+  }
+
+  /** Current shedding level: 0 (none) to 3 (everything but critical) */
+  public int sheddingLevel(long queueTimeNanos) {
+    double pressure = pressure(queueTimeNanos);
+    if (pressure < 1.0d) {
+      return 0;
+    }
+    if (pressure < SHED_NORMAL_PRESSURE) {
+      return 1;
+    }
+    if (pressure < SHED_HIGH_PRESSURE) {
+      return 2;
+    }
+    return 3;
+  }
+
+  /** Highest ratio of any signal to its configured limit */
+  public double pressure(long queueTimeNanos) {
+    GatewayProperties.LoadShedding config = gatewayProperties.getLoadShedding();
+    double pressure = 0d;
+    if (config.getMaxInFlight() > 0) {
+      pressure = Math.max(pressure, (double) inFlight.get() / config.getMaxInFlight());
+    }
+    if (config.getMaxQueueTimeMs() > 0) {
+      double queueMs = queueTimeNanos / 1_000_000d;
+      pressure = Math.max(pressure, queueMs / config.getMaxQueueTimeMs());
+    }
+    if (config.getMaxCpuLoad() > 0) {
+      pressure = Math.max(pressure, cpuLoad(config) / config.getMaxCpuLoad());
+    }
+    return pressure;
+  }
+
+  /**
+   * Time the request spent waiting before reaching this stage: the time since it was received
+   * plus, when configured, the time reported by the front proxy header.
+   */
+  public long queueTimeNanos(GatewayRequest request) {
+    if (request == null) {
+      return 0L;
+    }
+    long queued = 0L;
+    if (request.getReceivedNanos() != 0L) {
+      queued = Math.max(0L, System.nanoTime() - request.getReceivedNanos());
+    }
+    String header = gatewayProperties.getLoadShedding().getQueueTimeHeader();
+    if (StringUtils.isNotEmpty(header)) {
+      long startMillis = parseRequestStart(request.getHeader(header));
+      if (startMillis > 0L) {
+        long upstreamMillis = System.currentTimeMillis() - startMillis;
+        if (upstreamMillis > 0L) {
+          queued = Math.max(queued, TimeUnit.MILLISECONDS.toNanos(upstreamMillis));
+        }
+      }
+    }
+    return queued;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public double getCpuLoad() {
+    return cpuLoad;
+  }
+
+  /** Rejections so far for the given priority tier */
+  public long getRejected(int priority) {
+    return rejected.get(priority);
+  }
+
+  private double cpuLoad(GatewayProperties.LoadShedding config) {
+    if (osBean == null) {
+      return 0d;
+    }
+    long now = System.nanoTime();
+    long next = nextCpuSampleNanos.get();
+    // a single caller refreshes the sample per interval, everybody else reads the cached value
+    if (now - next >= 0
+        && nextCpuSampleNanos.compareAndSet(
+            next, now + TimeUnit.MILLISECONDS.toNanos(config.getCpuSampleIntervalMs()))) {
+      double load = osBean.getProcessCpuLoad();
+      if (load >= 0d) {
+        cpuLoad = load;
+      }
+    }
+    return cpuLoad;
+  }
+
+  /**
+   * Parse a request start header ("t=" prefix optional) into epoch millis. Seconds with a fraction
+   * (nginx $msec), micros and millis are recognized by magnitude.
+   */
+  static long parseRequestStart(String value) {
+    if (value == null) {
+      return 0L;
+    }
+    String v = value.trim();
+    if (v.startsWith("t=")) {
+      v = v.substring(2);
+    }
+    try {
+      if (v.indexOf('.') >= 0) {
+        return (long) (Double.parseDouble(v) * 1000d);
+      }
+      long raw = Long.parseLong(v);
+      if (raw > 100_000_000_000_000L) {
+        return raw / 1000L; // micros
+      }
+      if (raw > 100_000_000_000L) {
+        return raw; // millis
+      }
+      return raw * 1000L; // seconds
+    } catch (NumberFormatException e) {
+      return 0L;
+    }
+  }
+
+  private static com.sun.management.OperatingSystemMXBean resolveOsBean() {
+    try {
+      java.lang.management.OperatingSystemMXBean bean =
+          ManagementFactory.getOperatingSystemMXBean();
+      if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+        return (com.sun.management.OperatingSystemMXBean) bean;
+      }
+    } catch (Throwable e) {
+      log.warn("Process CPU load is not available, CPU signal disabled: {}", e.getMessage());
+    }
+    return null;
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.loadup.gateway.core.slowlog;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.Map;
+
+/**
+ * A request captured for exceeding its slow threshold
+ *
+ * @param requestId request ID
+ * @param routeId matched route, null if none
+ * @param method HTTP method
+ * @param path request path
+ * @param statusCode response status, 0 if no response was produced
+ * @param error exception type and message, null if the request did not fail
+ * @param startTimeMillis receive time, epoch milliseconds
+ * @param totalMillis time from receipt to the end of the write
+ * @param stages time per stage that ran, by stage tag
+ * @param details time per recorded part of a stage (template compilation, upstream connection,
+ *     upstream first byte), by detail tag
+ */
+public record SlowRequest(
+    String requestId,
+    String routeId,
+    String method,
+    String path,
+    int statusCode,
+    String error,
+    long startTimeMillis,
+    double totalMillis,
+    Map<String, Double> stages,
+    Map<String, Double> details) {}
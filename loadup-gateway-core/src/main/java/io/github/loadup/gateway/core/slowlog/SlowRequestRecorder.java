@@ -0,0 +1,151 @@
+package io.github.loadup.gateway.core.slowlog;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
+import io.github.loadup.gateway.facade.context.StageDetail;
+import io.github.loadup.gateway.facade.context.StageTimings;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.GatewayRequestListener;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Captures requests slower than their route's threshold ({@code slowThreshold} route property,
+ * else the configured default) with the breakdown of their stage timings, into a fixed-size ring
+ * where the newest captures overwrite the oldest.
+ *
+ * <p>The timings are recorded for every request anyway, so a request under its threshold costs a
+ * comparison; the breakdown is only copied out for captured requests.
+ */
+public class SlowRequestRecorder implements GatewayRequestListener {
+
+  private final long defaultThresholdNanos;
+
+  private final AtomicReferenceArray<SlowRequest> ring;
+
+  /** Captures so far, the next one goes to slot {@code captured % capacity} */
+  private final AtomicLong captured = new AtomicLong();
+
+  public SlowRequestRecorder(GatewayProperties.SlowRequestProperties properties) {
+    this.defaultThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getThresholdMs());
+    this.ring = new AtomicReferenceArray<>(Math.max(1, properties.getCapacity()));
+  }
+
+  @Override
+  public void onRequestCompleted(GatewayContext context, long totalNanos) {
+    if (totalNanos < thresholdNanos(context.getRoute())) {
+      return;
+    }
+    long slot = captured.getAndIncrement() % ring.length();
+    ring.set((int) slot, capture(context, totalNanos));
+  }
+
+  /** Latest captures, newest first; a capture racing with this call may be missed */
+  public List<SlowRequest> recent(int limit) {
+    long end = captured.get();
+    long start = Math.max(0L, end - Math.min(limit, ring.length()));
+    List<SlowRequest> requests = new ArrayList<>();
+    for (long i = end - 1; i >= start; i--) {
+      SlowRequest request = ring.get((int) (i % ring.length()));
+      if (request != null) {
+        requests.add(request);
+      }
+    }
+    return requests;
+  }
+
+  /** Number of requests captured so far, including the overwritten ones */
+  public long getCaptured() {
+    return captured.get();
+  }
+
+  /** Default threshold (milliseconds) */
+  public long getDefaultThresholdMs() {
+    return TimeUnit.NANOSECONDS.toMillis(defaultThresholdNanos);
+  }
+
+  /** Drop the captured requests */
+  public void clear() {
+    for (int i = 0; i < ring.length(); i++) {
+      ring.set(i, null);
+    }
+  }
+
+  private long thresholdNanos(RouteConfig route) {
+    if (route != null && route.getSlowThreshold() > 0) {
+      return TimeUnit.MILLISECONDS.toNanos(route.getSlowThreshold());
+    }
+    return defaultThresholdNanos;
+  }
+
+  private static SlowRequest capture(GatewayContext context, long totalNanos) {
+    StageTimings timings = context.getTimings();
+    Map<String, Double> stages = new LinkedHashMap<>();
+    for (GatewayStage stage : GatewayStage.all()) {
+      if (timings.isRecorded(stage)) {
+        stages.put(stage.tagValue(), millis(timings.getNanos(stage)));
+      }
+    }
+    Map<String, Double> details = new LinkedHashMap<>();
+    for (StageDetail detail : StageDetail.all()) {
+      long nanos = timings.getDetailNanos(detail);
+      if (nanos > 0) {
+        details.put(detail.tagValue(), millis(nanos));
+      }
+    }
+
+    GatewayRequest request = context.getRequest();
+    RouteConfig route = context.getRoute();
+    Throwable exception = context.getException();
+    String error =
+        exception != null
+            ? exception.getClass().getSimpleName() + ": " + exception.getMessage()
+            : null;
+    return new SlowRequest(
+        request.getRequestId(),
+        route != null ? route.getRouteId() : null,
+        request.getMethod(),
+        request.getPath(),
+        context.getResponse() != null ? context.getResponse().getStatusCode() : 0,
+        error,
+        request.getRequestTimeMillis(),
+        millis(totalNanos),
+        stages,
+        details);
+  }
+
+  /** Milliseconds with microsecond precision */
+  private static double millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000d;
+  }
+}
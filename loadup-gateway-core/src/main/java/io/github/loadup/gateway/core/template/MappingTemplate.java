@@ -0,0 +1,425 @@
+package io.github.loadup.gateway.core.template;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.exception.ErrorCode;
+import io.github.loadup.gateway.facade.exception.TemplateException;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Declarative request/response template, selected by the {@value
+ * GatewayConstants.Template#MAPPING_PREFIX} prefix. The JSON spec is compiled once into a list of
+ * steps; applying it runs plain Java with no script class, and body edits are collected into one
+ * {@link StreamingJson} patch applied in a single pass at the end.
+ *
+ * <pre>
+ * mapping:{"steps": [
+ *   {"op": "setHeader", "name": "X-Source", "value": "gateway"},
+ *   {"op": "removeHeader", "name": "Authorization"},
+ *   {"op": "copy", "from": "/user/id", "path": "/userId"},
+ *   {"op": "rename", "path": "/userName", "to": "username"},
+ *   {"op": "delete", "path": "/password"},
+ *   {"op": "set", "path": "/_meta/requestId", "from": "requestId"},
+ *   {"if": {"value": "header:API-Version", "equals": "v2"},
+ *    "then": [{"op": "set", "path": "/version", "value": 2}],
+ *    "else": [{"op": "set", "path": "/version", "value": 1}]}
+ * ]}
+ * </pre>
+ *
+ * <p>Operations: {@code setHeader}, {@code removeHeader}, {@code set}, {@code copy}, {@code
+ * rename}, {@code delete}, {@code setAttribute} (requests) and {@code setStatus} (responses, a
+ * status code from 100 to 599). Values are either a {@code value} constant or a {@code from}
+ * reference: a JSON pointer into the original body, {@code header:}, {@code query:}, {@code path:}
+ * or {@code attribute:} followed by a name, or one of {@code requestId}, {@code method}, {@code
+ * path}, {@code clientIp}, {@code status} and {@code now}. A step whose reference resolves to null
+ * is skipped. Conditions test a reference with {@code equals}, {@code notEquals}, {@code in} or
+ * {@code exists}, optionally negated with {@code "not": true}. All the body pointers a template
+ * references are read in one streaming pass, on first use.
+ */
+public final class MappingTemplate {
+
+  private static final StreamingJson JSON = new StreamingJson();
+
+  private final List<Step> steps;
+
+  /** Body pointers referenced by the steps */
+  private final Set<String> pointers;
+
+  private MappingTemplate(List<Step> steps, Set<String> pointers) {
+    this.steps = steps;
+    this.pointers = pointers;
+  }
+
+  /** Whether the template text is a mapping spec rather than a Groovy script */
+  public static boolean isMapping(String template) {
+    return template != null && template.startsWith(GatewayConstants.Template.MAPPING_PREFIX);
+  }
+
+  /** Compile a mapping template (with or without its prefix) */
+  public static MappingTemplate compile(String template) {
+    String spec =
+        isMapping(template)
+            ? template.substring(GatewayConstants.Template.MAPPING_PREFIX.length())
+            : template;
+    JsonNode root;
+    try {
+      root = JsonUtils.readerFor(JsonNode.class).readTree(spec);
+    } catch (IOException e) {
+      throw TemplateException.parseError("mapping", e);
+    }
+    JsonNode steps = root != null && root.isObject() ? root.get("steps") : root;
+    if (steps == null || !steps.isArray()) {
+      throw invalid("expected an array of steps or an object with \"steps\"");
+    }
+    Set<String> pointers = new LinkedHashSet<>();
+    return new MappingTemplate(compileSteps(steps, pointers), Set.copyOf(pointers));
+  }
+
+  public GatewayRequest apply(GatewayRequest request) {
+    if (request.getHeaders() == null) {
+      request.setHeaders(new HashMap<>());
+    }
+    if (request.getAttributes() == null) {
+      request.setAttributes(new HashMap<>());
+    }
+    run(new Exchange(request, null, request.getHeaders(), pointers));
+    return request;
+  }
+
+  public GatewayResponse apply(GatewayResponse response) {
+    if (response.getHeaders() == null) {
+      response.setHeaders(new HashMap<>());
+    }
+    run(new Exchange(null, response, response.getHeaders(), pointers));
+    return response;
+  }
+
+  private void run(Exchange exchange) {
+    for (Step step : steps) {
+      step.apply(exchange);
+    }
+    if (exchange.patch != null) {
+      exchange.patch.apply();
+    }
+  }
+
+  /** State of one application */
+  private static final class Exchange {
+    final GatewayRequest request;
+    final GatewayResponse response;
+    final Map<String, String> headers;
+    final Set<String> pointers;
+    StreamingJson.Patch patch;
+    Map<String, Object> body;
+
+    Exchange(
+        GatewayRequest request,
+        GatewayResponse response,
+        Map<String, String> headers,
+        Set<String> pointers) {
+      this.request = request;
+      this.response = response;
+      this.headers = headers;
+      this.pointers = pointers;
+    }
+
+    Object source() {
+      return request != null ? request : response;
+    }
+
+    /** Value at a pointer of the original body; the patch is only applied after all steps */
+    Object read(String pointer) {
+      if (body == null) {
+        body = JSON.read(source(), pointers);
+      }
+      return body.get(pointer);
+    }
+
+    StreamingJson.Patch patch() {
+      if (patch == null) {
+        patch = JSON.patch(source());
+      }
+      return patch;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Step {
+    void apply(Exchange exchange);
+  }
+
+  private static List<Step> compileSteps(JsonNode nodes, Set<String> pointers) {
+    List<Step> steps = new ArrayList<>(nodes.size());
+    for (JsonNode node : nodes) {
+      steps.add(compileStep(node, pointers));
+    }
+    return List.copyOf(steps);
+  }
+
+  private static Step compileStep(JsonNode node, Set<String> pointers) {
+    if (!node.isObject()) {
+      throw invalid("step must be an object: " + node);
+    }
+    if (node.has("if")) {
+      Predicate<Exchange> condition = compileCondition(node.get("if"), pointers);
+      List<Step> then = node.has("then") ? compileSteps(node.get("then"), pointers) : List.of();
+      List<Step> otherwise =
+          node.has("else") ? compileSteps(node.get("else"), pointers) : List.of();
+      return x -> {
+        for (Step step : condition.test(x) ? then : otherwise) {
+          step.apply(x);
+        }
+      };
+    }
+    String op = text(node, "op");
+    switch (op) {
+      case "setHeader" -> {
+        String name = text(node, "name");
+        Function<Exchange, Object> value = valueOf(node, pointers);
+        return x -> {
+          Object v = value.apply(x);
+          if (v != null) {
+            x.headers.put(name, asText(v));
+          }
+        };
+      }
+      case "removeHeader" -> {
+        String name = text(node, "name");
+        return x -> {
+          if (x.headers.remove(name) == null) {
+            x.headers.keySet().removeIf(name::equalsIgnoreCase);
+          }
+        };
+      }
+      case "set", "copy" -> {
+        String path = text(node, "path");
+        if ("copy".equals(op) && !node.has("from")) {
+          throw invalid("copy requires \"from\"");
+        }
+        Function<Exchange, Object> value = valueOf(node, pointers);
+        boolean constant = !node.has("from");
+        return x -> {
+          Object v = value.apply(x);
+          if (v != null || constant) {
+            x.patch().set(path, v);
+          }
+        };
+      }
+      case "rename" -> {
+        String path = text(node, "path");
+        String to = text(node, "to");
+        return x -> x.patch().rename(path, to);
+      }
+      case "delete" -> {
+        String path = text(node, "path");
+        return x -> x.patch().remove(path);
+      }
+      case "setAttribute" -> {
+        String name = text(node, "name");
+        Function<Exchange, Object> value = valueOf(node, pointers);
+        return x -> {
+          Object v = value.apply(x);
+          if (x.request != null && v != null) {
+            x.request.getAttributes().put(name, v);
+          }
+        };
+      }
+      case "setStatus" -> {
+        Function<Exchange, Object> value = valueOf(node, pointers);
+        if (!node.has("from") && statusCode(constant(node.get("value"))) == null) {
+          throw invalid("setStatus requires a status code between 100 and 599: " + node);
+        }
+        return x -> {
+          Object v = value.apply(x);
+          if (x.response != null && v != null) {
+            Integer status = statusCode(v);
+            if (status == null) {
+              throw new TemplateException(
+                  ErrorCode.TEMPLATE_EXECUTION_ERROR,
+                  "mapping: setStatus resolved to an invalid status code '" + asText(v) + "'");
+            }
+            x.response.setStatusCode(status);
+          }
+        };
+      }
+      default -> throw invalid("unknown op '" + op + "'");
+    }
+  }
+
+  private static Predicate<Exchange> compileCondition(JsonNode node, Set<String> pointers) {
+    if (node == null || !node.isObject()) {
+      throw invalid("condition must be an object: " + node);
+    }
+    Function<Exchange, Object> value = reference(text(node, "value"), pointers);
+    Predicate<Exchange> test;
+    if (node.has("equals")) {
+      String expected = asText(constant(node.get("equals")));
+      test = x -> Objects.equals(asTextOrNull(value.apply(x)), expected);
+    } else if (node.has("notEquals")) {
+      String expected = asText(constant(node.get("notEquals")));
+      test = x -> !Objects.equals(asTextOrNull(value.apply(x)), expected);
+    } else if (node.has("in")) {
+      List<String> expected = new ArrayList<>();
+      node.get("in").forEach(n -> expected.add(asText(constant(n))));
+      test = x -> expected.contains(asTextOrNull(value.apply(x)));
+    } else {
+      boolean exists = !node.has("exists") || node.get("exists").asBoolean();
+      test = x -> (value.apply(x) != null) == exists;
+    }
+    return node.path("not").asBoolean(false) ? test.negate() : test;
+  }
+
+  /** Constant {@code value} or {@code from} reference of a step */
+  private static Function<Exchange, Object> valueOf(JsonNode node, Set<String> pointers) {
+    if (node.has("from")) {
+      return reference(text(node, "from"), pointers);
+    }
+    if (!node.has("value")) {
+      throw invalid("step requires \"value\" or \"from\": " + node);
+    }
+    Object value = constant(node.get("value"));
+    return x -> value;
+  }
+
+  private static Function<Exchange, Object> reference(String ref, Set<String> pointers) {
+    if (ref.startsWith("/")) {
+      pointers.add(ref);
+      return x -> x.read(ref);
+    }
+    int colon = ref.indexOf(':');
+    if (colon > 0) {
+      String name = ref.substring(colon + 1);
+      return switch (ref.substring(0, colon)) {
+        case "header" -> x -> header(x.headers, name);
+        case "query" -> x -> query(x.request, name);
+        case "path" ->
+            x ->
+                x.request != null && x.request.getPathParameters() != null
+                    ? x.request.getPathParameters().get(name)
+                    : null;
+        case "attribute" ->
+            x ->
+                x.request != null && x.request.getAttributes() != null
+                    ? x.request.getAttributes().get(name)
+                    : null;
+        default -> throw invalid("unknown reference '" + ref + "'");
+      };
+    }
+    return switch (ref) {
+      case "requestId" ->
+          x -> x.request != null ? x.request.getRequestId() : x.response.getRequestId();
+      case "method" -> x -> x.request != null ? x.request.getMethod() : null;
+      case "path" -> x -> x.request != null ? x.request.getPath() : null;
+      case "clientIp" -> x -> x.request != null ? x.request.getClientIp() : null;
+      case "status" -> x -> x.response != null ? x.response.getStatusCode() : null;
+      case "now" -> x -> System.currentTimeMillis();
+      default -> throw invalid("unknown reference '" + ref + "'");
+    };
+  }
+
+  private static String header(Map<String, String> headers, String name) {
+    String value = headers.get(name);
+    if (value == null) {
+      for (Map.Entry<String, String> entry : headers.entrySet()) {
+        if (entry.getKey().equalsIgnoreCase(name)) {
+          return entry.getValue();
+        }
+      }
+    }
+    return value;
+  }
+
+  private static String query(GatewayRequest request, String name) {
+    if (request == null || request.getQueryParameters() == null) {
+      return null;
+    }
+    List<String> values = request.getQueryParameters().get(name);
+    return values != null && !values.isEmpty() ? values.get(0) : null;
+  }
+
+  /** Plain Java value of a JSON constant; objects and arrays stay trees */
+  private static Object constant(JsonNode node) {
+    if (node == null || node.isNull()) {
+      return null;
+    }
+    if (node.isTextual()) {
+      return node.asText();
+    }
+    if (node.isNumber()) {
+      return node.numberValue();
+    }
+    if (node.isBoolean()) {
+      return node.booleanValue();
+    }
+    return node;
+  }
+
+  private static String asText(Object value) {
+    return value instanceof JsonNode node && !node.isValueNode()
+        ? node.toString()
+        : String.valueOf(value);
+  }
+
+  /** HTTP status code a value stands for, or null when it is not one */
+  private static Integer statusCode(Object value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      int status = Integer.parseInt(asText(value).trim());
+      return status >= 100 && status <= 599 ? status : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static String asTextOrNull(Object value) {
+    return value != null ? asText(value) : null;
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    if (value == null || !value.isTextual()) {
+      throw invalid("\"" + field + "\" is required: " + node);
+    }
+    return value.asText();
+  }
+
+  private static TemplateException invalid(String message) {
+    return new TemplateException(ErrorCode.TEMPLATE_PARSE_ERROR, "mapping: " + message);
+  }
+}
@@ -0,0 +1,457 @@
+package io.github.loadup.gateway.core.template;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Streaming JSON helper bound as {@code json} in templates. Edits the body token by token with
+ * Jackson's {@link JsonParser}/{@link JsonGenerator}: subtrees not touched by an operation are
+ * copied through without being materialized, so rewriting a few fields of a large body costs one
+ * sequential pass instead of a full parse into maps and back.
+ *
+ * <pre>
+ * json.patch(request)
+ *     .set('/_meta/requestId', request.requestId)
+ *     .update('/email') { email -> email?.toLowerCase() }
+ *     .remove('/password')
+ *     .rename('/userName', 'username')
+ *     .apply()
+ * </pre>
+ *
+ * <p>Pointers follow RFC 6901 and always address the original document. {@code set} replaces an
+ * existing value or adds it at the end of its parent, creating missing parent objects; {@code -}
+ * appends to an array. {@code update} replaces an existing value with a function of it, read during
+ * the same pass, so reading and rewriting fields never parses the body twice. Operations below a
+ * scalar or a missing container are ignored, except sets.
+ */
+public class StreamingJson {
+
+  private static final byte[] EMPTY_OBJECT = {'{', '}'};
+
+  /** Start a patch of the request or response body, or of raw JSON bytes or text */
+  public Patch patch(Object source) {
+    return new Patch(source);
+  }
+
+  /**
+   * Read the value at a JSON pointer, skipping everything else in the body. Returns maps, lists or
+   * scalars, or null when the pointer does not match.
+   */
+  public Object read(Object source, String pointer) {
+    byte[] bytes = bytesOf(source);
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    try (JsonParser parser =
+        new FilteringParserDelegate(
+            JsonUtils.jsonFactory().createParser(bytes),
+            new JsonPointerBasedFilter(pointer),
+            TokenFilter.Inclusion.ONLY_INCLUDE_ALL,
+            false)) {
+      return parser.nextToken() != null ? parser.readValueAs(Object.class) : null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read JSON pointer " + pointer, e);
+    }
+  }
+
+  /**
+   * Read the values at several JSON pointers in one pass, skipping subtrees none of them goes into.
+   * Pointers that do not match are absent from the result.
+   */
+  public Map<String, Object> read(Object source, Collection<String> pointers) {
+    Map<String, Object> values = new HashMap<>();
+    byte[] bytes = bytesOf(source);
+    if (bytes == null || bytes.length == 0 || pointers.isEmpty()) {
+      return values;
+    }
+    Map<List<String>, String> targets = new HashMap<>();
+    for (String pointer : pointers) {
+      targets.put(parse(pointer), pointer);
+    }
+    try (JsonParser parser = JsonUtils.jsonFactory().createParser(bytes)) {
+      if (parser.nextToken() != null) {
+        collect(parser, new ArrayList<>(), targets, values);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read JSON pointers " + pointers, e);
+    }
+    return values;
+  }
+
+  /** Body as UTF-8 bytes; bodies in another charset are transcoded */
+  private static byte[] bytesOf(Object source) {
+    if (source instanceof GatewayRequest request) {
+      Charset charset = request.getBodyCharset();
+      if (charset == null || StandardCharsets.UTF_8.equals(charset)) {
+        return request.getBodyBytes();
+      }
+      String body = request.getBody();
+      return body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+    }
+    if (source instanceof GatewayResponse response) {
+      if (response.hasPayload() || StandardCharsets.UTF_8.equals(response.getBodyCharset())) {
+        return response.getBodyBytes();
+      }
+      String body = response.getBody();
+      return body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+    }
+    if (source instanceof byte[] bytes) {
+      return bytes;
+    }
+    if (source instanceof CharSequence text) {
+      return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    throw new IllegalArgumentException(
+        "Unsupported JSON source: " + (source == null ? "null" : source.getClass().getName()));
+  }
+
+  private enum Kind {
+    SET,
+    REMOVE,
+    RENAME,
+    UPDATE
+  }
+
+  private record Op(List<String> path, Kind kind, Object value) {}
+
+  /** Pending edits of one body, applied in a single streaming pass */
+  public static class Patch {
+
+    private final Object source;
+
+    private final List<Op> ops = new ArrayList<>();
+
+    Patch(Object source) {
+      this.source = source;
+    }
+
+    /** Replace or add the value at the pointer */
+    public Patch set(String pointer, Object value) {
+      // Groovy GStrings would otherwise be serialized as beans
+      Object plain = value instanceof CharSequence text ? text.toString() : value;
+      return add(new Op(parse(pointer), Kind.SET, plain));
+    }
+
+    /**
+     * Replace the value at the pointer, if present, with the function of it (maps, lists or
+     * scalars); nothing is added when the pointer does not match
+     */
+    public Patch update(String pointer, Function<Object, Object> function) {
+      return add(new Op(parse(pointer), Kind.UPDATE, function));
+    }
+
+    /** Remove the value at the pointer if present */
+    public Patch remove(String pointer) {
+      return add(new Op(parse(pointer), Kind.REMOVE, null));
+    }
+
+    /** Rename the object field at the pointer, keeping its position and value */
+    public Patch rename(String pointer, String newName) {
+      return add(new Op(parse(pointer), Kind.RENAME, newName));
+    }
+
+    private Patch add(Op op) {
+      // A later edit of the same pointer wins
+      ops.removeIf(existing -> existing.path().equals(op.path()));
+      ops.add(op);
+      return this;
+    }
+
+    /**
+     * Apply the edits and return the new UTF-8 body. When patching a request or response its body
+     * is replaced as well, a response body in its declared charset.
+     */
+    public byte[] apply() {
+      byte[] input = bytesOf(source);
+      if (input == null || input.length == 0) {
+        input = EMPTY_OBJECT;
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream(input.length + 64);
+      JsonFactory factory = JsonUtils.jsonFactory();
+      try (JsonParser parser = factory.createParser(input);
+          JsonGenerator generator = factory.createGenerator(out)) {
+        if (parser.nextToken() != null) {
+          copy(parser, generator, new ArrayList<>(), ops);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to patch JSON body", e);
+      }
+      byte[] patched = out.toByteArray();
+      if (source instanceof GatewayRequest request) {
+        request.setBodyBytes(patched);
+      } else if (source instanceof GatewayResponse response) {
+        // keep the charset the response declares
+        Charset charset = response.getBodyCharset();
+        response.setBodyBytes(
+            StandardCharsets.UTF_8.equals(charset)
+                ? patched
+                : new String(patched, StandardCharsets.UTF_8).getBytes(charset));
+      }
+      return patched;
+    }
+  }
+
+  /** Read the targets at or below the parser's current value, at {@code path} */
+  private static void collect(
+      JsonParser parser,
+      List<String> path,
+      Map<List<String>, String> targets,
+      Map<String, Object> values)
+      throws IOException {
+    String pointer = targets.get(path);
+    if (pointer != null) {
+      Object value = parser.readValueAs(Object.class);
+      values.put(pointer, value);
+      // pointers further down resolve in the value just read
+      for (Map.Entry<List<String>, String> target : targets.entrySet()) {
+        List<String> tokens = target.getKey();
+        if (tokens.size() > path.size() && tokens.subList(0, path.size()).equals(path)) {
+          Object nested = resolve(value, tokens.subList(path.size(), tokens.size()));
+          if (nested != null) {
+            values.put(target.getValue(), nested);
+          }
+        }
+      }
+      return;
+    }
+    JsonToken token = parser.currentToken();
+    boolean object = token == JsonToken.START_OBJECT;
+    if ((!object && token != JsonToken.START_ARRAY) || !targetBelow(targets.keySet(), path)) {
+      parser.skipChildren();
+      return;
+    }
+    int depth = path.size();
+    int index = 0;
+    JsonToken end = object ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    while (parser.nextToken() != end) {
+      String name;
+      if (object) {
+        name = parser.currentName();
+        parser.nextToken();
+      } else {
+        name = String.valueOf(index++);
+      }
+      path.add(name);
+      collect(parser, path, targets, values);
+      path.remove(depth);
+    }
+  }
+
+  private static boolean targetBelow(Collection<List<String>> targets, List<String> path) {
+    for (List<String> tokens : targets) {
+      if (tokens.size() > path.size() && tokens.subList(0, path.size()).equals(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Value at the reference tokens within maps and lists already read, null if absent */
+  private static Object resolve(Object value, List<String> tokens) {
+    for (String token : tokens) {
+      if (value instanceof Map<?, ?> map) {
+        value = map.get(token);
+      } else if (value instanceof List<?> list) {
+        int index = arrayIndex(token);
+        value = index >= 0 && index < list.size() ? list.get(index) : null;
+      } else {
+        return null;
+      }
+    }
+    return value;
+  }
+
+  private static int arrayIndex(String token) {
+    if (token.isEmpty() || token.length() > 9) {
+      return -1;
+    }
+    for (int i = 0; i < token.length(); i++) {
+      if (!Character.isDigit(token.charAt(i))) {
+        return -1;
+      }
+    }
+    return Integer.parseInt(token);
+  }
+
+  /** Copy the value at the parser's current token, applying the ops below {@code path} */
+  private static void copy(
+      JsonParser parser, JsonGenerator generator, List<String> path, List<Op> ops)
+      throws IOException {
+    List<Op> nested = below(ops, path);
+    JsonToken token = parser.currentToken();
+    if (nested.isEmpty() || (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY)) {
+      generator.copyCurrentStructure(parser);
+      return;
+    }
+    int depth = path.size();
+    Set<String> seen = new HashSet<>();
+    boolean object = token == JsonToken.START_OBJECT;
+    if (object) {
+      generator.writeStartObject();
+    } else {
+      generator.writeStartArray();
+    }
+    int index = 0;
+    JsonToken end = object ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    while (parser.nextToken() != end) {
+      String name;
+      if (object) {
+        name = parser.currentName();
+        parser.nextToken();
+      } else {
+        name = String.valueOf(index++);
+      }
+      seen.add(name);
+      path.add(name);
+      Op op = exact(nested, path);
+      if (op == null) {
+        if (object) {
+          generator.writeFieldName(name);
+        }
+        copy(parser, generator, path, nested);
+      } else if (op.kind() == Kind.REMOVE) {
+        parser.skipChildren();
+      } else if (op.kind() == Kind.SET) {
+        if (object) {
+          generator.writeFieldName(name);
+        }
+        generator.writeObject(op.value());
+        parser.skipChildren();
+      } else if (op.kind() == Kind.UPDATE) {
+        if (object) {
+          generator.writeFieldName(name);
+        }
+        generator.writeObject(updated(op, parser.readValueAs(Object.class)));
+      } else {
+        if (object) {
+          generator.writeFieldName((String) op.value());
+        }
+        copy(parser, generator, path, nested);
+      }
+      path.remove(depth);
+    }
+    // Sets of fields missing from this container, in the order they were added
+    Map<String, List<Op>> missing = new LinkedHashMap<>();
+    for (Op op : nested) {
+      String name = op.path().get(depth);
+      if (op.kind() == Kind.SET && !seen.contains(name) && (object || "-".equals(name))) {
+        missing.computeIfAbsent(name, k -> new ArrayList<>()).add(op);
+      }
+    }
+    for (Map.Entry<String, List<Op>> entry : missing.entrySet()) {
+      if (object) {
+        generator.writeFieldName(entry.getKey());
+      }
+      writeMissing(generator, entry.getValue(), depth + 1);
+    }
+    if (object) {
+      generator.writeEndObject();
+    } else {
+      generator.writeEndArray();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object updated(Op op, Object current) {
+    Object value = ((Function<Object, Object>) op.value()).apply(current);
+    // Groovy GStrings would otherwise be serialized as beans
+    return value instanceof CharSequence text ? text.toString() : value;
+  }
+
+  /** Write a value that is absent from the source, building parent objects as needed */
+  private static void writeMissing(JsonGenerator generator, List<Op> ops, int depth)
+      throws IOException {
+    for (Op op : ops) {
+      if (op.path().size() == depth) {
+        generator.writeObject(op.value());
+        return;
+      }
+    }
+    Map<String, List<Op>> children = new LinkedHashMap<>();
+    for (Op op : ops) {
+      children.computeIfAbsent(op.path().get(depth), k -> new ArrayList<>()).add(op);
+    }
+    generator.writeStartObject();
+    for (Map.Entry<String, List<Op>> entry : children.entrySet()) {
+      generator.writeFieldName(entry.getKey());
+      writeMissing(generator, entry.getValue(), depth + 1);
+    }
+    generator.writeEndObject();
+  }
+
+  /** Ops strictly below the given path */
+  private static List<Op> below(List<Op> ops, List<String> path) {
+    List<Op> result = new ArrayList<>();
+    for (Op op : ops) {
+      List<String> target = op.path();
+      if (target.size() > path.size() && target.subList(0, path.size()).equals(path)) {
+        result.add(op);
+      }
+    }
+    return result;
+  }
+
+  private static Op exact(List<Op> ops, List<String> path) {
+    for (Op op : ops) {
+      if (op.path().equals(path)) {
+        return op;
+      }
+    }
+    return null;
+  }
+
+  /** Split an RFC 6901 pointer into unescaped reference tokens */
+  private static List<String> parse(String pointer) {
+    if (pointer == null || pointer.isEmpty() || pointer.charAt(0) != '/') {
+      throw new IllegalArgumentException("Invalid JSON pointer (must start with '/'): " + pointer);
+    }
+    List<String> tokens = new ArrayList<>(Arrays.asList(pointer.substring(1).split("/", -1)));
+    tokens.replaceAll(token -> token.replace("~1", "/").replace("~0", "~"));
+    return List.copyOf(tokens);
+  }
+}
@@ -0,0 +1,141 @@
+package io.github.loadup.gateway.core.template;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.exception.TemplateException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Per-run resource budget of a template, checked from inside the script: the sandbox compiles a
+ * call to {@link #check()} into every loop iteration and method entry, so a runaway script stops
+ * on its own thread without a watchdog thread per invocation. Iterations are counted on every
+ * check; thread CPU time and allocated bytes are sampled every {@value #SAMPLE_INTERVAL} checks and
+ * once more when the run ends.
+ */
+public final class TemplateBudget implements AutoCloseable {
+
+  private static final ThreadLocal<TemplateBudget> CURRENT = new ThreadLocal<>();
+
+  private static final int SAMPLE_INTERVAL = 1024;
+
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private static final boolean CPU_TIME =
+      THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+
+  private static final com.sun.management.ThreadMXBean ALLOCATION =
+      THREADS instanceof com.sun.management.ThreadMXBean bean
+              && bean.isThreadAllocatedMemorySupported()
+              && bean.isThreadAllocatedMemoryEnabled()
+          ? bean
+          : null;
+
+  private final TemplateBudget previous;
+
+  private final long cpuBudgetNanos;
+
+  private final long cpuStartNanos;
+
+  private final long maxIterations;
+
+  private final long maxAllocatedBytes;
+
+  private final long allocatedStart;
+
+  private long iterations;
+
+  /** First violation; once set every later check fails, so scripts cannot catch their way on */
+  private String violation;
+
+  private TemplateBudget(long cpuBudgetMillis, long maxIterations, long maxAllocatedBytes) {
+    this.previous = CURRENT.get();
+    this.cpuBudgetNanos = CPU_TIME && cpuBudgetMillis > 0 ? cpuBudgetMillis * 1_000_000L : 0L;
+    this.cpuStartNanos = cpuBudgetNanos > 0 ? THREADS.getCurrentThreadCpuTime() : 0L;
+    this.maxIterations = maxIterations;
+    this.maxAllocatedBytes = ALLOCATION != null ? maxAllocatedBytes : 0L;
+    this.allocatedStart =
+        this.maxAllocatedBytes > 0 ? ALLOCATION.getCurrentThreadAllocatedBytes() : 0L;
+  }
+
+  /** Start a budget for the template run on the current thread, close it when the run ends */
+  static TemplateBudget start(long cpuBudgetMillis, long maxIterations, long maxAllocatedBytes) {
+    TemplateBudget budget = new TemplateBudget(cpuBudgetMillis, maxIterations, maxAllocatedBytes);
+    CURRENT.set(budget);
+    return budget;
+  }
+
+  /**
+   * Called by compiled templates. Returns false while the budget holds and throws a {@link
+   * TemplateException} otherwise; a no-op outside a budgeted run.
+   */
+  public static boolean check() {
+    TemplateBudget budget = CURRENT.get();
+    if (budget != null) {
+      budget.tick();
+    }
+    return false;
+  }
+
+  private void tick() {
+    if (violation == null) {
+      iterations++;
+      if (maxIterations > 0 && iterations > maxIterations) {
+        violation = "more than " + maxIterations + " loop iterations";
+      } else if (iterations % SAMPLE_INTERVAL == 0) {
+        sample();
+      }
+    }
+    if (violation != null) {
+      throw TemplateException.budgetExceeded(violation);
+    }
+  }
+
+  private void sample() {
+    if (cpuBudgetNanos > 0 && THREADS.getCurrentThreadCpuTime() - cpuStartNanos > cpuBudgetNanos) {
+      violation = "CPU time over " + cpuBudgetNanos / 1_000_000L + " ms";
+    } else if (maxAllocatedBytes > 0
+        && ALLOCATION.getCurrentThreadAllocatedBytes() - allocatedStart > maxAllocatedBytes) {
+      violation = "allocated more than " + maxAllocatedBytes + " bytes";
+    }
+  }
+
+  /** Final check once the script returned, catching violations the script swallowed */
+  void verify() {
+    if (violation == null) {
+      sample();
+    }
+    if (violation != null) {
+      throw TemplateException.budgetExceeded(violation);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (previous != null) {
+      CURRENT.set(previous);
+    } else {
+      CURRENT.remove();
+    }
+  }
+}
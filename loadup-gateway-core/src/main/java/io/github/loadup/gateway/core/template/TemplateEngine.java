@@ -23,24 +23,105 @@ package io.github.loadup.gateway.core.template;
  */
 
 import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
+import io.github.loadup.gateway.core.jfr.TemplateCompileEvent;
+import io.github.loadup.gateway.core.jfr.TemplateExecuteEvent;
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.context.StageDetail;
+import io.github.loadup.gateway.facade.context.StageTimings;
+import io.github.loadup.gateway.facade.exception.TemplateException;
 import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.extern.slf4j.Slf4j;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
-/** Template engine - supports Groovy scripts */
+/**
+ * Template engine - supports Groovy scripts and declarative {@link MappingTemplate}s (templates
+ * starting with {@code mapping:}), which are compiled to plain Java steps. Scripts see {@code
+ * request} or {@code response}, {@code log}, and {@code json} ({@link StreamingJson}) to edit large
+ * bodies without parsing them into maps.
+ *
+ * <p>Scripts are compiled once into sandboxed classes (see {@link TemplateSandbox}) and each run
+ * gets its own instance under a {@link TemplateBudget}. A script exceeding its budget fails the
+ * request with a {@link TemplateException}, like a rejected or unparsable template; other script
+ * errors are logged and the original request or response is used.
+ *
+ * <p>Compilations and runs are reported as {@link TemplateCompileEvent} and {@link
+ * TemplateExecuteEvent} Flight Recorder events, identified by a digest of the template text.
+ */
 @Slf4j
 public class TemplateEngine {
 
-  private final ConcurrentHashMap<String, groovy.lang.Script> scriptCache =
+  private final ConcurrentHashMap<String, Class<? extends Script>> scriptCache =
       new ConcurrentHashMap<>();
-  private final GroovyShell groovyShell = new GroovyShell();
+  private final ConcurrentHashMap<String, MappingTemplate> mappingCache =
+      new ConcurrentHashMap<>();
+  /** Template digests for Flight Recorder events, only filled while a recording enables them */
+  private final ConcurrentHashMap<String, String> digestCache = new ConcurrentHashMap<>();
+
+  private final GatewayProperties.TemplateProperties limits;
+
+  private final GroovyClassLoader classLoader;
+
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder compiledClassBytes = new LongAdder();
+
+  /** Streaming JSON helper exposed to scripts as {@code json}, stateless and shared */
+  private final StreamingJson json = new StreamingJson();
+
+  public TemplateEngine() {
+    this(new GatewayProperties.TemplateProperties());
+  }
+
+  public TemplateEngine(GatewayProperties.TemplateProperties limits) {
+    this.limits = limits;
+    this.classLoader =
+        new CountingClassLoader(
+            TemplateEngine.class.getClassLoader(),
+            TemplateSandbox.compilerConfiguration(limits),
+            compiledClassBytes);
+  }
 
   /** Process request template */
   public GatewayRequest processRequestTemplate(GatewayRequest request, String templateScript) {
+    return processRequestTemplate(request, templateScript, 0L);
+  }
+
+  /** Process request template with a CPU budget (milliseconds, 0 for the configured default) */
+  public GatewayRequest processRequestTemplate(
+      GatewayRequest request, String templateScript, long cpuBudgetMillis) {
+    return processRequestTemplate(request, templateScript, cpuBudgetMillis, null);
+  }
+
+  /**
+   * Process request template with a CPU budget, adding the time spent compiling it on first use to
+   * the timings (when not null)
+   */
+  public GatewayRequest processRequestTemplate(
+      GatewayRequest request, String templateScript, long cpuBudgetMillis, StageTimings timings) {
+    TemplateExecuteEvent event = new TemplateExecuteEvent();
+    event.begin();
+    boolean failed = false;
     try {
+      if (MappingTemplate.isMapping(templateScript)) {
+        return getMapping(templateScript, timings, StageDetail.REQUEST_TEMPLATE_COMPILE)
+            .apply(request);
+      }
       if (request.getHeaders() == null) {
         request.setHeaders(new HashMap<>());
       }
@@ -50,11 +131,15 @@ public class TemplateEngine {
       Binding binding = new Binding();
       binding.setVariable("request", request);
       binding.setVariable("log", log);
+      binding.setVariable("json", json);
 
-      groovy.lang.Script script = getCompiledScript(templateScript);
-      script.setBinding(binding);
-
-      Object result = script.run();
+      Object result =
+          run(
+              templateScript,
+              binding,
+              cpuBudgetMillis,
+              timings,
+              StageDetail.REQUEST_TEMPLATE_COMPILE);
       if (result instanceof GatewayRequest) {
         return (GatewayRequest) result;
       }
@@ -62,48 +147,311 @@ public class TemplateEngine {
       log.warn("Request template script did not return GatewayRequest, using original request");
       return request;
 
+    } catch (TemplateException e) {
+      failed = true;
+      throw e;
     } catch (Exception e) {
+      failed = true;
       log.error("Failed to process request template", e);
       return request;
+    } finally {
+      commit(event, "request", templateScript, failed);
     }
   }
 
   /** Process response template */
   public GatewayResponse processResponseTemplate(GatewayResponse response, String templateScript) {
+    return processResponseTemplate(response, templateScript, 0L);
+  }
+
+  /**
+   * Process response template with a CPU budget (milliseconds, 0 for the configured default). When
+   * the proxy produced a payload object (bean routes) scripts can read and modify {@code
+   * response.payload} directly instead of parsing {@code response.body}.
+   */
+  public GatewayResponse processResponseTemplate(
+      GatewayResponse response, String templateScript, long cpuBudgetMillis) {
+    return processResponseTemplate(response, templateScript, cpuBudgetMillis, null);
+  }
+
+  /**
+   * Process response template with a CPU budget, adding the time spent compiling it on first use to
+   * the timings (when not null)
+   */
+  public GatewayResponse processResponseTemplate(
+      GatewayResponse response, String templateScript, long cpuBudgetMillis, StageTimings timings) {
+    TemplateExecuteEvent event = new TemplateExecuteEvent();
+    event.begin();
+    boolean failed = false;
     try {
+      if (MappingTemplate.isMapping(templateScript)) {
+        return getMapping(templateScript, timings, StageDetail.RESPONSE_TEMPLATE_COMPILE)
+            .apply(response);
+      }
       if (response.getHeaders() == null) {
         response.setHeaders(new HashMap<>());
       }
       Binding binding = new Binding();
       binding.setVariable("response", response);
       binding.setVariable("log", log);
+      binding.setVariable("json", json);
 
-      groovy.lang.Script script = getCompiledScript(templateScript);
-      script.setBinding(binding);
-
-      Object result = script.run();
-      if (result instanceof GatewayResponse) {
-        return (GatewayResponse) result;
+      Object result =
+          run(
+              templateScript,
+              binding,
+              cpuBudgetMillis,
+              timings,
+              StageDetail.RESPONSE_TEMPLATE_COMPILE);
+      if (result instanceof GatewayResponse processed) {
+        refreshPayload(processed);
+        return processed;
       }
 
       log.warn("Response template script did not return GatewayResponse, using original response");
+      refreshPayload(response);
       return response;
 
+    } catch (TemplateException e) {
+      failed = true;
+      throw e;
     } catch (Exception e) {
+      failed = true;
       log.error("Failed to process response template", e);
       return response;
+    } finally {
+      commit(event, "response", templateScript, failed);
+    }
+  }
+
+  /** Drop the serialized payload a script may have modified in place after reading the body */
+  private static void refreshPayload(GatewayResponse response) {
+    if (response.hasPayload()) {
+      response.setPayload(response.getPayload());
+    }
+  }
+
+  /** Run a fresh script instance, scripts are not thread-safe once bound */
+  private Object run(
+      String scriptText,
+      Binding binding,
+      long cpuBudgetMillis,
+      StageTimings timings,
+      StageDetail compileDetail) {
+    Script script =
+        InvokerHelper.createScript(getCompiledScript(scriptText, timings, compileDetail), binding);
+    try (TemplateBudget budget =
+        TemplateBudget.start(
+            cpuBudgetMillis > 0 ? cpuBudgetMillis : limits.getCpuBudgetMs(),
+            limits.getMaxLoopIterations(),
+            limits.getMaxAllocatedBytes())) {
+      Object result;
+      try {
+        result = script.run();
+      } catch (Exception e) {
+        // Thrown undeclared by the TimedInterrupt and ThreadInterrupt guards
+        if (e instanceof TimeoutException) {
+          throw TemplateException.budgetExceeded(
+              "wall-clock time over " + limits.getTimeoutMs() + " ms");
+        }
+        if (e instanceof InterruptedException) {
+          throw TemplateException.budgetExceeded("thread interrupted");
+        }
+        throw e;
+      }
+      budget.verify();
+      return result;
+    }
+  }
+
+  /** Get compiled script class with caching, timing the compilation on a miss */
+  private Class<? extends Script> getCompiledScript(
+      String scriptText, StageTimings timings, StageDetail compileDetail) {
+    Class<? extends Script> cached = scriptCache.get(scriptText);
+    if (cached != null) {
+      cacheHits.increment();
+      return cached;
+    }
+    cacheMisses.increment();
+    long start = System.nanoTime();
+    try {
+      return compileScript(scriptText);
+    } finally {
+      if (timings != null) {
+        timings.recordDetail(compileDetail, System.nanoTime() - start);
+      }
+    }
+  }
+
+  private Class<? extends Script> compileScript(String scriptText) {
+    return scriptCache.computeIfAbsent(
+        scriptText,
+        text -> {
+          TemplateCompileEvent event = new TemplateCompileEvent();
+          event.begin();
+          boolean succeeded = false;
+          try {
+            Class<? extends Script> scriptClass =
+                classLoader.parseClass(text).asSubclass(Script.class);
+            succeeded = true;
+            return scriptClass;
+          } catch (CompilationFailedException e) {
+            throw TemplateException.parseError("groovy template", e);
+          } finally {
+            commit(event, text, succeeded);
+          }
+        });
+  }
+
+  /** Get compiled mapping template with caching, timing the compilation on a miss */
+  private MappingTemplate getMapping(
+      String template, StageTimings timings, StageDetail compileDetail) {
+    MappingTemplate cached = mappingCache.get(template);
+    if (cached != null) {
+      cacheHits.increment();
+      return cached;
+    }
+    cacheMisses.increment();
+    long start = System.nanoTime();
+    try {
+      return compileMapping(template);
+    } finally {
+      if (timings != null) {
+        timings.recordDetail(compileDetail, System.nanoTime() - start);
+      }
+    }
+  }
+
+  private MappingTemplate compileMapping(String template) {
+    return mappingCache.computeIfAbsent(
+        template,
+        text -> {
+          TemplateCompileEvent event = new TemplateCompileEvent();
+          event.begin();
+          boolean succeeded = false;
+          try {
+            MappingTemplate mapping = MappingTemplate.compile(text);
+            succeeded = true;
+            return mapping;
+          } finally {
+            commit(event, text, succeeded);
+          }
+        });
+  }
+
+  private void commit(TemplateExecuteEvent event, String phase, String template, boolean failed) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.phase = phase;
+      event.templateType = templateType(template);
+      event.templateDigest = digest(template);
+      event.failed = failed;
+      event.commit();
+    }
+  }
+
+  private void commit(TemplateCompileEvent event, String template, boolean succeeded) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.templateType = templateType(template);
+      event.templateDigest = digest(template);
+      event.succeeded = succeeded;
+      event.commit();
+    }
+  }
+
+  private static String templateType(String template) {
+    return MappingTemplate.isMapping(template) ? "mapping" : "groovy";
+  }
+
+  /** First 8 bytes of the SHA-256 of the template text, enough to tell templates apart */
+  private String digest(String template) {
+    if (template == null) {
+      return null;
     }
+    return digestCache.computeIfAbsent(
+        template,
+        text -> {
+          try {
+            byte[] hash =
+                MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+          } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+          }
+        });
   }
 
-  /** Get compiled script with caching */
-  private groovy.lang.Script getCompiledScript(String scriptText) {
-    String scriptHash = String.valueOf(scriptText.hashCode());
-    return scriptCache.computeIfAbsent(scriptHash, k -> groovyShell.parse(scriptText));
+  /** Drop one template from the caches, it is compiled again on its next use */
+  public boolean evict(String template) {
+    if (template == null) {
+      return false;
+    }
+    digestCache.remove(template);
+    boolean removed = scriptCache.remove(template) != null;
+    return mappingCache.remove(template) != null || removed;
+  }
+
+  /** Current cache size and counters since the last full clear */
+  public CacheStats getCacheStats() {
+    return new CacheStats(
+        scriptCache.size(),
+        mappingCache.size(),
+        cacheHits.sum(),
+        cacheMisses.sum(),
+        compiledClassBytes.sum());
   }
 
   /** Clear script cache */
   public void clearScriptCache() {
     scriptCache.clear();
+    mappingCache.clear();
+    digestCache.clear();
+    classLoader.clearCache();
+    cacheHits.reset();
+    cacheMisses.reset();
+    compiledClassBytes.reset();
     log.info("Template script cache cleared");
   }
+
+  /**
+   * Template cache statistics
+   *
+   * @param scripts compiled Groovy scripts
+   * @param mappings compiled mapping templates
+   * @param hits lookups served from the cache
+   * @param misses lookups that compiled the template
+   * @param compiledClassBytes bytecode size of the classes compiled from scripts
+   */
+  public record CacheStats(
+      int scripts, int mappings, long hits, long misses, long compiledClassBytes) {
+
+    /** Share of lookups served from the cache, 0 before the first lookup */
+    public double hitRatio() {
+      long lookups = hits + misses;
+      return lookups > 0 ? (double) hits / lookups : 0d;
+    }
+  }
+
+  /** Groovy class loader adding the size of every class it defines to a counter */
+  private static final class CountingClassLoader extends GroovyClassLoader {
+
+    private final LongAdder definedBytes;
+
+    CountingClassLoader(ClassLoader parent, CompilerConfiguration config, LongAdder definedBytes) {
+      super(parent, config);
+      this.definedBytes = definedBytes;
+    }
+
+    @Override
+    protected ClassCollector createCollector(CompilationUnit unit, SourceUnit su) {
+      return new ClassCollector(new InnerLoader(this), unit, su) {
+        @Override
+        protected Class<?> createClass(byte[] code, ClassNode classNode) {
+          definedBytes.add(code.length);
+          return super.createClass(code, classNode);
+        }
+      };
+    }
+  }
 }
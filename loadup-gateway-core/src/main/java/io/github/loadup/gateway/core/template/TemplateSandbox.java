@@ -0,0 +1,388 @@
+package io.github.loadup.gateway.core.template;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyShell;
+import groovy.lang.GroovySystem;
+import groovy.transform.ConditionalInterrupt;
+import groovy.transform.ThreadInterrupt;
+import groovy.transform.TimedInterrupt;
+import groovy.util.Eval;
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.RandomAccessFile;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.codehaus.groovy.ast.AnnotatedNode;
+import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassCodeVisitorSupport;
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.ImportNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.VariableScope;
+import org.codehaus.groovy.ast.expr.BinaryExpression;
+import org.codehaus.groovy.ast.expr.ClassExpression;
+import org.codehaus.groovy.ast.expr.ClosureExpression;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.ast.expr.ConstructorCallExpression;
+import org.codehaus.groovy.ast.expr.DeclarationExpression;
+import org.codehaus.groovy.ast.expr.Expression;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.expr.MethodPointerExpression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.StaticMethodCallExpression;
+import org.codehaus.groovy.ast.expr.TupleExpression;
+import org.codehaus.groovy.ast.tools.GeneralUtils;
+import org.codehaus.groovy.classgen.GeneratorContext;
+import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+import org.codehaus.groovy.control.customizers.SecureASTCustomizer;
+import org.codehaus.groovy.syntax.Types;
+
+/**
+ * Compiler configuration for templates. Every script gets {@link TimedInterrupt} (wall-clock
+ * limit), {@link ThreadInterrupt} and a {@link ConditionalInterrupt} calling {@link
+ * TemplateBudget#check()} at each loop iteration and method entry, which enforces the per-run
+ * iteration, CPU and allocation budget. A {@link SecureASTCustomizer} rejects process, file,
+ * network, class loading, reflection and JVM-exit access at compile time, including reflection
+ * reached through properties ({@code x.class}, {@code x.metaClass}) and method names ({@code
+ * getDeclaredMethods}, {@code invoke}) on any receiver. Annotations other than {@code @Field} are
+ * rejected before any AST transformation runs, since some run code at compile time ({@code
+ * @ASTTest}) or fetch it ({@code @Grab}).
+ */
+final class TemplateSandbox {
+
+  /** Classes a template may neither call, construct nor reference */
+  private static final List<Class<?>> DENIED_CLASSES =
+      List.of(
+          Runtime.class,
+          ProcessBuilder.class,
+          Process.class,
+          Thread.class,
+          ThreadGroup.class,
+          ClassLoader.class,
+          Class.class,
+          File.class,
+          FileInputStream.class,
+          FileOutputStream.class,
+          FileReader.class,
+          FileWriter.class,
+          RandomAccessFile.class,
+          FileChannel.class,
+          Files.class,
+          Path.class,
+          Paths.class,
+          Socket.class,
+          URL.class,
+          URLClassLoader.class,
+          GroovyShell.class,
+          GroovyClassLoader.class,
+          GroovySystem.class,
+          Eval.class);
+
+  /** Packages a template may not reference at all */
+  private static final List<String> DENIED_PACKAGES =
+      List.of("java.lang.reflect.", "java.lang.invoke.", "sun.", "jdk.internal.");
+
+  /** Methods denied on {@link System} */
+  private static final Set<String> DENIED_SYSTEM_METHODS =
+      Set.of(
+          "exit",
+          "load",
+          "loadLibrary",
+          "setProperty",
+          "setProperties",
+          "clearProperty",
+          "getenv",
+          "setIn",
+          "setOut",
+          "setErr",
+          "setSecurityManager");
+
+  /**
+   * Methods denied on any receiver: Groovy GDK process execution, script evaluation and exit, and
+   * reflection, since a {@code Class} can be reached without naming it (e.g. {@code String})
+   */
+  private static final Set<String> DENIED_METHODS =
+      Set.of(
+          "execute",
+          "evaluate",
+          "halt",
+          "exit",
+          "getClassLoader",
+          "forName",
+          "getClass",
+          "getMetaClass",
+          "setMetaClass",
+          "invokeMethod",
+          "invokeConstructor",
+          "invokeStaticMethod",
+          "invoke",
+          "newInstance",
+          "getMethods",
+          "getDeclaredMethod",
+          "getDeclaredMethods",
+          "getFields",
+          "getField",
+          "getDeclaredField",
+          "getDeclaredFields",
+          "getConstructor",
+          "getConstructors",
+          "getDeclaredConstructor",
+          "getDeclaredConstructors",
+          "getProtectionDomain",
+          "setAccessible",
+          "defineClass",
+          "loadClass",
+          "parseClass");
+
+  /** Properties denied on any receiver, read or written, including as constant subscripts */
+  private static final Set<String> DENIED_PROPERTIES =
+      Set.of(
+          "class",
+          "classLoader",
+          "metaClass",
+          "declaredMethods",
+          "declaredFields",
+          "declaredConstructors",
+          "protectionDomain");
+
+  /** Methods reading or writing the property named by their first argument */
+  private static final Set<String> PROPERTY_METHODS =
+      Set.of("getProperty", "setProperty", "getAt", "putAt", "hasProperty");
+
+  /** Annotations a template may use, by simple or qualified name */
+  private static final Set<String> ALLOWED_ANNOTATIONS =
+      Set.of("Field", "groovy.transform.Field", "Override", "java.lang.Override");
+
+  /** Global AST transformations that would run for any script */
+  private static final Set<String> DISABLED_GLOBAL_TRANSFORMATIONS =
+      Set.of("groovy.grape.GrabAnnotationTransformation");
+
+  private TemplateSandbox() {}
+
+  static CompilerConfiguration compilerConfiguration(GatewayProperties.TemplateProperties limits) {
+    CompilerConfiguration configuration = new CompilerConfiguration();
+    configuration.setDisabledGlobalASTTransformations(DISABLED_GLOBAL_TRANSFORMATIONS);
+    // Added first so they check the template's own code, not the guards injected below
+    configuration.addCompilationCustomizers(annotationGuard(), secureCustomizer());
+    if (limits.getTimeoutMs() > 0) {
+      configuration.addCompilationCustomizers(
+          new ASTTransformationCustomizer(
+              Map.of(
+                  "value",
+                  GeneralUtils.constX(limits.getTimeoutMs()),
+                  "unit",
+                  GeneralUtils.propX(GeneralUtils.classX(TimeUnit.class), "MILLISECONDS")),
+              TimedInterrupt.class));
+    }
+    configuration.addCompilationCustomizers(
+        new ASTTransformationCustomizer(ThreadInterrupt.class),
+        new ASTTransformationCustomizer(
+            Map.of("value", budgetCheck()), ConditionalInterrupt.class));
+    return configuration;
+  }
+
+  /** {@code { TemplateBudget.check() }} */
+  private static ClosureExpression budgetCheck() {
+    VariableScope scope = new VariableScope();
+    ClosureExpression closure =
+        new ClosureExpression(
+            Parameter.EMPTY_ARRAY,
+            GeneralUtils.block(
+                scope,
+                GeneralUtils.stmt(
+                    GeneralUtils.callX(ClassHelper.make(TemplateBudget.class), "check"))));
+    closure.setVariableScope(scope);
+    return closure;
+  }
+
+  private static SecureASTCustomizer secureCustomizer() {
+    SecureASTCustomizer secure = new SecureASTCustomizer();
+    List<String> denied = DENIED_CLASSES.stream().map(Class::getName).toList();
+    secure.setDisallowedReceivers(denied);
+    secure.setDisallowedImports(denied);
+    secure.setDisallowedStarImports(DENIED_PACKAGES.stream().map(p -> p + "*").toList());
+    secure.setIndirectImportCheckEnabled(true);
+    secure.addExpressionCheckers(TemplateSandbox::isAllowed);
+    return secure;
+  }
+
+  /**
+   * Rejects annotations at conversion, before the AST transformations they may trigger run; the
+   * import aliases are checked too, so a denied annotation cannot be imported as {@code Field}
+   */
+  private static CompilationCustomizer annotationGuard() {
+    return new CompilationCustomizer(CompilePhase.CONVERSION) {
+      @Override
+      public void call(SourceUnit source, GeneratorContext context, ClassNode classNode) {
+        ModuleNode module = classNode.getModule();
+        if (module != null) {
+          checkAnnotations(module.getPackage());
+          for (ImportNode node : module.getImports()) {
+            checkAnnotations(node);
+            if (ALLOWED_ANNOTATIONS.contains(node.getAlias())
+                && !ALLOWED_ANNOTATIONS.contains(node.getType().getName())) {
+              throw new SecurityException("Import alias " + node.getAlias() + " is not allowed");
+            }
+          }
+          module.getStarImports().forEach(TemplateSandbox::checkAnnotations);
+          module.getStaticImports().values().forEach(TemplateSandbox::checkAnnotations);
+          module.getStaticStarImports().values().forEach(TemplateSandbox::checkAnnotations);
+        }
+        new ClassCodeVisitorSupport() {
+          @Override
+          protected SourceUnit getSourceUnit() {
+            return source;
+          }
+
+          @Override
+          public void visitAnnotations(AnnotatedNode node) {
+            checkAnnotations(node);
+          }
+
+          @Override
+          public void visitDeclarationExpression(DeclarationExpression expression) {
+            checkAnnotations(expression);
+            super.visitDeclarationExpression(expression);
+          }
+
+          @Override
+          public void visitClosureExpression(ClosureExpression expression) {
+            if (expression.getParameters() != null) {
+              for (Parameter parameter : expression.getParameters()) {
+                checkAnnotations(parameter);
+              }
+            }
+            super.visitClosureExpression(expression);
+          }
+        }.visitClass(classNode);
+      }
+    };
+  }
+
+  private static void checkAnnotations(AnnotatedNode node) {
+    if (node == null) {
+      return;
+    }
+    for (AnnotationNode annotation : node.getAnnotations()) {
+      String name = annotation.getClassNode().getName();
+      if (!ALLOWED_ANNOTATIONS.contains(name)) {
+        throw new SecurityException("Annotation @" + name + " is not allowed in templates");
+      }
+    }
+  }
+
+  private static boolean isAllowed(Expression expression) {
+    if (expression instanceof ConstructorCallExpression call) {
+      return !isDenied(call.getType());
+    }
+    if (expression instanceof PropertyExpression property) {
+      // also attributes (x.@name); a dynamic name, e.g. x."$name", could be anything
+      String name = property.getPropertyAsString();
+      return name != null && !DENIED_PROPERTIES.contains(name);
+    }
+    if (expression instanceof MethodPointerExpression pointer) {
+      // x.&name and x::name
+      return pointer.getMethodName() instanceof ConstantExpression name
+          && !DENIED_METHODS.contains(name.getText());
+    }
+    if (expression instanceof BinaryExpression binary
+        && binary.getOperation().getType() == Types.LEFT_SQUARE_BRACKET
+        && binary.getRightExpression() instanceof ConstantExpression key) {
+      // x['class'] reads the property on beans
+      return !(key.getValue() instanceof String name && DENIED_PROPERTIES.contains(name));
+    }
+    if (expression instanceof StaticMethodCallExpression call) {
+      return !isDenied(call.getOwnerType())
+          && !isDeniedSystemCall(call.getOwnerType(), call.getMethod());
+    }
+    if (expression instanceof MethodCallExpression call) {
+      String method = call.getMethodAsString();
+      if (method == null) {
+        // dynamic method name, e.g. "$name"()
+        return false;
+      }
+      if (DENIED_METHODS.contains(method)
+          || (PROPERTY_METHODS.contains(method) && namesDeniedProperty(call.getArguments()))) {
+        return false;
+      }
+      if (call.getObjectExpression() instanceof ClassExpression receiver) {
+        return !isDenied(receiver.getType()) && !isDeniedSystemCall(receiver.getType(), method);
+      }
+    }
+    return true;
+  }
+
+  /** Whether the first argument is the constant name of a denied property */
+  private static boolean namesDeniedProperty(Expression arguments) {
+    return arguments instanceof TupleExpression tuple
+        && !tuple.getExpressions().isEmpty()
+        && tuple.getExpression(0) instanceof ConstantExpression first
+        && first.getValue() instanceof String name
+        && DENIED_PROPERTIES.contains(name);
+  }
+
+  /** A denied class, a subclass or implementation of one, or a class of a denied package */
+  private static boolean isDenied(ClassNode type) {
+    String name = type.getName();
+    for (String prefix : DENIED_PACKAGES) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+    for (Class<?> denied : DENIED_CLASSES) {
+      ClassNode node = ClassHelper.make(denied);
+      if (denied.getName().equals(name)
+          || type.isDerivedFrom(node)
+          || (denied.isInterface() && type.implementsInterface(node))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isDeniedSystemCall(ClassNode owner, String method) {
+    return System.class.getName().equals(owner.getName())
+        && DENIED_SYSTEM_METHODS.contains(method);
+  }
+}
@@ -0,0 +1,143 @@
+package io.github.loadup.gateway.core.tracing;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands finished spans to a {@link SpanExporter} in batches, off the request path. Requests only
+ * enqueue into a bounded queue and never wait: when the exporter falls behind and the queue is
+ * full, spans are dropped and counted. A single daemon thread exports a batch once it is full or
+ * the export interval elapsed; closing the processor exports what is still queued.
+ */
+@Slf4j
+public class BatchSpanProcessor implements AutoCloseable {
+
+  private final SpanExporter exporter;
+
+  private final BlockingQueue<SpanData> queue;
+
+  private final int batchSize;
+
+  private final long intervalNanos;
+
+  private final LongAdder dropped = new LongAdder();
+
+  private final Thread worker;
+
+  private volatile boolean running = true;
+
+  public BatchSpanProcessor(
+      SpanExporter exporter, int queueCapacity, int batchSize, long exportIntervalMillis) {
+    this.exporter = exporter;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    this.batchSize = Math.max(1, batchSize);
+    this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, exportIntervalMillis));
+    this.worker = new Thread(this::run, "gateway-span-exporter");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  /** Queue a span for export, dropping it if the queue is full */
+  public void submit(SpanData span) {
+    if (!running || !queue.offer(span)) {
+      dropped.increment();
+    }
+  }
+
+  /** Spans dropped because the queue was full or the processor closed */
+  public long getDroppedSpans() {
+    return dropped.sum();
+  }
+
+  private void run() {
+    List<SpanData> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        fill(batch);
+      } catch (InterruptedException e) {
+        // export what was collected, the rest is drained below
+        running = false;
+      }
+      export(batch);
+    }
+    while (!queue.isEmpty()) {
+      queue.drainTo(batch, batchSize);
+      export(batch);
+    }
+    exporter.shutdown();
+  }
+
+  /** Collect spans until the batch is full or the export interval elapsed */
+  private void fill(List<SpanData> batch) throws InterruptedException {
+    long deadline = System.nanoTime() + intervalNanos;
+    while (batch.size() < batchSize) {
+      queue.drainTo(batch, batchSize - batch.size());
+      if (batch.size() >= batchSize) {
+        return;
+      }
+      long wait = deadline - System.nanoTime();
+      if (wait <= 0) {
+        return;
+      }
+      SpanData next = queue.poll(wait, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void export(List<SpanData> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      exporter.export(List.copyOf(batch));
+    } catch (RuntimeException e) {
+      log.warn("Failed to export {} spans: {}", batch.size(), e.toString());
+    }
+    batch.clear();
+  }
+
+  /**
+   * Stop accepting spans, export the queued ones and shut the exporter down. The worker is not
+   * interrupted, an exporter writing to an interruptible channel would lose it; it notices within
+   * one export interval.
+   */
+  @Override
+  public void close() {
+    running = false;
+    try {
+      worker.join(TimeUnit.NANOSECONDS.toMillis(intervalNanos) + TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
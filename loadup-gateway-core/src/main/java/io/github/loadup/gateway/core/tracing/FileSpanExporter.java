@@ -0,0 +1,80 @@
+package io.github.loadup.gateway.core.tracing;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/** Appends spans to a file, one JSON object per line, for local testing and offline analysis */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+  private final Path file;
+
+  private final BufferedWriter writer;
+
+  public FileSpanExporter(Path file) {
+    this.file = file;
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      this.writer =
+          Files.newBufferedWriter(
+              file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open span file " + file, e);
+    }
+  }
+
+  @Override
+  public synchronized void export(List<SpanData> spans) {
+    try {
+      for (SpanData span : spans) {
+        writer.write(JsonUtils.toJson(span));
+        writer.newLine();
+      }
+      writer.flush();
+    } catch (IOException e) {
+      log.warn("Failed to write {} spans to {}: {}", spans.size(), file, e.getMessage());
+    }
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    try {
+      writer.close();
+    } catch (IOException e) {
+      log.warn("Failed to close span file {}: {}", file, e.getMessage());
+    }
+  }
+}
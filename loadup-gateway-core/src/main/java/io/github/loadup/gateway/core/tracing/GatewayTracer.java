@@ -0,0 +1,237 @@
+package io.github.loadup.gateway.core.tracing;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.context.GatewayContext;
+import io.github.loadup.gateway.facade.context.GatewayStage;
+import io.github.loadup.gateway.facade.context.StageTimings;
+import io.github.loadup.gateway.facade.context.TraceContext;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.GatewayRequestListener;
+import io.github.loadup.gateway.facade.utils.CommonUtils;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distributed tracing of gateway requests with W3C trace context.
+ *
+ * <p>When a request starts, an incoming {@code traceparent} is continued or a new trace is started
+ * with the request id, and the head sampling decision is made. A continued trace leaves the request
+ * id alone: requests of one trace (fan-out, client retries) keep ids of their own, and the span
+ * carries the request id as {@code gateway.request_id}. The resulting {@link TraceContext} travels
+ * on the request, and the proxy plugins propagate it upstream as
+ * {@code traceparent}/{@code tracestate} headers or RPC attachments.
+ *
+ * <p>No span objects exist while the request runs: when it completes, the tail decision is taken
+ * and, for kept requests only, a server span and one child span per {@link GatewayStage} are built
+ * from the stage timings and queued on the {@link BatchSpanProcessor}. The proxy stage becomes the
+ * client span whose id was propagated, so upstream spans attach under it.
+ */
+public class GatewayTracer implements GatewayRequestListener, AutoCloseable {
+
+  private static final int TRACEPARENT_LENGTH = 55;
+
+  private final TraceSampler sampler;
+
+  private final BatchSpanProcessor processor;
+
+  public GatewayTracer(GatewayProperties.TracingProperties properties, SpanExporter exporter) {
+    this.sampler = new TraceSampler(properties);
+    this.processor =
+        new BatchSpanProcessor(
+            exporter,
+            properties.getQueueCapacity(),
+            properties.getBatchSize(),
+            properties.getExportIntervalMs());
+  }
+
+  @Override
+  public void onRequestStarted(GatewayContext context) {
+    GatewayRequest request = context.getRequest();
+    Map<String, String> headers = request.getHeaders();
+    String traceparent =
+        headers != null ? headers.get(GatewayConstants.Header.TRACEPARENT) : null;
+
+    TraceContext trace;
+    if (isValidTraceparent(traceparent)) {
+      String traceId = traceparent.substring(3, 35);
+      boolean sampled = (Character.digit(traceparent.charAt(54), 16) & 0x01) != 0;
+      trace =
+          new TraceContext(
+              traceId,
+              CommonUtils.generateSpanId(),
+              traceparent.substring(36, 52),
+              CommonUtils.generateSpanId(),
+              sampled,
+              headers.get(GatewayConstants.Header.TRACESTATE));
+    } else {
+      String traceId = request.getRequestId();
+      if (traceId == null
+          || traceId.length() != 32
+          || !isLowerHex(traceId, 0, 32)
+          || isZero(traceId, 0, 32)) {
+        traceId = CommonUtils.generateRequestId();
+      }
+      trace =
+          new TraceContext(
+              traceId,
+              CommonUtils.generateSpanId(),
+              null,
+              CommonUtils.generateSpanId(),
+              sampler.sampleNew(traceId),
+              null);
+    }
+    request.setTraceContext(trace);
+  }
+
+  @Override
+  public void onRequestCompleted(GatewayContext context, long totalNanos) {
+    GatewayRequest request = context.getRequest();
+    TraceContext trace = request.getTraceContext();
+    if (trace == null) {
+      return;
+    }
+    GatewayResponse response = context.getResponse();
+    int status = response != null ? response.getStatusCode() : 0;
+    boolean error = status >= 500 || status == 0 || context.getException() != null;
+    if (!sampler.keep(trace.sampled(), totalNanos, error)) {
+      return;
+    }
+
+    // Anchor the monotonic stage timestamps to the wall clock once
+    long nowNanos = System.nanoTime();
+    Instant now = Instant.now();
+    long nowEpochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+    long startEpochNanos = nowEpochNanos - totalNanos;
+    long receivedNanos = request.getReceivedNanos() != 0 ? request.getReceivedNanos() : nowNanos;
+
+    RouteConfig route = context.getRoute();
+    Map<String, Object> attributes = new HashMap<>(8);
+    attributes.put("http.request.method", request.getMethod());
+    attributes.put("url.path", request.getPath());
+    attributes.put("http.response.status_code", status);
+    attributes.put("gateway.request_id", request.getRequestId());
+    if (route != null) {
+      attributes.put("gateway.route_id", route.getRouteId());
+      attributes.put("gateway.protocol", route.getProtocol());
+    }
+    String name =
+        request.getMethod() + " " + (route != null ? route.getPath() : request.getPath());
+    processor.submit(
+        new SpanData(
+            trace.traceId(),
+            trace.spanId(),
+            trace.parentSpanId(),
+            name,
+            SpanData.Kind.SERVER,
+            startEpochNanos,
+            startEpochNanos + totalNanos,
+            error,
+            attributes));
+
+    StageTimings timings = context.getTimings();
+    if (timings == null) {
+      return;
+    }
+    for (GatewayStage stage : GatewayStage.all()) {
+      if (!timings.isRecorded(stage)) {
+        continue;
+      }
+      long stageStart = startEpochNanos + (timings.getStartNanos(stage) - receivedNanos);
+      boolean proxy = stage == GatewayStage.PROXY;
+      processor.submit(
+          new SpanData(
+              trace.traceId(),
+              proxy ? trace.clientSpanId() : CommonUtils.generateSpanId(),
+              trace.spanId(),
+              "gateway." + stage.tagValue(),
+              proxy ? SpanData.Kind.CLIENT : SpanData.Kind.INTERNAL,
+              stageStart,
+              stageStart + timings.getNanos(stage),
+              proxy && error,
+              proxy && route != null ? Map.of("gateway.target", route.getTarget()) : Map.of()));
+    }
+  }
+
+  /** Spans dropped because the export queue was full */
+  public long getDroppedSpans() {
+    return processor.getDroppedSpans();
+  }
+
+  @Override
+  public void close() {
+    processor.close();
+  }
+
+  /** Version 00 layout, or a longer future version: {@code vv-<32 hex>-<16 hex>-<2 hex>} */
+  static boolean isValidTraceparent(String value) {
+    if (value == null || value.length() < TRACEPARENT_LENGTH) {
+      return false;
+    }
+    if (!isLowerHex(value, 0, 2) || value.startsWith("ff")) {
+      return false;
+    }
+    if (value.startsWith("00") && value.length() != TRACEPARENT_LENGTH) {
+      return false;
+    }
+    if (value.length() > TRACEPARENT_LENGTH && value.charAt(TRACEPARENT_LENGTH) != '-') {
+      return false;
+    }
+    return value.charAt(2) == '-'
+        && value.charAt(35) == '-'
+        && value.charAt(52) == '-'
+        && isLowerHex(value, 3, 35)
+        && isLowerHex(value, 36, 52)
+        && isLowerHex(value, 53, 55)
+        && !isZero(value, 3, 35)
+        && !isZero(value, 36, 52);
+  }
+
+  private static boolean isLowerHex(String value, int from, int to) {
+    if (value == null || value.length() < to) {
+      return false;
+    }
+    for (int i = from; i < to; i++) {
+      char c = value.charAt(i);
+      if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isZero(String value, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (value.charAt(i) != '0') {
+        return false;
+      }
+    }
+    return true;
+  }
+}
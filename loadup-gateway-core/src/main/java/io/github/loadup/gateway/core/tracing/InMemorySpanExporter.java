@@ -0,0 +1,74 @@
+package io.github.loadup.gateway.core.tracing;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Keeps the most recent exported spans in memory, for local testing and inspection */
+public class InMemorySpanExporter implements SpanExporter {
+
+  private static final int DEFAULT_CAPACITY = 10_000;
+
+  private final ConcurrentLinkedDeque<SpanData> spans = new ConcurrentLinkedDeque<>();
+
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final int capacity;
+
+  public InMemorySpanExporter() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /** Keep at most {@code capacity} spans, the oldest are evicted first */
+  public InMemorySpanExporter(int capacity) {
+    this.capacity = capacity;
+  }
+
+  @Override
+  public void export(List<SpanData> batch) {
+    for (SpanData span : batch) {
+      spans.addLast(span);
+      if (size.incrementAndGet() > capacity && spans.pollFirst() != null) {
+        size.decrementAndGet();
+      }
+    }
+  }
+
+  /** Exported spans, oldest first */
+  public List<SpanData> getFinishedSpans() {
+    return new ArrayList<>(spans);
+  }
+
+  /** Exported spans of one trace */
+  public List<SpanData> getTrace(String traceId) {
+    return spans.stream().filter(span -> span.traceId().equals(traceId)).toList();
+  }
+
+  public void reset() {
+    spans.clear();
+    size.set(0);
+  }
+}
@@ -0,0 +1,64 @@
+package io.github.loadup.gateway.core.tracing;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.Map;
+
+/**
+ * A finished span, handed to the {@link SpanExporter}
+ *
+ * @param traceId 32 lowercase hex characters
+ * @param spanId 16 lowercase hex characters
+ * @param parentSpanId parent span, null for a root span
+ * @param name span name
+ * @param kind role of the span in the trace
+ * @param startEpochNanos start time, nanoseconds since the epoch
+ * @param endEpochNanos end time, nanoseconds since the epoch
+ * @param error whether the span ended with an error
+ * @param attributes span attributes
+ */
+public record SpanData(
+    String traceId,
+    String spanId,
+    String parentSpanId,
+    String name,
+    Kind kind,
+    long startEpochNanos,
+    long endEpochNanos,
+    boolean error,
+    Map<String, Object> attributes) {
+
+  /** Role of a span, as in OpenTelemetry */
+  public enum Kind {
+    /** The gateway handling the incoming request */
+    SERVER,
+    /** A stage inside the gateway */
+    INTERNAL,
+    /** The call to the upstream */
+    CLIENT
+  }
+
+  public long durationNanos() {
+    return endEpochNanos - startEpochNanos;
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.loadup.gateway.core.tracing;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.List;
+
+/**
+ * Destination of finished spans. Batches are handed over by a single background thread, so
+ * implementations may block (network, disk) without slowing requests down.
+ */
+public interface SpanExporter {
+
+  /**
+   * Export one batch of spans
+   *
+   * @param spans finished spans, in completion order
+   */
+  void export(List<SpanData> spans);
+
+  /** Flush and release resources, called once when the gateway stops */
+  default void shutdown() {}
+}
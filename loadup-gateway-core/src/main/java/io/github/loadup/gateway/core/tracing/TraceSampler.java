@@ -0,0 +1,71 @@
+package io.github.loadup.gateway.core.tracing;
+
+/*-
+ * #%L
+ * LoadUp Gateway Core
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampling policy of gateway traces.
+ *
+ * <p>Head: a trace continued from an incoming {@code traceparent} follows the caller's sampled
+ * flag; a new trace is sampled when the lower 64 bits of its trace id fall under the configured
+ * ratio, so every component sampling by trace id agrees on the decision. Tail: at the end of the
+ * request, unsampled traces are still kept when the request was slow or failed, so the interesting
+ * requests are always recorded whatever the ratio (their upstream spans are only present if the
+ * upstream samples on its own).
+ */
+final class TraceSampler {
+
+  private final long ratioBound;
+
+  private final long slowThresholdNanos;
+
+  private final boolean keepErrors;
+
+  TraceSampler(GatewayProperties.TracingProperties properties) {
+    double ratio = Math.max(0d, Math.min(1d, properties.getSampleRatio()));
+    this.ratioBound = ratio >= 1d ? Long.MAX_VALUE : (long) (ratio * Long.MAX_VALUE);
+    this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs());
+    this.keepErrors = properties.isKeepErrors();
+  }
+
+  /** Head decision for a new trace */
+  boolean sampleNew(String traceId) {
+    if (ratioBound == Long.MAX_VALUE) {
+      return true;
+    }
+    if (ratioBound == 0L) {
+      return false;
+    }
+    long low = Long.parseUnsignedLong(traceId, 16, 32, 16);
+    return Math.abs(low == Long.MIN_VALUE ? low + 1 : low) < ratioBound;
+  }
+
+  /** Tail decision: whether the spans of a finished request are exported */
+  boolean keep(boolean sampled, long durationNanos, boolean error) {
+    return sampled
+        || (slowThresholdNanos > 0 && durationNanos >= slowThresholdNanos)
+        || (keepErrors && error);
+  }
+}
@@ -22,7 +22,9 @@ package io.github.loadup.gateway.facade.config;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -39,7 +41,10 @@ public class GatewayProperties {
   /** Whether to enable Gateway */
   private boolean enabled = true;
 
-  /** Route refresh interval (seconds) */
+  /**
+   * Route table reload interval (seconds), 0 disables the periodic reload. Routes whose definition
+   * did not change keep their instance, and with it their compiled artifacts.
+   */
   private int routeRefreshInterval = 5;
 
   /** Template cache size */
@@ -51,6 +56,12 @@ public class GatewayProperties {
   /** Default retry count */
   private int defaultRetryCount = 1;
 
+  /**
+   * Threads running the actions after an asynchronous proxy call (response templates, wrapping), 0
+   * means one per CPU
+   */
+  private int asyncThreads = 0;
+
   /** Storage related configuration */
 
   // Replace the generic map with a strongly-typed Plugins holder so IDEs can provide YAML
@@ -62,6 +73,29 @@ public class GatewayProperties {
 
   private ResponseProperties response = new ResponseProperties();
 
+  /** Priority-aware load shedding */
+  @NestedConfigurationProperty private LoadShedding loadShedding = new LoadShedding();
+
+  /** Template sandbox limits */
+  @NestedConfigurationProperty private TemplateProperties template = new TemplateProperties();
+
+  /** Request and stage latency metrics */
+  @NestedConfigurationProperty private MetricsProperties metrics = new MetricsProperties();
+
+  /** Distributed tracing */
+  @NestedConfigurationProperty private TracingProperties tracing = new TracingProperties();
+
+  /** Structured access log */
+  @NestedConfigurationProperty private AccessLogProperties accessLog = new AccessLogProperties();
+
+  /** Slow request capture */
+  @NestedConfigurationProperty
+  private SlowRequestProperties slowRequests = new SlowRequestProperties();
+
+  /** Route table snapshot for warm starts */
+  @NestedConfigurationProperty
+  private RouteSnapshotProperties routeSnapshot = new RouteSnapshotProperties();
+
   @Data
   public static class PluginProperties {
     private boolean enabled = true;
@@ -91,15 +125,35 @@ public class GatewayProperties {
   public static class Http extends PluginProperties {
     /** Maximum number of connections for the HTTP proxy plugin */
     private int maxConnections = 100;
+
+    /** Maximum number of pooled connections to a single upstream host */
+    private int maxConnectionsPerRoute = 50;
+
+    /** Idle time (seconds) after which pooled connections are closed */
+    private long idleTimeoutSeconds = 30L;
+
+    /** Time (milliseconds) to open a connection to an upstream */
+    private long connectTimeoutMs = 5000L;
   }
 
   @EqualsAndHashCode(callSuper = true)
   @Data
   public static class Rpc extends PluginProperties {
     // RPC-specific configuration
+    /** Registry address; blank means no registry (direct or injvm references) */
     private String registryAddress;
+
+    /** Default call timeout (milliseconds), overridden by the route timeout */
     private Long timeout;
+
+    /** Default retries, overridden by the route retryCount */
     private Long retries;
+
+    /** Default load balance strategy (random, roundrobin, leastactive, ...) */
+    private String loadbalance;
+
+    /** Reference scope: "local" (injvm), "remote", or blank for Dubbo's default */
+    private String scope;
   }
 
   @Data
@@ -107,6 +161,13 @@ public class GatewayProperties {
     // File storage specific properties can be added here
     /** Base path for file storage */
     private String basePath;
+
+    /**
+     * Existing directory whose routes.csv and templates/ files take precedence over the base
+     * path, e.g. to change routes of a {@code classpath:} base path without rebuilding the JAR;
+     * it is only read, and ignored if missing
+     */
+    private String overlayPath;
   }
 
   @Data
@@ -134,4 +195,139 @@ public class GatewayProperties {
     private boolean result = true;
     private boolean meta = true;
   }
+
+  @Data
+  public static class LoadShedding {
+    /** Whether to reject lower-priority routes when the node is overloaded */
+    private boolean enabled = false;
+
+    /** In-flight request count at which the node is considered saturated (0 disables) */
+    private int maxInFlight = 200;
+
+    /** Queue time (milliseconds) at which the node is considered saturated (0 disables) */
+    private long maxQueueTimeMs = 200L;
+
+    /** Process CPU load (0.0 - 1.0) at which the node is considered saturated (0 disables) */
+    private double maxCpuLoad = 0.85d;
+
+    /** Minimum interval between two process CPU load samples (milliseconds) */
+    private long cpuSampleIntervalMs = 500L;
+
+    /**
+     * Optional header set by a front proxy with the time the request was accepted, e.g.
+     * X-Request-Start (epoch millis, micros or seconds, optionally prefixed with "t=")
+     */
+    private String queueTimeHeader;
+
+    /** Retry-After value sent with rejected requests (seconds) */
+    private int retryAfterSeconds = 1;
+  }
+
+  @Data
+  public static class TemplateProperties {
+    /** Wall-clock limit of one Groovy template run (milliseconds), compiled into the script */
+    private long timeoutMs = 5000L;
+
+    /** CPU time one template run may use (milliseconds), overridden by templateCpuBudget */
+    private long cpuBudgetMs = 200L;
+
+    /** Loop iterations and method calls one template run may execute (0 disables) */
+    private long maxLoopIterations = 1_000_000L;
+
+    /** Bytes one template run may allocate (0 disables) */
+    private long maxAllocatedBytes = 64L * 1024 * 1024;
+  }
+
+  @Data
+  public static class MetricsProperties {
+    /** Whether to time requests and their stages */
+    private boolean enabled = true;
+
+    /** Client-side percentiles published with every timer */
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.9, 0.99, 0.999));
+
+    /** Whether to publish histogram buckets for server-side percentile aggregation */
+    private boolean percentileHistogram = false;
+
+    /** Routes tracked individually, further routes share the "other" routeId tag */
+    private int maxRoutes = 1000;
+  }
+
+  @Data
+  public static class TracingProperties {
+    /** Whether to create spans and propagate trace context to the upstreams */
+    private boolean enabled = false;
+
+    /** Fraction of new traces sampled up front (0.0 - 1.0); incoming sampled flags are honored */
+    private double sampleRatio = 0.1d;
+
+    /** Requests at least this slow (milliseconds) are kept even when not sampled (0 disables) */
+    private long slowThresholdMs = 1000L;
+
+    /** Whether requests answered with an error status are kept even when not sampled */
+    private boolean keepErrors = true;
+
+    /** Exporter used when no SpanExporter bean is defined: memory or file */
+    private String exporter = "memory";
+
+    /** JSON-lines file of the file exporter */
+    private String filePath = "logs/gateway-spans.jsonl";
+
+    /** Spans buffered for export, further spans are dropped */
+    private int queueCapacity = 8192;
+
+    /** Spans per export call */
+    private int batchSize = 512;
+
+    /** Maximum delay between two exports (milliseconds) */
+    private long exportIntervalMs = 2000L;
+  }
+
+  @Data
+  public static class AccessLogProperties {
+    /** Whether to write one JSON line per request */
+    private boolean enabled = false;
+
+    /** Directory of the access log and its rolled files */
+    private String directory = "logs";
+
+    /** Name of the active file; rolled files are named name.yyyy-MM-dd.n.ext.gz */
+    private String fileName = "access.log";
+
+    /** Size at which the file is rolled (megabytes), it is also rolled every day (UTC) */
+    private long maxFileSizeMb = 100L;
+
+    /** Compressed files kept, older ones are deleted (0 keeps all) */
+    private int maxHistory = 30;
+
+    /** Records buffered for the writer (rounded up to a power of two), further ones are dropped */
+    private int bufferSize = 65536;
+
+    /** Records written per batch */
+    private int batchSize = 1024;
+  }
+
+  @Data
+  public static class SlowRequestProperties {
+    /** Whether to capture slow requests with their timing breakdown */
+    private boolean enabled = true;
+
+    /** Latency above which a request is captured (milliseconds), routes may override it */
+    private long thresholdMs = 1000L;
+
+    /** Captured requests kept, the oldest are overwritten */
+    private int capacity = 256;
+  }
+
+  @Data
+  public static class RouteSnapshotProperties {
+    /**
+     * Whether to write the route table to a local file after each load and serve it at startup
+     * while the repository is read in the background
+     */
+    private boolean enabled = false;
+
+    /** Snapshot file */
+    private String file = "data/route-table.snapshot";
+  }
 }
@@ -44,6 +44,12 @@ public final class GatewayConstants {
   public static final class Template {
     public static final String REQUEST = "REQUEST";
     public static final String RESPONSE = "RESPONSE";
+
+    /** Prefix of declarative mapping templates (JSON spec instead of a Groovy script) */
+    public static final String MAPPING_PREFIX = "mapping:";
+
+    /** File extension of declarative mapping templates */
+    public static final String MAPPING_EXTENSION = ".mapping.json";
   }
 
   /** Content types */
@@ -51,6 +57,8 @@ public final class GatewayConstants {
     public static final String JSON = "application/json";
     public static final String FORM = "application/x-www-form-urlencoded";
     public static final String XML = "application/xml";
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String EVENT_STREAM = "text/event-stream";
   }
 
   /** HTTP methods */
@@ -87,5 +95,52 @@ public final class GatewayConstants {
     public static final String TIMEOUT = "timeout";
     public static final String RETRY_COUNT = "retryCount";
     public static final String WRAP_RESPONSE = "wrapResponse";
+    public static final String PRIORITY = "priority";
+    public static final String LOADBALANCE = "loadbalance";
+
+    /** RPC parameter types, a list or a comma-separated string of class names */
+    public static final String PARAMETER_TYPES = "parameterTypes";
+
+    /**
+     * Bean parameter sources, one per parameter: request, text, body, body:/json/pointer,
+     * path:name, query:name or header:name (overrides parameter annotations)
+     */
+    public static final String PARAM_BINDINGS = "paramBindings";
+
+    /** Format of streamed results: "ndjson" (default) or "sse" */
+    public static final String STREAM_FORMAT = "streamFormat";
+
+    /** CPU time (milliseconds) a template may use per request, overrides the global budget */
+    public static final String TEMPLATE_CPU_BUDGET = "templateCpuBudget";
+
+    /** Latency (milliseconds) above which a request is captured as slow, overrides the default */
+    public static final String SLOW_THRESHOLD = "slowThreshold";
+  }
+
+  /** Route priority tiers used by load shedding (lower value means higher priority) */
+  public static final class Priority {
+    /** Never shed */
+    public static final int CRITICAL = 0;
+
+    public static final int HIGH = 1;
+    public static final int NORMAL = 2;
+
+    /** First tier to be shed under pressure */
+    public static final int LOW = 3;
+  }
+
+  /** HTTP header names */
+  public static final class Header {
+    public static final String RETRY_AFTER = "Retry-After";
+    public static final String ACCEPT = "Accept";
+    public static final String CACHE_CONTROL = "Cache-Control";
+
+    /** Gateway processing time of the request in milliseconds, set on every response */
+    public static final String PROCESSING_TIME = "X-Processing-Time";
+
+    /** W3C trace context */
+    public static final String TRACEPARENT = "traceparent";
+
+    public static final String TRACESTATE = "tracestate";
   }
 }
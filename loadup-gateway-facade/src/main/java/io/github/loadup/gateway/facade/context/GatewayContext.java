@@ -6,6 +6,7 @@ import io.github.loadup.gateway.facade.model.RouteConfig;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -48,6 +49,15 @@ public class GatewayContext {
     /** Exception occurred during processing */
     private Throwable exception;
 
+    /**
+     * Completes once an asynchronous proxy call and the actions after it are done; null when the
+     * request was processed synchronously
+     */
+    private CompletableFuture<Void> completion;
+
+    /** Time spent in each stage of the request */
+    @Builder.Default private StageTimings timings = new StageTimings();
+
     /**
      * Add an attribute
      *
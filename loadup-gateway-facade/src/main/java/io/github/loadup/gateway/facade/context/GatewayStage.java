@@ -0,0 +1,35 @@
+package io.github.loadup.gateway.facade.context;
+
+/** Timed stages of a gateway request, in processing order */
+public enum GatewayStage {
+  /** Route resolution */
+  ROUTE("route"),
+  /** Request template */
+  REQUEST_TEMPLATE("request_template"),
+  /** Proxy call, until the upstream answered */
+  PROXY("proxy"),
+  /** Response template */
+  RESPONSE_TEMPLATE("response_template"),
+  /** Response wrapping */
+  WRAP("wrap"),
+  /** Writing the response to the client */
+  WRITE("write");
+
+  private static final GatewayStage[] VALUES = values();
+
+  private final String tagValue;
+
+  GatewayStage(String tagValue) {
+    this.tagValue = tagValue;
+  }
+
+  /** Lower-case name used in metric tags and logs */
+  public String tagValue() {
+    return tagValue;
+  }
+
+  /** Shared copy of {@link #values()} */
+  public static GatewayStage[] all() {
+    return VALUES;
+  }
+}
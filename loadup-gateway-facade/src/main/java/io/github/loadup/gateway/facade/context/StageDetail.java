@@ -0,0 +1,34 @@
+package io.github.loadup.gateway.facade.context;
+
+/** Timed parts of a {@link GatewayStage}, recorded for slow request breakdowns */
+public enum StageDetail {
+  /** Request template compilation, part of {@link GatewayStage#REQUEST_TEMPLATE} */
+  REQUEST_TEMPLATE_COMPILE("request_template_compile"),
+  /** Response template compilation, part of {@link GatewayStage#RESPONSE_TEMPLATE} */
+  RESPONSE_TEMPLATE_COMPILE("response_template_compile"),
+  /** Leasing (and if needed opening) an upstream connection, part of {@link GatewayStage#PROXY} */
+  UPSTREAM_CONNECT("upstream_connect"),
+  /**
+   * Sending the request until the upstream's response head arrived, part of {@link
+   * GatewayStage#PROXY}
+   */
+  UPSTREAM_FIRST_BYTE("upstream_first_byte");
+
+  private static final StageDetail[] VALUES = values();
+
+  private final String tagValue;
+
+  StageDetail(String tagValue) {
+    this.tagValue = tagValue;
+  }
+
+  /** Lower-case name used in logs and diagnostics */
+  public String tagValue() {
+    return tagValue;
+  }
+
+  /** Shared copy of {@link #values()} */
+  public static StageDetail[] all() {
+    return VALUES;
+  }
+}
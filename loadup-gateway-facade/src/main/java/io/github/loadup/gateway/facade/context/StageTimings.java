@@ -0,0 +1,64 @@
+package io.github.loadup.gateway.facade.context;
+
+/**
+ * Time spent in each {@link GatewayStage} of one request. Stages are recorded by the thread that
+ * runs them; the hand-off between the servlet thread and the thread completing an asynchronous
+ * proxy call orders the writes, so no synchronization is needed.
+ */
+public final class StageTimings {
+
+  private final long[] nanos = new long[GatewayStage.all().length];
+
+  /** {@link System#nanoTime()} at which each stage first started */
+  private final long[] startNanos = new long[GatewayStage.all().length];
+
+  /** Bit per stage that was recorded */
+  private int recorded;
+
+  /** Time spent in each {@link StageDetail}, recorded by the stage's action or plugin */
+  private final long[] detailNanos = new long[StageDetail.all().length];
+
+  /** Add the elapsed time of a stage */
+  public void record(GatewayStage stage, long elapsedNanos) {
+    record(stage, System.nanoTime() - elapsedNanos, elapsedNanos);
+  }
+
+  /** Add the time elapsed since {@code startNanos} (a {@link System#nanoTime()} value) */
+  public void recordSince(GatewayStage stage, long startNanos) {
+    record(stage, startNanos, System.nanoTime() - startNanos);
+  }
+
+  private void record(GatewayStage stage, long start, long elapsedNanos) {
+    int i = stage.ordinal();
+    if ((recorded & (1 << i)) == 0) {
+      startNanos[i] = start;
+      recorded |= 1 << i;
+    }
+    nanos[i] += Math.max(0L, elapsedNanos);
+  }
+
+  /** Add the elapsed time of a part of a stage */
+  public void recordDetail(StageDetail detail, long elapsedNanos) {
+    detailNanos[detail.ordinal()] += Math.max(0L, elapsedNanos);
+  }
+
+  /** Whether the stage ran for this request */
+  public boolean isRecorded(GatewayStage stage) {
+    return (recorded & (1 << stage.ordinal())) != 0;
+  }
+
+  /** {@link System#nanoTime()} at which the stage first started, 0 if it did not run */
+  public long getStartNanos(GatewayStage stage) {
+    return startNanos[stage.ordinal()];
+  }
+
+  /** Time spent in the stage, 0 if it did not run */
+  public long getNanos(GatewayStage stage) {
+    return nanos[stage.ordinal()];
+  }
+
+  /** Time spent in the part of a stage, 0 if it was not recorded */
+  public long getDetailNanos(StageDetail detail) {
+    return detailNanos[detail.ordinal()];
+  }
+}
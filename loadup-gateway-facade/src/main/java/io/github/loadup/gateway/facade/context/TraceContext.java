@@ -0,0 +1,26 @@
+package io.github.loadup.gateway.facade.context;
+
+/**
+ * W3C trace context of a request as seen by the proxies: the gateway's server span and the span
+ * id reserved for the outgoing proxy call, which upstream services see as their parent.
+ *
+ * @param traceId 32 lowercase hex characters
+ * @param spanId the gateway's server span, 16 lowercase hex characters
+ * @param parentSpanId span id of the caller from an incoming {@code traceparent}, null if none
+ * @param clientSpanId span of the proxy call, propagated upstream
+ * @param sampled whether the trace is recorded (head decision, propagated as the sampled flag)
+ * @param traceState incoming {@code tracestate}, passed on unchanged, null if none
+ */
+public record TraceContext(
+    String traceId,
+    String spanId,
+    String parentSpanId,
+    String clientSpanId,
+    boolean sampled,
+    String traceState) {
+
+  /** {@code traceparent} header value for the proxy call */
+  public String traceparent() {
+    return "00-" + traceId + "-" + clientSpanId + (sampled ? "-01" : "-00");
+  }
+}
@@ -0,0 +1,166 @@
+package io.github.loadup.gateway.facade.exception;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Facade
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds error response bodies from cached byte templates. The constant part of a body only depends
+ * on (code, type, module), so it is encoded once and only the message, cause and timestamp are
+ * spliced in per error.
+ *
+ * <pre>
+ * {"error": {"code":"..","type":"..","module":"..","message":".."[,"cause":".."]},"timestamp":".."}
+ * </pre>
+ */
+final class ErrorBodyWriter {
+
+  /** Upper bound of cached templates, further combinations are encoded on the fly */
+  private static final int MAX_TEMPLATES = 512;
+
+  private static final ConcurrentHashMap<String, byte[]> PREFIXES = new ConcurrentHashMap<>();
+
+  private static final byte[] CAUSE = bytes("\",\"cause\":\"");
+  private static final byte[] TIMESTAMP = bytes("\"},\"timestamp\":\"");
+  private static final byte[] END = bytes("\"}");
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private ErrorBodyWriter() {}
+
+  /** Encode the body of the given exception with the given (shared, read-only) timestamp bytes */
+  static byte[] write(GatewayException exception, byte[] timestamp) {
+    byte[] prefix = prefix(exception);
+    byte[] message = escape(exception.getMessage());
+    byte[] cause = exception.getCause() != null ? escape(exception.getCause().getMessage()) : null;
+
+    int length = prefix.length + message.length + TIMESTAMP.length + timestamp.length + END.length;
+    if (cause != null) {
+      length += CAUSE.length + cause.length;
+    }
+
+    byte[] out = new byte[length];
+    int pos = append(out, 0, prefix);
+    pos = append(out, pos, message);
+    if (cause != null) {
+      pos = append(out, pos, CAUSE);
+      pos = append(out, pos, cause);
+    }
+    pos = append(out, pos, TIMESTAMP);
+    pos = append(out, pos, timestamp);
+    append(out, pos, END);
+    return out;
+  }
+
+  private static byte[] prefix(GatewayException exception) {
+    String type = exception.getErrorType() != null ? exception.getErrorType().name() : null;
+    String key = exception.getErrorCode() + '|' + type + '|' + exception.getModule();
+    byte[] prefix = PREFIXES.get(key);
+    if (prefix == null) {
+      prefix = buildPrefix(exception.getErrorCode(), type, exception.getModule());
+      if (PREFIXES.size() < MAX_TEMPLATES) {
+        PREFIXES.putIfAbsent(key, prefix);
+      }
+    }
+    return prefix;
+  }
+
+  private static byte[] buildPrefix(String code, String type, String module) {
+    return bytes(
+        "{\"error\": {\"code\":\""
+            + escapeText(code)
+            + "\",\"type\":\""
+            + escapeText(type)
+            + "\",\"module\":\""
+            + escapeText(module)
+            + "\",\"message\":\"");
+  }
+
+  private static int append(byte[] out, int pos, byte[] part) {
+    System.arraycopy(part, 0, out, pos, part.length);
+    return pos + part.length;
+  }
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** UTF-8 bytes of the JSON-escaped text; null becomes an empty string */
+  static byte[] escape(String text) {
+    if (text == null || text.isEmpty()) {
+      return new byte[0];
+    }
+    return bytes(escapeText(text));
+  }
+
+  /** Single-pass JSON string escaping, returns the input itself when nothing needs escaping */
+  static String escapeText(String text) {
+    if (text == null) {
+      return "";
+    }
+    int length = text.length();
+    int i = 0;
+    while (i < length && !needsEscape(text.charAt(i))) {
+      i++;
+    }
+    if (i == length) {
+      return text;
+    }
+
+    StringBuilder sb = new StringBuilder(length + 16);
+    sb.append(text, 0, i);
+    for (; i < length; i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    return sb.toString();
+  }
+
+  private static boolean needsEscape(char c) {
+    return c < 0x20 || c == '"' || c == '\\';
+  }
+}
@@ -72,6 +72,7 @@ public enum ErrorCode {
   TEMPLATE_NOT_FOUND("6001", "Template not found"),
   TEMPLATE_PARSE_ERROR("6002", "Template parse error"),
   TEMPLATE_EXECUTION_ERROR("6003", "Template execution error"),
+  TEMPLATE_BUDGET_EXCEEDED("6004", "Template budget exceeded"),
 
   // Storage errors (7000-7999)
   STORAGE_READ_ERROR("7001", "Storage read error"),
@@ -82,6 +83,7 @@ public enum ErrorCode {
   SYSTEM_ERROR("8001", "System internal error"),
   CONFIGURATION_ERROR("8002", "Configuration error"),
   INITIALIZATION_ERROR("8003", "Initialization error"),
+  SERVICE_OVERLOADED("8004", "Service overloaded"),
 
   // Network errors (9000-9999)
   NETWORK_TIMEOUT("9001", "Network timeout"),
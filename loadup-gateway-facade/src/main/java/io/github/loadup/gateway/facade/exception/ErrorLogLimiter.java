@@ -0,0 +1,89 @@
+package io.github.loadup.gateway.facade.exception;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Facade
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key log rate limiter: at most {@code permitsPerWindow} log lines per key and window. Lines
+ * over the limit are counted and the count is reported with the next line that gets through.
+ */
+final class ErrorLogLimiter {
+
+  /** Upper bound of tracked keys, further keys share one window */
+  private static final int MAX_KEYS = 1024;
+
+  private static final String OVERFLOW_KEY = "*";
+
+  private final long windowMillis;
+
+  private final int permitsPerWindow;
+
+  private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+  ErrorLogLimiter(long windowMillis, int permitsPerWindow) {
+    this.windowMillis = windowMillis;
+    this.permitsPerWindow = permitsPerWindow;
+  }
+
+  /**
+   * Try to log a line for the key
+   *
+   * @return -1 if the line must be dropped, otherwise the number of lines dropped since the last
+   *     one that was logged
+   */
+  long tryAcquire(String key) {
+    String k = key != null ? key : OVERFLOW_KEY;
+    long now = System.currentTimeMillis();
+    Window window = windows.get(k);
+    if (window == null) {
+      if (windows.size() >= MAX_KEYS) {
+        k = OVERFLOW_KEY;
+      }
+      window = windows.computeIfAbsent(k, ignored -> new Window(now));
+    }
+
+    long start = window.start.get();
+    if (now - start >= windowMillis && window.start.compareAndSet(start, now)) {
+      window.used.set(0);
+    }
+    if (window.used.incrementAndGet() <= permitsPerWindow) {
+      return window.suppressed.getAndSet(0);
+    }
+    window.suppressed.incrementAndGet();
+    return -1;
+  }
+
+  private static final class Window {
+    final AtomicLong start;
+    final AtomicInteger used = new AtomicInteger();
+    final AtomicLong suppressed = new AtomicLong();
+
+    Window(long start) {
+      this.start = new AtomicLong(start);
+    }
+  }
+}
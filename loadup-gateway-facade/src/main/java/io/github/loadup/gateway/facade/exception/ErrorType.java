@@ -26,60 +26,73 @@ package io.github.loadup.gateway.facade.exception;
 public enum ErrorType {
 
   /** Configuration error */
-  CONFIGURATION("Configuration error"),
+  CONFIGURATION("Configuration error", false),
 
   /** Routing error */
-  ROUTING("Routing error"),
+  ROUTING("Routing error", true),
 
   /** Plugin error */
-  PLUGIN("Plugin error"),
+  PLUGIN("Plugin error", false),
 
   /** Proxy error */
-  PROXY("Proxy error"),
+  PROXY("Proxy error", false),
 
   /** Parameter validation error */
-  VALIDATION("Validation error"),
+  VALIDATION("Validation error", true),
 
   /** Business logic error */
-  BUSINESS("Business logic error"),
+  BUSINESS("Business logic error", false),
 
   /** System error */
-  SYSTEM("System error"),
+  SYSTEM("System error", false),
 
   /** Network error */
-  NETWORK("Network error"),
+  NETWORK("Network error", false),
 
   /** Serialization/Deserialization error */
-  SERIALIZATION("Serialization error"),
+  SERIALIZATION("Serialization error", false),
 
   /** Template processing error */
-  TEMPLATE("Template processing error"),
+  TEMPLATE("Template processing error", false),
 
   /** Storage error */
-  STORAGE("Storage error"),
+  STORAGE("Storage error", false),
 
   /** Authorization error */
-  AUTHORIZATION("Authorization error"),
+  AUTHORIZATION("Authorization error", true),
 
   /** Rate limiting error */
-  RATE_LIMIT("Rate limit error"),
+  RATE_LIMIT("Rate limit error", true),
 
   /** Timeout error */
-  TIMEOUT("Timeout error"),
+  TIMEOUT("Timeout error", true),
 
   /** Unknown error */
-  UNKNOWN("Unknown error");
+  UNKNOWN("Unknown error", false);
 
   private final String description;
 
-  ErrorType(String description) {
+  /**
+   * Whether errors of this type are expected in normal operation (bad input, missing routes,
+   * rejected or timed-out requests). Expected errors are created without stack traces and logged
+   * without them. Proxy and network failures are not expected: a bean target or upstream call can
+   * fail on a bug, and its stack trace and cause are logged.
+   */
+  private final boolean expected;
+
+  ErrorType(String description, boolean expected) {
     this.description = description;
+    this.expected = expected;
   }
 
   public String getDescription() {
     return description;
   }
 
+  public boolean isExpected() {
+    return expected;
+  }
+
   @Override
   public String toString() {
     return name() + "(" + description + ")";
@@ -24,7 +24,7 @@ package io.github.loadup.gateway.facade.exception;
 
 import io.github.loadup.gateway.facade.constants.GatewayConstants;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
-import java.time.LocalDateTime;
+import io.github.loadup.gateway.facade.utils.CachedClock;
 import java.util.HashMap;
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,6 +35,12 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public final class ExceptionHandler {
 
+  /** Expected errors: one WARN line per error code and second */
+  private static final ErrorLogLimiter EXPECTED_LOG_LIMITER = new ErrorLogLimiter(1000L, 1);
+
+  /** Unexpected errors: up to ten ERROR lines with stack trace per error code and second */
+  private static final ErrorLogLimiter UNEXPECTED_LOG_LIMITER = new ErrorLogLimiter(1000L, 10);
+
   private ExceptionHandler() {
     // Utility class, instantiation not allowed
   }
@@ -87,44 +93,20 @@ public final class ExceptionHandler {
     // Determine HTTP status code based on error type
     int statusCode = mapToHttpStatus(exception.getErrorType());
 
-    // Build error response body
-    String errorBody = buildErrorBody(exception);
+    // Build error response body from the cached template of this error code
+    byte[] errorBody = ErrorBodyWriter.write(exception, CachedClock.nowBytes());
 
     return GatewayResponse.builder()
         .requestId(requestId)
         .statusCode(statusCode)
-        .body(errorBody)
+        .bodyBytes(errorBody)
         .contentType(GatewayConstants.ContentType.JSON)
         .headers(new HashMap<>())
-        .responseTime(LocalDateTime.now())
+        .responseTime(CachedClock.now())
         .errorMessage(exception.getMessage())
         .build();
   }
 
-  /** Build error response body */
-  private static String buildErrorBody(GatewayException exception) {
-    StringBuilder sb = new StringBuilder();
-    sb.append("{");
-    sb.append("\"error\": {");
-    sb.append("\"code\":\"").append(exception.getErrorCode()).append("\",");
-    sb.append("\"type\":\"").append(exception.getErrorType().name()).append("\",");
-    sb.append("\"module\":\"").append(exception.getModule()).append("\",");
-    sb.append("\"message\":\"").append(escapeJsonString(exception.getMessage())).append("\"");
-
-    // Add cause information if there is a cause exception
-    if (exception.getCause() != null) {
-      sb.append(",\"cause\":\"")
-          .append(escapeJsonString(exception.getCause().getMessage()))
-          .append("\"");
-    }
-
-    sb.append("},");
-    sb.append("\"timestamp\":\"").append(LocalDateTime.now()).append("\"");
-    sb.append("}");
-
-    return sb.toString();
-  }
-
   /** Map error type to HTTP status code */
   private static int mapToHttpStatus(ErrorType errorType) {
     switch (errorType) {
@@ -154,32 +136,55 @@ public final class ExceptionHandler {
     }
   }
 
-  /** Log exception */
+  /**
+   * Log exception. Expected error types are logged at WARN without stack trace, everything else at
+   * ERROR with stack trace; both are rate limited per error code so an outage cannot flood the log.
+   */
   private static void logException(Throwable exception) {
     if (exception instanceof GatewayException) {
       GatewayException ge = (GatewayException) exception;
-      log.error(
-          "[{}] {} - {}: {}",
-          ge.getModule(),
-          ge.getErrorType(),
-          ge.getErrorCode(),
-          ge.getMessage(),
-          exception);
+      boolean expected = ge.getErrorType() != null && ge.getErrorType().isExpected();
+      if (expected) {
+        if (!log.isWarnEnabled()) {
+          return;
+        }
+        long suppressed = EXPECTED_LOG_LIMITER.tryAcquire(ge.getErrorCode());
+        if (suppressed >= 0) {
+          log.warn(
+              "[{}] {} - {}: {}{}",
+              ge.getModule(),
+              ge.getErrorType(),
+              ge.getErrorCode(),
+              ge.getMessage(),
+              suppressedSuffix(suppressed));
+        }
+        return;
+      }
+      long suppressed = UNEXPECTED_LOG_LIMITER.tryAcquire(ge.getErrorCode());
+      if (suppressed >= 0) {
+        log.error(
+            "[{}] {} - {}: {}{}",
+            ge.getModule(),
+            ge.getErrorType(),
+            ge.getErrorCode(),
+            ge.getMessage(),
+            suppressedSuffix(suppressed),
+            exception);
+      }
     } else {
-      log.error("Unhandled exception: {}", exception.getMessage(), exception);
+      long suppressed = UNEXPECTED_LOG_LIMITER.tryAcquire(exception.getClass().getName());
+      if (suppressed >= 0) {
+        log.error(
+            "Unhandled exception: {}{}",
+            exception.getMessage(),
+            suppressedSuffix(suppressed),
+            exception);
+      }
     }
   }
 
-  /** Escape special characters in JSON string */
-  private static String escapeJsonString(String str) {
-    if (str == null) {
-      return "";
-    }
-    return str.replace("\\", "\\\\")
-        .replace("\"", "\\\"")
-        .replace("\n", "\\n")
-        .replace("\r", "\\r")
-        .replace("\t", "\\t");
+  private static String suppressedSuffix(long suppressed) {
+    return suppressed > 0 ? " (" + suppressed + " similar errors suppressed)" : "";
   }
 
   /** Check if exception is retryable */
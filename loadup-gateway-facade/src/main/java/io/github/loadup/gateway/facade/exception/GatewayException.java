@@ -22,7 +22,13 @@ package io.github.loadup.gateway.facade.exception;
  * #L%
  */
 
-/** Base gateway exception All gateway-related exceptions should extend this class */
+/**
+ * Base gateway exception All gateway-related exceptions should extend this class
+ *
+ * <p>Exceptions of an {@link ErrorType#isExpected() expected} type do not capture a stack trace:
+ * they are thrown on hot paths (missing routes, shed requests) where the stack walk would cost
+ * more than the request itself. A wrapped cause keeps its own stack trace.
+ */
 public class GatewayException extends RuntimeException {
 
   /** Error code */
@@ -43,7 +49,7 @@ public class GatewayException extends RuntimeException {
    * @param message error message
    */
   public GatewayException(String errorCode, ErrorType errorType, String module, String message) {
-    super(message);
+    super(message, null, true, captureStackTrace(errorType));
     this.errorCode = errorCode;
     this.errorType = errorType;
     this.module = module;
@@ -60,12 +66,16 @@ public class GatewayException extends RuntimeException {
    */
   public GatewayException(
       String errorCode, ErrorType errorType, String module, String message, Throwable cause) {
-    super(message, cause);
+    super(message, cause, true, captureStackTrace(errorType));
     this.errorCode = errorCode;
     this.errorType = errorType;
     this.module = module;
   }
 
+  private static boolean captureStackTrace(ErrorType errorType) {
+    return errorType == null || !errorType.isExpected();
+  }
+
   /** Get error code */
   public String getErrorCode() {
     return errorCode;
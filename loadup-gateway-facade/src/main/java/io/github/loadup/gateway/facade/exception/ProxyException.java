@@ -40,6 +40,15 @@ public class ProxyException extends GatewayException {
         cause);
   }
 
+  private ProxyException(ErrorCode errorCode, ErrorType errorType, String message) {
+    super(errorCode.getCode(), errorType, MODULE, errorCode.getMessage() + ":" + message);
+  }
+
+  // Convenience methods - deadlines
+  public static ProxyException deadlineExceeded(String target) {
+    return new ProxyException(ErrorCode.PROXY_TIMEOUT, ErrorType.TIMEOUT, target);
+  }
+
   // Convenience methods - SpringBean proxy exceptions
   public static ProxyException beanNotFound(String beanName) {
     return new ProxyException(ErrorCode.BEAN_NOT_FOUND, beanName);
@@ -52,4 +52,8 @@ public class TemplateException extends GatewayException {
   public static TemplateException executionError(String templateName, Throwable cause) {
     return new TemplateException(ErrorCode.TEMPLATE_EXECUTION_ERROR, templateName, cause);
   }
+
+  public static TemplateException budgetExceeded(String detail) {
+    return new TemplateException(ErrorCode.TEMPLATE_BUDGET_EXCEEDED, detail);
+  }
 }
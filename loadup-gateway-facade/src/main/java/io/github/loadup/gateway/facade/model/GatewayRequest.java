@@ -22,7 +22,14 @@ package io.github.loadup.gateway.facade.model;
  * #L%
  */
 
+import io.github.loadup.gateway.facade.context.StageTimings;
+import io.github.loadup.gateway.facade.context.TraceContext;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.AllArgsConstructor;
@@ -55,9 +62,15 @@ public class GatewayRequest {
   /** Path parameters */
   private Map<String, String> pathParameters;
 
-  /** Request body */
+  /** Request body (decoded lazily from {@link #bodyBytes} when only bytes were set) */
   private String body;
 
+  /** Raw request body bytes */
+  private byte[] bodyBytes;
+
+  /** Charset of {@link #bodyBytes}, UTF-8 if null */
+  private Charset bodyCharset;
+
   /** Content type */
   private String contentType;
 
@@ -67,9 +80,85 @@ public class GatewayRequest {
   /** User agent */
   private String userAgent;
 
-  /** Request time */
+  /** Request time (derived lazily from {@link #requestTimeMillis} when not set) */
   private LocalDateTime requestTime;
 
+  /** Request wall-clock time in epoch milliseconds, 0 if unknown */
+  private long requestTimeMillis;
+
+  /** Monotonic receive timestamp ({@link System#nanoTime()}), 0 if unknown */
+  private long receivedNanos;
+
   /** Extension attributes */
   private Map<String, Object> attributes;
+
+  /** Trace context to propagate to the upstream, null when tracing is disabled */
+  private TraceContext traceContext;
+
+  /**
+   * Stage timings of the request, where proxy plugins add upstream details (see {@link
+   * io.github.loadup.gateway.facade.context.StageDetail}); null outside the gateway
+   */
+  private StageTimings timings;
+
+  public String getBody() {
+    if (body == null && bodyBytes != null) {
+      body = new String(bodyBytes, bodyCharset != null ? bodyCharset : StandardCharsets.UTF_8);
+    }
+    return body;
+  }
+
+  /** Replace the body text, dropping the raw bytes */
+  public void setBody(String body) {
+    this.body = body;
+    this.bodyBytes = null;
+    this.bodyCharset = null;
+  }
+
+  public byte[] getBodyBytes() {
+    if (bodyBytes == null && body != null) {
+      bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+      bodyCharset = StandardCharsets.UTF_8;
+    }
+    return bodyBytes;
+  }
+
+  /**
+   * Replace the body with raw bytes, dropping any previous body text; the bytes are taken as UTF-8
+   * unless {@link #bodyCharset} is set afterwards
+   */
+  public void setBodyBytes(byte[] bodyBytes) {
+    this.bodyBytes = bodyBytes;
+    this.body = null;
+    this.bodyCharset = null;
+  }
+
+  /**
+   * Header value by name, ignoring case. The servlet-backed header map and other case-insensitive
+   * maps answer the lookup directly; plain hash maps (built by templates or tests) are scanned, so
+   * a miss never copies the servlet headers.
+   */
+  public String getHeader(String name) {
+    if (headers == null || name == null) {
+      return null;
+    }
+    String value = headers.get(name);
+    if (value != null || !(headers instanceof HashMap)) {
+      return value;
+    }
+    for (Map.Entry<String, String> entry : headers.entrySet()) {
+      if (name.equalsIgnoreCase(entry.getKey())) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  public LocalDateTime getRequestTime() {
+    if (requestTime == null && requestTimeMillis != 0L) {
+      requestTime =
+          LocalDateTime.ofInstant(Instant.ofEpochMilli(requestTimeMillis), ZoneId.systemDefault());
+    }
+    return requestTime;
+  }
 }
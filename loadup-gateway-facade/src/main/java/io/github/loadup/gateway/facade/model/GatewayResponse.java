@@ -22,12 +22,21 @@ package io.github.loadup.gateway.facade.model;
  * #L%
  */
 
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Flow;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /** Gateway response model */
 @Data
@@ -45,9 +54,38 @@ public class GatewayResponse {
   /** Response headers */
   private Map<String, String> headers;
 
-  /** Response body */
+  /** Response body (decoded lazily from {@link #bodyBytes} when only bytes were set) */
   private String body;
 
+  /** Encoded response body (encoded lazily from {@link #body} when only text was set) */
+  private byte[] bodyBytes;
+
+  /**
+   * Charset of {@link #bodyBytes}; when null, the charset declared by {@link #contentType}, or
+   * UTF-8 if it declares none
+   */
+  private Charset bodyCharset;
+
+  /**
+   * Typed response payload (e.g. a bean's return value), serialized to JSON only when the body is
+   * read, so in-process results are encoded once at the final write. Templates and the response
+   * wrapper work on the object directly; the serialized form is kept until the body is replaced, so
+   * call {@link #setPayload} again after modifying the object in place.
+   */
+  private Object payload;
+
+  /** JSON of {@link #payload}, cached on the first body read */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private final SerializedPayload serializedPayload = new SerializedPayload();
+
+  /**
+   * Streamed body: each element is written as it arrives (NDJSON or server-sent events, depending
+   * on the content type) instead of a single body
+   */
+  private Flow.Publisher<?> stream;
+
   /** Content type */
   private String contentType;
 
@@ -62,4 +100,128 @@ public class GatewayResponse {
 
   /** Extension attributes */
   private Map<String, Object> attributes;
+
+  /** Body text; a payload is serialized once, see {@link #payload} */
+  public String getBody() {
+    if (body == null && bodyBytes == null && payload != null) {
+      return serializedPayload.text(payload);
+    }
+    if (body == null && bodyBytes != null) {
+      body = new String(bodyBytes, getBodyCharset());
+    }
+    return body;
+  }
+
+  /** Replace the body text, dropping any previously encoded bytes or payload */
+  public void setBody(String body) {
+    this.body = body;
+    this.bodyBytes = null;
+    this.bodyCharset = null;
+    this.payload = null;
+    serializedPayload.clear();
+  }
+
+  /**
+   * Body encoded in {@link #getBodyCharset()} (a payload is serialized once to UTF-8 JSON, see
+   * {@link #payload})
+   */
+  public byte[] getBodyBytes() {
+    if (body == null && bodyBytes == null && payload != null) {
+      return serializedPayload.bytes(payload);
+    }
+    if (bodyBytes == null && body != null) {
+      bodyBytes = body.getBytes(getBodyCharset());
+    }
+    return bodyBytes;
+  }
+
+  /**
+   * Replace the body with bytes in the charset of the content type, dropping any previous body
+   * text or payload; set {@link #bodyCharset} afterwards for bytes in another charset
+   */
+  public void setBodyBytes(byte[] bodyBytes) {
+    this.bodyBytes = bodyBytes;
+    this.bodyCharset = null;
+    this.body = null;
+    this.payload = null;
+    serializedPayload.clear();
+  }
+
+  /** Charset of the body bytes, see {@link #bodyCharset} */
+  public Charset getBodyCharset() {
+    return bodyCharset != null ? bodyCharset : charsetOf(contentType);
+  }
+
+  /** The charset parameter of a content type, UTF-8 if absent or unsupported */
+  private static Charset charsetOf(String contentType) {
+    if (contentType == null) {
+      return StandardCharsets.UTF_8;
+    }
+    int idx = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+    if (idx < 0) {
+      return StandardCharsets.UTF_8;
+    }
+    String name = contentType.substring(idx + 8).trim();
+    int end = name.indexOf(';');
+    if (end >= 0) {
+      name = name.substring(0, end).trim();
+    }
+    try {
+      return Charset.forName(name.replace("\"", ""));
+    } catch (RuntimeException e) {
+      return StandardCharsets.UTF_8;
+    }
+  }
+
+  /** Replace the body with a payload object, dropping any previous body text or bytes */
+  public void setPayload(Object payload) {
+    this.payload = payload;
+    this.body = null;
+    this.bodyBytes = null;
+    serializedPayload.clear();
+  }
+
+  /** Whether the body is a payload object not serialized yet */
+  public boolean hasPayload() {
+    return payload != null && body == null && bodyBytes == null;
+  }
+
+  /** Whether the body is streamed, see {@link #stream} */
+  public boolean isStreaming() {
+    return stream != null;
+  }
+
+  /**
+   * Whether the body is best written as bytes: already encoded, or a payload that serializes
+   * straight to UTF-8
+   */
+  public boolean hasEncodedBody() {
+    return bodyBytes != null || hasPayload();
+  }
+
+  /** Payload JSON, serialized on first use until cleared */
+  private static final class SerializedPayload {
+
+    private byte[] bytes;
+    private String text;
+
+    byte[] bytes(Object payload) {
+      if (bytes == null) {
+        bytes = JsonUtils.toJsonBytes(payload);
+      }
+      return bytes;
+    }
+
+    String text(Object payload) {
+      if (text == null) {
+        text = new String(bytes(payload), StandardCharsets.UTF_8);
+      }
+      return text;
+    }
+
+    void clear() {
+      bytes = null;
+      text = null;
+    }
+  }
 }
@@ -27,6 +27,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 
@@ -82,6 +85,19 @@ public class RouteConfig {
   /** Parsed wrapResponse (null means use global configuration) */
   private final Boolean parsedWrapResponse;
 
+  /** Parsed priority tier, see {@link GatewayConstants.Priority} */
+  private final int parsedPriority;
+
+  /** Parsed template CPU budget (milliseconds), 0 means use global configuration */
+  private final long parsedTemplateCpuBudget;
+
+  /** Parsed slow request threshold (milliseconds), 0 means use global configuration */
+  private final long parsedSlowThreshold;
+
+  /** Runtime artifacts derived from this route by the plugins, see {@link #getCompiled} */
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Object> compiled = new ConcurrentHashMap<>();
+
   // Private constructor, called by Builder
   private RouteConfig(RouteConfigBuilder b) {
     this.path = Objects.requireNonNull(b.path, "path is required");
@@ -110,6 +126,9 @@ public class RouteConfig {
     this.parsedTimeout = ppr.timeout;
     this.parsedRetryCount = ppr.retryCount;
     this.parsedWrapResponse = ppr.wrapResponse;
+    this.parsedPriority = ppr.priority;
+    this.parsedTemplateCpuBudget = ppr.templateCpuBudget;
+    this.parsedSlowThreshold = ppr.slowThreshold;
 
     // Generate id/name
     this.routeId = generateRouteId(this.path, this.method);
@@ -130,6 +149,49 @@ public class RouteConfig {
     return this.parsedWrapResponse;
   }
 
+  public int getPriority() {
+    return this.parsedPriority;
+  }
+
+  /** Template CPU budget (milliseconds), 0 if the route uses the global budget */
+  public long getTemplateCpuBudget() {
+    return this.parsedTemplateCpuBudget;
+  }
+
+  /** Slow request threshold (milliseconds), 0 if the route uses the global threshold */
+  public long getSlowThreshold() {
+    return this.parsedSlowThreshold;
+  }
+
+  /**
+   * Per-route runtime artifact (resolved method metadata, argument readers, ...): created by the
+   * factory on first use and kept as long as this route instance is part of the route table.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getCompiled(String key, Function<RouteConfig, T> factory) {
+    Object value = compiled.get(key);
+    if (value == null) {
+      value = compiled.computeIfAbsent(key, k -> factory.apply(this));
+    }
+    return (T) value;
+  }
+
+  /**
+   * Whether the other route is built from the same definition (path, method, target, templates,
+   * enabled flag and properties), so the route table can keep this instance and its compiled
+   * artifacts
+   */
+  public boolean hasSameDefinition(RouteConfig other) {
+    return other != null
+        && enabled == other.enabled
+        && path.equals(other.path)
+        && method.equals(other.method)
+        && target.equals(other.target)
+        && Objects.equals(requestTemplate, other.requestTemplate)
+        && Objects.equals(responseTemplate, other.responseTemplate)
+        && properties.equals(other.properties);
+  }
+
   // Internal static helper class and methods
   private static class TargetParseResult {
     String protocol;
@@ -173,6 +235,9 @@ public class RouteConfig {
     long timeout = 30000L;
     int retryCount = 3;
     Boolean wrapResponse = null;
+    int priority = GatewayConstants.Priority.NORMAL;
+    long templateCpuBudget = 0L;
+    long slowThreshold = 0L;
   }
 
   private static PropertiesParseResult parseProperties(Map<String, Object> properties) {
@@ -206,16 +271,69 @@ public class RouteConfig {
       r.wrapResponse = Boolean.parseBoolean((String) wrap);
     }
 
+    Object priority = properties.get(GatewayConstants.PropertyKeys.PRIORITY);
+    if (priority instanceof Number) {
+      r.priority = clampPriority(((Number) priority).intValue());
+    } else if (priority instanceof String) {
+      r.priority = parsePriority(((String) priority).trim());
+    }
+
+    Object budget = properties.get(GatewayConstants.PropertyKeys.TEMPLATE_CPU_BUDGET);
+    if (budget instanceof Number) {
+      r.templateCpuBudget = ((Number) budget).longValue();
+    } else if (budget instanceof String) {
+      try {
+        r.templateCpuBudget = Long.parseLong((String) budget);
+      } catch (NumberFormatException ignored) {
+      }
+    }
+
+    Object slow = properties.get(GatewayConstants.PropertyKeys.SLOW_THRESHOLD);
+    if (slow instanceof Number) {
+      r.slowThreshold = ((Number) slow).longValue();
+    } else if (slow instanceof String) {
+      try {
+        r.slowThreshold = Long.parseLong((String) slow);
+      } catch (NumberFormatException ignored) {
+      }
+    }
+
     return r;
   }
 
+  /** Accepts a tier number (0-3) or a tier name: critical, high, normal, low */
+  private static int parsePriority(String value) {
+    switch (value.toLowerCase()) {
+      case "critical":
+        return GatewayConstants.Priority.CRITICAL;
+      case "high":
+        return GatewayConstants.Priority.HIGH;
+      case "normal":
+        return GatewayConstants.Priority.NORMAL;
+      case "low":
+        return GatewayConstants.Priority.LOW;
+      default:
+        try {
+          return clampPriority(Integer.parseInt(value));
+        } catch (NumberFormatException ignored) {
+          return GatewayConstants.Priority.NORMAL;
+        }
+    }
+  }
+
+  private static int clampPriority(int priority) {
+    return Math.max(
+        GatewayConstants.Priority.CRITICAL, Math.min(GatewayConstants.Priority.LOW, priority));
+  }
+
   private static String generateRouteId(String path, String method) {
     String combined = path + ":" + method;
     return "route-" + Math.abs(combined.hashCode());
   }
 
   private static String generateRouteName(String path, String method) {
-    String name = path.replaceAll("^/", "").replaceAll("/", " ").replaceAll("-", " ").trim();
+    String name = path.startsWith("/") ? path.substring(1) : path;
+    name = name.replace('/', ' ').replace('-', ' ').trim();
     if (name.isEmpty()) name = "root";
     name = Character.toUpperCase(name.charAt(0)) + name.substring(1);
     return name + " (" + method + ")";
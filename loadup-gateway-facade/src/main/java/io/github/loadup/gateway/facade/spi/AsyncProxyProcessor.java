@@ -0,0 +1,54 @@
+package io.github.loadup.gateway.facade.spi;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Facade
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Non-blocking proxy plugin SPI interface. The gateway releases the servlet thread while the
+ * returned future is pending and finishes the request (response templates, wrapping, writing) on
+ * its own async threads, so the thread completing the future is only used to hand the request
+ * over. Cancelling the future means the client is gone or the deadline passed.
+ */
+public interface AsyncProxyProcessor extends ProxyProcessor {
+
+  /** Proxy request to target service without blocking the calling thread */
+  CompletableFuture<GatewayResponse> proxyAsync(GatewayRequest request, RouteConfig route);
+
+  /** Blocking variant, waits for {@link #proxyAsync} */
+  @Override
+  default GatewayResponse proxy(GatewayRequest request, RouteConfig route) throws Exception {
+    try {
+      return proxyAsync(request, route).get();
+    } catch (ExecutionException | CompletionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof Exception ? (Exception) cause : e;
+    }
+  }
+}
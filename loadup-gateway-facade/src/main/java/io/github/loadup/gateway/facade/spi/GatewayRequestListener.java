@@ -0,0 +1,49 @@
+package io.github.loadup.gateway.facade.spi;
+
+/*-
+ * #%L
+ * LoadUp Gateway Facade
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.context.GatewayContext;
+
+/**
+ * Request lifecycle listener SPI. Implementations (metrics, tracing, logging, ...) are notified when
+ * a request enters the gateway and once after its response was handed to the client, with the
+ * stage timings, route and response of the request available on the context. Listeners run on the
+ * request path and must not block.
+ */
+public interface GatewayRequestListener {
+
+  /**
+   * Called before the request enters the action chain, on the servlet thread
+   *
+   * @param context the request context, with the request but no route yet
+   */
+  default void onRequestStarted(GatewayContext context) {}
+
+  /**
+   * Called after the response was written, or after the last element of a streamed response
+   *
+   * @param context the request context; the route is null when no route matched
+   * @param totalNanos time from the request being received to the end of the write
+   */
+  void onRequestCompleted(GatewayContext context, long totalNanos);
+}
@@ -0,0 +1,42 @@
+package io.github.loadup.gateway.facade.spi;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Facade
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import java.util.List;
+
+/**
+ * Route table listener SPI interface. Implementations (typically proxy plugins) are notified with
+ * the complete set of enabled routes every time the route table is (re)loaded, so per-route
+ * resources can be prepared ahead of traffic and released when routes disappear.
+ */
+public interface RouteTableListener {
+
+  /**
+   * Called after the route table was loaded or refreshed, off the request path
+   *
+   * @param routes all enabled routes of the new table
+   */
+  void onRouteTableRefreshed(List<RouteConfig> routes);
+}
@@ -0,0 +1,47 @@
+package io.github.loadup.gateway.facade.spi;
+
+/*-
+ * #%L
+ * LoadUp Gateway Facade
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.Map;
+
+/**
+ * Runtime stats SPI interface. Implementations (typically proxy plugins holding connection pools
+ * or client references) expose a snapshot of their internal state, published under {@link
+ * #getStatsName()} by the gateway's admin endpoint.
+ */
+public interface RuntimeStatsProvider {
+
+  /**
+   * Name of the stats section, unique among the providers
+   *
+   * @return section name, e.g. {@code httpPool}
+   */
+  String getStatsName();
+
+  /**
+   * Snapshot of the current state, called on demand off the request path
+   *
+   * @return JSON-serializable values
+   */
+  Map<String, Object> getRuntimeStats();
+}
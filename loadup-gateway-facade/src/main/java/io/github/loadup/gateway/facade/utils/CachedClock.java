@@ -0,0 +1,74 @@
+package io.github.loadup.gateway.facade.utils;
+
+
+/*-
+ * #%L
+ * LoadUp Gateway Facade
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Millisecond-resolution wall clock that formats each millisecond at most once. Error responses and
+ * logs stamp many objects within the same millisecond under load; they share one formatted value.
+ */
+public final class CachedClock {
+
+  private static volatile Tick tick = newTick(System.currentTimeMillis());
+
+  private CachedClock() {}
+
+  /** Current local date-time, truncated to the millisecond */
+  public static LocalDateTime now() {
+    return current().time;
+  }
+
+  /** ISO-8601 text of {@link #now()} */
+  public static String nowText() {
+    return current().text;
+  }
+
+  /** UTF-8 bytes of {@link #nowText()}, shared: callers must not modify the array */
+  public static byte[] nowBytes() {
+    return current().bytes;
+  }
+
+  private static Tick current() {
+    long millis = System.currentTimeMillis();
+    Tick t = tick;
+    if (t.millis != millis) {
+      t = newTick(millis);
+      tick = t;
+    }
+    return t;
+  }
+
+  private static Tick newTick(long millis) {
+    LocalDateTime time =
+        LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    String text = time.toString();
+    return new Tick(millis, time, text, text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private record Tick(long millis, LocalDateTime time, String text, byte[] bytes) {}
+}
@@ -25,6 +25,7 @@ package io.github.loadup.gateway.facade.utils;
 import java.security.SecureRandom;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
 
@@ -34,14 +35,46 @@ public final class CommonUtils {
   private static final Pattern PATH_PATTERN = Pattern.compile("^/[a-zA-Z0-9/_-]*$");
   // SecureRandom for generating OpenTelemetry-compatible trace IDs
   private static final SecureRandom RANDOM = new SecureRandom();
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
   private CommonUtils() {}
 
   /**
    * Generate request ID (OpenTelemetry trace-id format: 32 lowercase hex characters representing 16
    * bytes)
+   *
+   * <p>Uses {@link ThreadLocalRandom}: non-blocking and contention-free on the request path. Use
+   * {@link #generateSecureRequestId()} where the id must not be predictable.
    */
   public static String generateRequestId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long high;
+    long low;
+    do {
+      high = random.nextLong();
+      low = random.nextLong();
+      // repeat if all-zero (OpenTelemetry disallows all-zero trace id)
+    } while (high == 0L && low == 0L);
+    char[] hexChars = new char[32];
+    longToLowerHex(high, hexChars, 0);
+    longToLowerHex(low, hexChars, 16);
+    return new String(hexChars);
+  }
+
+  /** Generate a span ID (OpenTelemetry span-id format: 16 lowercase hex characters, not zero) */
+  public static String generateSpanId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long id;
+    do {
+      id = random.nextLong();
+    } while (id == 0L);
+    char[] hexChars = new char[16];
+    longToLowerHex(id, hexChars, 0);
+    return new String(hexChars);
+  }
+
+  /** Generate request ID in the same format from a {@link SecureRandom} */
+  public static String generateSecureRequestId() {
     byte[] bytes = new byte[16];
     String traceId;
     do {
@@ -52,13 +85,19 @@ public final class CommonUtils {
     return traceId;
   }
 
+  private static void longToLowerHex(long value, char[] dest, int offset) {
+    for (int i = 15; i >= 0; i--) {
+      dest[offset + i] = HEX_DIGITS[(int) (value & 0x0F)];
+      value >>>= 4;
+    }
+  }
+
   private static String bytesToLowerHex(byte[] bytes) {
-    char[] hexArray = "0123456789abcdef".toCharArray();
     char[] hexChars = new char[bytes.length * 2];
     for (int j = 0; j < bytes.length; j++) {
       int v = bytes[j] & 0xFF;
-      hexChars[j * 2] = hexArray[v >>> 4];
-      hexChars[j * 2 + 1] = hexArray[v & 0x0F];
+      hexChars[j * 2] = HEX_DIGITS[v >>> 4];
+      hexChars[j * 2 + 1] = HEX_DIGITS[v & 0x0F];
     }
     return new String(hexChars);
   }
@@ -22,8 +22,12 @@ package io.github.loadup.gateway.facade.utils;
  * #L%
  */
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 
@@ -46,6 +50,18 @@ public final class JsonUtils {
     }
   }
 
+  /** Convert an object to UTF-8 JSON bytes, strings are taken as already serialized */
+  public static byte[] toJsonBytes(Object obj) {
+    try {
+      if (obj instanceof String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+      }
+      return OBJECT_MAPPER.writeValueAsBytes(obj);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
   /** Convert JSON string to an object */
   public static <T> T fromJson(String json, Class<T> clazz) {
     try {
@@ -65,16 +81,32 @@ public final class JsonUtils {
     }
   }
 
-  /** Convert an object to a Map via JSON */
+  /** Convert an object to a Map, without a JSON text round trip for objects */
   @SuppressWarnings("unchecked")
   public static Map<String, Object> toMap(Object obj) {
     try {
-      return toMap(toJson(obj));
+      if (obj instanceof String str) {
+        return toMap(str);
+      }
+      if (obj instanceof Map) {
+        return (Map<String, Object>) obj;
+      }
+      return OBJECT_MAPPER.convertValue(obj, Map.class);
     } catch (Exception e) {
       return null;
     }
   }
 
+  /** Reader bound to the given (possibly generic) type, thread-safe and meant to be cached */
+  public static ObjectReader readerFor(Type type) {
+    return OBJECT_MAPPER.readerFor(OBJECT_MAPPER.constructType(type));
+  }
+
+  /** Streaming factory bound to the shared mapper, so generators can write arbitrary objects */
+  public static JsonFactory jsonFactory() {
+    return OBJECT_MAPPER.getFactory();
+  }
+
   /** Parse JSON node */
   public static JsonNode parseJson(String json) {
     try {
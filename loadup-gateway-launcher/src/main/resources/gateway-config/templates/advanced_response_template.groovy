@@ -96,7 +96,7 @@ if (response.statusCode == 200) {
     response.headers.put("Cache-Control", "no-cache, no-store, must-revalidate")
 }
 
-log.info("Advanced response template processed - Status: {}, RequestId: {}",
+log.debug("Advanced response template processed - Status: {}, RequestId: {}",
         response.statusCode, response.requestId)
 
 return response
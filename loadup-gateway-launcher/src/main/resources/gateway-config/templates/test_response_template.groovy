@@ -31,6 +31,6 @@ if (response.body != null && response.statusCode == 200) {
 
 }
 
-log.info("Response template processed for: {}", response.requestId)
+log.debug("Response template processed for: {}", response.requestId)
 
 return response
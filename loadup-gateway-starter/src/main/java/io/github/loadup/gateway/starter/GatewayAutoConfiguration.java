@@ -23,18 +23,36 @@ package io.github.loadup.gateway.starter;
  */
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.loadup.gateway.core.accesslog.AccessLog;
 import io.github.loadup.gateway.core.action.*;
 import io.github.loadup.gateway.core.handler.GatewayHandlerAdapter;
 import io.github.loadup.gateway.core.handler.GatewayHandlerMapping;
+import io.github.loadup.gateway.core.metrics.GatewayMetrics;
 import io.github.loadup.gateway.core.plugin.PluginManager;
 import io.github.loadup.gateway.core.router.RouteResolver;
+import io.github.loadup.gateway.core.shedding.LoadMonitor;
+import io.github.loadup.gateway.core.slowlog.SlowRequestRecorder;
 import io.github.loadup.gateway.core.template.TemplateEngine;
+import io.github.loadup.gateway.core.tracing.FileSpanExporter;
+import io.github.loadup.gateway.core.tracing.GatewayTracer;
+import io.github.loadup.gateway.core.tracing.InMemorySpanExporter;
+import io.github.loadup.gateway.core.tracing.SpanExporter;
 import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.spi.GatewayRequestListener;
 import io.github.loadup.gateway.facade.spi.ProxyProcessor;
 import io.github.loadup.gateway.facade.spi.RepositoryPlugin;
+import io.github.loadup.gateway.facade.spi.RouteTableListener;
+import io.github.loadup.gateway.facade.spi.RuntimeStatsProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -50,8 +68,11 @@ public class GatewayAutoConfiguration {
   @Bean
   @ConditionalOnMissingBean
   public RouteResolver routeResolver(
-      RepositoryPlugin repositoryPlugin, GatewayProperties gatewayProperties) {
-    return new RouteResolver(repositoryPlugin, gatewayProperties);
+      RepositoryPlugin repositoryPlugin,
+      GatewayProperties gatewayProperties,
+      ObjectProvider<RouteTableListener> routeTableListeners) {
+    return new RouteResolver(
+        repositoryPlugin, gatewayProperties, routeTableListeners.orderedStream().toList());
   }
 
   @Bean
@@ -62,8 +83,8 @@ public class GatewayAutoConfiguration {
 
   @Bean
   @ConditionalOnMissingBean
-  public TemplateEngine templateEngine() {
-    return new TemplateEngine();
+  public TemplateEngine templateEngine(GatewayProperties gatewayProperties) {
+    return new TemplateEngine(gatewayProperties.getTemplate());
   }
 
   @Bean
@@ -74,8 +95,21 @@ public class GatewayAutoConfiguration {
 
   @Bean
   @ConditionalOnMissingBean
-  public ProxyAction proxyAction(PluginManager pluginManager) {
-    return new ProxyAction(pluginManager);
+  public LoadMonitor loadMonitor(GatewayProperties gatewayProperties) {
+    return new LoadMonitor(gatewayProperties);
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public LoadSheddingAction loadSheddingAction(
+      LoadMonitor loadMonitor, GatewayProperties gatewayProperties) {
+    return new LoadSheddingAction(loadMonitor, gatewayProperties);
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public ProxyAction proxyAction(PluginManager pluginManager, GatewayProperties gatewayProperties) {
+    return new ProxyAction(pluginManager, gatewayProperties.getAsyncThreads());
   }
 
   @Bean
@@ -101,6 +135,7 @@ public class GatewayAutoConfiguration {
   @ConditionalOnMissingBean
   public ActionDispatcher actionDispatcher(
       RouteAction routeAction,
+      LoadSheddingAction loadSheddingAction,
       RequestTemplateAction requestTemplateAction,
       ResponseWrapperAction responseWrapperAction,
       ResponseTemplateAction responseTemplateAction,
@@ -108,23 +143,116 @@ public class GatewayAutoConfiguration {
     List<GatewayAction> actionChain =
         Arrays.asList(
             routeAction, // 1. 寻址
-            requestTemplateAction, // 2. 处理请求参数
-            proxyAction, // 3. 处于最内层，发送请求
-            responseTemplateAction, // 4.  转换结果
-            responseWrapperAction // 5.  包装结果
+            loadSheddingAction, // 2. 过载时按优先级拒绝
+            requestTemplateAction, // 3. 处理请求参数
+            proxyAction, // 4. 处于最内层，发送请求
+            responseTemplateAction, // 5.  转换结果
+            responseWrapperAction // 6.  包装结果
             );
     return new ActionDispatcher(actionChain);
   }
 
+  /** Request and stage timers, in the application's registry or Micrometer's global one */
   @Bean
   @ConditionalOnMissingBean
-  public GatewayHandlerAdapter gatewayHandlerAdapter(ActionDispatcher actionDispatcher) {
-    return new GatewayHandlerAdapter(actionDispatcher);
+  @ConditionalOnProperty(
+      prefix = "loadup.gateway.metrics",
+      name = "enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public GatewayMetrics gatewayMetrics(
+      ObjectProvider<MeterRegistry> meterRegistry, GatewayProperties gatewayProperties) {
+    return new GatewayMetrics(
+        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), gatewayProperties.getMetrics());
+  }
+
+  /**
+   * Span exporter selected by loadup.gateway.tracing.exporter, unless one is defined; the tracer
+   * shuts it down after the last export
+   */
+  @Bean(destroyMethod = "")
+  @ConditionalOnMissingBean
+  @ConditionalOnProperty(prefix = "loadup.gateway.tracing", name = "enabled", havingValue = "true")
+  public SpanExporter spanExporter(GatewayProperties gatewayProperties) {
+    GatewayProperties.TracingProperties tracing = gatewayProperties.getTracing();
+    if ("file".equalsIgnoreCase(tracing.getExporter())) {
+      return new FileSpanExporter(Path.of(tracing.getFilePath()));
+    }
+    return new InMemorySpanExporter();
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  @ConditionalOnProperty(prefix = "loadup.gateway.tracing", name = "enabled", havingValue = "true")
+  public GatewayTracer gatewayTracer(
+      GatewayProperties gatewayProperties, SpanExporter spanExporter) {
+    return new GatewayTracer(gatewayProperties.getTracing(), spanExporter);
   }
 
   @Bean
   @ConditionalOnMissingBean
-  public GatewayHandlerMapping gatewayHandlerMapping(RepositoryPlugin repositoryPlugin) {
-    return new GatewayHandlerMapping(repositoryPlugin);
+  @ConditionalOnProperty(
+      prefix = "loadup.gateway.access-log",
+      name = "enabled",
+      havingValue = "true")
+  public AccessLog accessLog(GatewayProperties gatewayProperties) {
+    return new AccessLog(gatewayProperties.getAccessLog());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  @ConditionalOnProperty(
+      prefix = "loadup.gateway.slow-requests",
+      name = "enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public SlowRequestRecorder slowRequestRecorder(GatewayProperties gatewayProperties) {
+    return new SlowRequestRecorder(gatewayProperties.getSlowRequests());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public GatewayHandlerAdapter gatewayHandlerAdapter(
+      ActionDispatcher actionDispatcher, ObjectProvider<GatewayRequestListener> requestListeners) {
+    return new GatewayHandlerAdapter(actionDispatcher, requestListeners.orderedStream().toList());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public GatewayHandlerMapping gatewayHandlerMapping(RouteResolver routeResolver) {
+    return new GatewayHandlerMapping(routeResolver);
+  }
+
+  /** Admin endpoints, when Spring Boot Actuator is on the classpath */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(Endpoint.class)
+  static class GatewayEndpointConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GatewayEndpoint gatewayEndpoint(
+        RouteResolver routeResolver,
+        TemplateEngine templateEngine,
+        LoadMonitor loadMonitor,
+        GatewayProperties gatewayProperties,
+        ObjectProvider<RuntimeStatsProvider> statsProviders) {
+      return new GatewayEndpoint(
+          routeResolver,
+          templateEngine,
+          loadMonitor,
+          gatewayProperties,
+          statsProviders.orderedStream().toList());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        prefix = "loadup.gateway.slow-requests",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+    public SlowRequestsEndpoint slowRequestsEndpoint(SlowRequestRecorder slowRequestRecorder) {
+      return new SlowRequestsEndpoint(slowRequestRecorder);
+    }
   }
 }
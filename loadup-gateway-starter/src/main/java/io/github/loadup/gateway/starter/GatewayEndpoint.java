@@ -0,0 +1,167 @@
+package io.github.loadup.gateway.starter;
+
+/*-
+ * #%L
+ * LoadUp Gateway Starter
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.core.router.RouteResolver;
+import io.github.loadup.gateway.core.shedding.LoadMonitor;
+import io.github.loadup.gateway.core.template.TemplateEngine;
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.RuntimeStatsProvider;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint {@code gateway} for runtime introspection:
+ *
+ * <ul>
+ *   <li>{@code GET} - route table, template cache, load shedding and plugin stats
+ *   <li>{@code POST} - reload the route table from the repository
+ *   <li>{@code DELETE} - clear the template caches
+ *   <li>{@code DELETE /{routeId}} - drop one route and its templates from the caches
+ * </ul>
+ *
+ * Exposed over HTTP once included in {@code management.endpoints.web.exposure.include}.
+ */
+@Slf4j
+@Endpoint(id = "gateway")
+public class GatewayEndpoint {
+
+  private static final String[] PRIORITY_TIERS = {"critical", "high", "normal", "low"};
+
+  private final RouteResolver routeResolver;
+
+  private final TemplateEngine templateEngine;
+
+  private final LoadMonitor loadMonitor;
+
+  private final GatewayProperties gatewayProperties;
+
+  private final List<RuntimeStatsProvider> statsProviders;
+
+  public GatewayEndpoint(
+      RouteResolver routeResolver,
+      TemplateEngine templateEngine,
+      LoadMonitor loadMonitor,
+      GatewayProperties gatewayProperties,
+      List<RuntimeStatsProvider> statsProviders) {
+    this.routeResolver = routeResolver;
+    this.templateEngine = templateEngine;
+    this.loadMonitor = loadMonitor;
+    this.gatewayProperties = gatewayProperties;
+    this.statsProviders = statsProviders;
+  }
+
+  @ReadOperation
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("routes", routeStats());
+    stats.put("templates", templateStats());
+    stats.put("loadShedding", loadSheddingStats());
+    for (RuntimeStatsProvider provider : statsProviders) {
+      try {
+        stats.put(provider.getStatsName(), provider.getRuntimeStats());
+      } catch (RuntimeException e) {
+        stats.put(provider.getStatsName(), Map.of("error", String.valueOf(e.getMessage())));
+      }
+    }
+    return stats;
+  }
+
+  /** Reload the route table, as the periodic refresh does */
+  @WriteOperation
+  public Map<String, Object> refreshRoutes() {
+    routeResolver.refreshRoutes();
+    log.info("Route table refreshed through the gateway endpoint");
+    return routeStats();
+  }
+
+  /** Clear all compiled templates */
+  @DeleteOperation
+  public Map<String, Object> clearTemplateCache() {
+    templateEngine.clearScriptCache();
+    return templateStats();
+  }
+
+  /** Reload one route from the repository on its next request and recompile its templates */
+  @DeleteOperation
+  public Map<String, Object> evictRoute(@Selector String routeId) {
+    List<RouteConfig> evicted = routeResolver.evict(routeId);
+    int templates = 0;
+    for (RouteConfig route : evicted) {
+      templates += templateEngine.evict(route.getRequestTemplate()) ? 1 : 0;
+      templates += templateEngine.evict(route.getResponseTemplate()) ? 1 : 0;
+    }
+    log.info("Route {} evicted through the gateway endpoint", routeId);
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("routeId", routeId);
+    result.put("routes", evicted.size());
+    result.put("templates", templates);
+    return result;
+  }
+
+  private Map<String, Object> routeStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("tableVersion", routeResolver.getTableVersion());
+    stats.put("cached", routeResolver.getCachedRouteCount());
+    stats.put("templated", routeResolver.getTemplateRouteCount());
+    return stats;
+  }
+
+  private Map<String, Object> templateStats() {
+    TemplateEngine.CacheStats cache = templateEngine.getCacheStats();
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("scripts", cache.scripts());
+    stats.put("mappings", cache.mappings());
+    stats.put("hits", cache.hits());
+    stats.put("misses", cache.misses());
+    stats.put("hitRatio", cache.hitRatio());
+    stats.put("compiledClassBytes", cache.compiledClassBytes());
+    return stats;
+  }
+
+  private Map<String, Object> loadSheddingStats() {
+    Map<String, Object> rejected = new LinkedHashMap<>();
+    for (int priority = GatewayConstants.Priority.CRITICAL;
+        priority <= GatewayConstants.Priority.LOW;
+        priority++) {
+      rejected.put(PRIORITY_TIERS[priority], loadMonitor.getRejected(priority));
+    }
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("enabled", gatewayProperties.getLoadShedding().isEnabled());
+    stats.put("inFlight", loadMonitor.getInFlight());
+    stats.put("cpuLoad", loadMonitor.getCpuLoad());
+    stats.put("pressure", loadMonitor.pressure(0L));
+    stats.put("sheddingLevel", loadMonitor.sheddingLevel(0L));
+    stats.put("rejected", rejected);
+    return stats;
+  }
+}
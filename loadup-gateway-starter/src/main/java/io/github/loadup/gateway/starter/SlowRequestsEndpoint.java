@@ -0,0 +1,61 @@
+package io.github.loadup.gateway.starter;
+
+/*-
+ * #%L
+ * LoadUp Gateway Starter
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.core.slowlog.SlowRequestRecorder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint {@code slowrequests}: {@code GET} lists the latest captured slow requests with
+ * their stage breakdown, newest first ({@code ?limit=n}, default 50); {@code DELETE} drops them.
+ */
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+  private static final int DEFAULT_LIMIT = 50;
+
+  private final SlowRequestRecorder recorder;
+
+  public SlowRequestsEndpoint(SlowRequestRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  @ReadOperation
+  public Map<String, Object> slowRequests(@Nullable Integer limit) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("captured", recorder.getCaptured());
+    result.put("defaultThresholdMs", recorder.getDefaultThresholdMs());
+    result.put("requests", recorder.recent(limit != null ? limit : DEFAULT_LIMIT));
+    return result;
+  }
+
+  @DeleteOperation
+  public void clear() {
+    recorder.clear();
+  }
+}
@@ -0,0 +1,143 @@
+package io.github.loadup.gateway.core.router;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Routes written to the snapshot come back as written, a damaged snapshot is ignored */
+class RouteSnapshotTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void roundTripKeepsRoutes() throws IOException {
+    RouteSnapshot snapshot = new RouteSnapshot(dir.resolve("routes.snapshot"));
+    List<RouteConfig> routes = routes();
+    assertTrue(snapshot.write(routes));
+
+    List<RouteConfig> read =
+        new RouteSnapshot(snapshot.getFile()).read().orElseThrow(AssertionError::new);
+    assertEquals(routes.size(), read.size());
+    for (int i = 0; i < routes.size(); i++) {
+      RouteConfig expected = routes.get(i);
+      RouteConfig actual = read.get(i);
+      assertEquals(expected.getPath(), actual.getPath());
+      assertEquals(expected.getMethod(), actual.getMethod());
+      assertEquals(expected.getTarget(), actual.getTarget());
+      assertEquals(expected.getRequestTemplate(), actual.getRequestTemplate());
+      assertEquals(expected.getResponseTemplate(), actual.getResponseTemplate());
+      assertEquals(expected.isEnabled(), actual.isEnabled());
+      assertEquals(expected.getProperties(), actual.getProperties());
+      assertEquals(expected.getTimeout(), actual.getTimeout());
+    }
+  }
+
+  @Test
+  void unchangedTableIsNotWrittenAgain() throws IOException {
+    RouteSnapshot snapshot = new RouteSnapshot(dir.resolve("routes.snapshot"));
+    assertTrue(snapshot.write(routes()));
+    assertFalse(snapshot.write(routes()));
+  }
+
+  @Test
+  void missingSnapshotIsIgnored() {
+    assertTrue(new RouteSnapshot(dir.resolve("missing.snapshot")).read().isEmpty());
+  }
+
+  @Test
+  void truncatedSnapshotIsIgnored() throws IOException {
+    Path file = written();
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+    assertTrue(new RouteSnapshot(file).read().isEmpty());
+
+    Files.write(file, Arrays.copyOf(bytes, 10));
+    assertTrue(new RouteSnapshot(file).read().isEmpty());
+  }
+
+  @Test
+  void checksumMismatchIsIgnored() throws IOException {
+    Path file = written();
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length - 1] ^= 0x01;
+    Files.write(file, bytes);
+    assertTrue(new RouteSnapshot(file).read().isEmpty());
+  }
+
+  @Test
+  void otherFormatVersionIsIgnored() throws IOException {
+    Path file = written();
+    byte[] bytes = Files.readAllBytes(file);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    buffer.putInt(4, buffer.getInt(4) + 1);
+    Files.write(file, bytes);
+    assertTrue(new RouteSnapshot(file).read().isEmpty());
+  }
+
+  private Path written() throws IOException {
+    RouteSnapshot snapshot = new RouteSnapshot(dir.resolve("routes.snapshot"));
+    assertTrue(snapshot.write(routes()));
+    assertTrue(new RouteSnapshot(snapshot.getFile()).read().isPresent());
+    return snapshot.getFile();
+  }
+
+  private static List<RouteConfig> routes() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("timeout", 3000L);
+    properties.put("retryCount", 2);
+    properties.put("wrapResponse", true);
+    properties.put("weight", 0.5);
+    properties.put("owner", "payments");
+    properties.put("headers", Map.of("X-Tenant", "t1"));
+    return List.of(
+        RouteConfig.builder()
+            .path("/api/orders/{id}")
+            .method("GET")
+            .target("http://orders:8080/orders")
+            .requestTemplate("return request")
+            .enabled(true)
+            .properties(properties)
+            .build(),
+        RouteConfig.builder()
+            .path("/api/legacy")
+            .method("POST")
+            .target("bean://legacyService:handle")
+            .responseTemplate("return response")
+            .enabled(false)
+            .build());
+  }
+}
@@ -0,0 +1,189 @@
+package io.github.loadup.gateway.plugins;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.loadup.gateway.facade.annotation.BodyParam;
+import io.github.loadup.gateway.facade.annotation.HeaderParam;
+import io.github.loadup.gateway.facade.annotation.PathParam;
+import io.github.loadup.gateway.facade.annotation.QueryParam;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.exception.ErrorCode;
+import io.github.loadup.gateway.facade.exception.RouteException;
+import io.github.loadup.gateway.facade.exception.ValidationException;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Parameter sources, type conversion and missing values of bean method binding */
+class ParameterBindersTest {
+
+  /** Methods whose parameters are bound; never called */
+  @SuppressWarnings("unused")
+  static class Service {
+
+    void annotated(
+        @PathParam("id") long id,
+        @QueryParam("page") Integer page,
+        @QueryParam("tags") List<String> tags,
+        @HeaderParam("X-Tenant") String tenant,
+        @BodyParam("/user/name") String name) {}
+
+    void byType(GatewayRequest request, String text) {}
+
+    void body(@BodyParam Map<String, Object> body, @BodyParam("/qty") int qty) {}
+
+    void configured(int id, int page, String name) {}
+
+    void optional(@PathParam("id") Long id, @QueryParam("page") int page) {}
+  }
+
+  @Test
+  void annotatedSourcesAreConverted() {
+    GatewayRequest request = request("{\"user\":{\"name\":\"n\"}}");
+    request.setPathParameters(Map.of("id", "42"));
+    request.setQueryParameters(Map.of("page", List.of("2", "3"), "tags", List.of("a", "b")));
+    request.getHeaders().put("X-Tenant", "t1");
+
+    assertArrayEquals(
+        new Object[] {42L, 2, List.of("a", "b"), "t1", "n"}, bind("annotated", route(), request));
+  }
+
+  @Test
+  void unannotatedParametersAreBoundByType() {
+    GatewayRequest request = request("{\"a\":1}");
+    Object[] args = bind("byType", route(), request);
+    assertSame(request, args[0]);
+    assertEquals("{\"a\":1}", args[1]);
+  }
+
+  @Test
+  void bodyIsReadWholeOrAtAPointer() {
+    Object[] args = bind("body", route(), request("{\"qty\":3,\"sku\":\"x\"}"));
+    assertEquals(Map.of("qty", 3, "sku", "x"), args[0]);
+    assertEquals(3, args[1]);
+  }
+
+  @Test
+  void paramBindingsOverrideTheParameters() {
+    GatewayRequest request = request("{\"user\":{\"name\":\"n\"}}");
+    request.setPathParameters(Map.of("id", "42"));
+    request.setQueryParameters(Map.of("page", List.of("2")));
+    RouteConfig route = route("path:id, query:page, body:/user/name");
+    assertArrayEquals(new Object[] {42, 2, "n"}, bind("configured", route, request));
+
+    RouteConfig listed = route(List.of("path:id", "query:page", "text"));
+    assertArrayEquals(new Object[] {42, 2, request.getBody()}, bind("configured", listed, request));
+  }
+
+  @Test
+  void invalidParamBindingsAreRejected() {
+    Method method = method("configured");
+    assertThrows(
+        RouteException.class, () -> ParameterBinders.compile(method, route("path:id, query:page")));
+    assertThrows(
+        RouteException.class,
+        () -> ParameterBinders.compile(method, route("path:id, query:page, cookie:name")));
+  }
+
+  @Test
+  void missingValuesBindToNullExceptForPrimitives() {
+    GatewayRequest request = request("{}");
+    request.setQueryParameters(Map.of("page", List.of("1")));
+    assertArrayEquals(new Object[] {null, 1}, bind("optional", route(), request));
+
+    ValidationException e =
+        assertThrows(ValidationException.class, () -> bind("annotated", route(), request("{}")));
+    assertEquals(ErrorCode.PARAM_REQUIRED.getCode(), e.getErrorCode());
+
+    ValidationException body =
+        assertThrows(ValidationException.class, () -> bind("body", route(), request("{}")));
+    assertEquals(ErrorCode.PARAM_REQUIRED.getCode(), body.getErrorCode());
+  }
+
+  @Test
+  void unconvertibleValuesAreInvalidFormat() {
+    GatewayRequest request = request("{}");
+    request.setPathParameters(Map.of("id", "abc"));
+    request.setQueryParameters(Map.of("page", List.of("1")));
+    ValidationException e =
+        assertThrows(ValidationException.class, () -> bind("optional", route(), request));
+    assertEquals(ErrorCode.PARAM_INVALID_FORMAT.getCode(), e.getErrorCode());
+
+    ValidationException body =
+        assertThrows(ValidationException.class, () -> bind("body", route(), request("{\"qty\"")));
+    assertEquals(ErrorCode.PARAM_INVALID_FORMAT.getCode(), body.getErrorCode());
+  }
+
+  private static Object[] bind(String methodName, RouteConfig route, GatewayRequest request) {
+    ParameterBinders.Binder[] binders = ParameterBinders.compile(method(methodName), route);
+    Object[] args = new Object[binders.length];
+    for (int i = 0; i < binders.length; i++) {
+      args[i] = binders[i].bind(request);
+    }
+    return args;
+  }
+
+  private static Method method(String name) {
+    for (Method method : Service.class.getDeclaredMethods()) {
+      if (method.getName().equals(name)) {
+        return method;
+      }
+    }
+    throw new IllegalArgumentException(name);
+  }
+
+  private static RouteConfig route() {
+    return route(null);
+  }
+
+  private static RouteConfig route(Object paramBindings) {
+    Map<String, Object> properties = new HashMap<>();
+    if (paramBindings != null) {
+      properties.put(GatewayConstants.PropertyKeys.PARAM_BINDINGS, paramBindings);
+    }
+    return RouteConfig.builder()
+        .path("/orders/{id}")
+        .method("POST")
+        .target("bean://service:configured")
+        .enabled(true)
+        .properties(properties)
+        .build();
+  }
+
+  private static GatewayRequest request(String body) {
+    GatewayRequest request = new GatewayRequest();
+    request.setHeaders(new HashMap<>());
+    request.setBodyBytes(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+}
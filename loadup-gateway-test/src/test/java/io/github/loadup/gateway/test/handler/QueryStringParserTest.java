@@ -0,0 +1,113 @@
+package io.github.loadup.gateway.test.handler;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.loadup.gateway.core.handler.QueryStringParser;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Decoding and splitting of {@code application/x-www-form-urlencoded} query strings */
+class QueryStringParserTest {
+
+  @Test
+  void repeatedNamesKeepTheirValuesInOrder() {
+    Map<String, List<String>> params = QueryStringParser.parse("a=1&b=2&a=3");
+    assertEquals(List.of("a", "b"), List.copyOf(params.keySet()));
+    assertEquals(List.of("1", "3"), params.get("a"));
+    assertEquals(List.of("2"), params.get("b"));
+  }
+
+  @Test
+  void plusAndPercentEscapesAreDecoded() {
+    Map<String, List<String>> params =
+        QueryStringParser.parse("q=hello+world&name=%E4%BD%A0%E5%A5%BD&%61%2Bb=%2f");
+    assertEquals(List.of("hello world"), params.get("q"));
+    assertEquals(List.of("\u4f60\u597d"), params.get("name"));
+    assertEquals(List.of("/"), params.get("a+b"));
+  }
+
+  @Test
+  void malformedEscapesAreKeptLiterally() {
+    Map<String, List<String>> params = QueryStringParser.parse("p=100%&q=%zz&r=%4&s=%%41");
+    assertEquals(List.of("100%"), params.get("p"));
+    assertEquals(List.of("%zz"), params.get("q"));
+    assertEquals(List.of("%4"), params.get("r"));
+    assertEquals(List.of("%A"), params.get("s"));
+  }
+
+  @Test
+  void rawNonAsciiIsKept() {
+    Map<String, List<String>> params = QueryStringParser.parse("n=\u00e9+x&e=\ud83d\ude00");
+    assertEquals(List.of("\u00e9 x"), params.get("n"));
+    assertEquals(List.of("\ud83d\ude00"), params.get("e"));
+  }
+
+  @Test
+  void nameWithoutValueGetsEmptyString() {
+    Map<String, List<String>> params = QueryStringParser.parse("flag&x=&y=a=b");
+    assertEquals(List.of(""), params.get("flag"));
+    assertEquals(List.of(""), params.get("x"));
+    assertEquals(List.of("a=b"), params.get("y"));
+  }
+
+  @Test
+  void emptyNamesAndSegmentsAreSkipped() {
+    assertEquals(Map.of("a", List.of("1")), QueryStringParser.parse("=v&&a=1&"));
+    assertEquals(Map.of("a", List.of("1")), QueryStringParser.parse("&a=1"));
+    assertTrue(QueryStringParser.parse("").isEmpty());
+    assertTrue(QueryStringParser.parse(null).isEmpty());
+  }
+
+  @Test
+  void emptyResultIsMutable() {
+    Map<String, List<String>> params = QueryStringParser.parse(null);
+    params.put("a", List.of("1"));
+    assertEquals(List.of("1"), params.get("a"));
+  }
+
+  @Test
+  void decodeReadsOnlyTheGivenRange() {
+    assertEquals("a b", QueryStringParser.decode("xa+bx", 1, 4));
+    assertEquals("plain", QueryStringParser.decode("&plain&", 1, 6));
+    assertEquals("", QueryStringParser.decode("abc", 1, 1));
+  }
+
+  @Test
+  void lazyViewMatchesTheParsedMap() {
+    String query = "a=1&b=x+y&a=2";
+    Map<String, List<String>> lazy = QueryStringParser.lazy(query);
+    assertEquals(QueryStringParser.parse(query), lazy);
+    assertEquals(List.of("1", "2"), lazy.get("a"));
+
+    lazy.put("c", List.of("3"));
+    lazy.remove("a");
+    assertEquals(Map.of("b", List.of("x y"), "c", List.of("3")), lazy);
+
+    assertTrue(QueryStringParser.lazy(null).isEmpty());
+    assertTrue(QueryStringParser.lazy("").isEmpty());
+  }
+}
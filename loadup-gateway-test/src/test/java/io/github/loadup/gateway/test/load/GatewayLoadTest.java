@@ -0,0 +1,230 @@
+package io.github.loadup.gateway.test.load;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.test.GatewayTestApplication;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import org.apache.dubbo.config.ServiceConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * End-to-end load test: drives the gateway over real HTTP at a fixed request rate across the
+ * HTTP, BEAN and RPC proxies, a templated route and a wrapped route, and reports the latency
+ * distribution per route. The HTTP upstream is an embedded server with configurable latency,
+ * jitter, error rate and body size; the BEAN and RPC targets run in-process.
+ *
+ * <p>Disabled by default, run with {@code mvn test -pl loadup-gateway-test -Dtest=GatewayLoadTest
+ * -Dloadtest=true}. Tunables (system properties): {@code loadtest.rate} (requests per second over
+ * all routes), {@code loadtest.warmup} and {@code loadtest.duration} (seconds), {@code
+ * loadtest.upstream.latencyMs}, {@code loadtest.upstream.jitterMs}, {@code
+ * loadtest.upstream.errorRate}, {@code loadtest.upstream.bodyBytes}, and the thresholds {@code
+ * loadtest.maxErrorRate} and {@code loadtest.maxP99Ms}. HdrHistogram logs of each route are written
+ * to {@code target/loadtest}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(
+    classes = {GatewayTestApplication.class, GatewayLoadTest.LoadTestConfiguration.class},
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "loadup.gateway.response.wrap=false",
+      "loadup.gateway.proxy-plugins.rpc.scope=local",
+      "logging.level.io.github.loadup=WARN"
+    })
+class GatewayLoadTest {
+
+  private static final Logger log = LoggerFactory.getLogger(GatewayLoadTest.class);
+
+  private static final String UPSTREAM_PROFILE = "default";
+
+  private static final String REQUEST_MAPPING =
+      GatewayConstants.Template.MAPPING_PREFIX
+          + "{\"steps\": ["
+          + "{\"op\": \"setHeader\", \"name\": \"X-Load-Test\", \"value\": \"true\"},"
+          + "{\"op\": \"copy\", \"from\": \"/user/name\", \"path\": \"/name\"},"
+          + "{\"op\": \"set\", \"path\": \"/_meta/requestId\", \"from\": \"requestId\"},"
+          + "{\"op\": \"delete\", \"path\": \"/user/password\"}"
+          + "]}";
+
+  private static final String REQUEST_BODY =
+      "{\"user\": {\"name\": \"load\", \"password\": \"x\"}}";
+
+  private static final MockUpstream UPSTREAM = startUpstream();
+
+  @LocalServerPort private int port;
+
+  @AfterAll
+  static void stopUpstream() {
+    UPSTREAM.close();
+  }
+
+  @Test
+  void sustainsTargetRate() throws IOException {
+    double rate = Double.parseDouble(System.getProperty("loadtest.rate", "500"));
+    Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L));
+    Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 30L));
+    double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01"));
+    String maxP99Ms = System.getProperty("loadtest.maxP99Ms");
+
+    // Upstream errors are part of the profile, not of the gateway
+    double upstreamErrorRate = upstreamProfile().errorRate();
+
+    HttpClient client =
+        HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    List<OpenLoopLoadGenerator.Target> targets =
+        List.of(
+            new OpenLoopLoadGenerator.Target("http", get("/load/http")),
+            new OpenLoopLoadGenerator.Target("bean", post("/load/bean", REQUEST_BODY)),
+            new OpenLoopLoadGenerator.Target("rpc", post("/load/rpc", "\"load\"")),
+            new OpenLoopLoadGenerator.Target("templated", post("/load/templated", REQUEST_BODY)),
+            new OpenLoopLoadGenerator.Target("wrapped", post("/load/wrapped", REQUEST_BODY)));
+
+    List<OpenLoopLoadGenerator.Stats> stats =
+        new OpenLoopLoadGenerator(client, rate)
+            .run(targets, warmup, duration, Duration.ofSeconds(10));
+
+    log.info("Gateway load test at {} req/s\n{}", rate, LoadReport.format(stats));
+    LoadReport.writeHistograms(Path.of("target", "loadtest"), stats);
+
+    for (OpenLoopLoadGenerator.Stats route : stats) {
+      long total = route.requests();
+      double allowed =
+          "http".equals(route.name()) ? maxErrorRate + upstreamErrorRate : maxErrorRate;
+      double errorRate = total == 0 ? 1.0 : (double) route.errors() / total;
+      assertTrue(
+          errorRate <= allowed,
+          () -> route.name() + " error rate " + errorRate + " exceeds " + allowed);
+      if (maxP99Ms != null) {
+        double p99Ms = route.latencyMicros().getValueAtPercentile(99.0) / 1000.0;
+        double limit = Double.parseDouble(maxP99Ms);
+        assertTrue(p99Ms <= limit, () -> route.name() + " p99 " + p99Ms + "ms exceeds " + limit);
+      }
+    }
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+  }
+
+  private HttpRequest post(String path, String body) {
+    return HttpRequest.newBuilder(uri(path))
+        .timeout(Duration.ofSeconds(30))
+        .header("Content-Type", GatewayConstants.ContentType.JSON)
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://127.0.0.1:" + port + path);
+  }
+
+  private static MockUpstream.Profile upstreamProfile() {
+    return new MockUpstream.Profile(
+        UPSTREAM_PROFILE,
+        Long.getLong("loadtest.upstream.latencyMs", 5L) * 1000L,
+        Long.getLong("loadtest.upstream.jitterMs", 2L) * 1000L,
+        Double.parseDouble(System.getProperty("loadtest.upstream.errorRate", "0")),
+        Integer.getInteger("loadtest.upstream.bodyBytes", 1024));
+  }
+
+  private static MockUpstream startUpstream() {
+    try {
+      return new MockUpstream(List.of(upstreamProfile()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Routes and in-process targets of the load test, registered only by this test's context */
+  static class LoadTestConfiguration {
+
+    @Bean
+    @Primary
+    InMemoryRepository loadTestRepository() {
+      return new InMemoryRepository(
+          List.of(
+              route("/load/http", "GET", UPSTREAM.url(UPSTREAM_PROFILE)).build(),
+              route("/load/bean", "POST", "bean://" + LoadTestServices.ECHO_BEAN + ":echo")
+                  .build(),
+              route("/load/rpc", "POST", "rpc://" + GreetingService.class.getName() + ":greet")
+                  .build(),
+              route("/load/templated", "POST", "bean://" + LoadTestServices.ECHO_BEAN + ":echo")
+                  .requestTemplate(REQUEST_MAPPING)
+                  .responseTemplate(classpathTemplate("templates/test_response_template.groovy"))
+                  .build(),
+              route("/load/wrapped", "POST", "bean://" + LoadTestServices.ECHO_BEAN + ":echo")
+                  .properties(Map.of(GatewayConstants.PropertyKeys.WRAP_RESPONSE, true))
+                  .build()));
+    }
+
+    @Bean(LoadTestServices.ECHO_BEAN)
+    LoadTestServices.EchoService loadTestEchoService() {
+      return new LoadTestServices.EchoService();
+    }
+
+    @Bean(destroyMethod = "unexport")
+    ServiceConfig<GreetingService> greetingService() {
+      return LoadTestServices.exportGreetingService();
+    }
+
+    private static RouteConfig.RouteConfigBuilder route(String path, String method, String target) {
+      return RouteConfig.builder().path(path).method(method).target(target).enabled(true);
+    }
+
+    private static String classpathTemplate(String resource) {
+      try (InputStream in = GatewayLoadTest.class.getClassLoader().getResourceAsStream(resource)) {
+        if (in == null) {
+          throw new IllegalStateException("Template not found on classpath: " + resource);
+        }
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package io.github.loadup.gateway.test.load;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.dto.RouteStructure;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.spi.RepositoryPlugin;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/** Fixed route table of the load test; templates are inlined in the routes */
+public class InMemoryRepository implements RepositoryPlugin {
+
+  private final List<RouteConfig> routes;
+
+  public InMemoryRepository(List<RouteConfig> routes) {
+    this.routes = List.copyOf(routes);
+  }
+
+  @Override
+  public Optional<RouteConfig> getRoute(String routeId) {
+    return routes.stream().filter(r -> r.getRouteId().equals(routeId)).findFirst();
+  }
+
+  @Override
+  public Optional<RouteConfig> getRouteByPath(String path, String method) {
+    return routes.stream()
+        .filter(r -> r.getPath().equals(path) && r.getMethod().equalsIgnoreCase(method))
+        .findFirst();
+  }
+
+  @Override
+  public List<RouteConfig> getAllRoutes() {
+    return routes;
+  }
+
+  @Override
+  public Optional<String> getTemplate(String templateId, String templateType) {
+    return Optional.empty();
+  }
+
+  @Override
+  public String getSupportedStorageType() {
+    return "MEMORY";
+  }
+
+  @Override
+  public RouteConfig convertToRouteConfig(RouteStructure structure) {
+    if (!(structure instanceof MemoryRoute route)) {
+      throw new IllegalArgumentException("Invalid RouteStructure type");
+    }
+    return RouteConfig.builder()
+        .path(route.path)
+        .method(route.method)
+        .target(route.target)
+        .requestTemplate(route.requestTemplate)
+        .responseTemplate(route.responseTemplate)
+        .enabled(true)
+        .properties(route.properties)
+        .build();
+  }
+
+  @Override
+  public String getName() {
+    return "InMemoryRepository";
+  }
+
+  @Override
+  public String getType() {
+    return "REPOSITORY";
+  }
+
+  @Override
+  public String getVersion() {
+    return "1.0.0";
+  }
+
+  @Override
+  public int getPriority() {
+    return 0;
+  }
+
+  @Override
+  public void initialize() {}
+
+  @Override
+  public void destroy() {}
+
+  /** Stored form of an in-memory route */
+  public static final class MemoryRoute extends RouteStructure {
+
+    private final String path;
+    private final String method;
+    private final String target;
+    private final String requestTemplate;
+    private final String responseTemplate;
+    private final Map<String, Object> properties;
+
+    public MemoryRoute(
+        String path,
+        String method,
+        String target,
+        String requestTemplate,
+        String responseTemplate,
+        Map<String, Object> properties) {
+      this.path = path;
+      this.method = method;
+      this.target = target;
+      this.requestTemplate = requestTemplate;
+      this.responseTemplate = responseTemplate;
+      this.properties = properties;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package io.github.loadup.gateway.test.load;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+/** Formats and stores the results of a load test run */
+public final class LoadReport {
+
+  private LoadReport() {}
+
+  /**
+   * Per-route summary: requests, errors, successful requests per second and the latency
+   * percentiles of successful requests in milliseconds
+   */
+  public static String format(List<OpenLoopLoadGenerator.Stats> stats) {
+    StringBuilder out = new StringBuilder();
+    out.append(
+        String.format(
+            Locale.ROOT,
+            "%-12s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+            "route",
+            "requests",
+            "errors",
+            "ok/s",
+            "p50 ms",
+            "p90 ms",
+            "p99 ms",
+            "p99.9 ms",
+            "max ms"));
+    for (OpenLoopLoadGenerator.Stats s : stats) {
+      Histogram h = s.latencyMicros();
+      out.append(
+          String.format(
+              Locale.ROOT,
+              "%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+              s.name(),
+              s.requests(),
+              s.errors(),
+              s.throughput(),
+              millis(h.getValueAtPercentile(50)),
+              millis(h.getValueAtPercentile(90)),
+              millis(h.getValueAtPercentile(99)),
+              millis(h.getValueAtPercentile(99.9)),
+              millis(h.getMaxValue())));
+    }
+    return out.toString();
+  }
+
+  /**
+   * Write one HdrHistogram log per route ({@code <route>.hlog}, microseconds) for comparison across
+   * runs, e.g. with HistogramLogAnalyzer or {@code HistogramLogProcessor}
+   */
+  public static void writeHistograms(Path directory, List<OpenLoopLoadGenerator.Stats> stats)
+      throws IOException {
+    Files.createDirectories(directory);
+    for (OpenLoopLoadGenerator.Stats s : stats) {
+      Path file = directory.resolve(s.name() + ".hlog");
+      try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+        HistogramLogWriter writer = new HistogramLogWriter(out);
+        writer.outputLogFormatVersion();
+        writer.outputLegend();
+        writer.outputIntervalHistogram(s.latencyMicros());
+      }
+    }
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+}
@@ -0,0 +1,72 @@
+package io.github.loadup.gateway.test.load;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.dubbo.config.ApplicationConfig;
+import org.apache.dubbo.config.ProtocolConfig;
+import org.apache.dubbo.config.RegistryConfig;
+import org.apache.dubbo.config.ServiceConfig;
+
+/** In-process targets of the load test: a Spring bean for BEAN routes and an injvm Dubbo service */
+public final class LoadTestServices {
+
+  /** Bean name of {@link EchoService} in the load test context */
+  public static final String ECHO_BEAN = "loadTestEchoService";
+
+  private LoadTestServices() {}
+
+  /** Target of BEAN routes: returns the request body with a marker field */
+  public static class EchoService {
+
+    public Map<String, Object> echo(Map<String, Object> body) {
+      Map<String, Object> result = new LinkedHashMap<>(body != null ? body : Map.of());
+      result.put("echoed", true);
+      return result;
+    }
+  }
+
+  public static class GreetingServiceImpl implements GreetingService {
+
+    @Override
+    public Map<String, Object> greet(String name) {
+      return Map.of("greeting", "Hello, " + name, "timestamp", System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Export {@link GreetingService} on the injvm protocol, without a registry. The gateway reaches
+   * it through its generic references when {@code loadup.gateway.proxy-plugins.rpc.scope=local}.
+   */
+  public static ServiceConfig<GreetingService> exportGreetingService() {
+    ServiceConfig<GreetingService> service = new ServiceConfig<>();
+    service.setApplication(new ApplicationConfig("loadup-gateway"));
+    service.setRegistry(new RegistryConfig(RegistryConfig.NO_AVAILABLE));
+    service.setProtocol(new ProtocolConfig("injvm"));
+    service.setInterface(GreetingService.class);
+    service.setRef(new GreetingServiceImpl());
+    service.export();
+    return service;
+  }
+}
@@ -0,0 +1,127 @@
+package io.github.loadup.gateway.test.load;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded HTTP upstream for load tests. Each {@link Profile} is served under {@code
+ * /upstream/<name>} with its own latency (base plus uniform jitter), error rate and body size.
+ * Requests are handled on virtual threads, so simulated latency does not limit the upstream's
+ * concurrency.
+ */
+public final class MockUpstream implements AutoCloseable {
+
+  /**
+   * Behaviour of one upstream endpoint
+   *
+   * @param name path segment under {@code /upstream/}
+   * @param latencyMicros latency added to every response
+   * @param jitterMicros upper bound of the uniform random latency added on top
+   * @param errorRate fraction of requests answered with 503 (0.0 - 1.0)
+   * @param bodyBytes approximate size of the JSON response body
+   */
+  public record Profile(
+      String name, long latencyMicros, long jitterMicros, double errorRate, int bodyBytes) {}
+
+  private final HttpServer server;
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public MockUpstream(List<Profile> profiles) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+    for (Profile profile : profiles) {
+      byte[] body = body(profile.bodyBytes());
+      server.createContext(
+          "/upstream/" + profile.name(), exchange -> serve(exchange, profile, body));
+    }
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /** Base URL of a profile's endpoint */
+  public String url(String profile) {
+    return "http://127.0.0.1:" + getPort() + "/upstream/" + profile;
+  }
+
+  private static void serve(HttpExchange exchange, Profile profile, byte[] body)
+      throws IOException {
+    try (exchange) {
+      // drain the request body so the connection can be reused
+      exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      long delay =
+          profile.latencyMicros()
+              + (profile.jitterMicros() > 0 ? random.nextLong(profile.jitterMicros()) : 0L);
+      if (delay > 0) {
+        try {
+          TimeUnit.MICROSECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+      if (random.nextDouble() < profile.errorRate()) {
+        exchange.sendResponseHeaders(503, -1);
+        return;
+      }
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+      exchange.getResponseBody().write(body);
+    }
+  }
+
+  private static byte[] body(int size) {
+    StringBuilder json = new StringBuilder(size + 32).append("{\"items\":[");
+    int index = 0;
+    while (json.length() < size - 32) {
+      if (index > 0) {
+        json.append(',');
+      }
+      json.append("{\"id\":").append(index).append(",\"name\":\"item-").append(index).append("\"}");
+      index++;
+    }
+    json.append("],\"total\":").append(index).append('}');
+    return json.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
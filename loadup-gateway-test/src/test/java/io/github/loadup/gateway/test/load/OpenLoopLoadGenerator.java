@@ -0,0 +1,163 @@
+package io.github.loadup.gateway.test.load;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load generator: requests are sent on a fixed schedule at the target rate whatever the
+ * gateway's response times, and each latency is measured from the request's intended send time, not
+ * from when it was actually sent. A stalled gateway therefore shows up as the full queueing delay
+ * of every request scheduled during the stall (no coordinated omission), as it would for real
+ * clients arriving independently.
+ *
+ * <p>Targets are sent round-robin, each recording the latency of its successful requests into its
+ * own HdrHistogram (microseconds); failed requests are only counted, so fast errors do not flatter
+ * the percentiles. Requests scheduled during the warmup are sent but not recorded.
+ */
+public final class OpenLoopLoadGenerator {
+
+  /** One request kind, reported under its name */
+  public record Target(String name, HttpRequest request) {}
+
+  /**
+   * Measured results of one target
+   *
+   * @param name target name
+   * @param latencyMicros latency from intended send time to full response, of successful requests
+   * @param requests requests scheduled during the measurement
+   * @param errors requests that failed, did not answer 2xx or were still pending after the drain
+   * @param throughput successful requests per second of measurement
+   */
+  public record Stats(
+      String name, Histogram latencyMicros, long requests, long errors, double throughput) {}
+
+  private static final long SPIN_THRESHOLD_NANOS = 50_000L;
+
+  private final HttpClient client;
+
+  private final double ratePerSecond;
+
+  public OpenLoopLoadGenerator(HttpClient client, double ratePerSecond) {
+    if (ratePerSecond <= 0) {
+      throw new IllegalArgumentException("rate must be positive: " + ratePerSecond);
+    }
+    this.client = client;
+    this.ratePerSecond = ratePerSecond;
+  }
+
+  /** Run the schedule, then wait up to {@code drain} for requests still in flight */
+  public List<Stats> run(List<Target> targets, Duration warmup, Duration duration, Duration drain) {
+    Map<String, Recorder> recorders = new LinkedHashMap<>();
+    Map<String, LongAdder> errors = new LinkedHashMap<>();
+    Map<String, AtomicInteger> pending = new LinkedHashMap<>();
+    for (Target target : targets) {
+      recorders.put(target.name(), new Recorder(3));
+      errors.put(target.name(), new LongAdder());
+      pending.put(target.name(), new AtomicInteger());
+    }
+    AtomicInteger inFlight = new AtomicInteger();
+
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+    long start = System.nanoTime();
+    long measureStart = start + warmup.toNanos();
+    long end = measureStart + duration.toNanos();
+
+    for (long i = 0; ; i++) {
+      long intended = start + i * intervalNanos;
+      if (intended >= end) {
+        break;
+      }
+      waitUntil(intended);
+
+      Target target = targets.get((int) (i % targets.size()));
+      boolean measured = intended >= measureStart;
+      Recorder recorder = recorders.get(target.name());
+      LongAdder failures = errors.get(target.name());
+      AtomicInteger measuredPending = pending.get(target.name());
+      inFlight.incrementAndGet();
+      if (measured) {
+        measuredPending.incrementAndGet();
+      }
+      client
+          .sendAsync(target.request(), HttpResponse.BodyHandlers.discarding())
+          .whenComplete(
+              (response, error) -> {
+                if (measured) {
+                  if (error != null || response.statusCode() / 100 != 2) {
+                    failures.increment();
+                  } else {
+                    long latency = System.nanoTime() - intended;
+                    recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(latency));
+                  }
+                  measuredPending.decrementAndGet();
+                }
+                inFlight.decrementAndGet();
+              });
+    }
+
+    long drainDeadline = System.nanoTime() + drain.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    double seconds = duration.toNanos() / 1e9;
+    List<Stats> stats = new ArrayList<>();
+    for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+      Histogram histogram = entry.getValue().getIntervalHistogram();
+      long failed = errors.get(entry.getKey()).sum() + pending.get(entry.getKey()).get();
+      stats.add(
+          new Stats(
+              entry.getKey(),
+              histogram,
+              histogram.getTotalCount() + failed,
+              failed,
+              histogram.getTotalCount() / seconds));
+    }
+    return stats;
+  }
+
+  private static void waitUntil(long deadline) {
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      if (remaining > SPIN_THRESHOLD_NANOS) {
+        LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+  }
+}
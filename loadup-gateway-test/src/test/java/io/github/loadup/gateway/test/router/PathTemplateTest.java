@@ -0,0 +1,120 @@
+package io.github.loadup.gateway.test.router;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.loadup.gateway.core.router.PathTemplate;
+import io.github.loadup.gateway.core.router.RouteResolver;
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.test.load.InMemoryRepository;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Path variables of templated routes, and the order the route table tries them in */
+class PathTemplateTest {
+
+  @Test
+  void variablesAreExtracted() {
+    PathTemplate template = PathTemplate.compile("/users/{id}/orders/{orderId}");
+    assertEquals(Map.of("id", "42", "orderId", "7"), template.match("/users/42/orders/7"));
+    assertEquals(Map.of("id", "42", "orderId", "7"), template.match("/users/42/orders/7/"));
+    assertEquals(Map.of("id", "42"), PathTemplate.compile("/users/{ id }").match("/users/42"));
+  }
+
+  @Test
+  void everySegmentMustMatch() {
+    PathTemplate template = PathTemplate.compile("/users/{id}");
+    assertNull(template.match("/users"));
+    assertNull(template.match("/users/"));
+    assertNull(template.match("/users//"));
+    assertNull(template.match("/users/42/orders"));
+    assertNull(template.match("/customers/42"));
+    assertNull(template.match("/user/42"));
+  }
+
+  @Test
+  void literalPathMatchesWithoutVariables() {
+    assertEquals(Map.of(), PathTemplate.compile("/health").match("/health"));
+    assertNull(PathTemplate.compile("/health").match("/healthz"));
+  }
+
+  @Test
+  void literalsAreCounted() {
+    assertTrue(PathTemplate.isTemplate("/users/{id}"));
+    assertFalse(PathTemplate.isTemplate("/users/me"));
+    assertFalse(PathTemplate.isTemplate(null));
+    assertEquals(0, PathTemplate.compile("/{type}/{id}").getLiteralCount());
+    assertEquals(1, PathTemplate.compile("/users/{id}").getLiteralCount());
+    assertEquals(2, PathTemplate.compile("/users/{id}/orders").getLiteralCount());
+  }
+
+  @Test
+  void mostSpecificTemplateWins() {
+    RouteResolver resolver =
+        resolver(
+            route("/{type}/{id}", "GET", "http://generic"),
+            route("/users/{id}", "POST", "http://users-post"),
+            route("/users/{id}", "GET", "http://users"),
+            route("/users/{id}/orders", "GET", "http://orders"),
+            route("/users/me", "GET", "http://me"));
+
+    assertEquals("http://users", target(resolver, "/users/42", "GET"));
+    assertEquals("http://users-post", target(resolver, "/users/42", "POST"));
+    assertEquals("http://orders", target(resolver, "/users/42/orders", "GET"));
+    assertEquals("http://generic", target(resolver, "/accounts/42", "GET"));
+    assertEquals("http://me", target(resolver, "/users/me", "GET"));
+    assertNull(target(resolver, "/accounts/42", "DELETE"));
+  }
+
+  @Test
+  void resolvedVariablesBecomePathParameters() {
+    RouteResolver resolver = resolver(route("/users/{id}/orders/{orderId}", "GET", "http://o"));
+    GatewayRequest request = new GatewayRequest();
+    request.setPath("/users/42/orders/7");
+    request.setMethod("GET");
+    assertTrue(resolver.resolve(request).isPresent());
+    assertEquals(Map.of("id", "42", "orderId", "7"), request.getPathParameters());
+  }
+
+  private static RouteResolver resolver(RouteConfig... routes) {
+    RouteResolver resolver =
+        new RouteResolver(new InMemoryRepository(List.of(routes)), new GatewayProperties());
+    resolver.refreshRoutes();
+    return resolver;
+  }
+
+  private static RouteConfig route(String path, String method, String target) {
+    return RouteConfig.builder().path(path).method(method).target(target).enabled(true).build();
+  }
+
+  private static String target(RouteResolver resolver, String path, String method) {
+    return resolver.resolve(path, method).map(RouteConfig::getTarget).orElse(null);
+  }
+}
@@ -0,0 +1,333 @@
+package io.github.loadup.gateway.test.template;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.loadup.gateway.core.template.MappingTemplate;
+import io.github.loadup.gateway.facade.exception.ErrorCode;
+import io.github.loadup.gateway.facade.exception.TemplateException;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.GatewayResponse;
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Steps, references and conditions of {@code mapping:} templates, and the specs they reject */
+class MappingTemplateTest {
+
+  @Test
+  void prefixIsOptionalAndStepsMayBeBare() {
+    assertTrue(MappingTemplate.isMapping("mapping:[]"));
+    assertFalse(MappingTemplate.isMapping("return request"));
+    assertFalse(MappingTemplate.isMapping(null));
+
+    String step = "{\"op\": \"setHeader\", \"name\": \"X-A\", \"value\": \"a\"}";
+    for (String spec :
+        List.of("mapping:[" + step + "]", "[" + step + "]", "{\"steps\": [" + step + "]}")) {
+      assertEquals("a", MappingTemplate.compile(spec).apply(request("{}")).getHeaders().get("X-A"));
+    }
+  }
+
+  @Test
+  void setAndRemoveHeader() {
+    GatewayRequest request = request("{}");
+    request.getHeaders().put("authorization", "Bearer t");
+    compile(
+            "{\"op\": \"setHeader\", \"name\": \"X-Source\", \"value\": \"gateway\"}",
+            "{\"op\": \"removeHeader\", \"name\": \"Authorization\"}")
+        .apply(request);
+    assertEquals("gateway", request.getHeaders().get("X-Source"));
+    assertFalse(request.getHeaders().containsKey("authorization"));
+  }
+
+  @Test
+  void bodyStepsAreAppliedTogether() throws IOException {
+    GatewayRequest request =
+        request("{\"user\":{\"id\":7},\"userName\":\"n\",\"password\":\"x\",\"keep\":true}");
+    request.setRequestId("r1");
+    compile(
+            "{\"op\": \"copy\", \"from\": \"/user/id\", \"path\": \"/userId\"}",
+            "{\"op\": \"rename\", \"path\": \"/userName\", \"to\": \"username\"}",
+            "{\"op\": \"delete\", \"path\": \"/password\"}",
+            "{\"op\": \"set\", \"path\": \"/_meta/requestId\", \"from\": \"requestId\"}",
+            "{\"op\": \"set\", \"path\": \"/version\", \"value\": 2}")
+        .apply(request);
+
+    JsonNode body = json(request.getBody());
+    assertEquals(7, body.at("/user/id").asInt());
+    assertEquals(7, body.at("/userId").asInt());
+    assertEquals("n", body.at("/username").asText());
+    assertFalse(body.has("userName"));
+    assertFalse(body.has("password"));
+    assertEquals("r1", body.at("/_meta/requestId").asText());
+    assertEquals(2, body.at("/version").asInt());
+    assertTrue(body.at("/keep").asBoolean());
+  }
+
+  @Test
+  void stepsReadTheOriginalBody() throws IOException {
+    GatewayRequest request = request("{\"a\":1}");
+    compile(
+            "{\"op\": \"set\", \"path\": \"/a\", \"value\": 2}",
+            "{\"op\": \"copy\", \"from\": \"/a\", \"path\": \"/b\"}")
+        .apply(request);
+    JsonNode body = json(request.getBody());
+    assertEquals(2, body.at("/a").asInt());
+    assertEquals(1, body.at("/b").asInt());
+  }
+
+  @Test
+  void nullReferenceSkipsTheStep() {
+    GatewayRequest request = request("{\"a\":1}");
+    compile(
+            "{\"op\": \"copy\", \"from\": \"/missing\", \"path\": \"/b\"}",
+            "{\"op\": \"set\", \"path\": \"/c\", \"from\": \"header:X-Missing\"}",
+            "{\"op\": \"setHeader\", \"name\": \"X-B\", \"from\": \"query:missing\"}")
+        .apply(request);
+    assertEquals("{\"a\":1}", request.getBody());
+    assertFalse(request.getHeaders().containsKey("X-B"));
+  }
+
+  @Test
+  void referencesResolveAgainstTheRequest() {
+    GatewayRequest request = request("{\"user\":{\"name\":\"n\"}}");
+    request.setRequestId("r1");
+    request.setMethod("POST");
+    request.setPath("/users/42");
+    request.setClientIp("10.0.0.1");
+    request.getHeaders().put("x-tenant", "t1");
+    request.setQueryParameters(Map.of("page", List.of("2", "3")));
+    request.setPathParameters(Map.of("id", "42"));
+    request.getAttributes().put("role", "admin");
+
+    compile(
+            header("X-Pointer", "/user/name"),
+            header("X-Header", "header:X-Tenant"),
+            header("X-Query", "query:page"),
+            header("X-Path-Param", "path:id"),
+            header("X-Attribute", "attribute:role"),
+            header("X-Request-Id", "requestId"),
+            header("X-Method", "method"),
+            header("X-Path", "path"),
+            header("X-Client-Ip", "clientIp"),
+            header("X-Now", "now"))
+        .apply(request);
+
+    Map<String, String> headers = request.getHeaders();
+    assertEquals("n", headers.get("X-Pointer"));
+    assertEquals("t1", headers.get("X-Header"));
+    assertEquals("2", headers.get("X-Query"));
+    assertEquals("42", headers.get("X-Path-Param"));
+    assertEquals("admin", headers.get("X-Attribute"));
+    assertEquals("r1", headers.get("X-Request-Id"));
+    assertEquals("POST", headers.get("X-Method"));
+    assertEquals("/users/42", headers.get("X-Path"));
+    assertEquals("10.0.0.1", headers.get("X-Client-Ip"));
+    assertNotNull(headers.get("X-Now"));
+  }
+
+  @Test
+  void referencesResolveAgainstTheResponse() {
+    GatewayResponse response = response(201);
+    response.setRequestId("r1");
+    compile(
+            header("X-Status", "status"),
+            header("X-Request-Id", "requestId"),
+            header("X-Method", "method"))
+        .apply(response);
+    assertEquals("201", response.getHeaders().get("X-Status"));
+    assertEquals("r1", response.getHeaders().get("X-Request-Id"));
+    assertFalse(response.getHeaders().containsKey("X-Method"));
+  }
+
+  @Test
+  void setAttributeOnlyAppliesToRequests() {
+    MappingTemplate template =
+        compile("{\"op\": \"setAttribute\", \"name\": \"tier\", \"value\": \"gold\"}");
+    assertEquals("gold", template.apply(request("{}")).getAttributes().get("tier"));
+    Map<String, Object> attributes = template.apply(response(200)).getAttributes();
+    assertTrue(attributes == null || !attributes.containsKey("tier"));
+  }
+
+  @Test
+  void setStatusFromConstantOrReference() {
+    MappingTemplate number = compile("{\"op\": \"setStatus\", \"value\": 202}");
+    assertEquals(202, number.apply(response(200)).getStatusCode());
+    MappingTemplate text = compile("{\"op\": \"setStatus\", \"value\": \"404\"}");
+    assertEquals(404, text.apply(response(200)).getStatusCode());
+
+    GatewayResponse response = response(200);
+    response.getHeaders().put("X-Status", "503");
+    compile("{\"op\": \"setStatus\", \"from\": \"header:X-Status\"}").apply(response);
+    assertEquals(503, response.getStatusCode());
+  }
+
+  @Test
+  void setStatusRejectsValuesThatAreNotStatusCodes() {
+    assertParseError("[{\"op\": \"setStatus\", \"value\": \"ok\"}]");
+    assertParseError("[{\"op\": \"setStatus\", \"value\": 42}]");
+    assertParseError("[{\"op\": \"setStatus\", \"value\": 600}]");
+    assertParseError("[{\"op\": \"setStatus\", \"value\": null}]");
+
+    GatewayResponse response = response(200);
+    response.getHeaders().put("X-Status", "ok");
+    MappingTemplate template = compile("{\"op\": \"setStatus\", \"from\": \"header:X-Status\"}");
+    TemplateException e = assertThrows(TemplateException.class, () -> template.apply(response));
+    assertEquals(ErrorCode.TEMPLATE_EXECUTION_ERROR.getCode(), e.getErrorCode());
+    assertEquals(200, response.getStatusCode());
+  }
+
+  @Test
+  void equalsCondition() {
+    String spec =
+        "{\"if\": {\"value\": \"header:API-Version\", \"equals\": \"v2\"},"
+            + " \"then\": [{\"op\": \"setHeader\", \"name\": \"X-Branch\", \"value\": \"then\"}],"
+            + " \"else\": [{\"op\": \"setHeader\", \"name\": \"X-Branch\", \"value\": \"else\"}]}";
+    assertEquals("then", branch(spec, "v2"));
+    assertEquals("else", branch(spec, "v1"));
+    assertEquals("else", branch(spec, null));
+  }
+
+  @Test
+  void notEqualsCondition() {
+    String spec = condition("{\"value\": \"header:API-Version\", \"notEquals\": \"v2\"}");
+    assertEquals("then", branch(spec, "v1"));
+    assertEquals("then", branch(spec, null));
+    assertNull(branch(spec, "v2"));
+  }
+
+  @Test
+  void inCondition() {
+    String spec = condition("{\"value\": \"header:API-Version\", \"in\": [\"v1\", \"v2\"]}");
+    assertEquals("then", branch(spec, "v1"));
+    assertEquals("then", branch(spec, "v2"));
+    assertNull(branch(spec, "v3"));
+    assertNull(branch(spec, null));
+  }
+
+  @Test
+  void existsCondition() {
+    String exists = condition("{\"value\": \"header:API-Version\"}");
+    assertEquals("then", branch(exists, "v1"));
+    assertNull(branch(exists, null));
+
+    String missing = condition("{\"value\": \"header:API-Version\", \"exists\": false}");
+    assertNull(branch(missing, "v1"));
+    assertEquals("then", branch(missing, null));
+  }
+
+  @Test
+  void notNegatesTheCondition() {
+    String spec =
+        condition("{\"value\": \"header:API-Version\", \"equals\": \"v2\", \"not\": true}");
+    assertEquals("then", branch(spec, "v1"));
+    assertNull(branch(spec, "v2"));
+  }
+
+  @Test
+  void conditionOnABodyPointer() {
+    MappingTemplate template =
+        compile(condition("{\"value\": \"/user/type\", \"equals\": \"vip\"}"));
+    assertEquals(
+        "then",
+        template.apply(request("{\"user\":{\"type\":\"vip\"}}")).getHeaders().get("X-Branch"));
+    assertNull(
+        template.apply(request("{\"user\":{\"type\":\"std\"}}")).getHeaders().get("X-Branch"));
+  }
+
+  @Test
+  void invalidSpecsAreRejected() {
+    assertParseError("mapping:{not json");
+    assertParseError("mapping:{\"op\": \"setHeader\"}");
+    assertParseError("mapping:[1]");
+    assertParseError("[{\"name\": \"X-A\", \"value\": \"a\"}]");
+    assertParseError("[{\"op\": \"explode\"}]");
+    assertParseError("[{\"op\": \"setHeader\", \"value\": \"a\"}]");
+    assertParseError("[{\"op\": \"setHeader\", \"name\": \"X-A\"}]");
+    assertParseError("[{\"op\": \"copy\", \"path\": \"/a\", \"value\": 1}]");
+    assertParseError("[{\"op\": \"rename\", \"path\": \"/a\"}]");
+    assertParseError("[{\"op\": \"set\", \"path\": \"/a\", \"from\": \"cookie:a\"}]");
+    assertParseError("[{\"op\": \"set\", \"path\": \"/a\", \"from\": \"user\"}]");
+    assertParseError("[{\"if\": \"header:A\", \"then\": []}]");
+    assertParseError("[{\"if\": {\"equals\": \"a\"}, \"then\": []}]");
+  }
+
+  private static MappingTemplate compile(String... steps) {
+    return MappingTemplate.compile("mapping:[" + String.join(",", steps) + "]");
+  }
+
+  private static String header(String name, String from) {
+    return "{\"op\": \"setHeader\", \"name\": \"" + name + "\", \"from\": \"" + from + "\"}";
+  }
+
+  private static String condition(String condition) {
+    return "{\"if\": "
+        + condition
+        + ", \"then\": [{\"op\": \"setHeader\", \"name\": \"X-Branch\", \"value\": \"then\"}]}";
+  }
+
+  /** X-Branch header set by the spec for a request with the given API-Version header */
+  private static String branch(String spec, String apiVersion) {
+    GatewayRequest request = request("{}");
+    if (apiVersion != null) {
+      request.getHeaders().put("api-version", apiVersion);
+    }
+    return compile(spec).apply(request).getHeaders().get("X-Branch");
+  }
+
+  private static void assertParseError(String spec) {
+    TemplateException e =
+        assertThrows(TemplateException.class, () -> MappingTemplate.compile(spec));
+    assertEquals(ErrorCode.TEMPLATE_PARSE_ERROR.getCode(), e.getErrorCode());
+  }
+
+  private static GatewayRequest request(String body) {
+    GatewayRequest request = new GatewayRequest();
+    request.setHeaders(new HashMap<>());
+    request.setAttributes(new HashMap<>());
+    request.setBodyBytes(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+
+  private static GatewayResponse response(int status) {
+    GatewayResponse response = new GatewayResponse();
+    response.setStatusCode(status);
+    response.setHeaders(new HashMap<>());
+    return response;
+  }
+
+  private static JsonNode json(String body) throws IOException {
+    return JsonUtils.readerFor(JsonNode.class).readTree(body);
+  }
+}
@@ -0,0 +1,146 @@
+package io.github.loadup.gateway.test.template;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.loadup.gateway.core.template.StreamingJson;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Streaming patches and pointer reads of the {@code json} template helper */
+class StreamingJsonTest {
+
+  private final StreamingJson json = new StreamingJson();
+
+  @Test
+  void setReplacesExistingValue() {
+    assertEquals("{\"a\":3,\"b\":2}", apply(json.patch("{\"a\":1,\"b\":2}").set("/a", 3)));
+  }
+
+  @Test
+  void setAddsMissingValueWithParents() {
+    assertEquals(
+        "{\"a\":1,\"x\":{\"y\":\"z\"}}", apply(json.patch("{\"a\":1}").set("/x/y", "z")));
+    assertEquals(
+        "{\"o\":{\"k\":1,\"n\":2}}", apply(json.patch("{\"o\":{\"k\":1}}").set("/o/n", 2)));
+  }
+
+  @Test
+  void setAppendsToArray() {
+    assertEquals("{\"l\":[1,2,3]}", apply(json.patch("{\"l\":[1,2]}").set("/l/-", 3)));
+  }
+
+  @Test
+  void removeDropsField() {
+    assertEquals(
+        "{\"a\":1,\"b\":2}",
+        apply(json.patch("{\"a\":1,\"password\":\"x\",\"b\":2}").remove("/password")));
+    assertEquals("{\"a\":1}", apply(json.patch("{\"a\":1}").remove("/missing")));
+  }
+
+  @Test
+  void renameKeepsPositionAndValue() {
+    assertEquals(
+        "{\"username\":{\"v\":[1]},\"b\":2}",
+        apply(json.patch("{\"userName\":{\"v\":[1]},\"b\":2}").rename("/userName", "username")));
+  }
+
+  @Test
+  void updateRewritesValueReadInTheSamePass() {
+    String body = "{\"phone\":\"138-0000\",\"email\":\"A@B.COM\",\"tags\":[\"x\"]}";
+    assertEquals(
+        "{\"phone\":\"1380000\",\"email\":\"a@b.com\",\"tags\":[\"x\",\"y\"]}",
+        apply(
+            json.patch(body)
+                .update("/phone", phone -> phone.toString().replaceAll("[^0-9]", ""))
+                .update("/email", email -> email.toString().toLowerCase())
+                .update(
+                    "/tags",
+                    tags -> {
+                      List<Object> list = new ArrayList<>((List<?>) tags);
+                      list.add("y");
+                      return list;
+                    })));
+  }
+
+  @Test
+  void updateOfMissingValueAddsNothing() {
+    assertEquals("{\"a\":1}", apply(json.patch("{\"a\":1}").update("/b", value -> "added")));
+  }
+
+  @Test
+  void pointersAreUnescapedPerRfc6901() {
+    String body = "{\"a/b\":1,\"m~n\":2,\"~1\":3}";
+    assertEquals(
+        "{\"a/b\":10,\"~1\":30}",
+        apply(json.patch(body).set("/a~1b", 10).remove("/m~0n").set("/~01", 30)));
+    assertEquals(2, json.read(body, "/m~0n"));
+    assertEquals(1, json.read(body, "/a~1b"));
+  }
+
+  @Test
+  void readReturnsValueAtPointerOrNull() {
+    String body = "{\"user\":{\"name\":\"n\",\"roles\":[\"r1\",\"r2\"]}}";
+    assertEquals("n", json.read(body, "/user/name"));
+    assertEquals("r2", json.read(body, "/user/roles/1"));
+    assertEquals(Map.of("name", "n", "roles", List.of("r1", "r2")), json.read(body, "/user"));
+    assertNull(json.read(body, "/user/missing"));
+  }
+
+  @Test
+  void readsSeveralPointersInOnePass() {
+    String body = "{\"user\":{\"name\":\"n\",\"roles\":[\"r1\",\"r2\"]},\"a/b\":1}";
+    Map<String, Object> values =
+        json.read(body, List.of("/user", "/user/roles/0", "/a~1b", "/missing", "/user/x"));
+    assertEquals(Map.of("name", "n", "roles", List.of("r1", "r2")), values.get("/user"));
+    assertEquals("r1", values.get("/user/roles/0"));
+    assertEquals(1, values.get("/a~1b"));
+    assertFalse(values.containsKey("/missing"));
+    assertFalse(values.containsKey("/user/x"));
+  }
+
+  @Test
+  void patchReplacesRequestBody() {
+    GatewayRequest request = new GatewayRequest();
+    request.setBodyBytes("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+    json.patch(request).set("/b", 2).apply();
+    assertEquals("{\"a\":1,\"b\":2}", request.getBody());
+  }
+
+  @Test
+  void invalidPointerIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> json.patch("{}").set("a", 1));
+  }
+
+  private static String apply(StreamingJson.Patch patch) {
+    return new String(patch.apply(), StandardCharsets.UTF_8);
+  }
+}
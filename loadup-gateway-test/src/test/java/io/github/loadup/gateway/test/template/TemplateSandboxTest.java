@@ -0,0 +1,137 @@
+package io.github.loadup.gateway.test.template;
+
+/*-
+ * #%L
+ * LoadUp Gateway Test
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.loadup.gateway.core.template.TemplateEngine;
+import io.github.loadup.gateway.facade.exception.ErrorCode;
+import io.github.loadup.gateway.facade.exception.TemplateException;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Templates escaping the sandbox must be rejected when they are compiled */
+class TemplateSandboxTest {
+
+  private static final String PWNED = "loadup.gateway.test.sandbox.pwned";
+
+  private final TemplateEngine engine = new TemplateEngine();
+
+  static Stream<Arguments> bypasses() {
+    return Stream.of(
+        Arguments.of("class property", "request.class.classLoader"),
+        Arguments.of("getClass", "request.getClass()"),
+        Arguments.of("metaClass property", "request.metaClass"),
+        Arguments.of("class attribute", "this.@class"),
+        Arguments.of("class subscript", "request['class']"),
+        Arguments.of("class through getAt", "request.getAt('class')"),
+        Arguments.of("class through getProperty", "request.getProperty('class')"),
+        Arguments.of("dynamic property name", "def name = 'class'; request.\"$name\""),
+        Arguments.of("dynamic method name", "def name = 'getClass'; request.\"$name\"()"),
+        Arguments.of("method pointer", "def pointer = request.&getClass; pointer()"),
+        Arguments.of("invokeMethod", "'id'.invokeMethod('execute', null)"),
+        Arguments.of("GroovyClassLoader", "new GroovyClassLoader().parseClass('class X {}')"),
+        Arguments.of("GroovyShell", "new GroovyShell().evaluate('1')"),
+        Arguments.of("system class loader", "ClassLoader.getSystemClassLoader()"),
+        Arguments.of("Class.forName", "Class.forName('java.lang.Runtime')"),
+        Arguments.of("reflection on a class literal", "String.getDeclaredMethods()"),
+        Arguments.of("reflection property on a class literal", "String.declaredMethods"),
+        Arguments.of("newInstance on a class literal", "String.newInstance()"),
+        Arguments.of(
+            "java.lang.reflect import", "import java.lang.reflect.Method\nMethod m = null"),
+        Arguments.of("java.lang.reflect star import", "import java.lang.reflect.*\n1"),
+        Arguments.of("java.lang.reflect by name", "java.lang.reflect.Array.newInstance(String, 1)"),
+        Arguments.of("java.lang.invoke", "java.lang.invoke.MethodHandles.lookup()"),
+        Arguments.of("metaclass registry", "GroovySystem.metaClassRegistry"),
+        Arguments.of("process", "'id'.execute()"),
+        Arguments.of("runtime", "Runtime.getRuntime()"),
+        Arguments.of("files", "new File('/etc/passwd').text"),
+        Arguments.of("Grab", "@Grab('org.example:evil:1.0')\nimport org.example.Evil\n1"));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("bypasses")
+  void rejectsBypass(String name, String script) {
+    assertRejected(script);
+  }
+
+  /** AST transformations run while compiling, so the annotation must be rejected before */
+  static Stream<Arguments> compileTimeCode() {
+    String closure = "(value = { System.setProperty('" + PWNED + "', 'yes') })";
+    return Stream.of(
+        Arguments.of(
+            "ASTTest on a declaration",
+            "import groovy.transform.ASTTest\n@ASTTest" + closure + "\ndef x = 1"),
+        Arguments.of("ASTTest on a method", "@groovy.transform.ASTTest" + closure + "\ndef f() {}"),
+        Arguments.of("ASTTest on a class", "@groovy.transform.ASTTest" + closure + "\nclass Y {}"),
+        Arguments.of(
+            "ASTTest on a closure parameter",
+            "def c = { @groovy.transform.ASTTest" + closure + " a -> a }"),
+        Arguments.of(
+            "ASTTest imported as an allowed name",
+            "import groovy.transform.ASTTest as Field\n@Field" + closure + "\ndef x = 1"));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("compileTimeCode")
+  void rejectsAnnotationBeforeItRuns(String name, String script) {
+    assertRejected(script);
+    assertNull(System.getProperty(PWNED));
+  }
+
+  @Test
+  void allowsOrdinaryTemplates() {
+    GatewayRequest request = new GatewayRequest();
+    request.setBody("{\"methods\":[\"card\"]}");
+    String script =
+        """
+        import groovy.transform.Field
+        @Field int factor = 2
+        def body = [fields: 1, methods: 2]
+        request.attributes.put('total', (body.fields + body.methods) * factor)
+        request.attributes.put('method', json.read(request, '/methods/0'))
+        return request
+        """;
+    GatewayRequest result = engine.processRequestTemplate(request, script);
+    assertEquals(6, result.getAttributes().get("total"));
+    assertEquals("card", result.getAttributes().get("method"));
+  }
+
+  private void assertRejected(String script) {
+    TemplateException e =
+        assertThrows(
+            TemplateException.class,
+            () -> engine.processRequestTemplate(new GatewayRequest(), script));
+    assertEquals(ErrorCode.TEMPLATE_PARSE_ERROR.getCode(), e.getErrorCode());
+    assertTrue(
+        String.valueOf(e.getCause()).contains("not allowed"),
+        () -> "not rejected by the sandbox: " + e.getCause());
+  }
+}
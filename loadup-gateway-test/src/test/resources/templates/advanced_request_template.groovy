@@ -54,7 +54,7 @@ def clientIp = request.clientIp
 request.attributes.put("rateLimitKey", "ip:" + clientIp)
 
 // 日志记录
-log.info("Advanced request template processed - Method: {}, Path: {}, Auth: {}",
+log.debug("Advanced request template processed - Method: {}, Path: {}, Auth: {}",
          request.method, request.path, request.attributes.get("authenticated"))
 
 return request
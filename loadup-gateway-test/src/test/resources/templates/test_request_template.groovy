@@ -32,6 +32,6 @@ if (request.queryParameters.containsKey("transform")) {
     request.attributes.put("needTransform", true)
 }
 
-log.info("Request template processed for: {}", request.requestId)
+log.debug("Request template processed for: {}", request.requestId)
 
 return request
@@ -50,6 +50,6 @@ if (response.body != null && response.statusCode == 200) {
     response.contentType = "application/json"
 }
 
-log.info("Response template processed for: {}", response.requestId)
+log.debug("Response template processed for: {}", response.requestId)
 
 return response
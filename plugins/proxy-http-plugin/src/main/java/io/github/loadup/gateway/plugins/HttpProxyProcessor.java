@@ -22,26 +22,132 @@ package io.github.loadup.gateway.plugins;
  * #L%
  */
 
+import io.github.loadup.gateway.facade.config.GatewayProperties;
 import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.context.TraceContext;
 import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
 import io.github.loadup.gateway.facade.model.RouteConfig;
 import io.github.loadup.gateway.facade.spi.ProxyProcessor;
+import io.github.loadup.gateway.facade.spi.RuntimeStatsProvider;
+import java.io.IOException;
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.http.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
-/** HTTP proxy plugin */
+/**
+ * HTTP proxy plugin. Upstream connections are kept in a pool sized by {@code
+ * loadup.gateway.proxy-plugins.http}, whose per-upstream usage is published as runtime stats, and
+ * the connection and first-byte time of each call are added to the request's stage timings.
+ *
+ * <p>The client is a transparent hop: it neither follows redirects, retries nor decompresses, and
+ * the route timeout bounds waiting for a pooled connection and for the response. Hop-by-hop
+ * headers are not forwarded either way, nor are {@code Host} and {@code Content-Length}, which
+ * belong to the upstream call, nor {@code Accept-Encoding}, since templates and the response
+ * wrapper need a plain body (compress toward clients with {@code server.compression}).
+ */
 @Slf4j
 @Component
-public class HttpProxyProcessor implements ProxyProcessor {
+public class HttpProxyProcessor implements ProxyProcessor, RuntimeStatsProvider {
+
+  /** Headers of one connection (RFC 9110 section 7.6.1), never forwarded */
+  private static final Set<String> HOP_BY_HOP =
+      Set.of(
+          "connection",
+          "keep-alive",
+          "proxy-authenticate",
+          "proxy-authorization",
+          "proxy-connection",
+          "te",
+          "trailer",
+          "transfer-encoding",
+          "upgrade");
+
+  /** Request headers set by the client for the upstream call */
+  private static final Set<String> UPSTREAM_CALL =
+      Set.of("host", "content-length", "accept-encoding");
+
+  /** Request config of the call on the current thread, bound from the route */
+  private static final ThreadLocal<RequestConfig> CALL_CONFIG = new ThreadLocal<>();
+
+  private final PoolingHttpClientConnectionManager connectionManager;
 
-  private final RestClient restClient = RestClient.create();
+  private final CloseableHttpClient httpClient;
+
+  private final RestClient restClient;
+
+  public HttpProxyProcessor(GatewayProperties gatewayProperties) {
+    GatewayProperties.Http http = gatewayProperties.getProxyPlugins().getHttp();
+    int maxPerRoute = Math.min(http.getMaxConnectionsPerRoute(), http.getMaxConnections());
+    this.connectionManager =
+        PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(http.getMaxConnections())
+            .setMaxConnPerRoute(maxPerRoute)
+            .setDefaultConnectionConfig(
+                ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.ofMilliseconds(http.getConnectTimeoutMs()))
+                    .build())
+            .build();
+    this.httpClient =
+        UpstreamTimer.install(HttpClients.custom())
+            .setConnectionManager(connectionManager)
+            .evictIdleConnections(TimeValue.ofSeconds(http.getIdleTimeoutSeconds()))
+            .disableRedirectHandling()
+            .disableAutomaticRetries()
+            .disableContentCompression()
+            .build();
+    HttpComponentsClientHttpRequestFactory requestFactory =
+        new HttpComponentsClientHttpRequestFactory(httpClient);
+    requestFactory.setHttpContextFactory((method, uri) -> callContext());
+    this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+  }
+
+  /** Context carrying the route's request config, or null for the client defaults */
+  private static HttpClientContext callContext() {
+    RequestConfig config = CALL_CONFIG.get();
+    if (config == null) {
+      return null;
+    }
+    HttpClientContext context = HttpClientContext.create();
+    context.setRequestConfig(config);
+    return context;
+  }
+
+  /** The route timeout bounds leasing a connection and each wait for response data */
+  private static RequestConfig requestConfig(RouteConfig route) {
+    long timeout = route.getTimeout();
+    if (timeout <= 0) {
+      return null;
+    }
+    return RequestConfig.custom()
+        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeout))
+        .setResponseTimeout(Timeout.ofMilliseconds(timeout))
+        .build();
+  }
 
   @Override
   public String getName() {
@@ -66,17 +172,38 @@ public class HttpProxyProcessor implements ProxyProcessor {
   @Override
   public void initialize() {
     log.info("HttpProxyPlugin initialized");
-    // RestClient can be configured centrally via its @Bean
   }
 
   @Override
   public GatewayResponse proxy(GatewayRequest request, RouteConfig route) {
+    UpstreamTimer.bind(request.getTimings());
+    RequestConfig config = requestConfig(route);
+    if (config != null) {
+      CALL_CONFIG.set(config);
+    }
     try {
       String target = route.getTargetUrl();
-      // Build request headers
+      // Build request headers, end-to-end ones only
       HttpHeaders headers = new HttpHeaders();
       if (request.getHeaders() != null) {
-        request.getHeaders().forEach(headers::set);
+        Set<String> connectionTokens = connectionTokens(request.getHeader(HttpHeaders.CONNECTION));
+        request
+            .getHeaders()
+            .forEach(
+                (name, value) -> {
+                  if (isEndToEnd(name, connectionTokens)
+                      && !UPSTREAM_CALL.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.set(name, value);
+                  }
+                });
+      }
+      // The upstream continues the gateway's trace under the proxy span
+      TraceContext trace = request.getTraceContext();
+      if (trace != null) {
+        headers.set(GatewayConstants.Header.TRACEPARENT, trace.traceparent());
+        if (trace.traceState() != null) {
+          headers.set(GatewayConstants.Header.TRACESTATE, trace.traceState());
+        }
       }
 
       // Determine HTTP method
@@ -88,7 +215,7 @@ public class HttpProxyProcessor implements ProxyProcessor {
       log.debug("Proxying {} request to: {}", httpMethod, fullUrl);
 
       // Execute HTTP request using RestClient fluent API per method
-      ResponseEntity<String> response;
+      ResponseEntity<byte[]> response;
       URI uri = URI.create(fullUrl);
 
       if (httpMethod == HttpMethod.GET) {
@@ -98,25 +225,25 @@ public class HttpProxyProcessor implements ProxyProcessor {
                 .uri(uri)
                 .headers(h -> h.putAll(headers))
                 .retrieve()
-                .toEntity(String.class);
+                .toEntity(byte[].class);
       } else if (httpMethod == HttpMethod.POST) {
         response =
             restClient
                 .post()
                 .uri(uri)
                 .headers(h -> h.putAll(headers))
-                .body(request.getBody())
+                .body(request.getBodyBytes())
                 .retrieve()
-                .toEntity(String.class);
+                .toEntity(byte[].class);
       } else if (httpMethod == HttpMethod.PUT) {
         response =
             restClient
                 .put()
                 .uri(uri)
                 .headers(h -> h.putAll(headers))
-                .body(request.getBody())
+                .body(request.getBodyBytes())
                 .retrieve()
-                .toEntity(String.class);
+                .toEntity(byte[].class);
       } else if (httpMethod == HttpMethod.DELETE) {
         response =
             restClient
@@ -124,16 +251,16 @@ public class HttpProxyProcessor implements ProxyProcessor {
                 .uri(uri)
                 .headers(h -> h.putAll(headers))
                 .retrieve()
-                .toEntity(String.class);
+                .toEntity(byte[].class);
       } else if (httpMethod == HttpMethod.PATCH) {
         response =
             restClient
                 .patch()
                 .uri(uri)
                 .headers(h -> h.putAll(headers))
-                .body(request.getBody())
+                .body(request.getBodyBytes())
                 .retrieve()
-                .toEntity(String.class);
+                .toEntity(byte[].class);
       } else {
         // Fallback to POST if method is unknown
         response =
@@ -141,18 +268,20 @@ public class HttpProxyProcessor implements ProxyProcessor {
                 .post()
                 .uri(uri)
                 .headers(h -> h.putAll(headers))
-                .body(request.getBody())
+                .body(request.getBodyBytes())
                 .retrieve()
-                .toEntity(String.class);
+                .toEntity(byte[].class);
       }
 
       // Build gateway response
       Map<String, String> responseHeaders = new HashMap<>();
+      Set<String> connectionTokens =
+          connectionTokens(String.join(",", response.getHeaders().getConnection()));
       response
           .getHeaders()
           .forEach(
               (key, values) -> {
-                if (!values.isEmpty()) {
+                if (!values.isEmpty() && isEndToEnd(key, connectionTokens)) {
                   responseHeaders.put(key, values.get(0));
                 }
               });
@@ -161,7 +290,7 @@ public class HttpProxyProcessor implements ProxyProcessor {
           .requestId(request.getRequestId())
           .statusCode(response.getStatusCode().value())
           .headers(responseHeaders)
-          .body(response.getBody())
+          .bodyBytes(response.getBody())
           .contentType(responseHeaders.get("Content-Type"))
           .responseTime(LocalDateTime.now())
           .build();
@@ -176,38 +305,87 @@ public class HttpProxyProcessor implements ProxyProcessor {
           .responseTime(LocalDateTime.now())
           .errorMessage(e.getMessage())
           .build();
+    } finally {
+      CALL_CONFIG.remove();
+      UpstreamTimer.unbind();
+    }
+  }
+
+  /** Header names listed in a Connection header, which are hop-by-hop too, lower case */
+  private static Set<String> connectionTokens(String connection) {
+    if (connection == null || connection.isBlank()) {
+      return Set.of();
+    }
+    Set<String> tokens = new HashSet<>();
+    for (String token : connection.split(",")) {
+      tokens.add(token.trim().toLowerCase(Locale.ROOT));
     }
+    return tokens;
+  }
+
+  private static boolean isEndToEnd(String name, Set<String> connectionTokens) {
+    String lower = name.toLowerCase(Locale.ROOT);
+    return !HOP_BY_HOP.contains(lower) && !connectionTokens.contains(lower);
   }
 
   @Override
   public void destroy() {
+    try {
+      httpClient.close();
+    } catch (IOException e) {
+      log.warn("Failed to close the HTTP client: {}", e.getMessage());
+    }
     log.info("HttpProxyPlugin destroyed");
   }
 
+  @Override
+  public String getStatsName() {
+    return "httpPool";
+  }
+
+  /** Pool totals and leased, pending and available connections per upstream host */
+  @Override
+  public Map<String, Object> getRuntimeStats() {
+    Map<String, Object> upstreams = new LinkedHashMap<>();
+    for (HttpRoute route : connectionManager.getRoutes()) {
+      upstreams.put(route.getTargetHost().toURI(), poolStats(connectionManager.getStats(route)));
+    }
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("total", poolStats(connectionManager.getTotalStats()));
+    stats.put("upstreams", upstreams);
+    return stats;
+  }
+
+  private static Map<String, Object> poolStats(PoolStats poolStats) {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("leased", poolStats.getLeased());
+    stats.put("pending", poolStats.getPending());
+    stats.put("available", poolStats.getAvailable());
+    stats.put("max", poolStats.getMax());
+    return stats;
+  }
+
   @Override
   public String getSupportedProtocol() {
     return GatewayConstants.Protocol.HTTP;
   }
 
-  /** Build full URL */
+  /** Build full URL, re-encoding the decoded query parameters */
   private String buildFullUrl(String target, GatewayRequest request) {
-    StringBuilder url = new StringBuilder(target);
+    if (request.getQueryParameters() == null || request.getQueryParameters().isEmpty()) {
+      return target;
+    }
 
-    if (request.getQueryParameters() != null && !request.getQueryParameters().isEmpty()) {
-      request
-          .getQueryParameters()
-          .forEach(
-              (key, values) -> {
-                for (String value : values) {
-                  url.append(key).append("=").append(value).append("&");
-                }
-              });
-      // Remove trailing &
-      if (url.charAt(url.length() - 1) == '&') {
-        url.deleteCharAt(url.length() - 1);
+    StringBuilder url = new StringBuilder(target);
+    char separator = target.indexOf('?') >= 0 ? '&' : '?';
+    for (Map.Entry<String, List<String>> entry : request.getQueryParameters().entrySet()) {
+      String key = URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8);
+      for (String value : entry.getValue()) {
+        url.append(separator).append(key).append('=');
+        url.append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        separator = '&';
       }
     }
-
     return url.toString();
   }
 }
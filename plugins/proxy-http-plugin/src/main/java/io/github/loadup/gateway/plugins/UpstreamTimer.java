@@ -0,0 +1,93 @@
+package io.github.loadup.gateway.plugins;
+
+/*-
+ * #%L
+ * Proxy HTTP Plugin
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.context.StageDetail;
+import io.github.loadup.gateway.facade.context.StageTimings;
+import java.io.IOException;
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpException;
+
+/**
+ * Times the upstream part of a proxied call into the request's {@link StageTimings}: leasing (and
+ * opening if needed) the connection, then sending the request until the response head arrived.
+ * The classic client runs the call on the proxying thread, which binds the timings for its
+ * duration; calls without bound timings are not timed.
+ */
+final class UpstreamTimer {
+
+  private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+
+  private static final String CONNECT_START = UpstreamTimer.class.getName() + ".connectStart";
+
+  private UpstreamTimer() {}
+
+  /** Add the timing interceptors around the connect and transport elements of the exec chain */
+  static HttpClientBuilder install(HttpClientBuilder builder) {
+    return builder
+        .addExecInterceptorBefore(
+            ChainElement.CONNECT.name(), "gateway-connect-timer", UpstreamTimer::connect)
+        .addExecInterceptorBefore(
+            ChainElement.MAIN_TRANSPORT.name(), "gateway-exchange-timer", UpstreamTimer::exchange);
+  }
+
+  /** Record the calls of the current thread into the timings until {@link #unbind()} */
+  static void bind(StageTimings timings) {
+    if (timings != null) {
+      CURRENT.set(timings);
+    }
+  }
+
+  static void unbind() {
+    CURRENT.remove();
+  }
+
+  private static ClassicHttpResponse connect(
+      ClassicHttpRequest request, ExecChain.Scope scope, ExecChain chain)
+      throws IOException, HttpException {
+    if (CURRENT.get() != null) {
+      scope.clientContext.setAttribute(CONNECT_START, System.nanoTime());
+    }
+    return chain.proceed(request, scope);
+  }
+
+  private static ClassicHttpResponse exchange(
+      ClassicHttpRequest request, ExecChain.Scope scope, ExecChain chain)
+      throws IOException, HttpException {
+    StageTimings timings = CURRENT.get();
+    if (timings == null) {
+      return chain.proceed(request, scope);
+    }
+    long start = System.nanoTime();
+    if (scope.clientContext.getAttribute(CONNECT_START) instanceof Long connectStart) {
+      timings.recordDetail(StageDetail.UPSTREAM_CONNECT, start - connectStart);
+    }
+    ClassicHttpResponse response = chain.proceed(request, scope);
+    timings.recordDetail(StageDetail.UPSTREAM_FIRST_BYTE, System.nanoTime() - start);
+    return response;
+  }
+}
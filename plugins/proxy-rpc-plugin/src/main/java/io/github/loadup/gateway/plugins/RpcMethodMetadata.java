@@ -0,0 +1,288 @@
+package io.github.loadup.gateway.plugins;
+
+/*-
+ * #%L
+ * Proxy RPC Plugin
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.exception.ErrorCode;
+import io.github.loadup.gateway.facade.exception.ValidationException;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Parameter types of the method an RPC route invokes, resolved once per route.
+ *
+ * <p>Types come from the {@code parameterTypes} route property or, when the service interface is on
+ * the classpath and the method is not overloaded, from the interface itself. Arguments are then
+ * read in a single streaming pass over the request body, each into its declared type (JDK types)
+ * or into the generic map/list form Dubbo's generic invocation expects (application types). When
+ * nothing is known the types are inferred from the parsed arguments.
+ */
+@Slf4j
+final class RpcMethodMetadata {
+
+  /** Key of the metadata in {@link RouteConfig#getCompiled} */
+  static final String KEY = "rpc.method";
+
+  private static final ObjectReader GENERIC_READER = JsonUtils.readerFor(Object.class);
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  /** Declared parameter types, null when they are inferred per request */
+  private final String[] parameterTypes;
+
+  private final ObjectReader[] readers;
+
+  /** A single parameter that itself binds a JSON array */
+  private final boolean singleContainer;
+
+  private RpcMethodMetadata(String[] parameterTypes, Type[] readTypes) {
+    this.parameterTypes = parameterTypes;
+    if (parameterTypes == null) {
+      this.readers = null;
+      this.singleContainer = false;
+      return;
+    }
+    this.readers = new ObjectReader[readTypes.length];
+    for (int i = 0; i < readTypes.length; i++) {
+      readers[i] =
+          readTypes[i] == Object.class ? GENERIC_READER : JsonUtils.readerFor(readTypes[i]);
+    }
+    this.singleContainer =
+        readers.length == 1
+            && (isContainer(readers[0].getValueType())
+                || parameterTypes[0].endsWith("[]")
+                || parameterTypes[0].startsWith("["));
+  }
+
+  static RpcMethodMetadata resolve(RouteConfig route) {
+    RpcTarget target = RpcTarget.parse(route.getTargetUrl());
+
+    // 1. declared on the route
+    String[] declared = declaredTypes(route.getProperties());
+    if (declared != null) {
+      Type[] readTypes = new Type[declared.length];
+      for (int i = 0; i < declared.length; i++) {
+        readTypes[i] = readType(declared[i]);
+      }
+      return new RpcMethodMetadata(declared, readTypes);
+    }
+
+    // 2. discovered from the service interface
+    Method method = findMethod(target);
+    if (method != null) {
+      Class<?>[] classes = method.getParameterTypes();
+      Type[] generic = method.getGenericParameterTypes();
+      String[] names = new String[classes.length];
+      Type[] readTypes = new Type[classes.length];
+      for (int i = 0; i < classes.length; i++) {
+        names[i] = classes[i].getName();
+        readTypes[i] = isJdkType(classes[i]) ? generic[i] : Object.class;
+      }
+      return new RpcMethodMetadata(names, readTypes);
+    }
+
+    // 3. inferred per request
+    return new RpcMethodMetadata(null, null);
+  }
+
+  /** Parse the request body into the invocation arguments */
+  RpcArguments read(GatewayRequest request) {
+    if (parameterTypes == null) {
+      return infer(request);
+    }
+    int count = parameterTypes.length;
+    byte[] body = request.getBodyBytes();
+    if (count == 0) {
+      return new RpcArguments(parameterTypes, NO_ARGS);
+    }
+    Object[] values = new Object[count];
+    if (body == null || body.length == 0) {
+      return new RpcArguments(parameterTypes, values);
+    }
+
+    try (JsonParser parser = createParser(request, body)) {
+      JsonToken first = parser.nextToken();
+      if (first == null) {
+        return new RpcArguments(parameterTypes, values);
+      }
+      if (first == JsonToken.START_ARRAY && !singleContainer) {
+        int i = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          if (i == count) {
+            throw ValidationException.invalidFormat("body", "JSON array of " + count + " args");
+          }
+          values[i] = readers[i].readValue(parser);
+          i++;
+        }
+      } else if (count == 1) {
+        values[0] = readers[0].readValue(parser);
+      } else {
+        throw ValidationException.invalidFormat("body", "JSON array of " + count + " args");
+      }
+      return new RpcArguments(parameterTypes, values);
+    } catch (IOException e) {
+      throw new ValidationException(ErrorCode.PARAM_INVALID_FORMAT, "body", e);
+    }
+  }
+
+  /** No declared types: parse once and derive the types from the parsed values */
+  private static RpcArguments infer(GatewayRequest request) {
+    String body = request.getBody();
+    if (StringUtils.isBlank(body)) {
+      return new RpcArguments(new String[0], NO_ARGS);
+    }
+
+    Object[] args;
+    try {
+      Object parsed = GENERIC_READER.readValue(body);
+      args = parsed instanceof List<?> list ? list.toArray() : new Object[] {parsed};
+    } catch (IOException e) {
+      log.warn("Failed to parse RPC args from request body", e);
+      args = new Object[] {body};
+    }
+
+    String[] types = new String[args.length];
+    for (int i = 0; i < args.length; i++) {
+      if (args[i] instanceof Map) {
+        types[i] = "java.util.Map";
+      } else if (args[i] instanceof String) {
+        types[i] = "java.lang.String";
+      } else {
+        types[i] = "java.lang.Object";
+      }
+    }
+    return new RpcArguments(types, args);
+  }
+
+  private static JsonParser createParser(GatewayRequest request, byte[] body) throws IOException {
+    Charset charset = request.getBodyCharset();
+    // Jackson detects UTF-8/16/32 on bytes, other charsets go through the decoded text
+    if (charset == null
+        || charset == StandardCharsets.UTF_8
+        || charset == StandardCharsets.US_ASCII) {
+      return GENERIC_READER.createParser(body);
+    }
+    return GENERIC_READER.createParser(request.getBody());
+  }
+
+  private static String[] declaredTypes(Map<String, Object> properties) {
+    Object value = properties.get(GatewayConstants.PropertyKeys.PARAMETER_TYPES);
+    if (value instanceof Collection<?> collection) {
+      return collection.stream().map(v -> v.toString().trim()).toArray(String[]::new);
+    }
+    if (value instanceof String text) {
+      return StringUtils.isBlank(text)
+          ? new String[0]
+          : Arrays.stream(text.split(",")).map(String::trim).toArray(String[]::new);
+    }
+    return null;
+  }
+
+  /** The single method of that name on the interface, null if unavailable or overloaded */
+  private static Method findMethod(RpcTarget target) {
+    Class<?> service;
+    try {
+      service =
+          Class.forName(
+              target.interfaceName(), false, Thread.currentThread().getContextClassLoader());
+    } catch (ClassNotFoundException | LinkageError e) {
+      return null;
+    }
+    Method found = null;
+    for (Method method : service.getMethods()) {
+      if (method.getName().equals(target.methodName())) {
+        if (found != null) {
+          log.warn(
+              "RPC method {}.{} is overloaded, declare '{}' on the route to select one",
+              target.interfaceName(),
+              target.methodName(),
+              GatewayConstants.PropertyKeys.PARAMETER_TYPES);
+          return null;
+        }
+        found = method;
+      }
+    }
+    return found;
+  }
+
+  /** JDK types are bound directly, application types keep the generic map/list form */
+  private static Type readType(String typeName) {
+    switch (typeName) {
+      case "int":
+        return Integer.class;
+      case "long":
+        return Long.class;
+      case "boolean":
+        return Boolean.class;
+      case "double":
+        return Double.class;
+      case "float":
+        return Float.class;
+      case "short":
+        return Short.class;
+      case "byte":
+        return Byte.class;
+      case "char":
+        return Character.class;
+      default:
+        if (!typeName.startsWith("java.") || typeName.endsWith("[]")) {
+          return Object.class;
+        }
+        try {
+          return Class.forName(typeName);
+        } catch (ClassNotFoundException e) {
+          return Object.class;
+        }
+    }
+  }
+
+  private static boolean isJdkType(Class<?> type) {
+    if (type.isArray()) {
+      return isJdkType(type.getComponentType());
+    }
+    return type.isPrimitive() || type.getName().startsWith("java.");
+  }
+
+  private static boolean isContainer(JavaType type) {
+    return type.isArrayType() || type.isCollectionLikeType();
+  }
+
+  /** Dubbo generic invocation arguments */
+  record RpcArguments(String[] parameterTypes, Object[] values) {}
+}
@@ -24,28 +24,43 @@ package io.github.loadup.gateway.plugins;
 
 import io.github.loadup.gateway.facade.config.GatewayProperties;
 import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.context.TraceContext;
+import io.github.loadup.gateway.facade.exception.GatewayException;
+import io.github.loadup.gateway.facade.exception.ProxyException;
 import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
 import io.github.loadup.gateway.facade.model.RouteConfig;
-import io.github.loadup.gateway.facade.spi.ProxyProcessor;
+import io.github.loadup.gateway.facade.spi.AsyncProxyProcessor;
+import io.github.loadup.gateway.facade.spi.RouteTableListener;
+import io.github.loadup.gateway.facade.spi.RuntimeStatsProvider;
 import io.github.loadup.gateway.facade.utils.JsonUtils;
-import jakarta.annotation.Resource;
+import io.github.loadup.gateway.plugins.RpcMethodMetadata.RpcArguments;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.dubbo.config.*;
-import org.apache.dubbo.rpc.service.GenericService;
+import org.apache.dubbo.common.constants.CommonConstants;
+import org.apache.dubbo.rpc.RpcContext;
+import org.apache.dubbo.rpc.RpcException;
 import org.springframework.stereotype.Component;
 
 /** Dubbo RPC proxy plugin */
 @Slf4j
 @Component
-public class RpcProxyProcessor implements ProxyProcessor {
+public class RpcProxyProcessor
+    implements AsyncProxyProcessor, RouteTableListener, RuntimeStatsProvider {
 
-  private ApplicationConfig applicationConfig;
-  private RegistryConfig registryConfig;
-  private Map<String, GenericService> serviceCache = new HashMap<>();
+  private final RpcReferenceCache referenceCache;
+
+  public RpcProxyProcessor(GatewayProperties gatewayProperties) {
+    this.referenceCache = new RpcReferenceCache(gatewayProperties);
+  }
 
   @Override
   public String getName() {
@@ -67,136 +82,175 @@ public class RpcProxyProcessor implements ProxyProcessor {
     return 300;
   }
 
-  @Resource private GatewayProperties gatewayProperties;
-
   @Override
   public void initialize() {
     log.info("RpcProxyPlugin initialized");
+  }
 
-    // Initialize Dubbo configuration
-    applicationConfig = new ApplicationConfig();
-    applicationConfig.setName("loadup-gateway");
-
-    registryConfig = new RegistryConfig();
-    String registryAddress = gatewayProperties.getProxyPlugins().getRpc().getRegistryAddress();
-    registryConfig.setAddress(registryAddress);
+  /**
+   * Pre-connect references and resolve parameter types for every RPC route, and release the
+   * references no route uses anymore
+   */
+  @Override
+  public void onRouteTableRefreshed(List<RouteConfig> routes) {
+    List<RouteConfig> rpcRoutes =
+        routes.stream()
+            .filter(route -> GatewayConstants.Protocol.RPC.equals(route.getProtocol()))
+            .toList();
+    referenceCache.sync(rpcRoutes);
+    for (RouteConfig route : rpcRoutes) {
+      try {
+        route.getCompiled(RpcMethodMetadata.KEY, RpcMethodMetadata::resolve);
+      } catch (IllegalArgumentException e) {
+        // invalid target, already reported by the reference cache
+      }
+    }
   }
 
+  /**
+   * Invoke through {@code $invokeAsync}: the servlet thread is released while the call is in
+   * flight. The route timeout minus the time already spent in the gateway is passed to Dubbo as the
+   * call timeout, and cancelling the returned future (client gone) abandons the pending call.
+   */
   @Override
-  public GatewayResponse proxy(GatewayRequest request, RouteConfig route) throws Exception {
+  public CompletableFuture<GatewayResponse> proxyAsync(GatewayRequest request, RouteConfig route) {
+    CompletableFuture<Object> call;
+    RpcReferenceCache.Lease lease = null;
     try {
-      String target = route.getTargetUrl();
       // Parse target format: interfaceName:methodName:version
-      String[] parts = target.split(":");
-      if (parts.length < 2) {
-        throw new IllegalArgumentException(
-            "Invalid RPC target format. Expected: interfaceName:methodName[:version]");
-      }
+      RpcTarget target = RpcTarget.parse(route.getTargetUrl());
 
-      String interfaceName = parts[0];
-      String methodName = parts[1];
-      String version = parts.length > 2 ? parts[2] : null;
-
-      // Get generic service
-      GenericService genericService = getGenericService(interfaceName, version);
-
-      // Prepare arguments
-      Object[] args = prepareRpcArgs(request);
-      String[] parameterTypes = getParameterTypes(request);
+      // Remaining budget of the route deadline
+      long remaining = remainingMillis(request, route);
+      if (remaining <= 0) {
+        return CompletableFuture.failedFuture(ProxyException.deadlineExceeded(route.getTarget()));
+      }
 
-      // Invoke RPC service
-      Object result = genericService.$invoke(methodName, parameterTypes, args);
+      // Get generic service (pre-connected when the route table was loaded), held until the call
+      // completes so a route table reload cannot destroy it underneath
+      lease = referenceCache.acquire(route, target);
 
-      // Build response
-      return GatewayResponse.builder()
-          .requestId(request.getRequestId())
-          .statusCode(GatewayConstants.Status.SUCCESS)
-          .headers(new HashMap<>())
-          .body(JsonUtils.toJson(result))
-          .contentType(GatewayConstants.ContentType.JSON)
-          .responseTime(LocalDateTime.now())
-          .build();
+      // Parse arguments once, into the parameter types resolved for the route
+      RpcArguments args =
+          route.getCompiled(RpcMethodMetadata.KEY, RpcMethodMetadata::resolve).read(request);
 
+      // Invoke RPC service, the timeout attachment applies to this invocation only
+      RpcContext.getClientAttachment().setAttachment(CommonConstants.TIMEOUT_KEY, (int) remaining);
+      // The provider continues the gateway's trace under the proxy span
+      TraceContext trace = request.getTraceContext();
+      if (trace != null) {
+        RpcContext.getClientAttachment()
+            .setAttachment(GatewayConstants.Header.TRACEPARENT, trace.traceparent());
+        if (trace.traceState() != null) {
+          RpcContext.getClientAttachment()
+              .setAttachment(GatewayConstants.Header.TRACESTATE, trace.traceState());
+        }
+      }
+      call =
+          lease.service().$invokeAsync(target.methodName(), args.parameterTypes(), args.values());
+    } catch (GatewayException e) {
+      release(lease);
+      return CompletableFuture.failedFuture(e);
     } catch (Exception e) {
-      log.error("RPC proxy failed", e);
-      return GatewayResponse.builder()
-          .requestId(request.getRequestId())
-          .statusCode(GatewayConstants.Status.INTERNAL_ERROR)
-          .body("{\"error\":\"RPC proxy failed\",\"message\":\"" + e.getMessage() + "\"}")
-          .contentType(GatewayConstants.ContentType.JSON)
-          .responseTime(LocalDateTime.now())
-          .errorMessage(e.getMessage())
-          .build();
+      release(lease);
+      return CompletableFuture.completedFuture(errorResponse(request, e));
     }
-  }
+    RpcReferenceCache.Lease held = lease;
+    call.whenComplete((ignored, error) -> held.release());
 
-  @Override
-  public void destroy() {
-    log.info("RpcProxyPlugin destroyed");
-    serviceCache.clear();
+    CompletableFuture<GatewayResponse> response =
+        call.handle(
+            (result, error) -> {
+              if (error == null) {
+                return successResponse(request, result);
+              }
+              Throwable cause = unwrap(error);
+              if (cause instanceof CancellationException) {
+                throw (CancellationException) cause;
+              }
+              if (cause instanceof RpcException && ((RpcException) cause).isTimeout()) {
+                throw ProxyException.deadlineExceeded(route.getTarget());
+              }
+              return errorResponse(request, cause);
+            });
+    // Propagate cancellation (client disconnect, servlet timeout) to the pending call
+    response.whenComplete(
+        (ignored, error) -> {
+          if (error instanceof CancellationException) {
+            call.cancel(true);
+          }
+        });
+    return response;
   }
 
-  @Override
-  public String getSupportedProtocol() {
-    return GatewayConstants.Protocol.RPC;
+  private static void release(RpcReferenceCache.Lease lease) {
+    if (lease != null) {
+      lease.release();
+    }
   }
 
-  /** Get generic service */
-  private GenericService getGenericService(String interfaceName, String version) {
-    String cacheKey = interfaceName + ":" + (version != null ? version : "");
-
-    return serviceCache.computeIfAbsent(
-        cacheKey,
-        k -> {
-          ReferenceConfig<GenericService> reference = new ReferenceConfig<>();
-          reference.setApplication(applicationConfig);
-          reference.setRegistry(registryConfig);
-          reference.setInterface(interfaceName);
-          reference.setGeneric(true);
-          if (version != null) {
-            reference.setVersion(version);
-          }
+  private GatewayResponse successResponse(GatewayRequest request, Object result) {
+    return GatewayResponse.builder()
+        .requestId(request.getRequestId())
+        .statusCode(GatewayConstants.Status.SUCCESS)
+        .headers(new HashMap<>())
+        .payload(result)
+        .body(result == null ? JsonUtils.toJson(null) : null)
+        .contentType(GatewayConstants.ContentType.JSON)
+        .responseTime(LocalDateTime.now())
+        .build();
+  }
 
-          return reference.get();
-        });
+  private GatewayResponse errorResponse(GatewayRequest request, Throwable e) {
+    log.error("RPC proxy failed", e);
+    return GatewayResponse.builder()
+        .requestId(request.getRequestId())
+        .statusCode(GatewayConstants.Status.INTERNAL_ERROR)
+        .body("{\"error\":\"RPC proxy failed\",\"message\":\"" + e.getMessage() + "\"}")
+        .contentType(GatewayConstants.ContentType.JSON)
+        .responseTime(LocalDateTime.now())
+        .errorMessage(e.getMessage())
+        .build();
   }
 
-  /** Prepare RPC call arguments */
-  private Object[] prepareRpcArgs(GatewayRequest request) {
-    if (request.getBody() == null || request.getBody().trim().isEmpty()) {
-      return new Object[0];
+  /** Route timeout minus the time elapsed since the gateway received the request */
+  private static long remainingMillis(GatewayRequest request, RouteConfig route) {
+    long timeout = route.getTimeout();
+    if (request.getReceivedNanos() == 0L) {
+      return timeout;
     }
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - request.getReceivedNanos());
+    return timeout - elapsed;
+  }
 
-    try {
-      // Try parsing as JSON array
-      if (request.getBody().trim().startsWith("[")) {
-        return JsonUtils.fromJson(request.getBody(), Object[].class);
-      } else {
-        // Single argument
-        return new Object[] {JsonUtils.toMap(request.getBody())};
-      }
-    } catch (Exception e) {
-      log.warn("Failed to parse RPC args from request body", e);
-      return new Object[] {request.getBody()};
-    }
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  @Override
+  public void destroy() {
+    log.info("RpcProxyPlugin destroyed");
+    referenceCache.clear();
   }
 
-  /** Get parameter types */
-  private String[] getParameterTypes(GatewayRequest request) {
-    // Simplified handling; real-world usage may require more complex type inference
-    Object[] args = prepareRpcArgs(request);
-    String[] types = new String[args.length];
+  @Override
+  public String getStatsName() {
+    return "rpcReferences";
+  }
 
-    for (int i = 0; i < args.length; i++) {
-      if (args[i] instanceof Map) {
-        types[i] = "java.util.Map";
-      } else if (args[i] instanceof String) {
-        types[i] = "java.lang.String";
-      } else {
-        types[i] = "java.lang.Object";
-      }
-    }
+  /** Live Dubbo references, Dubbo pools the connections behind them itself */
+  @Override
+  public Map<String, Object> getRuntimeStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("size", referenceCache.size());
+    stats.put("references", referenceCache.stats());
+    return stats;
+  }
 
-    return types;
+  @Override
+  public String getSupportedProtocol() {
+    return GatewayConstants.Protocol.RPC;
   }
 }
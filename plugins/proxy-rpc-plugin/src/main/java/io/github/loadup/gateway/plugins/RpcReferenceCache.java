@@ -0,0 +1,336 @@
+package io.github.loadup.gateway.plugins;
+
+
+/*-
+ * #%L
+ * Proxy RPC Plugin
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.config.GatewayProperties;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.config.ApplicationConfig;
+import org.apache.dubbo.config.ReferenceConfig;
+import org.apache.dubbo.config.RegistryConfig;
+import org.apache.dubbo.rpc.service.GenericService;
+
+/**
+ * Concurrent cache of Dubbo generic references.
+ *
+ * <p>References are keyed by everything that shapes a reference (interface, version, timeout,
+ * retries, load balance) and reference-counted by the routes using them. {@link #sync(Iterable)}
+ * is called with the RPC routes of every route table load: new references are created and connected
+ * there, off the request path, and references no route uses anymore are retired. A reference
+ * requested for a route the table has not seen yet is created on demand, outside the map lock.
+ *
+ * <p>Calls hold their reference through a {@link Lease}; a retired reference is destroyed once its
+ * last call in flight has completed, so a route table reload never fails live calls.
+ */
+@Slf4j
+public class RpcReferenceCache {
+
+  private final GatewayProperties gatewayProperties;
+
+  private final ConcurrentHashMap<ReferenceKey, Entry> references = new ConcurrentHashMap<>();
+
+  private volatile ApplicationConfig applicationConfig;
+
+  private volatile RegistryConfig registryConfig;
+
+  public RpcReferenceCache(GatewayProperties gatewayProperties) {
+    this.gatewayProperties = gatewayProperties;
+  }
+
+  /**
+   * Generic service for the route, connecting it first if the route table has not done so, held
+   * until the lease is released
+   */
+  public Lease acquire(RouteConfig route, RpcTarget target) {
+    ReferenceKey key = keyOf(route, target);
+    while (true) {
+      Entry entry = references.get(key);
+      if (entry == null) {
+        entry = references.computeIfAbsent(key, this::newEntry);
+      }
+      if (entry.tryAcquire()) {
+        try {
+          return new Lease(entry, entry.get());
+        } catch (RuntimeException e) {
+          entry.release();
+          throw e;
+        }
+      }
+      // retired by a concurrent reload: drop it and use a fresh reference
+      references.remove(key, entry);
+    }
+  }
+
+  /** Align the cache with the RPC routes of a freshly loaded route table */
+  public void sync(Iterable<RouteConfig> rpcRoutes) {
+    Map<ReferenceKey, Integer> counts = new HashMap<>();
+    for (RouteConfig route : rpcRoutes) {
+      try {
+        counts.merge(keyOf(route, RpcTarget.parse(route.getTargetUrl())), 1, Integer::sum);
+      } catch (IllegalArgumentException e) {
+        log.warn("Skipping RPC route {}: {}", route.getRouteId(), e.getMessage());
+      }
+    }
+
+    // create and connect references for new routes
+    counts.forEach(
+        (key, count) -> {
+          Entry entry = references.computeIfAbsent(key, this::newEntry);
+          entry.routes.set(count);
+          try {
+            entry.get();
+          } catch (RuntimeException e) {
+            log.warn("Failed to pre-connect RPC reference {}: {}", key, e.getMessage());
+          }
+        });
+
+    // retire references no route uses anymore, they are destroyed after their last call
+    references.forEach(
+        (key, entry) -> {
+          if (!counts.containsKey(key) && references.remove(key, entry)) {
+            entry.routes.set(0);
+            entry.retire();
+            log.info("RPC reference released: {}", key);
+          }
+        });
+  }
+
+  /** Number of live references */
+  public int size() {
+    return references.size();
+  }
+
+  /** Routes using and connection state of every live reference */
+  public List<Map<String, Object>> stats() {
+    List<Map<String, Object>> stats = new ArrayList<>();
+    references.forEach(
+        (key, entry) -> {
+          Map<String, Object> reference = new LinkedHashMap<>();
+          reference.put("interface", key.interfaceName());
+          reference.put("version", key.version());
+          reference.put("timeout", key.timeout());
+          reference.put("retries", key.retries());
+          reference.put("loadbalance", key.loadbalance());
+          reference.put("routes", entry.routes.get());
+          reference.put("inFlight", entry.calls.get());
+          reference.put("connected", entry.service != null);
+          stats.add(reference);
+        });
+    return stats;
+  }
+
+  /** Destroy all references, including those with calls in flight */
+  public void clear() {
+    references.forEach(
+        (key, entry) -> {
+          if (references.remove(key, entry)) {
+            entry.destroy();
+          }
+        });
+  }
+
+  private ReferenceKey keyOf(RouteConfig route, RpcTarget target) {
+    GatewayProperties.Rpc rpc = gatewayProperties.getProxyPlugins().getRpc();
+    Map<String, Object> properties = route.getProperties();
+
+    Integer timeout;
+    if (properties.containsKey(GatewayConstants.PropertyKeys.TIMEOUT)) {
+      timeout = (int) route.getTimeout();
+    } else if (rpc.getTimeout() != null) {
+      timeout = rpc.getTimeout().intValue();
+    } else {
+      timeout = (int) gatewayProperties.getDefaultTimeout();
+    }
+
+    Integer retries = null;
+    if (properties.containsKey(GatewayConstants.PropertyKeys.RETRY_COUNT)) {
+      retries = route.getRetryCount();
+    } else if (rpc.getRetries() != null) {
+      retries = rpc.getRetries().intValue();
+    }
+
+    Object routeLoadbalance = properties.get(GatewayConstants.PropertyKeys.LOADBALANCE);
+    String loadbalance =
+        routeLoadbalance != null ? routeLoadbalance.toString() : rpc.getLoadbalance();
+
+    return new ReferenceKey(
+        target.interfaceName(), target.version(), timeout, retries, loadbalance);
+  }
+
+  private Entry newEntry(ReferenceKey key) {
+    GatewayProperties.Rpc rpc = gatewayProperties.getProxyPlugins().getRpc();
+
+    ReferenceConfig<GenericService> reference = new ReferenceConfig<>();
+    reference.setApplication(applicationConfig());
+    reference.setRegistry(registryConfig());
+    reference.setInterface(key.interfaceName());
+    reference.setGeneric("true");
+    reference.setCheck(false);
+    if (key.version() != null) {
+      reference.setVersion(key.version());
+    }
+    if (key.timeout() != null) {
+      reference.setTimeout(key.timeout());
+    }
+    if (key.retries() != null) {
+      reference.setRetries(key.retries());
+    }
+    if (StringUtils.isNotBlank(key.loadbalance())) {
+      reference.setLoadbalance(key.loadbalance());
+    }
+    if (StringUtils.isNotBlank(rpc.getScope())) {
+      reference.setScope(rpc.getScope());
+    }
+    return new Entry(key, reference);
+  }
+
+  private ApplicationConfig applicationConfig() {
+    if (applicationConfig == null) {
+      ApplicationConfig config = new ApplicationConfig();
+      config.setName("loadup-gateway");
+      applicationConfig = config;
+    }
+    return applicationConfig;
+  }
+
+  private RegistryConfig registryConfig() {
+    if (registryConfig == null) {
+      String address = gatewayProperties.getProxyPlugins().getRpc().getRegistryAddress();
+      // no registry: references resolve injvm or direct providers only
+      registryConfig =
+          new RegistryConfig(
+              StringUtils.isNotBlank(address) ? address : RegistryConfig.NO_AVAILABLE);
+    }
+    return registryConfig;
+  }
+
+  /** Everything that shapes a Dubbo reference */
+  record ReferenceKey(
+      String interfaceName, String version, Integer timeout, Integer retries, String loadbalance) {}
+
+  /** A reference held by one call */
+  public static final class Lease {
+    private final Entry entry;
+    private final GenericService service;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Lease(Entry entry, GenericService service) {
+      this.entry = entry;
+      this.service = service;
+    }
+
+    public GenericService service() {
+      return service;
+    }
+
+    /** Release the reference once the call completed; further calls have no effect */
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        entry.release();
+      }
+    }
+  }
+
+  private static final class Entry {
+    final ReferenceKey key;
+    final ReferenceConfig<GenericService> reference;
+
+    /** Routes currently using this reference */
+    final AtomicInteger routes = new AtomicInteger();
+
+    /** Calls holding this reference */
+    final AtomicInteger calls = new AtomicInteger();
+
+    /** Set once no route uses this reference, it is destroyed when no call holds it */
+    volatile boolean retired;
+
+    private final AtomicBoolean destroyed = new AtomicBoolean();
+
+    volatile GenericService service;
+
+    Entry(ReferenceKey key, ReferenceConfig<GenericService> reference) {
+      this.key = key;
+      this.reference = reference;
+    }
+
+    GenericService get() {
+      GenericService s = service;
+      if (s == null) {
+        synchronized (this) {
+          s = service;
+          if (s == null) {
+            s = reference.get();
+            service = s;
+            log.info("RPC reference connected: {}", key);
+          }
+        }
+      }
+      return s;
+    }
+
+    /** Hold the reference for a call, false if it has been retired */
+    boolean tryAcquire() {
+      calls.incrementAndGet();
+      if (retired) {
+        release();
+        return false;
+      }
+      return true;
+    }
+
+    void release() {
+      if (calls.decrementAndGet() == 0 && retired) {
+        destroy();
+      }
+    }
+
+    void retire() {
+      retired = true;
+      if (calls.get() == 0) {
+        destroy();
+      }
+    }
+
+    void destroy() {
+      if (!destroyed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        reference.destroy();
+      } catch (RuntimeException e) {
+        log.warn("Failed to destroy RPC reference {}: {}", key, e.getMessage());
+      }
+    }
+  }
+}
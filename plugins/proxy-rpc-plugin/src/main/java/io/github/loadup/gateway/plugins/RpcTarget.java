@@ -0,0 +1,43 @@
+package io.github.loadup.gateway.plugins;
+
+
+/*-
+ * #%L
+ * Proxy RPC Plugin
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+/**
+ * Parsed RPC route target: {@code interfaceName:methodName[:version]}
+ *
+ * @param interfaceName service interface
+ * @param methodName method to invoke
+ * @param version service version, null if not set
+ */
+public record RpcTarget(String interfaceName, String methodName, String version) {
+
+  public static RpcTarget parse(String target) {
+    String[] parts = target != null ? target.split(":") : new String[0];
+    if (parts.length < 2) {
+      throw new IllegalArgumentException(
+          "Invalid RPC target format. Expected: interfaceName:methodName[:version]");
+    }
+    return new RpcTarget(parts[0], parts[1], parts.length > 2 ? parts[2] : null);
+  }
+}
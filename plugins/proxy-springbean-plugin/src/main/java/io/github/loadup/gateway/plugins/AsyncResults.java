@@ -0,0 +1,86 @@
+package io.github.loadup.gateway.plugins;
+
+/*-
+ * #%L
+ * Proxy SpringBean Plugin
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import org.reactivestreams.FlowAdapters;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
+
+/**
+ * Adapts reactive bean results (Reactor {@code Mono}/{@code Flux}, RxJava, ...) recognized through
+ * Spring's {@link ReactiveAdapterRegistry}: single-value types complete a future, multi-value types
+ * become a JDK {@link Flow.Publisher} streamed to the client. Reactive libraries stay optional:
+ * this class links against Reactive Streams and is only used once an adapter was found.
+ */
+final class AsyncResults {
+
+  private AsyncResults() {}
+
+  /** Multi-value result as a JDK publisher */
+  static Flow.Publisher<Object> toFlowPublisher(ReactiveAdapter adapter, Object result) {
+    return FlowAdapters.toFlowPublisher(adapter.toPublisher(result));
+  }
+
+  /** First value of a single-value (or empty) result; cancelling the future cancels the source */
+  static CompletableFuture<Object> toFuture(ReactiveAdapter adapter, Object result) {
+    Publisher<Object> publisher = adapter.toPublisher(result);
+    SingleValueSubscriber subscriber = new SingleValueSubscriber();
+    publisher.subscribe(subscriber);
+    return subscriber.future;
+  }
+
+  private static final class SingleValueSubscriber implements Subscriber<Object> {
+    final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      future.whenComplete(
+          (value, error) -> {
+            if (error != null) {
+              subscription.cancel();
+            }
+          });
+      subscription.request(1);
+    }
+
+    @Override
+    public void onNext(Object value) {
+      future.complete(value);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      future.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      future.complete(null);
+    }
+  }
+}
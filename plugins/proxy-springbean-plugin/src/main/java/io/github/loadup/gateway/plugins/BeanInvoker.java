@@ -0,0 +1,236 @@
+package io.github.loadup.gateway.plugins;
+
+/*-
+ * #%L
+ * Proxy SpringBean Plugin
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.exception.GatewayException;
+import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.plugins.ParameterBinders.Binder;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Pre-resolved invocation of a bean route: the bean (for singletons), the selected method as a
+ * {@link MethodHandle} spreading an argument array, and a compiled binder per parameter (see
+ * {@link ParameterBinders}).
+ * Resolved once per route (see {@link RouteConfig#getCompiled}) so a request only binds its
+ * arguments and invokes the handle.
+ */
+@Slf4j
+final class BeanInvoker {
+
+  /** Key of the invoker in {@link RouteConfig#getCompiled} */
+  static final String KEY = "bean.invoker";
+
+  private static final MethodType BOUND_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+  private static final MethodType UNBOUND_TYPE =
+      MethodType.methodType(Object.class, Object.class, Object[].class);
+
+  private final String beanName;
+
+  private final String methodName;
+
+  private final ApplicationContext applicationContext;
+
+  /** Receiver-bound handle for singletons, receiver as first argument otherwise */
+  private final MethodHandle handle;
+
+  private final boolean bound;
+
+  private final Binder[] binders;
+
+  private BeanInvoker(
+      ApplicationContext applicationContext,
+      String beanName,
+      String methodName,
+      MethodHandle handle,
+      boolean bound,
+      Binder[] binders) {
+    this.applicationContext = applicationContext;
+    this.beanName = beanName;
+    this.methodName = methodName;
+    this.handle = handle;
+    this.bound = bound;
+    this.binders = binders;
+  }
+
+  static BeanInvoker resolve(ApplicationContext applicationContext, RouteConfig route) {
+    String beanName = route.getTargetBean();
+    String methodName = route.getTargetMethod();
+    if (StringUtils.isBlank(beanName) || StringUtils.isBlank(methodName)) {
+      throw GatewayExceptionFactory.invalidBeanTarget(route.getTarget());
+    }
+
+    // Get Spring Bean
+    Object bean;
+    boolean singleton;
+    try {
+      bean = applicationContext.getBean(beanName);
+      singleton = applicationContext.isSingleton(beanName);
+    } catch (Exception e) {
+      throw GatewayExceptionFactory.beanNotFound(beanName);
+    }
+
+    // Select method
+    Method method = selectMethod(bean.getClass(), methodName, route);
+    if (method == null) {
+      throw GatewayExceptionFactory.methodNotFound(beanName, methodName);
+    }
+
+    MethodHandle handle;
+    try {
+      method.trySetAccessible();
+      handle = MethodHandles.lookup().unreflect(method);
+    } catch (IllegalAccessException e) {
+      throw GatewayExceptionFactory.methodInvokeFailed(beanName, methodName, e);
+    }
+    int count = method.getParameterCount();
+    if (singleton) {
+      handle = handle.bindTo(bean).asSpreader(Object[].class, count).asType(BOUND_TYPE);
+    } else {
+      handle = handle.asSpreader(Object[].class, count).asType(UNBOUND_TYPE);
+    }
+
+    // Argument binders, parameter annotations are read from the user class behind any proxy
+    Method declared =
+        ClassUtils.getMostSpecificMethod(method, ClassUtils.getUserClass(bean.getClass()));
+    Binder[] binders = ParameterBinders.compile(declared, route);
+    return new BeanInvoker(applicationContext, beanName, methodName, handle, singleton, binders);
+  }
+
+  /** Invoke the method for the request, exceptions thrown by the method are wrapped */
+  Object invoke(GatewayRequest request) {
+    Object[] args = bindArgs(request);
+    try {
+      if (bound) {
+        return (Object) handle.invokeExact(args);
+      }
+      Object bean = applicationContext.getBean(beanName);
+      return (Object) handle.invokeExact(bean, args);
+    } catch (Throwable e) {
+      throw GatewayExceptionFactory.methodInvokeFailed(beanName, methodName, e);
+    }
+  }
+
+  /** Failure of an asynchronous result of the method */
+  GatewayException failed(Throwable cause) {
+    return cause instanceof GatewayException
+        ? (GatewayException) cause
+        : GatewayExceptionFactory.methodInvokeFailed(beanName, methodName, cause);
+  }
+
+  private Object[] bindArgs(GatewayRequest request) {
+    Object[] args = new Object[binders.length];
+    for (int i = 0; i < binders.length; i++) {
+      args[i] = binders[i].bind(request);
+    }
+    return args;
+  }
+
+  /**
+   * Public methods of the bean (falling back to its declared ones), narrowed to the route's
+   * parameterTypes when declared. Among remaining overloads the one with the fewest parameters
+   * wins, so the choice does not depend on reflection order.
+   */
+  private static Method selectMethod(Class<?> beanClass, String methodName, RouteConfig route) {
+    List<Method> candidates = new ArrayList<>();
+    for (Method method : beanClass.getMethods()) {
+      if (method.getName().equals(methodName) && !method.isBridge()) {
+        candidates.add(method);
+      }
+    }
+    if (candidates.isEmpty()) {
+      for (Method method : ClassUtils.getUserClass(beanClass).getDeclaredMethods()) {
+        if (method.getName().equals(methodName)
+            && !method.isBridge()
+            && !Modifier.isStatic(method.getModifiers())) {
+          candidates.add(method);
+        }
+      }
+    }
+
+    List<String> declared = declaredTypes(route);
+    if (declared != null) {
+      return candidates.stream()
+          .filter(method -> matches(method, declared))
+          .findFirst()
+          .orElse(null);
+    }
+    if (candidates.size() > 1) {
+      log.warn(
+          "Bean method {}.{} is overloaded, declare '{}' on route {} to select one",
+          route.getTargetBean(),
+          methodName,
+          GatewayConstants.PropertyKeys.PARAMETER_TYPES,
+          route.getRouteId());
+    }
+    return candidates.stream()
+        .min(
+            Comparator.comparingInt(Method::getParameterCount)
+                .thenComparing(Method::toGenericString))
+        .orElse(null);
+  }
+
+  private static List<String> declaredTypes(RouteConfig route) {
+    Object value = route.getProperties().get(GatewayConstants.PropertyKeys.PARAMETER_TYPES);
+    if (value instanceof Collection<?> collection) {
+      return collection.stream().map(v -> v.toString().trim()).toList();
+    }
+    if (value instanceof String text) {
+      return StringUtils.isBlank(text)
+          ? List.of()
+          : Arrays.stream(text.split(",")).map(String::trim).toList();
+    }
+    return null;
+  }
+
+  /** Declared names may be fully qualified or simple class names */
+  private static boolean matches(Method method, List<String> declared) {
+    Class<?>[] types = method.getParameterTypes();
+    if (types.length != declared.size()) {
+      return false;
+    }
+    for (int i = 0; i < types.length; i++) {
+      String name = declared.get(i);
+      if (!name.equals(types[i].getName()) && !name.equals(types[i].getSimpleName())) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,295 @@
+package io.github.loadup.gateway.plugins;
+
+/*-
+ * #%L
+ * Proxy SpringBean Plugin
+ * %%
+ * Copyright (C) 2025 - 2026 LoadUp Cloud
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.loadup.gateway.facade.annotation.BodyParam;
+import io.github.loadup.gateway.facade.annotation.HeaderParam;
+import io.github.loadup.gateway.facade.annotation.PathParam;
+import io.github.loadup.gateway.facade.annotation.QueryParam;
+import io.github.loadup.gateway.facade.constants.GatewayConstants;
+import io.github.loadup.gateway.facade.exception.ErrorCode;
+import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
+import io.github.loadup.gateway.facade.exception.ValidationException;
+import io.github.loadup.gateway.facade.model.GatewayRequest;
+import io.github.loadup.gateway.facade.model.RouteConfig;
+import io.github.loadup.gateway.facade.utils.JsonUtils;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+/**
+ * Compiles the parameters of a bean method into binders, once per route.
+ *
+ * <p>Each parameter is bound from one source, taken from the route's {@code paramBindings}
+ * property when set, otherwise from the parameter annotations ({@link PathParam}, {@link
+ * QueryParam}, {@link HeaderParam}, {@link BodyParam}), otherwise by type: {@link GatewayRequest}
+ * gets the request, {@code String} the body text and anything else the body read as JSON. Path,
+ * query and header values are converted with Spring's conversion service; a JSON Pointer body
+ * source streams the body and only materializes the selected part.
+ */
+final class ParameterBinders {
+
+  private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+  private ParameterBinders() {}
+
+  /** Binds one method parameter from the request */
+  @FunctionalInterface
+  interface Binder {
+    Object bind(GatewayRequest request);
+  }
+
+  static Binder[] compile(Method method, RouteConfig route) {
+    Parameter[] parameters = method.getParameters();
+    List<String> configured = configuredBindings(route);
+    if (configured != null && configured.size() != parameters.length) {
+      throw GatewayExceptionFactory.routeConfigError(
+          GatewayConstants.PropertyKeys.PARAM_BINDINGS
+              + " of route "
+              + route.getRouteId()
+              + " declares "
+              + configured.size()
+              + " sources for "
+              + parameters.length
+              + " parameters");
+    }
+
+    Binder[] binders = new Binder[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      Target target = new Target(parameters[i], new TypeDescriptor(new MethodParameter(method, i)));
+      binders[i] =
+          configured != null ? fromSource(configured.get(i), target, route) : fromParameter(target);
+    }
+    return binders;
+  }
+
+  private static Binder fromParameter(Target target) {
+    Parameter parameter = target.parameter();
+    PathParam path = parameter.getAnnotation(PathParam.class);
+    if (path != null) {
+      return pathBinder(target.named(path.value()));
+    }
+    QueryParam query = parameter.getAnnotation(QueryParam.class);
+    if (query != null) {
+      return queryBinder(target.named(query.value()));
+    }
+    HeaderParam header = parameter.getAnnotation(HeaderParam.class);
+    if (header != null) {
+      return headerBinder(target.named(header.value()));
+    }
+    BodyParam body = parameter.getAnnotation(BodyParam.class);
+    if (body != null) {
+      return StringUtils.isEmpty(body.value())
+          ? bodyBinder(target)
+          : bodyPathBinder(target, body.value());
+    }
+
+    Class<?> type = parameter.getType();
+    if (type == GatewayRequest.class) {
+      return request -> request;
+    }
+    if (type == String.class) {
+      return GatewayRequest::getBody;
+    }
+    return bodyBinder(target);
+  }
+
+  /** request | text | body | body:/json/pointer | path:name | query:name | header:name */
+  private static Binder fromSource(String source, Target target, RouteConfig route) {
+    int colon = source.indexOf(':');
+    String kind = (colon < 0 ? source : source.substring(0, colon)).trim();
+    String name = colon < 0 ? "" : source.substring(colon + 1).trim();
+    switch (kind) {
+      case "request":
+        return request -> request;
+      case "text":
+        return GatewayRequest::getBody;
+      case "body":
+        return name.isEmpty() ? bodyBinder(target) : bodyPathBinder(target, name);
+      case "path":
+        return pathBinder(target.named(name));
+      case "query":
+        return queryBinder(target.named(name));
+      case "header":
+        return headerBinder(target.named(name));
+      default:
+        throw GatewayExceptionFactory.routeConfigError(
+            "Unknown parameter source '" + source + "' on route " + route.getRouteId());
+    }
+  }
+
+  private static Binder pathBinder(Target target) {
+    return request -> {
+      Map<String, String> variables = request.getPathParameters();
+      return convert(variables != null ? variables.get(target.name()) : null, target);
+    };
+  }
+
+  private static Binder queryBinder(Target target) {
+    boolean multiValued = target.type().isCollection() || target.type().isArray();
+    return request -> {
+      Map<String, List<String>> query = request.getQueryParameters();
+      List<String> values = query != null ? query.get(target.name()) : null;
+      if (values == null || values.isEmpty()) {
+        return convert(null, target);
+      }
+      return convert(multiValued ? values : values.get(0), target);
+    };
+  }
+
+  private static Binder headerBinder(Target target) {
+    return request -> {
+      Map<String, String> headers = request.getHeaders();
+      return convert(headers != null ? headers.get(target.name()) : null, target);
+    };
+  }
+
+  private static Binder bodyBinder(Target target) {
+    ObjectReader reader = JsonUtils.readerFor(target.parameter().getParameterizedType());
+    return request -> {
+      byte[] body = request.getBodyBytes();
+      if (body == null || body.length == 0) {
+        return missing(target);
+      }
+      try {
+        // Jackson detects UTF-8/16/32 on bytes, other charsets go through the decoded text
+        return isJacksonCharset(request.getBodyCharset())
+            ? reader.readValue(body)
+            : reader.readValue(request.getBody());
+      } catch (IOException e) {
+        throw invalidBody(target, "body", e);
+      }
+    };
+  }
+
+  private static Binder bodyPathBinder(Target target, String pointer) {
+    JsonPointer jsonPointer;
+    try {
+      jsonPointer = JsonPointer.compile(pointer);
+    } catch (IllegalArgumentException e) {
+      throw GatewayExceptionFactory.routeConfigError("Invalid JSON pointer: " + pointer);
+    }
+    ObjectReader reader = JsonUtils.readerFor(target.parameter().getParameterizedType());
+    return request -> {
+      byte[] body = request.getBodyBytes();
+      if (body == null || body.length == 0) {
+        return missing(target.named(pointer));
+      }
+      try (JsonParser parser =
+          isJacksonCharset(request.getBodyCharset())
+              ? reader.createParser(body)
+              : reader.createParser(request.getBody())) {
+        JsonParser filtered =
+            new FilteringParserDelegate(
+                parser,
+                new JsonPointerBasedFilter(jsonPointer),
+                TokenFilter.Inclusion.ONLY_INCLUDE_ALL,
+                false);
+        if (filtered.nextToken() == null) {
+          return missing(target.named(pointer));
+        }
+        return reader.readValue(filtered);
+      } catch (IOException e) {
+        throw invalidBody(target, pointer, e);
+      }
+    };
+  }
+
+  private static Object convert(Object value, Target target) {
+    if (value == null) {
+      return missing(target);
+    }
+    if (target.type().getType() == String.class && value instanceof String) {
+      return value;
+    }
+    try {
+      return CONVERSION.convert(value, TypeDescriptor.forObject(value), target.type());
+    } catch (ConversionException e) {
+      throw ValidationException.invalidFormat(
+          target.name(), target.type().getType().getSimpleName());
+    }
+  }
+
+  /** Absent values bind to null, which primitives cannot take */
+  private static Object missing(Target target) {
+    if (target.type().isPrimitive()) {
+      throw ValidationException.required(target.name());
+    }
+    return null;
+  }
+
+  private static ValidationException invalidBody(Target target, String source, IOException e) {
+    return new ValidationException(
+        ErrorCode.PARAM_INVALID_FORMAT,
+        source + ", Expected: " + target.type().getType().getSimpleName(),
+        e);
+  }
+
+  private static boolean isJacksonCharset(Charset charset) {
+    return charset == null
+        || charset == StandardCharsets.UTF_8
+        || charset == StandardCharsets.US_ASCII;
+  }
+
+  private static List<String> configuredBindings(RouteConfig route) {
+    Object value = route.getProperties().get(GatewayConstants.PropertyKeys.PARAM_BINDINGS);
+    if (value instanceof Collection<?> collection) {
+      return collection.stream().map(v -> v.toString().trim()).toList();
+    }
+    if (value instanceof String text && StringUtils.isNotBlank(text)) {
+      return Arrays.stream(text.split(",")).map(String::trim).toList();
+    }
+    return null;
+  }
+
+  /** A parameter with the name its value is looked up by */
+  private record Target(Parameter parameter, TypeDescriptor type, String name) {
+
+    Target(Parameter parameter, TypeDescriptor type) {
+      this(parameter, type, parameter.getName());
+    }
+
+    /** The explicit source name, or the parameter name (requires compiling with -parameters) */
+    Target named(String explicit) {
+      return StringUtils.isEmpty(explicit) ? this : new Target(parameter, type, explicit);
+    }
+  }
+}
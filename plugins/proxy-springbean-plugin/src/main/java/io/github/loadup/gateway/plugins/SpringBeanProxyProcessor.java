@@ -29,23 +29,34 @@ import io.github.loadup.gateway.facade.exception.GatewayExceptionFactory;
 import io.github.loadup.gateway.facade.model.GatewayRequest;
 import io.github.loadup.gateway.facade.model.GatewayResponse;
 import io.github.loadup.gateway.facade.model.RouteConfig;
-import io.github.loadup.gateway.facade.spi.ProxyProcessor;
+import io.github.loadup.gateway.facade.spi.AsyncProxyProcessor;
+import io.github.loadup.gateway.facade.spi.RouteTableListener;
 import io.github.loadup.gateway.facade.utils.JsonUtils;
 import jakarta.annotation.Resource;
-import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.stereotype.Component;
 
 /** Spring Bean proxy plugin */
 @Slf4j
 @Component
-public class SpringBeanProxyProcessor implements ProxyProcessor {
+public class SpringBeanProxyProcessor implements AsyncProxyProcessor, RouteTableListener {
 
   @Resource private ApplicationContext applicationContext;
 
+  private final ReactiveAdapterRegistry reactiveAdapterRegistry =
+      ReactiveAdapterRegistry.getSharedInstance();
+
   @Override
   public String getName() {
     return "SpringBeanProxyPlugin";
@@ -71,107 +82,142 @@ public class SpringBeanProxyProcessor implements ProxyProcessor {
     log.info("SpringBeanProxyPlugin initialized");
   }
 
+  /** Resolve the invokers of all bean routes off the request path */
   @Override
-  public GatewayResponse proxy(GatewayRequest request, RouteConfig route) throws Exception {
-
-    try {
-      String target = route.getTargetBean() + ":" + route.getTargetMethod();
-      String[] parts = target.split(":");
-      if (parts.length != 2) {
-
-        throw GatewayExceptionFactory.invalidBeanTarget(target);
+  public void onRouteTableRefreshed(List<RouteConfig> routes) {
+    for (RouteConfig route : routes) {
+      if (!GatewayConstants.Protocol.BEAN.equals(route.getProtocol())) {
+        continue;
       }
-
-      String beanName = parts[0];
-      String methodName = parts[1];
-
-      // GetSpring Bean
-      Object bean;
       try {
-        bean = applicationContext.getBean(beanName);
-      } catch (Exception e) {
-        throw GatewayExceptionFactory.beanNotFound(beanName);
-      }
-
-      // Get method
-      Method method = findMethod(bean.getClass(), methodName);
-      if (method == null) {
-        throw GatewayExceptionFactory.methodNotFound(beanName, methodName);
+        route.getCompiled(BeanInvoker.KEY, r -> BeanInvoker.resolve(applicationContext, r));
+      } catch (GatewayException e) {
+        log.warn("Failed to resolve bean route {}: {}", route.getRouteId(), e.getMessage());
       }
+    }
+  }
 
-      // Prepare parameters
-      Object[] args = prepareMethodArgs(request, method);
+  /**
+   * Invoke the bean method. A {@link CompletionStage} or single-value reactive result completes
+   * the returned future when its value arrives, without holding a servlet thread; a multi-value
+   * reactive result (e.g. {@code Flux}) is streamed as NDJSON, or as server-sent events when the
+   * route sets {@code streamFormat: sse} or the client accepts {@code text/event-stream}.
+   */
+  @Override
+  public CompletableFuture<GatewayResponse> proxyAsync(GatewayRequest request, RouteConfig route) {
+    BeanInvoker invoker;
+    Object result;
+    try {
+      // Bean, method handle and argument readers are resolved once per route
+      invoker =
+          route.getCompiled(BeanInvoker.KEY, r -> BeanInvoker.resolve(applicationContext, r));
 
       // Invoke method
-      Object result;
-      try {
-        result = method.invoke(bean, args);
-      } catch (java.lang.reflect.InvocationTargetException e) {
-        // Extract original exception and wrap
-        Throwable cause = e.getCause() != null ? e.getCause() : e;
-        throw GatewayExceptionFactory.methodInvokeFailed(beanName, methodName, cause);
-      }
-
-      // Build response
-      return GatewayResponse.builder()
-          .requestId(request.getRequestId())
-          .statusCode(GatewayConstants.Status.SUCCESS)
-          .headers(new HashMap<>())
-          .body(JsonUtils.toJson(result))
-          .contentType(GatewayConstants.ContentType.JSON)
-          .responseTime(LocalDateTime.now())
-          .build();
-
+      result = invoker.invoke(request);
     } catch (GatewayException e) {
       // Gateway exceptions are handled directly using exception handler
-      return ExceptionHandler.handleException(request.getRequestId(), e);
+      return CompletableFuture.completedFuture(
+          ExceptionHandler.handleException(request.getRequestId(), e));
     } catch (Exception e) {
       // Wrap and handle other exceptions
       GatewayException wrappedException = GatewayExceptionFactory.wrap(e, "SPRINGBEAN_PROXY");
-      return ExceptionHandler.handleException(request.getRequestId(), wrappedException);
+      return CompletableFuture.completedFuture(
+          ExceptionHandler.handleException(request.getRequestId(), wrappedException));
+    }
+
+    if (result instanceof CompletionStage<?> stage) {
+      return whenDone(request, invoker, stage.toCompletableFuture());
+    }
+    ReactiveAdapter adapter =
+        result != null ? reactiveAdapterRegistry.getAdapter(result.getClass()) : null;
+    if (adapter != null) {
+      if (adapter.isMultiValue()) {
+        return CompletableFuture.completedFuture(
+            streamResponse(request, route, AsyncResults.toFlowPublisher(adapter, result)));
+      }
+      return whenDone(request, invoker, AsyncResults.toFuture(adapter, result));
     }
+    return CompletableFuture.completedFuture(successResponse(request, result));
   }
 
-  @Override
-  public void destroy() {
-    log.info("SpringBeanProxyPlugin destroyed");
+  private CompletableFuture<GatewayResponse> whenDone(
+      GatewayRequest request, BeanInvoker invoker, CompletableFuture<?> source) {
+    CompletableFuture<GatewayResponse> response =
+        source.handle(
+            (value, error) -> {
+              if (error == null) {
+                return successResponse(request, value);
+              }
+              Throwable cause = unwrap(error);
+              if (cause instanceof CancellationException) {
+                throw (CancellationException) cause;
+              }
+              return ExceptionHandler.handleException(
+                  request.getRequestId(), invoker.failed(cause));
+            });
+    // Propagate cancellation (client disconnect, servlet timeout) to the bean's future
+    response.whenComplete(
+        (ignored, error) -> {
+          if (error instanceof CancellationException) {
+            source.cancel(true);
+          }
+        });
+    return response;
   }
 
-  @Override
-  public String getSupportedProtocol() {
-    return GatewayConstants.Protocol.BEAN;
+  private GatewayResponse successResponse(GatewayRequest request, Object result) {
+    // Build response, the result is carried as payload and serialized once at the final write
+    return GatewayResponse.builder()
+        .requestId(request.getRequestId())
+        .statusCode(GatewayConstants.Status.SUCCESS)
+        .headers(new HashMap<>())
+        .payload(result)
+        .body(result == null ? JsonUtils.toJson(null) : null)
+        .contentType(GatewayConstants.ContentType.JSON)
+        .responseTime(LocalDateTime.now())
+        .build();
   }
 
-  /** Find matching method */
-  private Method findMethod(Class<?> clazz, String methodName) {
-    for (Method method : clazz.getDeclaredMethods()) {
-      if (method.getName().equals(methodName)) {
-        return method;
-      }
-    }
-    return null;
+  private GatewayResponse streamResponse(
+      GatewayRequest request, RouteConfig route, Flow.Publisher<Object> stream) {
+    return GatewayResponse.builder()
+        .requestId(request.getRequestId())
+        .statusCode(GatewayConstants.Status.SUCCESS)
+        .headers(new HashMap<>())
+        .stream(stream)
+        .contentType(
+            useServerSentEvents(request, route)
+                ? GatewayConstants.ContentType.EVENT_STREAM
+                : GatewayConstants.ContentType.NDJSON)
+        .responseTime(LocalDateTime.now())
+        .build();
   }
 
-  /** Prepare method parameters */
-  private Object[] prepareMethodArgs(GatewayRequest request, Method method) {
-    Class<?>[] paramTypes = method.getParameterTypes();
-    Object[] args = new Object[paramTypes.length];
-
-    for (int i = 0; i < paramTypes.length; i++) {
-      if (paramTypes[i] == GatewayRequest.class) {
-        args[i] = request;
-      } else if (paramTypes[i] == String.class) {
-        args[i] = request.getBody();
-      } else {
-        // TryFromRequest bodyJSONParse
-        try {
-          args[i] = JsonUtils.fromJson(request.getBody(), paramTypes[i]);
-        } catch (Exception e) {
-          args[i] = null;
-        }
-      }
+  private static boolean useServerSentEvents(GatewayRequest request, RouteConfig route) {
+    Object format = route.getProperties().get(GatewayConstants.PropertyKeys.STREAM_FORMAT);
+    if (format != null) {
+      return "sse".equalsIgnoreCase(format.toString());
     }
+    String accept =
+        request.getHeaders() != null
+            ? request.getHeaders().get(GatewayConstants.Header.ACCEPT)
+            : null;
+    return accept != null && accept.contains(GatewayConstants.ContentType.EVENT_STREAM);
+  }
 
-    return args;
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  @Override
+  public void destroy() {
+    log.info("SpringBeanProxyPlugin destroyed");
+  }
+
+  @Override
+  public String getSupportedProtocol() {
+    return GatewayConstants.Protocol.BEAN;
   }
 }
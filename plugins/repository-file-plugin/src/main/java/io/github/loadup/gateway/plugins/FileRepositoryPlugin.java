@@ -35,17 +35,25 @@ import jakarta.annotation.Resource;
 import java.io.*;
 import java.net.JarURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-/** File storage plugin - Using CSV format */
+/**
+ * File storage plugin - Using CSV format.
+ *
+ * <p>A {@code classpath:} base path is read-only: its files are read once, straight from the
+ * classpath or JAR, and kept in memory. A filesystem base path is read on every route table load.
+ * Files in the optional overlay directory ({@code loadup.gateway.storage.file.overlay-path}) take
+ * precedence over both, so routes and templates can be changed without rebuilding the JAR. Lookups
+ * by path or id are served from the last loaded table.
+ */
 @Slf4j
 @Component
 @ConditionalOnProperty(
@@ -56,11 +64,22 @@ import org.springframework.stereotype.Component;
 public class FileRepositoryPlugin implements RepositoryPlugin {
 
   // basePath will be resolved during initialize. Default source is classpath:/gateway-config
-  private String basePath = null; // resolved filesystem directory
+  private String basePath = null; // resolved filesystem directory, null for classpath sources
   private final String ROUTES_FILE = "routes.csv";
   private final String TEMPLATES_DIR = "templates";
   @Resource private GatewayProperties gatewayProperties;
 
+  /** Files of a classpath source by relative path, null for filesystem sources */
+  private Map<String, String> classpathFiles = null;
+
+  /** Directory whose files override the source, null if not configured or missing */
+  private Path overlayPath = null;
+
+  /** Routes of the last load by method and path, and by id */
+  private volatile Map<String, RouteConfig> routesByKey = null;
+
+  private volatile Map<String, RouteConfig> routesById = Map.of();
+
   public FileRepositoryPlugin() {}
 
   @Override
@@ -88,10 +107,12 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
     log.info("FileRepositoryPlugin initialized");
 
     String configured = null;
+    String overlay = null;
     if (gatewayProperties != null
         && gatewayProperties.getStorage() != null
         && gatewayProperties.getStorage().getFile() != null) {
       configured = gatewayProperties.getStorage().getFile().getBasePath();
+      overlay = gatewayProperties.getStorage().getFile().getOverlayPath();
     }
 
     // If not provided via GatewayProperties, default to classpath:/gateway-config
@@ -99,6 +120,9 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
       configured = "classpath:/gateway-config";
     }
 
+    // The overlay is only read: a missing or unusable one is skipped, never created
+    this.overlayPath = resolveOverlay(overlay);
+
     try {
       if (configured.startsWith("classpath:")) {
         String cpPath = configured.substring("classpath:".length());
@@ -106,15 +130,20 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
         if (cpPath.startsWith("/")) {
           cpPath = cpPath.substring(1);
         }
-        Path tempDir = copyClasspathDirToTemp(cpPath);
-        this.basePath = tempDir.toAbsolutePath().toString();
-      } else {
-        // treat as filesystem path (relative or absolute). Create directories if necessary.
-        Path p = Paths.get(configured);
-        Files.createDirectories(p);
-        this.basePath = p.toAbsolutePath().toString();
+        this.classpathFiles = readClasspathDir(cpPath);
+        log.info(
+            "FileRepositoryPlugin loaded {} files from {} (overlay={})",
+            classpathFiles.size(),
+            configured,
+            overlayPath);
+        return;
       }
 
+      // treat as filesystem path (relative or absolute). Create directories if necessary.
+      Path p = Paths.get(configured);
+      Files.createDirectories(p);
+      this.basePath = p.toAbsolutePath().toString();
+
       // Ensure templates directory exists
       Files.createDirectories(Paths.get(basePath, TEMPLATES_DIR));
 
@@ -125,97 +154,120 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
       }
 
       log.info(
-          "FileRepositoryPlugin basePath resolved to {} (source={})", this.basePath, configured);
+          "FileRepositoryPlugin basePath resolved to {} (source={}, overlay={})",
+          this.basePath,
+          configured,
+          overlayPath);
     } catch (Exception e) {
       log.error("Failed to initialize file repository with configured path: {}", configured, e);
     }
   }
 
+  /** The overlay directory if configured and present, otherwise null */
+  private static Path resolveOverlay(String overlay) {
+    if (overlay == null || overlay.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      Path path = Paths.get(overlay.trim()).toAbsolutePath();
+      if (Files.isDirectory(path)) {
+        return path;
+      }
+      log.warn("Overlay directory {} does not exist, ignoring it", path);
+    } catch (RuntimeException e) {
+      log.warn("Invalid overlay path {}, ignoring it: {}", overlay, e.getMessage());
+    }
+    return null;
+  }
+
   /**
-   * Copy resources under given classpath directory to a temporary directory and return its Path.
-   * This allows reading/writing files that are packaged in the classpath.
+   * Read the files under the given classpath directory (on the filesystem during development, or
+   * inside a JAR) into memory, keyed by their path relative to that directory.
    */
-  private Path copyClasspathDirToTemp(String classpathDir) throws IOException {
-    // Create a temp directory unique to this application run
-    String tmpRoot = System.getProperty("java.io.tmpdir");
-    Path targetDir =
-        Paths.get(
-            tmpRoot, "loadup-gateway-config", String.valueOf(Math.abs(new Random().nextInt())));
-    Files.createDirectories(targetDir);
-
+  private Map<String, String> readClasspathDir(String classpathDir) throws IOException {
+    Map<String, String> files = new HashMap<>();
     ClassLoader cl = Thread.currentThread().getContextClassLoader();
     Enumeration<URL> resources = cl.getResources(classpathDir);
 
-    boolean found = false;
     while (resources.hasMoreElements()) {
       URL resourceUrl = resources.nextElement();
-      found = true;
       String protocol = resourceUrl.getProtocol();
       if ("file".equals(protocol)) {
         // Resource is on filesystem (e.g., during development)
         try {
           Path src = Paths.get(resourceUrl.toURI());
-          // copy directory recursively
           try (Stream<Path> walker = Files.walk(src)) {
-            walker.forEach(
-                srcPath -> {
-                  try {
-                    Path rel = src.relativize(srcPath);
-                    Path destPath = targetDir.resolve(rel.toString());
-                    if (Files.isDirectory(srcPath)) {
-                      Files.createDirectories(destPath);
-                    } else {
-                      Files.createDirectories(destPath.getParent());
-                      Files.copy(srcPath, destPath);
-                    }
-                  } catch (IOException e) {
-                    log.warn("Failed to copy resource file {}", srcPath, e);
-                  }
-                });
+            walker
+                .filter(Files::isRegularFile)
+                .forEach(
+                    srcPath -> {
+                      try {
+                        String rel = src.relativize(srcPath).toString().replace('\\', '/');
+                        files.putIfAbsent(rel, Files.readString(srcPath, StandardCharsets.UTF_8));
+                      } catch (IOException e) {
+                        log.warn("Failed to read resource file {}", srcPath, e);
+                      }
+                    });
           }
         } catch (Exception e) {
-          log.warn("Failed to copy classpath (file) resource {}", resourceUrl, e);
+          log.warn("Failed to read classpath (file) resource {}", resourceUrl, e);
         }
       } else if ("jar".equals(protocol)) {
         // Resource is inside a JAR — iterate JAR entries
         try {
           JarURLConnection jarCon = (JarURLConnection) resourceUrl.openConnection();
+          // a cached JarFile is shared with the class loader and must stay open
+          jarCon.setUseCaches(false);
           try (JarFile jar = jarCon.getJarFile()) {
             Enumeration<JarEntry> entries = jar.entries();
             String prefix = classpathDir.endsWith("/") ? classpathDir : (classpathDir + "/");
             while (entries.hasMoreElements()) {
               JarEntry entry = entries.nextElement();
               String name = entry.getName();
-              if (name.startsWith(prefix)) {
-                String relative = name.substring(prefix.length());
-                if (entry.isDirectory()) {
-                  Files.createDirectories(targetDir.resolve(relative));
-                } else {
-                  Path outFile = targetDir.resolve(relative);
-                  Files.createDirectories(outFile.getParent());
-                  try (InputStream is = cl.getResourceAsStream(name)) {
-                    if (is != null) {
-                      Files.copy(is, outFile);
-                    }
-                  }
+              if (name.startsWith(prefix) && !entry.isDirectory()) {
+                try (InputStream is = jar.getInputStream(entry)) {
+                  files.putIfAbsent(
+                      name.substring(prefix.length()),
+                      new String(is.readAllBytes(), StandardCharsets.UTF_8));
                 }
               }
             }
           }
         } catch (Exception e) {
-          log.warn("Failed to copy classpath (jar) resources from {}", resourceUrl, e);
+          log.warn("Failed to read classpath (jar) resources from {}", resourceUrl, e);
         }
       } else {
         log.warn("Unsupported classpath resource protocol: {} for URL {}", protocol, resourceUrl);
       }
     }
+    return files;
+  }
 
-    if (!found) {
-      // No resources found — still ensure directory exists so plugin can create files
-      Files.createDirectories(targetDir);
+  /**
+   * Content of a file relative to the source: from the overlay directory if present and readable
+   * there, else from the base path or the classpath files; null if not found
+   */
+  private String readSourceFile(String relativePath) throws IOException {
+    if (overlayPath != null) {
+      Path p = overlayPath.resolve(relativePath);
+      if (Files.isRegularFile(p)) {
+        try {
+          return Files.readString(p, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+          log.warn("Failed to read overlay file {}, using the source: {}", p, e.getMessage());
+        }
+      }
     }
-
-    return targetDir;
+    if (classpathFiles != null) {
+      return classpathFiles.get(relativePath);
+    }
+    if (basePath != null) {
+      Path p = Paths.get(basePath, relativePath);
+      if (Files.isRegularFile(p)) {
+        return Files.readString(p, StandardCharsets.UTF_8);
+      }
+    }
+    return null;
   }
 
   @Override
@@ -225,26 +277,45 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
 
   @Override
   public Optional<RouteConfig> getRoute(String routeId) throws Exception {
-    return getAllRoutes().stream().filter(route -> route.getRouteId().equals(routeId)).findFirst();
+    if (routesByKey == null) {
+      getAllRoutes();
+    }
+    return Optional.ofNullable(routesById.get(routeId)).map(FileRepositoryPlugin::copy);
   }
 
+  /**
+   * Served from the last loaded table, which the route resolver reloads periodically, as a new
+   * instance
+   */
   @Override
   public Optional<RouteConfig> getRouteByPath(String path, String method) throws Exception {
-    return getAllRoutes().stream()
-        .filter(route -> route.getPath().equals(path) && route.getMethod().equals(method))
-        .findFirst();
+    Map<String, RouteConfig> routes = routesByKey;
+    if (routes == null) {
+      getAllRoutes();
+      routes = routesByKey;
+    }
+    return Optional.ofNullable(routes.get(method + ":" + path)).map(FileRepositoryPlugin::copy);
+  }
+
+  /**
+   * The instances of the last load may be in the route table with their compiled artifacts, a
+   * single route lookup (e.g. after the route was evicted) gets an instance without them
+   */
+  private static RouteConfig copy(RouteConfig route) {
+    return RouteConfig.builderFrom(route).build();
   }
 
   @Override
   public List<RouteConfig> getAllRoutes() throws Exception {
-    Path routesFile = Paths.get(basePath, ROUTES_FILE);
-    if (!Files.exists(routesFile)) {
+    String content = readSourceFile(ROUTES_FILE);
+    if (content == null) {
+      index(List.of());
       return new ArrayList<>();
     }
 
     List<RouteConfig> routes = new ArrayList<>();
 
-    try (CSVReader reader = new CSVReader(new FileReader(routesFile.toFile()))) {
+    try (CSVReader reader = new CSVReader(new StringReader(content))) {
       reader.readNext(); // skip header
       String[] line;
 
@@ -262,9 +333,22 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
       processed.add(applyTemplates(rc));
     }
 
+    index(processed);
     return processed;
   }
 
+  /** Keep the loaded table for lookups, the first route of a method and path wins */
+  private void index(List<RouteConfig> routes) {
+    Map<String, RouteConfig> byKey = new HashMap<>();
+    Map<String, RouteConfig> byId = new HashMap<>();
+    for (RouteConfig route : routes) {
+      byKey.putIfAbsent(route.getMethod() + ":" + route.getPath(), route);
+      byId.putIfAbsent(route.getRouteId(), route);
+    }
+    routesById = byId;
+    routesByKey = byKey;
+  }
+
   /**
    * Replace requestTemplate/responseTemplate values that are template file names with their file
    * contents. Returns the same instance if no changes are needed, otherwise returns a new
@@ -306,9 +390,9 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
   }
 
   /**
-   * Try to load a template by name from the resolved filesystem `basePath/templates/<name>`. If not
-   * found, try classpath `templates/<name>` (or the plain name) as fallback. Returns null if not
-   * found.
+   * Try to load a template by name from `templates/<name>` of the overlay directory and the
+   * source. If not found, try classpath `templates/<name>` (or the plain name) as fallback. Returns
+   * the name itself if not found.
    */
   private String loadTemplateContent(String templateName) {
     if (templateName == null || templateName.trim().isEmpty()) {
@@ -319,18 +403,17 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
       List<String> candidates = new ArrayList<>();
       candidates.add(templateName);
       candidates.add(templateName + ".groovy");
+      candidates.add(templateName + GatewayConstants.Template.MAPPING_EXTENSION);
       candidates.add(templateName + "_request.groovy");
       candidates.add(templateName + "_response.groovy");
       candidates.add(templateName + "_request_template.groovy");
       candidates.add(templateName + "_response_template.groovy");
 
       for (String candidate : candidates) {
-        // Prefer filesystem templates under basePath/templates
-        if (basePath != null) {
-          Path p = Paths.get(basePath, TEMPLATES_DIR, candidate);
-          if (Files.exists(p) && Files.isRegularFile(p)) {
-            return Files.readString(p);
-          }
+        // Prefer templates under templates/ of the overlay and the source
+        String content = readSourceFile(TEMPLATES_DIR + "/" + candidate);
+        if (content != null) {
+          return withTemplateType(candidate, content);
         }
 
         // Fallback: try classpath resource under templates/<candidate>
@@ -338,14 +421,14 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
         try (InputStream is = cl.getResourceAsStream(resourcePath)) {
           if (is != null) {
-            return new String(is.readAllBytes());
+            return withTemplateType(candidate, new String(is.readAllBytes()));
           }
         }
 
         // Fallback: try direct classpath resource by candidate name
         try (InputStream is = cl.getResourceAsStream(candidate)) {
           if (is != null) {
-            return new String(is.readAllBytes());
+            return withTemplateType(candidate, new String(is.readAllBytes()));
           }
         }
       }
@@ -356,6 +439,14 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
     return templateName;
   }
 
+  /** Mark mapping template files so the engine does not run them as Groovy */
+  private static String withTemplateType(String fileName, String content) {
+    return fileName.endsWith(GatewayConstants.Template.MAPPING_EXTENSION)
+            && !content.startsWith(GatewayConstants.Template.MAPPING_PREFIX)
+        ? GatewayConstants.Template.MAPPING_PREFIX + content
+        : content;
+  }
+
   /** From CSV Row parse route config，Support new and old formats */
   private RouteConfig parseRouteFromCsvLine(String[] line) {
     if (line.length < 2) {
@@ -396,14 +487,7 @@ public class FileRepositoryPlugin implements RepositoryPlugin {
   @Override
   public Optional<String> getTemplate(String templateId, String templateType) throws Exception {
     String fileName = templateId + "_" + templateType.toLowerCase() + ".groovy";
-    Path templateFile = Paths.get(basePath, TEMPLATES_DIR, fileName);
-
-    if (Files.exists(templateFile)) {
-      String content = FileUtils.readFileToString(templateFile.toFile(), "UTF-8");
-      return Optional.of(content);
-    }
-
-    return Optional.empty();
+    return Optional.ofNullable(readSourceFile(TEMPLATES_DIR + "/" + fileName));
   }
 
   @Override